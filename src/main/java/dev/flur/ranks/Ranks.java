@@ -1,6 +1,11 @@
 package dev.flur.ranks;
 
 import dev.flur.ranks.command.CommandManager;
+import dev.flur.ranks.listener.PlayerStatisticsListener;
+import dev.flur.ranks.listener.ProgressDisplayListener;
+import dev.flur.ranks.listener.RankCacheListener;
+import dev.flur.ranks.listener.RankRecordListener;
+import dev.flur.ranks.listener.RequirementCacheListener;
 import dev.flur.ranks.service.ServiceContainer;
 import dev.flur.ranks.vault.DefaultVaultProvider;
 import dev.flur.ranks.vault.VaultProvider;
@@ -28,6 +33,24 @@ public final class Ranks extends JavaPlugin {
         // Start services
         serviceContainer.start();
 
+        // Register event listeners
+        getServer().getPluginManager().registerEvents(
+                new PlayerStatisticsListener(serviceContainer.getPlayerStatisticsService()), this);
+        getServer().getPluginManager().registerEvents(
+                new RankCacheListener(serviceContainer.getRanksService()), this);
+        getServer().getPluginManager().registerEvents(
+                new RankRecordListener(
+                        serviceContainer.getPermissionService(),
+                        serviceContainer.getRanksService(),
+                        serviceContainer.getLeaderboardService(),
+                        serviceContainer.getRankStorage()), this);
+        getServer().getPluginManager().registerEvents(
+                new RequirementCacheListener(serviceContainer.getRequirementValidator()), this);
+        if (getConfig().getBoolean("progress-display.enabled", true)) {
+            getServer().getPluginManager().registerEvents(
+                    new ProgressDisplayListener(serviceContainer.getProgressDisplayService()), this);
+        }
+
         // Initialize command manager with dependency injection
         new CommandManager(this, serviceContainer);
 
@@ -1,18 +1,69 @@
 package dev.flur.ranks.command;
 
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.RateLimitService;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class BaseCommand implements CommandExecutor, TabCompleter {
 
+    @Nullable
+    private String name;
+    @Nullable
+    private RateLimitService rateLimitService;
+    @Nullable
+    private MessageService messageService;
+
+    /**
+     * Limits how often players may run this command. Other senders are never limited.
+     *
+     * @param name             The command name the limits are configured under
+     * @param rateLimitService The service keeping track of the limits
+     * @param messageService   The service used to tell players to wait
+     */
+    public void setRateLimit(@NotNull String name, @NotNull RateLimitService rateLimitService,
+                             @NotNull MessageService messageService) {
+        this.name = name;
+        this.rateLimitService = rateLimitService;
+        this.messageService = messageService;
+    }
+
     @Override
-    public abstract boolean onCommand(
+    public final boolean onCommand(
+            @NotNull CommandSender sender,
+            @NotNull Command command,
+            @NotNull String label,
+            @NotNull String[] args
+    ) {
+        if (rateLimitService != null && sender instanceof Player player) {
+            long waitMillis = rateLimitService.tryAcquire(name, player.getUniqueId());
+            if (waitMillis > 0) {
+                Map<String, Object> context = new HashMap<>();
+                context.put("seconds", String.format("%.1f", waitMillis / 1000.0));
+                messageService.sendMessage(sender, Messages.COMMAND_RATE_LIMITED, context);
+                return true;
+            }
+        }
+        return execute(sender, command, label, args);
+    }
+
+    /**
+     * Runs the command, once the sender is allowed to.
+     *
+     * @return False to show the command's usage
+     * @see CommandExecutor#onCommand(CommandSender, Command, String, String[])
+     */
+    protected abstract boolean execute(
             @NotNull CommandSender sender,
             @NotNull Command command,
             @NotNull String label,
@@ -28,4 +79,4 @@ public abstract class BaseCommand implements CommandExecutor, TabCompleter {
     ) {
         return List.of();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package dev.flur.ranks.command;
+
+import dev.flur.ranks.Ranks;
+import dev.flur.ranks.command.commands.RanksCommand;
+import dev.flur.ranks.command.commands.RankupCommand;
+import dev.flur.ranks.command.commands.ReloadCommand;
+import dev.flur.ranks.command.commands.RequirementsCommand;
+import dev.flur.ranks.command.commands.StatusCommand;
+import dev.flur.ranks.service.ServiceContainer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The plugin's commands, wired to the services they need.
+ * <p>
+ * Every command is constructed directly, so a command whose dependencies change fails to
+ * compile instead of failing to register at startup. Names must match the command's
+ * {@code @CommandInfo}, which generates its plugin.yml entry.
+ * </p>
+ */
+final class CommandRegistry {
+
+    private CommandRegistry() {
+    }
+
+    /**
+     * Creates every command of the plugin.
+     *
+     * @param plugin           The plugin instance
+     * @param serviceContainer The services to wire the commands to
+     * @return Command names mapped to their commands, in registration order
+     */
+    @NotNull
+    static Map<String, BaseCommand> createCommands(@NotNull Ranks plugin, @NotNull ServiceContainer serviceContainer) {
+        Map<String, BaseCommand> commands = new LinkedHashMap<>();
+        commands.put("rankup", new RankupCommand(
+                serviceContainer.getRankupValidator(),
+                serviceContainer.getRankupProcessor(),
+                serviceContainer.getRankupNotifier(),
+                serviceContainer.getRanksService(),
+                plugin.getLogger()));
+        commands.put("ranks", new RanksCommand(
+                serviceContainer.getRanksService(),
+                serviceContainer.getLeaderboardService(),
+                serviceContainer.getBulkRankService(),
+                serviceContainer.getMessageService(),
+                new ReloadCommand(plugin, serviceContainer, serviceContainer.getMessageService()),
+                new StatusCommand(serviceContainer.getPlayerLockService(), serviceContainer.getMessageService())));
+        commands.put("requirements", new RequirementsCommand(
+                serviceContainer.getRanksService(),
+                plugin.getLogger()));
+        return commands;
+    }
+}
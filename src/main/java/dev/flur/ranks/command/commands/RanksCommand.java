@@ -2,28 +2,206 @@ package dev.flur.ranks.command.commands;
 
 import dev.flur.commands.CommandInfo;
 import dev.flur.ranks.command.BaseCommand;
+import dev.flur.ranks.command.tree.ArgumentParser;
+import dev.flur.ranks.command.tree.ArgumentParsers;
+import dev.flur.ranks.command.tree.CommandContext;
+import dev.flur.ranks.command.tree.CommandDispatcher;
+import dev.flur.ranks.command.tree.CommandNode;
+import dev.flur.ranks.command.tree.Subcommand;
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.result.BulkProgress;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.BulkRankService;
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.storage.PlayerRankRecord;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-@CommandInfo(name = "ranks", permission = "ranks.view", description = "View available ranks")
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@CommandInfo(
+        name = "ranks",
+        permission = "ranks.view",
+        description = "View available ranks",
+        usage = "/ranks [top|bulk|reload|status]"
+)
 public final class RanksCommand extends BaseCommand {
 
+    private static final int TOP_SIZE = 10;
+    private static final String BULK_PERMISSION = "ranks.admin.bulk";
+    private static final String CHECK_REQUIREMENTS_FLAG = "--check-requirements";
+    private static final String DRY_RUN_FLAG = "--dry-run";
+
     private final RanksService rankService;
+    private final LeaderboardService leaderboardService;
+    private final BulkRankService bulkRankService;
+    private final MessageService messageService;
+    private final CommandDispatcher dispatcher;
 
-    public RanksCommand(RanksService rankService) {
+    public RanksCommand(RanksService rankService, LeaderboardService leaderboardService,
+                        BulkRankService bulkRankService, MessageService messageService,
+                        Subcommand... subcommands) {
         this.rankService = rankService;
+        this.leaderboardService = leaderboardService;
+        this.bulkRankService = bulkRankService;
+        this.messageService = messageService;
+
+        ArgumentParser<String> rank = new RankParser(rankService);
+        CommandNode root = CommandNode.literal("ranks")
+                .executes(this::listRanks)
+                .then(CommandNode.literal("top")
+                        .executes((sender, context) -> showDistribution(sender))
+                        .then(CommandNode.argument("rank", rank)
+                                .executes((sender, context) -> showTopPlayers(sender, context.get("rank")))))
+                .then(CommandNode.literal("bulk")
+                        .requires(BULK_PERMISSION)
+                        .then(CommandNode.argument("fromRank", rank)
+                                .then(CommandNode.argument("toRank", rank)
+                                        .executes(this::startBulkChange)
+                                        .then(CommandNode.greedyArgument("flags",
+                                                        ArgumentParsers.choice(CHECK_REQUIREMENTS_FLAG, DRY_RUN_FLAG))
+                                                .executes(this::startBulkChange)))));
+        for (Subcommand subcommand : subcommands) {
+            root.then(subcommand.createNode());
+        }
+        this.dispatcher = new CommandDispatcher(root, messageService);
+    }
+
+    @Override
+    protected boolean execute(
+            @NotNull CommandSender sender,
+            @NotNull Command command,
+            @NotNull String label,
+            @NotNull String[] args
+    ) {
+        return dispatcher.dispatch(sender, args);
     }
 
     @Override
-    public boolean onCommand(
+    public @NotNull List<String> onTabComplete(
             @NotNull CommandSender sender,
             @NotNull Command command,
             @NotNull String label,
             @NotNull String[] args
     ) {
+        return dispatcher.suggest(sender, args);
+    }
+
+    private boolean listRanks(@NotNull CommandSender sender, @NotNull CommandContext context) {
         rankService.getAllRanks().forEach(sender::sendMessage);
         return true;
     }
+
+    private boolean showDistribution(@NotNull CommandSender sender) {
+        messageService.sendMessage(sender, Messages.RANKS_DISTRIBUTION_HEADER);
+        leaderboardService.getDistribution().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    Map<String, Object> context = new HashMap<>();
+                    context.put("rank", entry.getKey());
+                    context.put("count", entry.getValue());
+                    messageService.sendMessage(sender, Messages.RANKS_DISTRIBUTION_ITEM, context);
+                });
+        return true;
+    }
+
+    private boolean showTopPlayers(@NotNull CommandSender sender, @NotNull String rank) {
+        Map<String, Object> rankContext = new HashMap<>();
+        rankContext.put("rank", rank);
+
+        List<PlayerRankRecord> top = leaderboardService.getTopPlayers(rank, TOP_SIZE);
+        if (top.isEmpty()) {
+            messageService.sendMessage(sender, Messages.RANKS_TOP_EMPTY, rankContext);
+            return true;
+        }
+
+        messageService.sendMessage(sender, Messages.RANKS_TOP_HEADER, rankContext);
+        for (int i = 0; i < top.size(); i++) {
+            Map<String, Object> context = new HashMap<>();
+            context.put("position", i + 1);
+            context.put("playerName", top.get(i).playerName());
+            messageService.sendMessage(sender, Messages.RANKS_TOP_ITEM, context);
+        }
+        return true;
+    }
+
+    private boolean startBulkChange(@NotNull CommandSender sender, @NotNull CommandContext commandContext) {
+        String fromRank = commandContext.get("fromRank");
+        String toRank = commandContext.get("toRank");
+        List<String> flags = commandContext.getOrDefault("flags", List.of());
+        boolean checkRequirements = flags.contains(CHECK_REQUIREMENTS_FLAG);
+        boolean dryRun = flags.contains(DRY_RUN_FLAG);
+        String mode = dryRun ? " (dry run)" : "";
+        Result<CompletableFuture<BulkProgress>> started = bulkRankService.changeRank(
+                fromRank, toRank, checkRequirements, dryRun, progress -> {
+                    if (!progress.finished()) {
+                        sendBulkProgress(sender, progress);
+                    }
+                });
+        if (started.isFailure()) {
+            Map<String, Object> context = new HashMap<>();
+            context.put("reason", started.getErrorMessage());
+            messageService.sendMessage(sender, Messages.RANKS_BULK_FAILED, context);
+            return true;
+        }
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("count", leaderboardService.getPlayerCount(fromRank));
+        context.put("fromRank", fromRank);
+        context.put("toRank", toRank);
+        context.put("mode", mode);
+        messageService.sendMessage(sender, Messages.RANKS_BULK_STARTED, context);
+
+        started.getValue().thenAccept(progress -> {
+            Map<String, Object> finished = new HashMap<>(context);
+            finished.put("changed", progress.changed());
+            finished.put("total", progress.total());
+            finished.put("skipped", progress.skipped());
+            finished.put("failed", progress.failed());
+            finished.put("seconds", String.format("%.1f", progress.elapsedMillis() / 1000.0));
+            messageService.sendMessage(sender, Messages.RANKS_BULK_FINISHED, finished);
+        });
+        return true;
+    }
+
+    private void sendBulkProgress(@NotNull CommandSender sender, @NotNull BulkProgress progress) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("processed", progress.processed());
+        context.put("total", progress.total());
+        context.put("changed", progress.changed());
+        context.put("rate", progress.playersPerSecond());
+        messageService.sendMessage(sender, Messages.RANKS_BULK_PROGRESS, context);
+    }
+
+    /**
+     * Accepts a rank name or alias, resolved to the rank name when ranks.yml knows it.
+     */
+    private record RankParser(RanksService rankService) implements ArgumentParser<String> {
+
+        @Override
+        @Nullable
+        public String parse(@NotNull CommandSender sender, @NotNull String input) {
+            if (input.startsWith("-")) {
+                // A flag, not a rank
+                return null;
+            }
+            String rank = rankService.resolveRank(input);
+            return rank != null ? rank : input;
+        }
+
+        @Override
+        @NotNull
+        public List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix) {
+            return rankService.completeRanks(prefix);
+        }
+    }
 }
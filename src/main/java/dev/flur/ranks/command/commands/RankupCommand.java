@@ -2,7 +2,8 @@ package dev.flur.ranks.command.commands;
 
 import dev.flur.commands.CommandInfo;
 import dev.flur.ranks.command.BaseCommand;
-import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.service.RanksService;
 import dev.flur.ranks.service.RankupNotifier;
 import dev.flur.ranks.service.RankupProcessor;
 import dev.flur.ranks.service.RankupValidator;
@@ -25,23 +26,26 @@ public final class RankupCommand extends BaseCommand {
     private final RankupValidator rankupValidator;
     private final RankupProcessor rankupProcessor;
     private final RankupNotifier rankupNotifier;
+    private final RanksService ranksService;
     private final Logger logger;
 
     public RankupCommand(
             @NotNull RankupValidator rankupValidator,
             @NotNull RankupProcessor rankupProcessor,
             @NotNull RankupNotifier rankupNotifier,
+            @NotNull RanksService ranksService,
             @NotNull Logger logger) {
         super();
         this.rankupValidator = rankupValidator;
         this.rankupProcessor = rankupProcessor;
         this.rankupNotifier = rankupNotifier;
+        this.ranksService = ranksService;
         this.logger = logger;
     }
 
     @Override
-    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
-                             @NotNull String label, @NotNull String[] args) {
+    protected boolean execute(@NotNull CommandSender sender, @NotNull Command command,
+                           @NotNull String label, @NotNull String[] args) {
         if (!(sender instanceof Player player)) {
             rankupNotifier.sendPlayerOnlyMessage(sender);
             return true;
@@ -84,23 +88,26 @@ public final class RankupCommand extends BaseCommand {
     }
 
     private boolean processRankup(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank) {
-        List<Requirement> unmetRequirements = rankupValidator.getUnmetRequirementsForRank(player, targetRank);
-
-        if (unmetRequirements.isEmpty()) {
-            return rankupProcessor.processRankup(player, currentRank, targetRank)
-                    .onSuccess(outcome -> {
-                        rankupNotifier.sendRankupSuccessMessage(player, targetRank);
-                        rankupNotifier.broadcastRankup(player, currentRank, targetRank);
-                    })
-                    .onFailure(errorMessage -> {
-                        rankupNotifier.sendRankupFailedMessage(player);
-                        logger.warning("Rankup failed: " + errorMessage);
-                    })
-                    .isSuccess();
-        } else {
-            rankupNotifier.notifyUnmetRequirements(player, unmetRequirements);
+        // One context per attempt, so every requirement is evaluated at most once
+        RankupContext context = rankupValidator.createContext(player, currentRank, targetRank);
+
+        if (!rankupValidator.meetsRequirements(context)) {
+            rankupNotifier.notifyUnmetRequirements(context);
             return false;
         }
+
+        // Completes on the main thread once any charges have settled
+        rankupProcessor.processRankupAsync(context)
+                .thenAccept(result -> result
+                        .onSuccess(outcome -> {
+                            rankupNotifier.sendRankupSuccessMessage(player, targetRank);
+                            rankupNotifier.broadcastRankup(player, currentRank, targetRank);
+                        })
+                        .onFailure(errorMessage -> {
+                            rankupNotifier.sendRankupFailedMessage(player);
+                            logger.warning("Rankup failed: " + errorMessage);
+                        }));
+        return true;
     }
 
     @Override
@@ -115,26 +122,13 @@ public final class RankupCommand extends BaseCommand {
             return List.of();
         }
 
-        // Call hasValidCurrentRank outside the try-catch to ensure it's always called
-        boolean hasValidCurrentRank;
-        try {
-            hasValidCurrentRank = rankupValidator.hasValidCurrentRank(player);
-        } catch (Exception e) {
-            logger.severe("Error in tab completion: " + e.getMessage());
-            return List.of();
-        }
-
-        if (hasValidCurrentRank) {
-            return List.of();
-        }
-
+        // Runs on every keystroke, so only cached ranks and prebuilt completions are used
         try {
-            Map<String, String> availableRanks = rankupProcessor.getAvailableRanks(player);
-            String partial = args[0].toLowerCase();
-
-            return availableRanks.keySet().stream()
-                    .filter(rank -> rank.toLowerCase().startsWith(partial))
-                    .toList();
+            String currentRank = ranksService.getCachedRank(player);
+            if (currentRank.isEmpty()) {
+                return List.of();
+            }
+            return ranksService.completeNextRanks(currentRank, args[0]);
         } catch (Exception e) {
             logger.severe("Error in tab completion: " + e.getMessage());
             return List.of();
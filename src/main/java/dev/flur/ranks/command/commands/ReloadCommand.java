@@ -1,24 +1,18 @@
 package dev.flur.ranks.command.commands;
 
-import dev.flur.commands.CommandInfo;
 import dev.flur.ranks.Ranks;
-import dev.flur.ranks.command.BaseCommand;
+import dev.flur.ranks.command.tree.CommandNode;
+import dev.flur.ranks.command.tree.Subcommand;
 import dev.flur.ranks.message.Messages;
 import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.ServiceContainer;
-import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
-import org.bukkit.command.ConsoleCommandSender;
-import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-@CommandInfo(
-        name = "reload",
-        permission = "ranks.admin.reload",
-        description = "Reload the plugin's configuration files",
-        usage = "/ranks reload [full]"
-)
-public class ReloadCommand extends BaseCommand {
+/**
+ * The {@code /ranks reload [full]} subcommand.
+ */
+public class ReloadCommand implements Subcommand {
 
     private final Ranks plugin;
     private final ServiceContainer serviceContainer;
@@ -31,19 +25,13 @@ public class ReloadCommand extends BaseCommand {
     }
 
     @Override
-    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
-        boolean fullReload = args.length > 0 && "full".equalsIgnoreCase(args[0]);
-
-        if (sender instanceof ConsoleCommandSender) {
-            return handleReload(sender, fullReload);
-        }
-
-        if (sender instanceof Player player && player.hasPermission("ranks.admin.reload")) {
-            return handleReload(player, fullReload);
-        }
-
-        messageService.sendMessage(sender, Messages.NO_PERMISSION);
-        return true;
+    @NotNull
+    public CommandNode createNode() {
+        return CommandNode.literal("reload")
+                .requires("ranks.admin.reload")
+                .executes((sender, context) -> handleReload(sender, false))
+                .then(CommandNode.literal("full")
+                        .executes((sender, context) -> handleReload(sender, true)));
     }
 
     private boolean handleReload(@NotNull CommandSender sender, boolean fullReload) {
@@ -9,9 +9,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 @CommandInfo(
@@ -30,7 +28,7 @@ public final class RequirementsCommand extends BaseCommand {
     }
 
     @Override
-    public boolean onCommand(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String
+    protected boolean execute(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String
             s, @NotNull String[] strings) {
         if (commandSender instanceof Player p) {
             try {
@@ -55,9 +53,8 @@ public final class RequirementsCommand extends BaseCommand {
             return List.of();
         }
 
-        Map<String, String> nextRanks = ranksService.getNextRanks(ranksService.getCurrentRank(player));
         if (args.length == 1) {
-            return new ArrayList<>(nextRanks.keySet());
+            return ranksService.completeNextRanks(ranksService.getCachedRank(player), args[0]);
         }
 
         return List.of();
@@ -0,0 +1,42 @@
+package dev.flur.ranks.command.commands;
+
+import dev.flur.ranks.command.tree.CommandNode;
+import dev.flur.ranks.command.tree.Subcommand;
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.PlayerLockService;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code /ranks status} subcommand, showing how often rankups had to wait for each other.
+ */
+public class StatusCommand implements Subcommand {
+
+    private final PlayerLockService playerLockService;
+    private final MessageService messageService;
+
+    public StatusCommand(@NotNull PlayerLockService playerLockService, @NotNull MessageService messageService) {
+        this.playerLockService = playerLockService;
+        this.messageService = messageService;
+    }
+
+    @Override
+    @NotNull
+    public CommandNode createNode() {
+        return CommandNode.literal("status")
+                .requires("ranks.admin.status")
+                .executes((sender, context) -> showStatus(sender));
+    }
+
+    private boolean showStatus(@NotNull CommandSender sender) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("contended", playerLockService.getContendedCount());
+        context.put("timedOut", playerLockService.getTimedOutCount());
+        messageService.sendMessage(sender, Messages.RANKS_STATUS_LOCKS, context);
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.flur.ranks.command.tree;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Parses the value of a command argument and suggests values for it.
+ *
+ * @param <T> The type of the parsed value
+ */
+public interface ArgumentParser<T> {
+
+    /**
+     * Parses an argument.
+     *
+     * @param sender The sender of the command
+     * @param input  The argument as typed
+     * @return The parsed value, or null if the input is not valid
+     */
+    @Nullable
+    T parse(@NotNull CommandSender sender, @NotNull String input);
+
+    /**
+     * Suggests values for an argument being typed.
+     *
+     * @param sender The sender of the command
+     * @param prefix The argument typed so far
+     * @return The values starting with the prefix
+     */
+    @NotNull
+    List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix);
+}
@@ -0,0 +1,47 @@
+package dev.flur.ranks.command.tree;
+
+import dev.flur.ranks.rankup.RankNameTrie;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Common argument parsers.
+ */
+public final class ArgumentParsers {
+
+    private ArgumentParsers() {
+    }
+
+    /**
+     * Creates a parser accepting one of a fixed set of options, ignoring case.
+     *
+     * @param options The accepted options
+     * @return A parser returning the option as given here
+     */
+    @NotNull
+    public static ArgumentParser<String> choice(@NotNull String... options) {
+        List<String> accepted = List.of(options);
+        RankNameTrie completions = RankNameTrie.of(accepted);
+        return new ArgumentParser<>() {
+            @Override
+            @Nullable
+            public String parse(@NotNull CommandSender sender, @NotNull String input) {
+                for (String option : accepted) {
+                    if (option.equalsIgnoreCase(input)) {
+                        return option;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            @NotNull
+            public List<String> suggest(@NotNull CommandSender sender, @NotNull String prefix) {
+                return completions.complete(prefix);
+            }
+        };
+    }
+}
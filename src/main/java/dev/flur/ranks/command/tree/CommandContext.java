@@ -0,0 +1,51 @@
+package dev.flur.ranks.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parsed arguments of a command, by argument name.
+ */
+public final class CommandContext {
+
+    private final Map<String, Object> arguments = new HashMap<>();
+
+    void put(@NotNull String name, @NotNull Object value) {
+        arguments.put(name, value);
+    }
+
+    /**
+     * Gets a parsed argument.
+     *
+     * @param name The argument name
+     * @param <T>  The type of the argument's parser
+     * @return The parsed value
+     * @throws IllegalArgumentException If the argument was not given
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NotNull String name) {
+        Object value = arguments.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("No argument named " + name);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Gets a parsed argument that may be left out.
+     *
+     * @param name         The argument name
+     * @param defaultValue The value to use if the argument was not given
+     * @param <T>          The type of the argument's parser
+     * @return The parsed value, or the default value
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> T getOrDefault(@NotNull String name, @NotNull T defaultValue) {
+        Object value = arguments.get(name);
+        return value != null ? (T) value : defaultValue;
+    }
+}
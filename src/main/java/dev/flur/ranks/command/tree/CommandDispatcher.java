@@ -0,0 +1,152 @@
+package dev.flur.ranks.command.tree;
+
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs and completes commands by walking a command tree.
+ * <p>
+ * The tree is compiled once, when the dispatcher is created: literal completions and usage
+ * lines are built per node, so parsing and completing a command only walk the nodes its
+ * arguments lead to.
+ * </p>
+ */
+public final class CommandDispatcher {
+
+    private final CommandNode root;
+    private final MessageService messageService;
+
+    /**
+     * Creates a dispatcher for a command tree.
+     *
+     * @param root           The node of the command itself
+     * @param messageService The service used to send usage and permission messages
+     */
+    public CommandDispatcher(@NotNull CommandNode root, @NotNull MessageService messageService) {
+        this.root = root;
+        this.messageService = messageService;
+        root.compile("/" + root.getName());
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param sender The sender of the command
+     * @param args   The arguments after the command name
+     * @return The result of the handler, or true if the command did not reach one
+     */
+    public boolean dispatch(@NotNull CommandSender sender, @NotNull String[] args) {
+        CommandNode node = root;
+        if (!node.canUse(sender)) {
+            messageService.sendMessage(sender, Messages.NO_PERMISSION);
+            return true;
+        }
+
+        CommandContext context = new CommandContext();
+        for (int i = 0; i < args.length; i++) {
+            CommandNode next = node.getLiteral(args[i]);
+            if (next == null) {
+                next = node.getArgument();
+            }
+            if (next == null) {
+                return sendUsage(sender, node);
+            }
+            if (!next.canUse(sender)) {
+                messageService.sendMessage(sender, Messages.NO_PERMISSION);
+                return true;
+            }
+
+            ArgumentParser<?> parser = next.getParser();
+            if (parser != null && next.isGreedy()) {
+                List<Object> values = new ArrayList<>(args.length - i);
+                for (; i < args.length; i++) {
+                    Object value = parser.parse(sender, args[i]);
+                    if (value == null) {
+                        return sendUsage(sender, node);
+                    }
+                    values.add(value);
+                }
+                context.put(next.getName(), values);
+            } else if (parser != null) {
+                Object value = parser.parse(sender, args[i]);
+                if (value == null) {
+                    return sendUsage(sender, node);
+                }
+                context.put(next.getName(), value);
+            }
+            node = next;
+        }
+
+        CommandHandler handler = node.getHandler();
+        if (handler == null) {
+            return sendUsage(sender, node);
+        }
+        return handler.execute(sender, context);
+    }
+
+    /**
+     * Completes the last argument of a command.
+     *
+     * @param sender The sender of the command
+     * @param args   The arguments after the command name, the last one being typed
+     * @return The suggestions for the last argument
+     */
+    @NotNull
+    public List<String> suggest(@NotNull CommandSender sender, @NotNull String[] args) {
+        if (args.length == 0 || !root.canUse(sender)) {
+            return List.of();
+        }
+
+        CommandNode node = root;
+        for (int i = 0; i < args.length - 1 && !node.isGreedy(); i++) {
+            node = next(sender, node, args[i]);
+            if (node == null) {
+                return List.of();
+            }
+        }
+
+        String prefix = args[args.length - 1];
+        if (node.isGreedy()) {
+            return node.getParser().suggest(sender, prefix);
+        }
+        List<String> literals = node.suggestLiterals(sender, prefix);
+        CommandNode argument = node.getArgument();
+        if (argument == null || !argument.canUse(sender)) {
+            return literals;
+        }
+        List<String> arguments = argument.getParser().suggest(sender, prefix);
+        if (literals.isEmpty()) {
+            return arguments;
+        }
+        List<String> suggestions = new ArrayList<>(literals);
+        suggestions.addAll(arguments);
+        return suggestions;
+    }
+
+    @Nullable
+    private static CommandNode next(@NotNull CommandSender sender, @NotNull CommandNode node, @NotNull String arg) {
+        CommandNode next = node.getLiteral(arg);
+        if (next == null) {
+            next = node.getArgument();
+            if (next != null && next.getParser().parse(sender, arg) == null) {
+                return null;
+            }
+        }
+        return next != null && next.canUse(sender) ? next : null;
+    }
+
+    private boolean sendUsage(@NotNull CommandSender sender, @NotNull CommandNode node) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("usage", node.getUsage());
+        messageService.sendMessage(sender, Messages.RANKS_USAGE, context);
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.flur.ranks.command.tree;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Executes a command once its arguments have been parsed.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+
+    /**
+     * Executes the command.
+     *
+     * @param sender  The sender of the command
+     * @param context The parsed arguments
+     * @return False to show the command's usage from plugin.yml, as Bukkit does
+     */
+    boolean execute(@NotNull CommandSender sender, @NotNull CommandContext context);
+}
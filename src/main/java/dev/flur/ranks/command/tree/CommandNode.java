@@ -0,0 +1,242 @@
+package dev.flur.ranks.command.tree;
+
+import dev.flur.ranks.rankup.RankNameTrie;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A node of a command tree: a literal word or an argument, with the nodes that may follow it.
+ * <p>
+ * Nodes are built with {@link #then(CommandNode)} and compiled by the {@link CommandDispatcher}
+ * they are given to, after which they can no longer be changed.
+ * </p>
+ */
+public final class CommandNode {
+
+    private final String name;
+    @Nullable
+    private final ArgumentParser<?> parser;
+    private final boolean greedy;
+    private final Map<String, CommandNode> literals = new LinkedHashMap<>();
+    @Nullable
+    private CommandNode argument;
+    @Nullable
+    private String permission;
+    @Nullable
+    private CommandHandler handler;
+
+    // Set when compiled
+    private RankNameTrie literalCompletions;
+    private boolean literalPermissions;
+    private String usage;
+
+    private CommandNode(@NotNull String name, @Nullable ArgumentParser<?> parser, boolean greedy) {
+        this.name = name;
+        this.parser = parser;
+        this.greedy = greedy;
+    }
+
+    /**
+     * Creates a node matching a fixed word, ignoring case.
+     *
+     * @param name The word
+     * @return The node
+     */
+    @NotNull
+    public static CommandNode literal(@NotNull String name) {
+        return new CommandNode(name, null, false);
+    }
+
+    /**
+     * Creates a node matching a single argument.
+     *
+     * @param name   The name the parsed value is stored under
+     * @param parser The argument's parser
+     * @return The node
+     */
+    @NotNull
+    public static CommandNode argument(@NotNull String name, @NotNull ArgumentParser<?> parser) {
+        return new CommandNode(name, parser, false);
+    }
+
+    /**
+     * Creates a node matching every remaining argument. The parsed values are stored as a list.
+     *
+     * @param name   The name the parsed values are stored under
+     * @param parser The parser of each argument
+     * @return The node
+     */
+    @NotNull
+    public static CommandNode greedyArgument(@NotNull String name, @NotNull ArgumentParser<?> parser) {
+        return new CommandNode(name, parser, true);
+    }
+
+    /**
+     * Requires a permission to use this node and the nodes after it.
+     *
+     * @param permission The permission
+     * @return This node
+     */
+    @NotNull
+    public CommandNode requires(@NotNull String permission) {
+        checkNotCompiled();
+        this.permission = permission;
+        return this;
+    }
+
+    /**
+     * Sets what happens when the command ends at this node.
+     *
+     * @param handler The handler
+     * @return This node
+     */
+    @NotNull
+    public CommandNode executes(@NotNull CommandHandler handler) {
+        checkNotCompiled();
+        this.handler = handler;
+        return this;
+    }
+
+    /**
+     * Adds a node that may follow this one.
+     *
+     * @param child The node
+     * @return This node
+     * @throws IllegalArgumentException If the node conflicts with an existing one
+     */
+    @NotNull
+    public CommandNode then(@NotNull CommandNode child) {
+        checkNotCompiled();
+        if (greedy) {
+            throw new IllegalArgumentException("Nothing can follow greedy argument " + name);
+        }
+        if (child.parser == null) {
+            if (literals.putIfAbsent(child.name.toLowerCase(Locale.ROOT), child) != null) {
+                throw new IllegalArgumentException("Duplicate literal " + child.name + " after " + name);
+            }
+        } else {
+            if (argument != null) {
+                throw new IllegalArgumentException("Only one argument can follow " + name);
+            }
+            argument = child;
+        }
+        return this;
+    }
+
+    void compile(@NotNull String path) {
+        usage = path + childSyntax();
+        literalCompletions = RankNameTrie.of(names());
+        for (CommandNode literal : literals.values()) {
+            literalPermissions |= literal.permission != null;
+            literal.compile(path + " " + literal.name);
+        }
+        if (argument != null) {
+            argument.compile(path + " <" + argument.name + ">");
+        }
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    @Nullable
+    ArgumentParser<?> getParser() {
+        return parser;
+    }
+
+    boolean isGreedy() {
+        return greedy;
+    }
+
+    @Nullable
+    CommandHandler getHandler() {
+        return handler;
+    }
+
+    @NotNull
+    String getUsage() {
+        return usage;
+    }
+
+    @Nullable
+    CommandNode getArgument() {
+        return argument;
+    }
+
+    @Nullable
+    CommandNode getLiteral(@NotNull String word) {
+        return literals.get(word.toLowerCase(Locale.ROOT));
+    }
+
+    boolean canUse(@NotNull CommandSender sender) {
+        return permission == null || sender.hasPermission(permission);
+    }
+
+    /**
+     * Suggests the literals after this node that the sender may use.
+     */
+    @NotNull
+    List<String> suggestLiterals(@NotNull CommandSender sender, @NotNull String prefix) {
+        List<String> completions = literalCompletions.complete(prefix);
+        if (!literalPermissions) {
+            return completions;
+        }
+        List<String> allowed = new ArrayList<>(completions.size());
+        for (String completion : completions) {
+            if (getLiteral(completion).canUse(sender)) {
+                allowed.add(completion);
+            }
+        }
+        return allowed;
+    }
+
+    @NotNull
+    private List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (CommandNode literal : literals.values()) {
+            names.add(literal.name);
+        }
+        return names;
+    }
+
+    /**
+     * Describes what may follow this node, following single choices to the end.
+     */
+    @NotNull
+    private String childSyntax() {
+        List<String> options = names();
+        if (argument != null) {
+            options.add(argument.name + (argument.greedy ? "..." : ""));
+        }
+        if (options.isEmpty()) {
+            return "";
+        }
+        if (options.size() > 1) {
+            String joined = String.join("|", options);
+            return handler != null ? " [" + joined + "]" : " <" + joined + ">";
+        }
+
+        CommandNode child = argument != null ? argument : literals.values().iterator().next();
+        String option = options.get(0);
+        if (handler != null) {
+            option = "[" + option + "]";
+        } else if (child.parser != null) {
+            option = "<" + option + ">";
+        }
+        return " " + option + child.childSyntax();
+    }
+
+    private void checkNotCompiled() {
+        if (usage != null) {
+            throw new IllegalStateException("Command node " + name + " is already compiled");
+        }
+    }
+}
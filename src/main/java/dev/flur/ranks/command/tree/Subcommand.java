@@ -0,0 +1,17 @@
+package dev.flur.ranks.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A subcommand of a command tree, such as {@code /ranks reload}.
+ */
+public interface Subcommand {
+
+    /**
+     * Creates the subcommand's node, to be added under the root command's node.
+     *
+     * @return The literal node of the subcommand
+     */
+    @NotNull
+    CommandNode createNode();
+}
@@ -0,0 +1,18 @@
+package dev.flur.ranks.history;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A single recorded rankup.
+ *
+ * @param playerId   The player's unique id
+ * @param playerName The player's name at the time of the rankup
+ * @param fromRank   The rank the player left
+ * @param toRank     The rank the player reached
+ * @param timestamp  When the rankup happened, in milliseconds since the epoch
+ */
+public record RankHistoryEntry(@NotNull UUID playerId, @NotNull String playerName,
+                               @NotNull String fromRank, @NotNull String toRank, long timestamp) {
+}
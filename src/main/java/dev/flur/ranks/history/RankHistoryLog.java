@@ -0,0 +1,295 @@
+package dev.flur.ranks.history;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only rank history log split into segment files.
+ * <p>
+ * Each record is stored as its length, a CRC32 of its payload and the payload. Writes are
+ * buffered until {@link #sync()}, which flushes and forces them to disk. A segment is closed
+ * and a new one started once it reaches the maximum segment size. An in-memory index maps each
+ * player to the positions of their records.
+ * </p>
+ * <p>
+ * On open, every segment is scanned to rebuild the index. A torn record at the end of the last
+ * segment, left by a crash mid-write, is cut off.
+ * </p>
+ */
+public final class RankHistoryLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final File directory;
+    private final long maxSegmentBytes;
+    private final Logger logger;
+    private final List<File> segments = new ArrayList<>();
+    private final Map<UUID, List<Position>> index = new HashMap<>();
+
+    private long activeSegmentId;
+    private long activeSize;
+    private FileOutputStream activeFile;
+    private DataOutputStream activeOut;
+
+    private RankHistoryLog(@NotNull File directory, long maxSegmentBytes, @NotNull Logger logger) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.logger = logger;
+    }
+
+    /**
+     * Opens the log in a directory, creating the directory if needed.
+     *
+     * @param directory       The directory holding the segment files
+     * @param maxSegmentBytes The size at which a segment is closed and a new one started
+     * @param logger          The logger to use
+     * @return The opened log
+     * @throws IOException If the directory or a segment cannot be read or written
+     */
+    @NotNull
+    public static RankHistoryLog open(@NotNull File directory, long maxSegmentBytes, @NotNull Logger logger) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create history directory " + directory);
+        }
+        RankHistoryLog log = new RankHistoryLog(directory, maxSegmentBytes, logger);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Appends an entry. The entry is buffered until the next {@link #sync()}.
+     *
+     * @param entry The entry to append
+     * @throws IOException If the entry cannot be written
+     */
+    public synchronized void append(@NotNull RankHistoryEntry entry) throws IOException {
+        if (activeSize >= maxSegmentBytes) {
+            rotate();
+        }
+
+        byte[] payload = encode(entry);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        activeOut.writeInt(payload.length);
+        activeOut.writeInt((int) crc.getValue());
+        activeOut.write(payload);
+
+        index.computeIfAbsent(entry.playerId(), id -> new ArrayList<>())
+                .add(new Position(segments.size() - 1, activeSize));
+        activeSize += HEADER_BYTES + payload.length;
+    }
+
+    /**
+     * Flushes buffered entries and forces them to disk.
+     *
+     * @throws IOException If the entries cannot be written
+     */
+    public synchronized void sync() throws IOException {
+        activeOut.flush();
+        activeFile.getChannel().force(false);
+    }
+
+    /**
+     * Reads all entries of a player, oldest first.
+     *
+     * @param playerId The player's unique id
+     * @return The player's entries
+     * @throws IOException If a segment cannot be read
+     */
+    @NotNull
+    public synchronized List<RankHistoryEntry> read(@NotNull UUID playerId) throws IOException {
+        List<Position> positions = index.get(playerId);
+        if (positions == null) {
+            return List.of();
+        }
+
+        // Buffered entries of the active segment must reach the file before we can read them
+        activeOut.flush();
+
+        List<RankHistoryEntry> entries = new ArrayList<>(positions.size());
+        RandomAccessFile file = null;
+        int openSegment = -1;
+        try {
+            for (Position position : positions) {
+                if (position.segment() != openSegment) {
+                    if (file != null) {
+                        file.close();
+                    }
+                    file = new RandomAccessFile(segments.get(position.segment()), "r");
+                    openSegment = position.segment();
+                }
+                file.seek(position.offset());
+                int length = file.readInt();
+                file.readInt(); // CRC was checked when the segment was scanned
+                byte[] payload = new byte[length];
+                file.readFully(payload);
+                entries.add(decode(payload));
+            }
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the number of segment files.
+     *
+     * @return The number of segments
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (activeOut != null) {
+            sync();
+            activeOut.close();
+            activeOut = null;
+        }
+    }
+
+    private void recover() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.matches("\\d+\\" + SEGMENT_SUFFIX));
+        if (files != null) {
+            // Names are zero-padded ids, so name order is segment order
+            Arrays.sort(files);
+            for (int i = 0; i < files.length; i++) {
+                segments.add(files[i]);
+                long validBytes = scan(files[i], i);
+                if (validBytes < files[i].length()) {
+                    if (i == files.length - 1) {
+                        logger.warning("Truncating torn rank history record in " + files[i].getName());
+                        try (RandomAccessFile file = new RandomAccessFile(files[i], "rw")) {
+                            file.setLength(validBytes);
+                        }
+                    } else {
+                        logger.warning("Skipping corrupt rank history after byte " + validBytes + " of " + files[i].getName());
+                    }
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            activeSegmentId = 0;
+            openActive(segmentFile(0));
+        } else {
+            File last = segments.get(segments.size() - 1);
+            activeSegmentId = segmentId(last);
+            segments.remove(segments.size() - 1);
+            openActive(last);
+        }
+    }
+
+    private long scan(@NotNull File segment, int segmentIndex) throws IOException {
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        return offset;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return offset;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return offset;
+                }
+
+                RankHistoryEntry entry = decode(payload);
+                index.computeIfAbsent(entry.playerId(), id -> new ArrayList<>())
+                        .add(new Position(segmentIndex, offset));
+                offset += HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        sync();
+        activeOut.close();
+        activeSegmentId++;
+        openActive(segmentFile(activeSegmentId));
+    }
+
+    private void openActive(@NotNull File file) throws IOException {
+        segments.add(file);
+        activeFile = new FileOutputStream(file, true);
+        activeOut = new DataOutputStream(new BufferedOutputStream(activeFile));
+        activeSize = file.length();
+    }
+
+    @NotNull
+    private File segmentFile(long id) {
+        return new File(directory, String.format("%012d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentId(@NotNull File segment) {
+        String name = segment.getName();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @NotNull
+    private static byte[] encode(@NotNull RankHistoryEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.playerId().getMostSignificantBits());
+            out.writeLong(entry.playerId().getLeastSignificantBits());
+            out.writeLong(entry.timestamp());
+            out.writeUTF(entry.playerName());
+            out.writeUTF(entry.fromRank());
+            out.writeUTF(entry.toRank());
+        }
+        return bytes.toByteArray();
+    }
+
+    @NotNull
+    private static RankHistoryEntry decode(@NotNull byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            UUID playerId = new UUID(in.readLong(), in.readLong());
+            long timestamp = in.readLong();
+            String playerName = in.readUTF();
+            String fromRank = in.readUTF();
+            String toRank = in.readUTF();
+            return new RankHistoryEntry(playerId, playerName, fromRank, toRank, timestamp);
+        }
+    }
+
+    private record Position(int segment, long offset) {
+    }
+}
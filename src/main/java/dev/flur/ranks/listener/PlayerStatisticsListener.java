@@ -0,0 +1,25 @@
+package dev.flur.ranks.listener;
+
+import dev.flur.ranks.service.PlayerStatisticsService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Saves a statistics snapshot of every player that quits.
+ */
+public final class PlayerStatisticsListener implements Listener {
+
+    private final PlayerStatisticsService playerStatisticsService;
+
+    public PlayerStatisticsListener(@NotNull PlayerStatisticsService playerStatisticsService) {
+        this.playerStatisticsService = playerStatisticsService;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        playerStatisticsService.saveSnapshot(event.getPlayer());
+    }
+}
@@ -0,0 +1,45 @@
+package dev.flur.ranks.listener;
+
+import dev.flur.ranks.service.ProgressDisplayService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLevelChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerStatisticIncrementEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shows players their rank progress while they are online, and marks it for an update when it
+ * may have changed.
+ */
+public final class ProgressDisplayListener implements Listener {
+
+    private final ProgressDisplayService progressDisplayService;
+
+    public ProgressDisplayListener(@NotNull ProgressDisplayService progressDisplayService) {
+        this.progressDisplayService = progressDisplayService;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        progressDisplayService.show(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        progressDisplayService.hide(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStatisticIncrement(@NotNull PlayerStatisticIncrementEvent event) {
+        // Fired before the increment, which is applied by the time the update runs
+        progressDisplayService.requestUpdate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLevelChange(@NotNull PlayerLevelChangeEvent event) {
+        progressDisplayService.requestUpdate(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,31 @@
+package dev.flur.ranks.listener;
+
+import dev.flur.ranks.service.RanksService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Caches the rank of every player that joins and forgets it when they quit.
+ */
+public final class RankCacheListener implements Listener {
+
+    private final RanksService ranksService;
+
+    public RankCacheListener(@NotNull RanksService ranksService) {
+        this.ranksService = ranksService;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        ranksService.getCurrentRank(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        ranksService.invalidateCachedRank(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,63 @@
+package dev.flur.ranks.listener;
+
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Records the rank of every player that joins or quits, so the leaderboard index also holds
+ * players that never ranked up and ranks changed by other plugins.
+ */
+public final class RankRecordListener implements Listener {
+
+    private final PermissionService permissionService;
+    private final RanksService ranksService;
+    private final LeaderboardService leaderboardService;
+    private final RankStorage rankStorage;
+
+    public RankRecordListener(@NotNull PermissionService permissionService,
+                              @NotNull RanksService ranksService,
+                              @NotNull LeaderboardService leaderboardService,
+                              @NotNull RankStorage rankStorage) {
+        this.permissionService = permissionService;
+        this.ranksService = ranksService;
+        this.leaderboardService = leaderboardService;
+        this.rankStorage = rankStorage;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        record(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        record(event.getPlayer());
+    }
+
+    private void record(@NotNull Player player) {
+        String rank = permissionService.getPrimaryGroup(player);
+        if (!ranksService.getAllRanks().contains(rank)) {
+            return;
+        }
+        // Only a changed rank is written, so its time stays the time the player got it
+        boolean recorded = leaderboardService.getPlayer(player.getUniqueId())
+                .map(current -> current.rank().equals(rank))
+                .orElse(false);
+        if (recorded) {
+            return;
+        }
+        PlayerRankRecord record = new PlayerRankRecord(player.getUniqueId(), player.getName(), rank, System.currentTimeMillis());
+        rankStorage.saveRank(record);
+        leaderboardService.update(record);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.flur.ranks.listener;
+
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.service.RequirementValidator;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLevelChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerStatisticIncrementEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Invalidates remembered requirement results when the inputs they depend on change.
+ */
+public final class RequirementCacheListener implements Listener {
+
+    private final RequirementValidator requirementValidator;
+
+    public RequirementCacheListener(@NotNull RequirementValidator requirementValidator) {
+        this.requirementValidator = requirementValidator;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStatisticIncrement(@NotNull PlayerStatisticIncrementEvent event) {
+        requirementValidator.invalidate(event.getPlayer().getUniqueId(), RequirementInput.STATISTIC);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLevelChange(@NotNull PlayerLevelChangeEvent event) {
+        requirementValidator.invalidate(event.getPlayer().getUniqueId(), RequirementInput.LEVEL);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        requirementValidator.invalidate(event.getPlayer().getUniqueId());
+    }
+}
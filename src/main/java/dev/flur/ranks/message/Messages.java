@@ -14,6 +14,7 @@ public enum Messages {
     PLAYER_ONLY("player-only", "player.only"),
     ERROR_OCCURRED("error-occurred", "error.occurred"),
     NO_PERMISSION("no-permission", "permission.denied"),
+    COMMAND_RATE_LIMITED("rate-limited", "command.rate.limited"),
 
     // Admin command messages
     RELOAD_COMPLETED("reload.completed", "reload.success"),
@@ -29,7 +30,23 @@ public enum Messages {
     INVALID_RANK("rankup.invalid-rank", "invalid.rank"),
     CURRENT_RANK_ERROR("rankup.current-rank-error", "current.rank.error"),
     RANKUP_FAILED("rankup.failed", "rankup.failed"),
-    RANKUP_BROADCAST("rankup.broadcast", "rankup.broadcast");
+    RANKUP_BROADCAST("rankup.broadcast", "rankup.broadcast"),
+
+    // Ranks command messages
+    RANKS_USAGE("ranks.usage", "usage"),
+    RANKS_DISTRIBUTION_HEADER("ranks.distribution-header", "distribution.header"),
+    RANKS_DISTRIBUTION_ITEM("ranks.distribution-item", "distribution.item"),
+    RANKS_TOP_HEADER("ranks.top-header", "top.header"),
+    RANKS_TOP_ITEM("ranks.top-item", "top.item"),
+    RANKS_TOP_EMPTY("ranks.top-empty", "top.empty"),
+    RANKS_BULK_STARTED("ranks.bulk-started", "bulk.started"),
+    RANKS_BULK_PROGRESS("ranks.bulk-progress", "bulk.progress"),
+    RANKS_BULK_FINISHED("ranks.bulk-finished", "bulk.finished"),
+    RANKS_BULK_FAILED("ranks.bulk-failed", "bulk.failed"),
+    RANKS_STATUS_LOCKS("ranks.status-locks", "status.locks"),
+
+    // Progress display messages
+    PROGRESS_BAR("progress.bar", "progress.bar");
 
     private static final Map<String, Messages> KEY_MAP = new HashMap<>();
 
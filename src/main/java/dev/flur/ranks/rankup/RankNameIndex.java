@@ -0,0 +1,119 @@
+package dev.flur.ranks.rankup;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Resolves rank names and aliases to rank names, ignoring case.
+ * <p>
+ * Keys are hashed and compared case-insensitively in place, so a lookup neither folds nor
+ * copies its argument. Indexes are immutable once built.
+ * </p>
+ */
+public final class RankNameIndex {
+
+    /**
+     * An index without ranks, resolving nothing.
+     */
+    public static final RankNameIndex EMPTY = new RankNameIndex(new String[1], new String[1]);
+
+    private final String[] keys;
+    private final String[] ranks;
+
+    private RankNameIndex(@NotNull String[] keys, @NotNull String[] ranks) {
+        this.keys = keys;
+        this.ranks = ranks;
+    }
+
+    /**
+     * Builds an index of rank names and their aliases.
+     * <p>
+     * Rank names take precedence over aliases. A key that is already taken is skipped with a
+     * warning.
+     * </p>
+     *
+     * @param names   The rank names
+     * @param aliases Rank names mapped to their aliases
+     * @param logger  The logger conflicts are reported to
+     * @return The index
+     */
+    @NotNull
+    public static RankNameIndex of(@NotNull Collection<String> names,
+                                   @NotNull Map<String, ? extends Collection<String>> aliases,
+                                   @NotNull Logger logger) {
+        int size = names.size();
+        for (Collection<String> rankAliases : aliases.values()) {
+            size += rankAliases.size();
+        }
+        // At most half full, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(1, size) * 2) * 2;
+        RankNameIndex index = new RankNameIndex(new String[capacity], new String[capacity]);
+
+        for (String name : names) {
+            String existing = index.put(name, name);
+            if (existing != null) {
+                logger.warning("Rank '" + name + "' differs from rank '" + existing
+                        + "' only in case; only '" + existing + "' can be selected");
+            }
+        }
+        for (Map.Entry<String, ? extends Collection<String>> entry : aliases.entrySet()) {
+            for (String alias : entry.getValue()) {
+                String existing = index.put(alias, entry.getKey());
+                if (existing != null && !existing.equals(entry.getKey())) {
+                    logger.warning("Alias '" + alias + "' of rank '" + entry.getKey()
+                            + "' is already used by rank '" + existing + "' and will be ignored");
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Resolves a rank name or alias.
+     *
+     * @param nameOrAlias The name or alias, in any case
+     * @return The rank name, or null if no rank has that name or alias
+     */
+    @Nullable
+    public String resolve(@NotNull String nameOrAlias) {
+        int mask = keys.length - 1;
+        for (int slot = hash(nameOrAlias) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equalsIgnoreCase(nameOrAlias)) {
+                return ranks[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a key unless it is taken.
+     *
+     * @return The rank the key already resolves to, or null if it was added
+     */
+    @Nullable
+    private String put(@NotNull String key, @NotNull String rank) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equalsIgnoreCase(key)) {
+                return ranks[slot];
+            }
+        }
+        keys[slot] = key;
+        ranks[slot] = rank;
+        return null;
+    }
+
+    private static int hash(@NotNull String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            // The same folding String#equalsIgnoreCase applies
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
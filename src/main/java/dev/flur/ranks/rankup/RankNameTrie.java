@@ -0,0 +1,94 @@
+package dev.flur.ranks.rankup;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completes rank names from a case-insensitive prefix.
+ * <p>
+ * Every node holds the sorted names below it, so a completion walks the prefix and returns a
+ * list built when the trie was, without allocating. Tries are immutable once built.
+ * </p>
+ */
+public final class RankNameTrie {
+
+    /**
+     * A trie without names, completing nothing.
+     */
+    public static final RankNameTrie EMPTY = of(List.of());
+
+    private final Node root;
+
+    private RankNameTrie(@NotNull Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a trie of rank names.
+     *
+     * @param names The rank names; names equal ignoring case are kept once
+     * @return The trie
+     */
+    @NotNull
+    public static RankNameTrie of(@NotNull Collection<String> names) {
+        Map<String, String> unique = new HashMap<>();
+        for (String name : names) {
+            unique.putIfAbsent(fold(name), name);
+        }
+        List<String> sorted = new ArrayList<>(unique.values());
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+
+        Node root = new Node();
+        for (String name : sorted) {
+            Node node = root;
+            node.names.add(name);
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(Character.toLowerCase(name.charAt(i)), c -> new Node());
+                node.names.add(name);
+            }
+        }
+        root.freeze();
+        return new RankNameTrie(root);
+    }
+
+    /**
+     * Gets the names starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix typed so far
+     * @return The matching names in case-insensitive order; the list must not be modified
+     */
+    @NotNull
+    public List<String> complete(@NotNull String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(Character.toLowerCase(prefix.charAt(i)));
+        }
+        return node != null ? node.names : List.of();
+    }
+
+    @NotNull
+    private static String fold(@NotNull String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            folded.append(Character.toLowerCase(name.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private List<String> names = new ArrayList<>();
+
+        void freeze() {
+            names = List.copyOf(names);
+            for (Node child : children.values()) {
+                child.freeze();
+            }
+        }
+    }
+}
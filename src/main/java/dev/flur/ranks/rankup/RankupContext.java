@@ -0,0 +1,193 @@
+package dev.flur.ranks.rankup;
+
+import dev.flur.ranks.requirement.Requirement;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Carries the state of a single rankup attempt through validation, processing and notification.
+ * <p>
+ * The current rank, target rank and requirement list are resolved once when the context is
+ * created. Requirement results are recorded as they are evaluated, so every requirement is
+ * evaluated at most once per rankup no matter how many services look at it.
+ * </p>
+ * <p>
+ * A context belongs to one rankup attempt and is not thread-safe.
+ * </p>
+ */
+public final class RankupContext {
+
+    private final UUID transactionId = UUID.randomUUID();
+    private final Player player;
+    private final String currentRank;
+    private final String targetRank;
+    private final List<Requirement> requirements;
+    private final int distinctRequirements;
+    private final Map<Requirement, Boolean> results;
+
+    /**
+     * Creates a new rankup context.
+     *
+     * @param player       The player ranking up
+     * @param currentRank  The player's current rank
+     * @param targetRank   The rank the player wants to reach
+     * @param requirements The requirements for the transition from current to target rank
+     */
+    public RankupContext(
+            @NotNull Player player,
+            @NotNull String currentRank,
+            @NotNull String targetRank,
+            @NotNull List<Requirement> requirements) {
+        this.player = player;
+        this.currentRank = currentRank;
+        this.targetRank = targetRank;
+        this.requirements = List.copyOf(requirements);
+        // Requirements do not override equals, and two equal-looking instances are still two checks
+        this.results = new IdentityHashMap<>();
+
+        Set<Requirement> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(requirements);
+        this.distinctRequirements = distinct.size();
+    }
+
+    /**
+     * Gets the unique id of this rankup attempt.
+     *
+     * @return The rankup's unique id
+     */
+    @NotNull
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Gets the idempotency key for consuming one of the requirements of this rankup.
+     * <p>
+     * The key is derived from the rankup's id and the requirement's position, so submitting
+     * the same consumption twice for this rankup yields the same key.
+     * </p>
+     *
+     * @param index The requirement's index in {@link #getRequirements()}
+     * @return The idempotency key
+     */
+    @NotNull
+    public UUID getIdempotencyKey(int index) {
+        return UUID.nameUUIDFromBytes((transactionId + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the player ranking up.
+     *
+     * @return The player ranking up
+     */
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the player's rank at the time the context was created.
+     *
+     * @return The player's current rank
+     */
+    @NotNull
+    public String getCurrentRank() {
+        return currentRank;
+    }
+
+    /**
+     * Gets the rank the player wants to reach.
+     *
+     * @return The target rank
+     */
+    @NotNull
+    public String getTargetRank() {
+        return targetRank;
+    }
+
+    /**
+     * Gets the requirements for this rankup in their configured order.
+     *
+     * @return An unmodifiable list of requirements
+     */
+    @NotNull
+    public List<Requirement> getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Gets the recorded result of a requirement.
+     *
+     * @param requirement The requirement to look up
+     * @return True or false if the requirement was evaluated, or null if it was not evaluated yet
+     */
+    @Nullable
+    public Boolean getResult(@NotNull Requirement requirement) {
+        return results.get(requirement);
+    }
+
+    /**
+     * Records the result of evaluating a requirement.
+     *
+     * @param requirement The evaluated requirement
+     * @param met         Whether the player meets the requirement
+     */
+    public void recordResult(@NotNull Requirement requirement, boolean met) {
+        results.put(requirement, met);
+    }
+
+    /**
+     * Checks if every requirement has been evaluated.
+     *
+     * @return True if every requirement has a recorded result, false otherwise
+     */
+    public boolean isFullyEvaluated() {
+        return results.size() == distinctRequirements;
+    }
+
+    /**
+     * Checks if every requirement has been evaluated and met.
+     *
+     * @return True if all requirements are known to be met, false otherwise
+     */
+    public boolean isAllMet() {
+        if (!isFullyEvaluated()) {
+            return false;
+        }
+        for (Boolean met : results.values()) {
+            if (!met) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the requirements that were evaluated and found unmet, in their configured order.
+     * <p>
+     * Requirements that have not been evaluated yet are not included.
+     * </p>
+     *
+     * @return A list of unmet requirements
+     */
+    @NotNull
+    public List<Requirement> getRecordedUnmetRequirements() {
+        List<Requirement> unmet = new ArrayList<>();
+        for (Requirement requirement : requirements) {
+            if (Boolean.FALSE.equals(results.get(requirement))) {
+                unmet.add(requirement);
+            }
+        }
+        return unmet;
+    }
+}
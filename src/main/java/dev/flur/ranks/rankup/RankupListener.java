@@ -0,0 +1,18 @@
+package dev.flur.ranks.rankup;
+
+import dev.flur.ranks.result.RankupOutcome;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener notified after a rankup has been committed.
+ */
+@FunctionalInterface
+public interface RankupListener {
+
+    /**
+     * Called on the main thread after a successful rankup. Must not block.
+     *
+     * @param outcome The outcome of the rankup
+     */
+    void onRankup(@NotNull RankupOutcome outcome);
+}
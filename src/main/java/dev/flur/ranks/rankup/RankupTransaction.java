@@ -0,0 +1,230 @@
+package dev.flur.ranks.rankup;
+
+import dev.flur.ranks.requirement.Consumption;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.result.RankupOutcome;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.PlayerLockService;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Consumes a rankup's requirements and swaps the player's group as one unit.
+ * <p>
+ * Everything runs under the player's lock, so concurrent rankups of the same player are applied
+ * one after the other and cannot spend the same resources twice. A rankup that finds the lock
+ * held fails instead of blocking the main thread. If any step fails, the steps already taken are
+ * undone in reverse order.
+ * </p>
+ * <p>
+ * Requirements settle off the main thread and the group is only swapped once every consumption
+ * is confirmed. The group swap may be applied later by the permission service; the rankup
+ * completes, or is undone, once it is. Steps that touch the player run on the main thread
+ * executor.
+ * </p>
+ */
+public final class RankupTransaction {
+
+    private final PermissionService permissionService;
+    private final PlayerLockService playerLockService;
+    private final Executor mainThreadExecutor;
+    private final Logger logger;
+
+    /**
+     * Creates a new rankup transaction.
+     *
+     * @param permissionService  The permission service used to swap groups
+     * @param playerLockService  The locks serializing rankups per player
+     * @param mainThreadExecutor Runs tasks on the server's main thread
+     * @param logger             The logger to use
+     */
+    public RankupTransaction(
+            @NotNull PermissionService permissionService,
+            @NotNull PlayerLockService playerLockService,
+            @NotNull Executor mainThreadExecutor,
+            @NotNull Logger logger) {
+        this.permissionService = permissionService;
+        this.playerLockService = playerLockService;
+        this.mainThreadExecutor = mainThreadExecutor;
+        this.logger = logger;
+    }
+
+    /**
+     * Executes the rankup described by the context without blocking the calling thread.
+     * <p>
+     * Must be called on the main thread. The rankup is refused if the player's rank has changed
+     * since the context was created, for example because another rankup of the same player got
+     * there first. The player's lock is held until the returned future completes; a rankup that
+     * finds the lock held fails right away.
+     * </p>
+     *
+     * @param context The validated rankup to execute
+     * @return A future completing on the main thread with the rankup outcome, or an error message if failed
+     */
+    @NotNull
+    public CompletableFuture<Result<RankupOutcome>> executeAsync(@NotNull RankupContext context) {
+        UUID playerId = context.getPlayer().getUniqueId();
+        if (!playerLockService.tryLock(playerId, 0L, TimeUnit.MILLISECONDS)) {
+            return CompletableFuture.completedFuture(
+                    Result.failure("Another rankup of player " + context.getPlayer().getName() + " is in progress"));
+        }
+
+        CompletableFuture<Result<RankupOutcome>> result;
+        try {
+            result = settleLocked(context);
+        } catch (Exception e) {
+            logger.severe("Error in rankup of player " + context.getPlayer().getName() + " to rank "
+                    + context.getTargetRank() + ": " + e.getMessage());
+            result = CompletableFuture.completedFuture(Result.failure("Error upgrading rank: " + e.getMessage()));
+        }
+        return result.whenComplete((outcome, error) -> playerLockService.unlock(playerId));
+    }
+
+    @NotNull
+    private CompletableFuture<Result<RankupOutcome>> settleLocked(@NotNull RankupContext context) {
+        Result<RankupOutcome> rankChanged = checkRankUnchanged(context);
+        if (rankChanged != null) {
+            return CompletableFuture.completedFuture(rankChanged);
+        }
+
+        Player player = context.getPlayer();
+        List<Requirement> requirements = context.getRequirements();
+        // Appended from whichever thread completes a settlement
+        List<Consumption> consumed = Collections.synchronizedList(new ArrayList<>());
+
+        // Consume one requirement at a time; the chain carries the first requirement that failed
+        CompletableFuture<Requirement> unmet = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < requirements.size(); i++) {
+            int index = i;
+            Requirement requirement = requirements.get(i);
+            unmet = unmet.thenComposeAsync(previous -> {
+                if (previous != null) {
+                    return CompletableFuture.completedFuture(previous);
+                }
+                return requirement.takeAsync(player, context.getIdempotencyKey(index), mainThreadExecutor)
+                        .thenApply(taken -> {
+                            if (taken == null) {
+                                return requirement;
+                            }
+                            consumed.addAll(taken);
+                            return null;
+                        });
+            }, mainThreadExecutor);
+        }
+
+        return unmet.handleAsync((failed, error) -> {
+            if (error != null) {
+                return CompletableFuture.completedFuture(abort(context, unwrap(error), consumed));
+            }
+            if (failed != null) {
+                refund(context, consumed);
+                return CompletableFuture.completedFuture(requirementNoLongerMet(context, failed));
+            }
+            return swapGroups(context, consumed);
+        }, mainThreadExecutor).thenCompose(Function.identity());
+    }
+
+    @Nullable
+    private Result<RankupOutcome> checkRankUnchanged(@NotNull RankupContext context) {
+        String actualRank = permissionService.getPrimaryGroup(context.getPlayer());
+        if (context.getCurrentRank().equals(actualRank == null ? "" : actualRank)) {
+            return null;
+        }
+        return Result.failure("Rank of player " + context.getPlayer().getName() + " changed from "
+                + context.getCurrentRank() + " to " + actualRank + " during the rankup");
+    }
+
+    @NotNull
+    private CompletableFuture<Result<RankupOutcome>> swapGroups(@NotNull RankupContext context, @NotNull List<Consumption> consumed) {
+        Player player = context.getPlayer();
+        String currentRank = context.getCurrentRank();
+        String targetRank = context.getTargetRank();
+
+        CompletableFuture<Boolean> moved;
+        try {
+            moved = permissionService.setGroupAsync(player, currentRank, targetRank);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(abort(context, e, consumed));
+        }
+
+        return moved.handleAsync((success, error) -> {
+            if (error != null || !Boolean.TRUE.equals(success)) {
+                // The move may have left the old group before it failed
+                restoreRank(player, currentRank, !currentRank.isEmpty());
+                if (error != null) {
+                    return abort(context, unwrap(error), consumed);
+                }
+                refund(context, consumed);
+                return Result.failure("Failed to add player " + player.getName() + " to rank " + targetRank);
+            }
+            logger.info("Player " + player.getName() + " upgraded from " + currentRank + " to " + targetRank);
+            return Result.success(new RankupOutcome(player, currentRank, targetRank, true));
+        }, mainThreadExecutor);
+    }
+
+    @NotNull
+    private Result<RankupOutcome> abort(@NotNull RankupContext context, @NotNull Throwable error,
+                                        @NotNull List<Consumption> consumed) {
+        logger.severe("Error in rankup of player " + context.getPlayer().getName() + " to rank "
+                + context.getTargetRank() + ": " + error.getMessage());
+        refund(context, consumed);
+        return Result.failure("Error upgrading rank: " + error.getMessage());
+    }
+
+    @NotNull
+    private Result<RankupOutcome> requirementNoLongerMet(@NotNull RankupContext context, @NotNull Requirement requirement) {
+        return Result.failure("Player " + context.getPlayer().getName() + " no longer meets requirement " + requirement);
+    }
+
+    private void restoreRank(@NotNull Player player, @NotNull String currentRank, boolean removed) {
+        if (!removed) {
+            return;
+        }
+        try {
+            permissionService.addToGroup(player, currentRank);
+        } catch (Exception e) {
+            logger.severe("Failed to restore rank " + currentRank + " of player " + player.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void refund(@NotNull RankupContext context, @NotNull List<Consumption> consumed) {
+        Player player = context.getPlayer();
+        List<Consumption> taken;
+        synchronized (consumed) {
+            taken = new ArrayList<>(consumed);
+        }
+
+        for (int i = taken.size() - 1; i >= 0; i--) {
+            Consumption consumption = taken.get(i);
+            Requirement requirement = consumption.requirement();
+            try {
+                consumption.refundAsync(player)
+                        .whenComplete((refunded, error) -> {
+                            if (error != null || !Boolean.TRUE.equals(refunded)) {
+                                logger.severe("Failed to refund requirement " + requirement + " to player " + player.getName());
+                            }
+                        });
+            } catch (Exception e) {
+                logger.severe("Failed to refund requirement " + requirement + " to player " + player.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @NotNull
+    private static Throwable unwrap(@NotNull Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.flur.ranks.requirement;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Something a requirement took from a player, kept by whoever consumed it so it can be refunded.
+ * <p>
+ * {@link Requirement#take(Player, UUID)} yields one consumption per requirement that
+ * took something, so what a group took is known to the caller rather than stored on the shared
+ * group.
+ * </p>
+ *
+ * @param requirement    The requirement that took from the player
+ * @param idempotencyKey The key the requirement was consumed with
+ */
+public record Consumption(@NotNull Requirement requirement, @NotNull UUID idempotencyKey) {
+
+    /**
+     * Gives back everything taken, in reverse order.
+     *
+     * @param player The player to refund
+     * @param taken  What was taken from the player
+     */
+    public static void refundAll(@NotNull Player player, @NotNull List<Consumption> taken) {
+        for (int i = taken.size() - 1; i >= 0; i--) {
+            taken.get(i).requirement().refund(player);
+        }
+    }
+
+    /**
+     * Gives back everything taken without blocking the calling thread, in reverse order.
+     *
+     * @param player The player to refund
+     * @param taken  What was taken from the player
+     * @return A future completing with true if every refund went through, false otherwise
+     */
+    @NotNull
+    public static CompletableFuture<Boolean> refundAllAsync(@NotNull Player player, @NotNull List<Consumption> taken) {
+        CompletableFuture<Boolean> refunded = CompletableFuture.completedFuture(true);
+        for (int i = taken.size() - 1; i >= 0; i--) {
+            CompletableFuture<Boolean> refund;
+            try {
+                refund = taken.get(i).refundAsync(player).exceptionally(error -> false);
+            } catch (RuntimeException e) {
+                refund = CompletableFuture.completedFuture(false);
+            }
+            refunded = refunded.thenCombine(refund, Boolean::logicalAnd);
+        }
+        return refunded;
+    }
+
+    /**
+     * Gives back what this consumption took without blocking the calling thread.
+     *
+     * @param player The player to refund
+     * @return A future completing with true if the refund went through, false otherwise
+     */
+    @NotNull
+    public CompletableFuture<Boolean> refundAsync(@NotNull Player player) {
+        return requirement.refundAsync(player, idempotencyKey);
+    }
+}
@@ -0,0 +1,60 @@
+package dev.flur.ranks.requirement;
+
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Statistics read live from an online player.
+ */
+final class LivePlayerStatistics implements PlayerStatistics {
+
+    private final Player player;
+
+    LivePlayerStatistics(@NotNull Player player) {
+        this.player = player;
+    }
+
+    @Override
+    @NotNull
+    public UUID getUniqueId() {
+        return player.getUniqueId();
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return player.getName();
+    }
+
+    @Override
+    @NotNull
+    public OfflinePlayer getOfflinePlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Player getOnlinePlayer() {
+        return player;
+    }
+
+    @Override
+    public int getStatistic(@NotNull Statistic statistic) {
+        return player.getStatistic(statistic);
+    }
+
+    @Override
+    public int getStatistic(@NotNull Statistic statistic, @NotNull Material material) {
+        return player.getStatistic(statistic, material);
+    }
+
+    @Override
+    public int getLevel() {
+        return player.getLevel();
+    }
+}
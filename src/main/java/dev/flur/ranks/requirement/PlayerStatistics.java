@@ -0,0 +1,54 @@
+package dev.flur.ranks.requirement;
+
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * The statistics of a player that requirements are evaluated against.
+ * <p>
+ * For online players these are read live; for offline players they come from the snapshot
+ * saved when the player last quit.
+ * </p>
+ */
+public interface PlayerStatistics {
+
+    /**
+     * Creates statistics that read straight from an online player.
+     *
+     * @param player The online player
+     * @return The player's live statistics
+     */
+    @NotNull
+    static PlayerStatistics live(@NotNull Player player) {
+        return new LivePlayerStatistics(player);
+    }
+
+    @NotNull
+    UUID getUniqueId();
+
+    @Nullable
+    String getName();
+
+    @NotNull
+    OfflinePlayer getOfflinePlayer();
+
+    /**
+     * Gets the online player these statistics belong to.
+     *
+     * @return The player, or null if these statistics are a snapshot
+     */
+    @Nullable
+    Player getOnlinePlayer();
+
+    int getStatistic(@NotNull Statistic statistic);
+
+    int getStatistic(@NotNull Statistic statistic, @NotNull Material material);
+
+    int getLevel();
+}
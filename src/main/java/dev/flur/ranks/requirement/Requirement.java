@@ -2,13 +2,152 @@ package dev.flur.ranks.requirement;
 
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface Requirement {
 
     boolean meetsRequirement(@NotNull Player player);
 
+    /**
+     * Checks the requirement against a player's statistics, which may be an offline snapshot.
+     * <p>
+     * Requirements that can be checked from a snapshot should override this together with
+     * {@link #captureStatistics(Player, Map)}. By default only online players can meet it.
+     * </p>
+     *
+     * @param statistics The player's statistics
+     * @return True if the requirement is met
+     */
+    default boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        Player player = statistics.getOnlinePlayer();
+        return player != null && meetsRequirement(player);
+    }
+
+    /**
+     * Gets how far a player is towards meeting the requirement.
+     * <p>
+     * Requirements with a numeric target should override this and derive
+     * {@link #meetsRequirement(PlayerStatistics)} from it, so progress is read in the same calls
+     * as the check. By default progress is either none or full.
+     * </p>
+     *
+     * @param statistics The player's statistics
+     * @return The player's progress
+     */
+    @NotNull
+    default RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        return RequirementProgress.of(meetsRequirement(statistics));
+    }
+
+    /**
+     * Adds the statistics this requirement reads to a snapshot of an online player.
+     *
+     * @param player   The online player
+     * @param snapshot The snapshot values, keyed as described in {@link StatisticsSnapshot}
+     */
+    default void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        // Requirements that cannot be checked offline read nothing
+    }
+
     void consume(@NotNull Player player);
 
+    /**
+     * Consumes the requirement's resources if the player still has them.
+     * <p>
+     * Requirements that take something from the player (money, items) should check and take
+     * in one step here, so nothing can be spent between the check and the consume.
+     * </p>
+     *
+     * @param player The player to consume from
+     * @return True if the resources were consumed, false if the player no longer has them
+     */
+    default boolean tryConsume(@NotNull Player player) {
+        consume(player);
+        return true;
+    }
+
+    /**
+     * Gives back what a successful {@link #tryConsume(Player)} took, when the rankup it was
+     * part of fails afterward.
+     *
+     * @param player The player to refund
+     */
+    default void refund(@NotNull Player player) {
+        // Nothing is consumed by default, so there is nothing to give back
+    }
+
+    /**
+     * Consumes the requirement's resources without blocking the calling thread.
+     * <p>
+     * Called on the main thread. Requirements backed by slow external systems should override
+     * this and settle off the main thread; resubmitting the same key must not consume twice.
+     * </p>
+     *
+     * @param player         The player to consume from
+     * @param idempotencyKey The key identifying this consumption
+     * @return A future completing with true if the resources were consumed, false otherwise
+     */
+    @NotNull
+    default CompletableFuture<Boolean> tryConsumeAsync(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        return CompletableFuture.completedFuture(tryConsume(player));
+    }
+
+    /**
+     * Gives back what a successful {@link #tryConsumeAsync(Player, UUID)} took.
+     *
+     * @param player         The player to refund
+     * @param idempotencyKey The key the consumption was made with
+     * @return A future completing with true if the refund went through, false otherwise
+     */
+    @NotNull
+    default CompletableFuture<Boolean> refundAsync(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        refund(player);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Consumes the requirement if the player still meets it, returning what was taken so the
+     * caller can refund exactly that.
+     * <p>
+     * By default the requirement itself is consumed through {@link #tryConsume(Player)}.
+     * Requirements made of others should override this and return what their parts took.
+     * </p>
+     *
+     * @param player         The player to consume from
+     * @param idempotencyKey The key identifying this consumption
+     * @return What was taken, or null if the player no longer meets the requirement
+     */
+    @Nullable
+    default List<Consumption> take(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        return tryConsume(player) ? List.of(new Consumption(this, idempotencyKey)) : null;
+    }
+
+    /**
+     * Consumes the requirement if the player still meets it without blocking the calling thread,
+     * returning what was taken so the caller can refund exactly that.
+     * <p>
+     * Called on the main thread; steps that touch the player run on the given executor. By
+     * default the requirement itself is consumed through {@link #tryConsumeAsync(Player, UUID)}.
+     * </p>
+     *
+     * @param player             The player to consume from
+     * @param idempotencyKey     The key identifying this consumption
+     * @param mainThreadExecutor Runs tasks on the server's main thread
+     * @return A future completing with what was taken, or null if the player no longer meets the requirement
+     */
+    @NotNull
+    default CompletableFuture<List<Consumption>> takeAsync(@NotNull Player player, @NotNull UUID idempotencyKey,
+                                                           @NotNull Executor mainThreadExecutor) {
+        return tryConsumeAsync(player, idempotencyKey)
+                .thenApply(met -> met ? List.of(new Consumption(this, idempotencyKey)) : null);
+    }
+
     String toString();
 
 }
@@ -1,10 +1,24 @@
 package dev.flur.ranks.requirement;
 
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.composite.CompositeRequirement;
+import dev.flur.ranks.requirement.composite.NotRequirement;
+import dev.flur.ranks.requirement.composite.ThresholdRequirement;
 import dev.flur.ranks.requirement.records.RequirementRecord;
 import dev.flur.ranks.service.services.DefaultRequirementRegistry;
+import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 /**
  * Factory class for creating requirement instances from string representations.
  * <p>
@@ -12,6 +26,11 @@ import org.jetbrains.annotations.Nullable;
  * requirement instances based on registered requirement types.
  * </p>
  *
+ * <p>
+ * Nested expressions are compiled by {@link #compile(Object)}, which returns the same instance
+ * for every expression that means the same thing, however often and wherever it appears.
+ * </p>
+ *
  * @see DefaultRequirementRegistry
  * @see AnnotatedRequirement
  * @since 1.0
@@ -19,6 +38,9 @@ import org.jetbrains.annotations.Nullable;
 public class RequirementFactory {
 
     private final DefaultRequirementRegistry registry;
+    // Compiled requirements by canonical expression, and the other way around
+    private final Map<String, Requirement> compiled = new ConcurrentHashMap<>();
+    private final Map<Requirement, String> expressions = new ConcurrentHashMap<>();
 
     /**
      * Creates a new RequirementFactory with the specified registry.
@@ -57,6 +79,174 @@ public class RequirementFactory {
         return info.constructor().apply(params);
     }
 
+    /**
+     * Compiles a requirement expression from {@code ranks.yml}.
+     * <p>
+     * An expression is a requirement string, or a map with a single key: {@code all-of} or
+     * {@code any-of} with a list of expressions, or {@code not} with one expression. A map with
+     * the keys {@code at-least} and {@code of} is met when at least that many expressions of the
+     * list are.
+     * </p>
+     * <p>
+     * Nested groups of the same kind are flattened, identical children of all-of and any-of
+     * groups are merged, double negations cancel out, and children are ordered cheapest first.
+     * </p>
+     *
+     * @param expression the expression, as read from the configuration
+     * @return the compiled requirement, shared with every identical expression compiled before
+     * @throws IllegalArgumentException if the expression or a requirement in it is invalid
+     */
+    @NotNull
+    public Requirement compile(@NotNull Object expression) {
+        if (expression instanceof String input) {
+            return compileRequirement(input);
+        }
+        Map<?, ?> map;
+        if (expression instanceof ConfigurationSection section) {
+            map = section.getValues(false);
+        } else if (expression instanceof Map<?, ?> values) {
+            map = values;
+        } else {
+            throw new IllegalArgumentException("Invalid requirement expression: " + expression);
+        }
+
+        if (map.size() == 2 && map.containsKey("at-least") && map.containsKey("of")) {
+            return compileThreshold(parseMinimum(map.get("at-least"), map), map.get("of"));
+        }
+        if (map.size() != 1) {
+            throw new IllegalArgumentException("Invalid requirement expression: " + expression);
+        }
+        Map.Entry<?, ?> entry = map.entrySet().iterator().next();
+        return switch (String.valueOf(entry.getKey()).toLowerCase(Locale.ROOT)) {
+            case "all-of" -> compileThreshold(0, entry.getValue());
+            case "any-of" -> compileThreshold(1, entry.getValue());
+            case "not" -> compileNot(compile(entry.getValue()));
+            default -> throw new IllegalArgumentException("Invalid requirement group: " + entry.getKey());
+        };
+    }
+
+    /**
+     * Forgets compiled requirements, so the next compilation creates new instances.
+     */
+    public void clearCompiled() {
+        compiled.clear();
+        expressions.clear();
+    }
+
+    @NotNull
+    private Requirement compileRequirement(@NotNull String input) {
+        String trimmed = input.trim();
+        if (trimmed.isEmpty()) throw new IllegalArgumentException("Invalid requirement input: " + input);
+        String[] token = trimmed.split("\\s+");
+        token[0] = token[0].toLowerCase();
+        // Parameters keep their case, which can matter (M is months, m is minutes)
+        return intern(String.join(" ", token), () -> createRequirement(trimmed));
+    }
+
+    /**
+     * Compiles a group that is met when at least {@code minimum} of its children are.
+     *
+     * @param minimum how many children must be met, or 0 for all of them
+     */
+    @NotNull
+    private Requirement compileThreshold(int minimum, @Nullable Object items) {
+        if (!(items instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalArgumentException("Requirement group needs a list of requirements: " + items);
+        }
+        boolean allOf = minimum == 0;
+        boolean anyOf = minimum == 1;
+
+        // Keyed by expression, so identical children of all-of and any-of groups are merged
+        Map<String, Requirement> children = new LinkedHashMap<>();
+        List<Requirement> counted = new ArrayList<>();
+        for (Object item : list) {
+            Requirement child = compile(item);
+            List<Requirement> flattened = child instanceof ThresholdRequirement group
+                    && ((allOf && group.isAllOf()) || (anyOf && group.isAnyOf()))
+                    ? group.getChildren() : List.of(child);
+            for (Requirement requirement : flattened) {
+                children.putIfAbsent(expressions.get(requirement), requirement);
+                counted.add(requirement);
+            }
+        }
+
+        // Duplicates still count separately towards an at-least
+        List<Requirement> ordered = new ArrayList<>(allOf || anyOf ? children.values() : counted);
+        int required = allOf ? ordered.size() : minimum;
+        if (required > ordered.size()) {
+            throw new IllegalArgumentException("At least " + required + " of " + ordered.size()
+                    + " requirements can never be met");
+        }
+        if (ordered.size() == 1) {
+            return ordered.get(0);
+        }
+        ordered.sort(Comparator.comparingLong(this::estimatedNanos));
+
+        List<String> keys = new ArrayList<>(ordered.size());
+        for (Requirement requirement : ordered) {
+            keys.add(expressions.get(requirement));
+        }
+        // Children are unordered in meaning, so any order of the same ones is the same group
+        keys.sort(null);
+        return intern("at-least " + required + " of [" + String.join(", ", keys) + "]",
+                () -> new ThresholdRequirement(required, ordered));
+    }
+
+    @NotNull
+    private Requirement compileNot(@NotNull Requirement child) {
+        if (child instanceof NotRequirement not) {
+            return not.getChild();
+        }
+        return intern("not [" + expressions.get(child) + "]", () -> new NotRequirement(child));
+    }
+
+    @NotNull
+    private Requirement intern(@NotNull String expression, @NotNull Supplier<Requirement> creator) {
+        Requirement existing = compiled.get(expression);
+        if (existing != null) {
+            return existing;
+        }
+        Requirement created = creator.get();
+        Requirement winner = compiled.putIfAbsent(expression, created);
+        if (winner != null) {
+            return winner;
+        }
+        expressions.put(created, expression);
+        return created;
+    }
+
+    private static int parseMinimum(@Nullable Object value, @NotNull Object expression) {
+        int minimum;
+        if (value instanceof Number number) {
+            minimum = number.intValue();
+        } else {
+            try {
+                minimum = Integer.parseInt(String.valueOf(value).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid at-least count: " + value);
+            }
+        }
+        if (minimum < 1) {
+            throw new IllegalArgumentException("At-least count must be at least 1 in requirement " + expression);
+        }
+        return minimum;
+    }
+
+    /**
+     * Estimates how long a requirement takes to evaluate when none of its parts short-circuit.
+     */
+    private long estimatedNanos(@NotNull Requirement requirement) {
+        if (requirement instanceof CompositeRequirement composite) {
+            long total = 0;
+            for (Requirement child : composite.getChildren()) {
+                total += estimatedNanos(child);
+            }
+            return total;
+        }
+        RequirementRecord info = registry.fromClass(requirement.getClass());
+        return (info != null ? info.cost() : RequirementCost.STATISTIC).estimatedNanos();
+    }
+
     /**
      * Gets the name of a requirement from its class.
      * <p>
@@ -68,6 +258,9 @@ public class RequirementFactory {
      */
     @Nullable
     public String getRequirementName(@NotNull Requirement requirement) {
+        if (requirement instanceof CompositeRequirement composite) {
+            return composite.getName();
+        }
         RequirementRecord info = registry.fromClass(requirement.getClass());
         return info != null ? info.name() : null;
     }
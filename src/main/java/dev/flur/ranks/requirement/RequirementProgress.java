@@ -0,0 +1,66 @@
+package dev.flur.ranks.requirement;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How far a player is towards meeting a requirement.
+ * <p>
+ * Both values are in the requirement's own unit, such as blocks mined or money held, and the
+ * requirement is met once the current value reaches the required one.
+ * </p>
+ *
+ * @param current  The player's current value
+ * @param required The value needed to meet the requirement, never negative
+ */
+public record RequirementProgress(double current, double required) {
+
+    private static final RequirementProgress MET = new RequirementProgress(1, 1);
+    private static final RequirementProgress UNMET = new RequirementProgress(0, 1);
+
+    public RequirementProgress {
+        if (!(required >= 0)) {
+            throw new IllegalArgumentException("Required value cannot be negative");
+        }
+    }
+
+    /**
+     * Gets the progress of a requirement that is either met or not, with nothing in between.
+     *
+     * @param met Whether the requirement is met
+     * @return Full progress if met, otherwise none
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static RequirementProgress of(boolean met) {
+        return met ? MET : UNMET;
+    }
+
+    public boolean isMet() {
+        return current >= required;
+    }
+
+    /**
+     * Gets the progress as a fraction.
+     *
+     * @return The fraction of the required value reached, between 0 and 1
+     */
+    public double fraction() {
+        if (required == 0) {
+            return 1;
+        }
+        return Math.max(0, Math.min(1, current / required));
+    }
+
+    /**
+     * Gets the progress as a percentage, only reaching 100 once the requirement is met.
+     *
+     * @return The percentage of the required value reached, between 0 and 100
+     */
+    public int percent() {
+        if (isMet()) {
+            return 100;
+        }
+        return Math.min(99, (int) (fraction() * 100));
+    }
+}
@@ -0,0 +1,18 @@
+package dev.flur.ranks.requirement;
+
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.SettlementService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The plugin services requirements may use.
+ * <p>
+ * A requirement that needs them declares a constructor taking its parameters and this record,
+ * which the requirement registry calls instead of the parameters-only constructor.
+ * </p>
+ *
+ * @param economy    The economy balances are read and changed through
+ * @param settlement The settlement service asynchronous withdrawals go through
+ */
+public record RequirementServices(@NotNull EconomyService economy, @NotNull SettlementService settlement) {
+}
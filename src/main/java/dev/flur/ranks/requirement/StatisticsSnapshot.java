@@ -0,0 +1,101 @@
+package dev.flur.ranks.requirement;
+
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Statistics of a player as they were when the snapshot was taken.
+ * <p>
+ * Values are stored under the keys built by {@link #key(Statistic)},
+ * {@link #key(Statistic, Material)} and {@link #LEVEL_KEY}. Statistics missing from the
+ * snapshot read as zero.
+ * </p>
+ */
+public final class StatisticsSnapshot implements PlayerStatistics {
+
+    /**
+     * Prefix of every snapshot key, keeping snapshot values apart from other stored progress.
+     */
+    public static final String KEY_PREFIX = "stat.";
+
+    public static final String LEVEL_KEY = KEY_PREFIX + "level";
+
+    private final OfflinePlayer player;
+    private final Map<String, Double> values;
+
+    public StatisticsSnapshot(@NotNull OfflinePlayer player, @NotNull Map<String, Double> values) {
+        this.player = player;
+        this.values = Map.copyOf(values);
+    }
+
+    @NotNull
+    public static String key(@NotNull Statistic statistic) {
+        return KEY_PREFIX + statistic.name();
+    }
+
+    @NotNull
+    public static String key(@NotNull Statistic statistic, @NotNull Material material) {
+        return KEY_PREFIX + statistic.name() + "." + material.name();
+    }
+
+    /**
+     * Gets the values in this snapshot.
+     *
+     * @return Snapshot keys mapped to values
+     */
+    @NotNull
+    public Map<String, Double> getValues() {
+        return values;
+    }
+
+    @Override
+    @NotNull
+    public UUID getUniqueId() {
+        return player.getUniqueId();
+    }
+
+    @Override
+    @Nullable
+    public String getName() {
+        return player.getName();
+    }
+
+    @Override
+    @NotNull
+    public OfflinePlayer getOfflinePlayer() {
+        return player;
+    }
+
+    @Override
+    @Nullable
+    public Player getOnlinePlayer() {
+        return null;
+    }
+
+    @Override
+    public int getStatistic(@NotNull Statistic statistic) {
+        return get(key(statistic));
+    }
+
+    @Override
+    public int getStatistic(@NotNull Statistic statistic, @NotNull Material material) {
+        return get(key(statistic, material));
+    }
+
+    @Override
+    public int getLevel() {
+        return get(LEVEL_KEY);
+    }
+
+    private int get(@NotNull String key) {
+        Double value = values.get(key);
+        return value != null ? value.intValue() : 0;
+    }
+}
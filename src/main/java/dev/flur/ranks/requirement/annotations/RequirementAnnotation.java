@@ -112,4 +112,40 @@ public @interface RequirementAnnotation {
      * @return the name/identifier for this requirement type
      */
     String name();
-}
\ No newline at end of file
+
+    /**
+     * How expensive this requirement is to evaluate.
+     * <p>
+     * Cheap requirements are evaluated before expensive ones, so a rankup that fails on
+     * a local check never reaches an economy or permission call.
+     * </p>
+     *
+     * @return the cost class of this requirement
+     * @see RequirementCost
+     */
+    RequirementCost cost() default RequirementCost.STATISTIC;
+
+    /**
+     * Which threads this requirement may be evaluated on.
+     * <p>
+     * Defaults to {@link ThreadAffinity#MAIN_THREAD}, since most Bukkit state may only be
+     * read from the main thread.
+     * </p>
+     *
+     * @return the thread affinity of this requirement
+     * @see ThreadAffinity
+     */
+    ThreadAffinity threadAffinity() default ThreadAffinity.MAIN_THREAD;
+
+    /**
+     * What the result of this requirement depends on.
+     * <p>
+     * A result is reused until one of these inputs changes for the player. Requirements that
+     * declare no inputs, such as those depending on time, are evaluated every time.
+     * </p>
+     *
+     * @return the inputs of this requirement
+     * @see RequirementInput
+     */
+    RequirementInput[] inputs() default {};
+}
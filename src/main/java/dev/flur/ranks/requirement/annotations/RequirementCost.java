@@ -0,0 +1,45 @@
+package dev.flur.ranks.requirement.annotations;
+
+/**
+ * Declares how expensive a requirement is to evaluate.
+ * <p>
+ * The requirement validator uses the estimate as a starting point for ordering requirements
+ * until it has measured real evaluation times, so the values only need to be the right order
+ * of magnitude.
+ * </p>
+ *
+ * @see RequirementAnnotation#cost()
+ * @since 1.0
+ */
+public enum RequirementCost {
+
+    /**
+     * Reads a field that the server keeps in memory, such as the player's level.
+     */
+    LOCAL_FIELD(100L),
+
+    /**
+     * Reads a player statistic, which involves a map lookup per material.
+     */
+    STATISTIC(1_000L),
+
+    /**
+     * Calls into another plugin or service that may block on I/O, such as an economy.
+     */
+    EXTERNAL_IO(1_000_000L);
+
+    private final long estimatedNanos;
+
+    RequirementCost(long estimatedNanos) {
+        this.estimatedNanos = estimatedNanos;
+    }
+
+    /**
+     * Gets the estimated time a single evaluation takes.
+     *
+     * @return the estimated evaluation time in nanoseconds
+     */
+    public long estimatedNanos() {
+        return estimatedNanos;
+    }
+}
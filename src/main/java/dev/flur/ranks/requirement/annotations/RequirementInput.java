@@ -0,0 +1,29 @@
+package dev.flur.ranks.requirement.annotations;
+
+/**
+ * Declares what a requirement's result depends on, so the result can be reused until that
+ * changes.
+ *
+ * @see RequirementAnnotation#inputs()
+ * @since 1.0
+ */
+public enum RequirementInput {
+
+    /**
+     * The player's statistics, whose increments are announced by
+     * {@link org.bukkit.event.player.PlayerStatisticIncrementEvent}.
+     */
+    STATISTIC,
+
+    /**
+     * The player's experience level, whose changes are announced by
+     * {@link org.bukkit.event.player.PlayerLevelChangeEvent}.
+     */
+    LEVEL,
+
+    /**
+     * The player's balance. Economies announce no changes, so results depending on it are
+     * reused for at most as long as balances are cached.
+     */
+    BALANCE
+}
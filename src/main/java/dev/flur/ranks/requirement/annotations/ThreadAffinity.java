@@ -0,0 +1,20 @@
+package dev.flur.ranks.requirement.annotations;
+
+/**
+ * Declares which threads a requirement may be evaluated on.
+ *
+ * @see RequirementAnnotation#threadAffinity()
+ * @since 1.0
+ */
+public enum ThreadAffinity {
+
+    /**
+     * The requirement reads server state and must be evaluated on the main server thread.
+     */
+    MAIN_THREAD,
+
+    /**
+     * The requirement is thread-safe and may be evaluated off the main thread.
+     */
+    ANY_THREAD
+}
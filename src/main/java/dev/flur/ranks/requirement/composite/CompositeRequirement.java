@@ -0,0 +1,32 @@
+package dev.flur.ranks.requirement.composite;
+
+import dev.flur.ranks.requirement.Requirement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A requirement made up of other requirements, as compiled from a nested expression in
+ * {@code ranks.yml}.
+ *
+ * @see dev.flur.ranks.requirement.RequirementFactory#compile(Object)
+ * @since 1.0
+ */
+public sealed interface CompositeRequirement extends Requirement permits ThresholdRequirement, NotRequirement {
+
+    /**
+     * Gets the name of the expression, such as {@code any-of}.
+     *
+     * @return The expression's name
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * Gets the requirements this one is made of, in evaluation order.
+     *
+     * @return The child requirements
+     */
+    @NotNull
+    List<Requirement> getChildren();
+}
@@ -0,0 +1,73 @@
+package dev.flur.ranks.requirement.composite;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A requirement that is met while another one is not.
+ *
+ * @since 1.0
+ */
+public final class NotRequirement implements CompositeRequirement {
+
+    private final Requirement child;
+
+    public NotRequirement(@NotNull Requirement child) {
+        this.child = child;
+    }
+
+    @NotNull
+    public Requirement getChild() {
+        return child;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return "not";
+    }
+
+    @Override
+    @NotNull
+    public List<Requirement> getChildren() {
+        return List.of(child);
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull Player player) {
+        return !child.meetsRequirement(player);
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return !child.meetsRequirement(statistics);
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        // Being further from the child's target is no closer to this one, so it is met or not
+        return RequirementProgress.of(!child.getProgress(statistics).isMet());
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        child.captureStatistics(player, snapshot);
+    }
+
+    @Override
+    public void consume(@NotNull Player player) {
+        // A requirement that must not be met has nothing to take
+    }
+
+    @Override
+    public String toString() {
+        return "not: " + child;
+    }
+}
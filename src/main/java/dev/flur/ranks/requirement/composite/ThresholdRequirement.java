@@ -0,0 +1,280 @@
+package dev.flur.ranks.requirement.composite;
+
+import dev.flur.ranks.requirement.Consumption;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A requirement that is met when at least some number of its children are. All-of and any-of
+ * groups are the cases where that number is all children or one.
+ * <p>
+ * Children are evaluated in order, which the compiler sets to cheapest first, and evaluation
+ * stops as soon as the outcome is decided.
+ * </p>
+ * <p>
+ * Groups are interned and shared between ranks and players, so they hold no per-player state:
+ * consuming a group returns what it took, and the caller refunds exactly that.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ThresholdRequirement implements CompositeRequirement {
+
+    private final int minimum;
+    private final List<Requirement> children;
+
+    /**
+     * Creates a threshold requirement.
+     *
+     * @param minimum  How many children must be met, between 1 and the number of children
+     * @param children The children, in evaluation order
+     */
+    public ThresholdRequirement(int minimum, @NotNull List<Requirement> children) {
+        if (minimum < 1 || minimum > children.size()) {
+            throw new IllegalArgumentException("At least " + minimum + " of " + children.size()
+                    + " requirements can never be met");
+        }
+        this.minimum = minimum;
+        this.children = List.copyOf(children);
+    }
+
+    public int getMinimum() {
+        return minimum;
+    }
+
+    public boolean isAllOf() {
+        return minimum == children.size();
+    }
+
+    public boolean isAnyOf() {
+        return minimum == 1;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        if (isAllOf()) {
+            return "all-of";
+        }
+        return isAnyOf() ? "any-of" : "at-least";
+    }
+
+    @Override
+    @NotNull
+    public List<Requirement> getChildren() {
+        return children;
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull Player player) {
+        return meets(child -> child.meetsRequirement(player));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return meets(child -> child.meetsRequirement(statistics));
+    }
+
+    private boolean meets(@NotNull Predicate<Requirement> check) {
+        int met = 0;
+        int remaining = children.size();
+        for (Requirement child : children) {
+            remaining--;
+            if (check.test(child)) {
+                if (++met >= minimum) {
+                    return true;
+                }
+            } else if (met + remaining < minimum) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        // The children closest to being met count, each as a fraction of one
+        double[] fractions = new double[children.size()];
+        for (int i = 0; i < fractions.length; i++) {
+            fractions[i] = children.get(i).getProgress(statistics).fraction();
+        }
+        Arrays.sort(fractions);
+        double current = 0;
+        for (int i = fractions.length - minimum; i < fractions.length; i++) {
+            current += fractions[i];
+        }
+        return new RequirementProgress(current, minimum);
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        for (Requirement child : children) {
+            child.captureStatistics(player, snapshot);
+        }
+    }
+
+    /**
+     * Consumes the group without keeping what it took, so nothing consumed this way can be
+     * refunded; use {@link #take(Player, UUID)} when it may have to be.
+     *
+     * @throws IllegalStateException If the player no longer meets the group
+     */
+    @Override
+    public void consume(@NotNull Player player) {
+        if (take(player, UUID.randomUUID()) == null) {
+            throw new IllegalStateException("Player " + player.getName() + " no longer meets requirement " + this);
+        }
+    }
+
+    /**
+     * Consumes the group without keeping what it took, so nothing consumed this way can be
+     * refunded; use {@link #take(Player, UUID)} when it may have to be.
+     */
+    @Override
+    public boolean tryConsume(@NotNull Player player) {
+        return take(player, UUID.randomUUID()) != null;
+    }
+
+    /**
+     * Consumes from as many children as the group needs, cheapest met ones first.
+     * <p>
+     * Each child is consumed with a key derived from the group's key and its position, so
+     * consuming the same group again with the same key reuses the same child keys. If not
+     * enough children can be consumed, what was taken is refunded.
+     * </p>
+     *
+     * @param player         The player to consume from
+     * @param idempotencyKey The key identifying this consumption
+     * @return What was taken, or null if the player no longer meets the group
+     */
+    @Override
+    @Nullable
+    public List<Consumption> take(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        List<Consumption> taken = new ArrayList<>();
+        int met = 0;
+        try {
+            for (int i = 0; i < children.size() && met < minimum && canStillMeet(met, i); i++) {
+                Requirement child = children.get(i);
+                // Only children the player meets are taken from, so the cheapest met ones pay
+                if (!isAllOf() && !child.meetsRequirement(player)) {
+                    continue;
+                }
+                List<Consumption> childTaken = child.take(player, childKey(idempotencyKey, i));
+                if (childTaken != null) {
+                    taken.addAll(childTaken);
+                    met++;
+                }
+            }
+        } catch (RuntimeException e) {
+            Consumption.refundAll(player, taken);
+            throw e;
+        }
+        if (met < minimum) {
+            Consumption.refundAll(player, taken);
+            return null;
+        }
+        return taken;
+    }
+
+    /**
+     * Consumes from as many children as the group needs without blocking the calling thread,
+     * one child at a time.
+     * <p>
+     * Must be called on the main thread; children are checked and consumed on the given
+     * executor. If not enough children can be consumed, what was taken is refunded before the
+     * future completes.
+     * </p>
+     *
+     * @param player             The player to consume from
+     * @param idempotencyKey     The key identifying this consumption
+     * @param mainThreadExecutor Runs tasks on the server's main thread
+     * @return A future completing with what was taken, or null if the player no longer meets the group
+     */
+    @Override
+    @NotNull
+    public CompletableFuture<List<Consumption>> takeAsync(@NotNull Player player, @NotNull UUID idempotencyKey,
+                                                          @NotNull Executor mainThreadExecutor) {
+        List<Consumption> taken = new ArrayList<>();
+        CompletableFuture<Boolean> consumed;
+        try {
+            consumed = consumeFrom(0, 0, taken, player, idempotencyKey, mainThreadExecutor);
+        } catch (RuntimeException e) {
+            consumed = CompletableFuture.failedFuture(e);
+        }
+
+        return consumed.handleAsync((success, error) -> {
+            if (error == null && success) {
+                return CompletableFuture.completedFuture(taken);
+            }
+            return Consumption.refundAllAsync(player, taken).thenApply(refunded -> {
+                if (error != null) {
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                if (!refunded) {
+                    throw new IllegalStateException("Failed to refund what requirement group " + this + " took");
+                }
+                return (List<Consumption>) null;
+            });
+        }, mainThreadExecutor).thenCompose(Function.identity());
+    }
+
+    @NotNull
+    private CompletableFuture<Boolean> consumeFrom(int index, int met, @NotNull List<Consumption> taken,
+                                                   @NotNull Player player, @NotNull UUID idempotencyKey,
+                                                   @NotNull Executor mainThreadExecutor) {
+        if (met >= minimum) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (index >= children.size() || !canStillMeet(met, index)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        Requirement child = children.get(index);
+        if (!isAllOf() && !child.meetsRequirement(player)) {
+            return consumeFrom(index + 1, met, taken, player, idempotencyKey, mainThreadExecutor);
+        }
+        return child.takeAsync(player, childKey(idempotencyKey, index), mainThreadExecutor)
+                .thenComposeAsync(childTaken -> {
+                    if (childTaken == null) {
+                        return consumeFrom(index + 1, met, taken, player, idempotencyKey, mainThreadExecutor);
+                    }
+                    taken.addAll(childTaken);
+                    return consumeFrom(index + 1, met + 1, taken, player, idempotencyKey, mainThreadExecutor);
+                }, mainThreadExecutor);
+    }
+
+    /**
+     * Checks if enough children are left, from the given position on, to still reach the minimum.
+     */
+    private boolean canStillMeet(int met, int index) {
+        return met + children.size() - index >= minimum;
+    }
+
+    @NotNull
+    private static UUID childKey(@NotNull UUID idempotencyKey, int index) {
+        return UUID.nameUUIDFromBytes((idempotencyKey + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        String prefix = isAllOf() || isAnyOf() ? getName() : "at-least " + minimum + " of";
+        return prefix + ": " + children;
+    }
+}
@@ -1,16 +1,25 @@
 package dev.flur.ranks.requirement.records;
 
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 
 public record RequirementRecord(String name, Function<String[], Requirement> constructor,
-                                Class<? extends Requirement> requirementClass) {
+                                Class<? extends Requirement> requirementClass,
+                                RequirementCost cost, ThreadAffinity threadAffinity,
+                                Set<RequirementInput> inputs) {
     public RequirementRecord(@NotNull String name,
                              @NotNull Function<String[], Requirement> constructor,
-                             @NotNull Class<? extends Requirement> requirementClass) {
+                             @NotNull Class<? extends Requirement> requirementClass,
+                             @NotNull RequirementCost cost,
+                             @NotNull ThreadAffinity threadAffinity,
+                             @NotNull Set<RequirementInput> inputs) {
         if (name == null) {
             throw new IllegalArgumentException("Name cannot be null");
         }
@@ -20,9 +29,35 @@ public record RequirementRecord(String name, Function<String[], Requirement> con
         if (requirementClass == null) {
             throw new IllegalArgumentException("Requirement class cannot be null");
         }
+        if (cost == null) {
+            throw new IllegalArgumentException("Cost cannot be null");
+        }
+        if (threadAffinity == null) {
+            throw new IllegalArgumentException("Thread affinity cannot be null");
+        }
+        if (inputs == null) {
+            throw new IllegalArgumentException("Inputs cannot be null");
+        }
         this.name = name;
         this.constructor = constructor;
         this.requirementClass = requirementClass;
+        this.cost = cost;
+        this.threadAffinity = threadAffinity;
+        this.inputs = Set.copyOf(inputs);
+    }
+
+    public RequirementRecord(@NotNull String name,
+                             @NotNull Function<String[], Requirement> constructor,
+                             @NotNull Class<? extends Requirement> requirementClass,
+                             @NotNull RequirementCost cost,
+                             @NotNull ThreadAffinity threadAffinity) {
+        this(name, constructor, requirementClass, cost, threadAffinity, Set.of());
+    }
+
+    public RequirementRecord(@NotNull String name,
+                             @NotNull Function<String[], Requirement> constructor,
+                             @NotNull Class<? extends Requirement> requirementClass) {
+        this(name, constructor, requirementClass, RequirementCost.STATISTIC, ThreadAffinity.MAIN_THREAD);
     }
 
     @Override
@@ -43,11 +78,32 @@ public record RequirementRecord(String name, Function<String[], Requirement> con
         return requirementClass;
     }
 
+    @Override
+    @NotNull
+    public RequirementCost cost() {
+        return cost;
+    }
+
+    @Override
+    @NotNull
+    public ThreadAffinity threadAffinity() {
+        return threadAffinity;
+    }
+
+    @Override
+    @NotNull
+    public Set<RequirementInput> inputs() {
+        return inputs;
+    }
+
     @Override
     public @NotNull String toString() {
         return "RequirementInfo{" +
                 "name='" + name + '\'' +
                 ", class=" + requirementClass.getSimpleName() +
+                ", cost=" + cost +
+                ", threadAffinity=" + threadAffinity +
+                ", inputs=" + inputs +
                 '}';
     }
 
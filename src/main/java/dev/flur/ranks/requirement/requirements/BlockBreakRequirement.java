@@ -1,19 +1,29 @@
 package dev.flur.ranks.requirement.requirements;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.Material;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @RequirementAnnotation(
         name = "block-break",
         minimum = 2,
-        usage = "Format: block1 [block2 ...] amount"
+        usage = "Format: block1 [block2 ...] amount",
+        cost = RequirementCost.STATISTIC,
+        threadAffinity = ThreadAffinity.MAIN_THREAD,
+        inputs = RequirementInput.STATISTIC
 )
 public final class BlockBreakRequirement extends AnnotatedRequirement {
 
@@ -41,17 +51,37 @@ public final class BlockBreakRequirement extends AnnotatedRequirement {
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        // Check each block individually
+        return meetsRequirement(PlayerStatistics.live(player));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        // Each block counts up to the amount, so the total is only reached once every block has
+        int required = (int) super.amount;
+        long current = 0;
         for (String material : materials) {
-            int breaks = player.getStatistic(
+            int breaks = statistics.getStatistic(
                     Statistic.MINE_BLOCK,
                     Objects.requireNonNull(Material.getMaterial(material.toUpperCase()))
             );
-            if (breaks < (int) super.amount) {
-                return false;
-            }
+            current += Math.max(0, Math.min(breaks, required));
+        }
+        return new RequirementProgress(current, (double) required * materials.size());
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        for (String material : materials) {
+            Material block = Objects.requireNonNull(Material.getMaterial(material.toUpperCase()));
+            snapshot.put(StatisticsSnapshot.key(Statistic.MINE_BLOCK, block),
+                    (double) player.getStatistic(Statistic.MINE_BLOCK, block));
         }
-        return true;
     }
 
     @Override
@@ -1,15 +1,26 @@
 package dev.flur.ranks.requirement.requirements;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+
 @RequirementAnnotation(
         name = "deaths",
         usage = "Format: deaths",
-        maximum = 1
+        maximum = 1,
+        cost = RequirementCost.STATISTIC,
+        threadAffinity = ThreadAffinity.MAIN_THREAD,
+        inputs = RequirementInput.STATISTIC
 )
 public final class DeathsRequirement extends AnnotatedRequirement {
 
@@ -19,7 +30,23 @@ public final class DeathsRequirement extends AnnotatedRequirement {
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        return player.getStatistic(Statistic.DEATHS) >= (int) super.amount;
+        return meetsRequirement(PlayerStatistics.live(player));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        return new RequirementProgress(statistics.getStatistic(Statistic.DEATHS), (int) super.amount);
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        snapshot.put(StatisticsSnapshot.key(Statistic.DEATHS), (double) player.getStatistic(Statistic.DEATHS));
     }
 
     @Override
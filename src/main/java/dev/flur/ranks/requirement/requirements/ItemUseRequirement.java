@@ -1,20 +1,30 @@
 package dev.flur.ranks.requirement.requirements;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.Material;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @RequirementAnnotation(
         name = "item-use",
         minimum = 2,
         maximum = 10,
-        usage = "Format: item1 [item2 ...] amount"
+        usage = "Format: item1 [item2 ...] amount",
+        cost = RequirementCost.STATISTIC,
+        threadAffinity = ThreadAffinity.MAIN_THREAD,
+        inputs = RequirementInput.STATISTIC
 )
 public final class ItemUseRequirement extends AnnotatedRequirement {
 
@@ -49,21 +59,41 @@ public final class ItemUseRequirement extends AnnotatedRequirement {
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        // Check each item individually
+        return meetsRequirement(PlayerStatistics.live(player));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        // Each item counts up to the amount, so the total is only reached once every item has
+        int required = (int) super.amount;
+        long current = 0;
         for (String item : this.items) {
             try {
-                int uses = player.getStatistic(
+                int uses = statistics.getStatistic(
                         Statistic.USE_ITEM,
                         Objects.requireNonNull(Material.getMaterial(item.toUpperCase()))
                 );
-                if (uses < (int) super.amount) {
-                    return false;
-                }
+                current += Math.max(0, Math.min(uses, required));
             } catch (Exception e) {
                 throw new IllegalArgumentException("Invalid item: " + item);
             }
         }
-        return true;
+        return new RequirementProgress(current, (double) required * this.items.size());
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        for (String item : this.items) {
+            Material material = Objects.requireNonNull(Material.getMaterial(item.toUpperCase()));
+            snapshot.put(StatisticsSnapshot.key(Statistic.USE_ITEM, material),
+                    (double) player.getStatistic(Statistic.USE_ITEM, material));
+        }
     }
 
     @Override
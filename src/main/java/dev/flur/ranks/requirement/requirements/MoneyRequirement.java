@@ -1,41 +1,85 @@
 package dev.flur.ranks.requirement.requirements;
 
-import dev.flur.ranks.Ranks;
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.RequirementServices;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
-import dev.flur.ranks.vault.VaultProvider;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.SettlementService;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RequirementAnnotation(
         name = "money",
         maximum = 1,
-        usage = "Format: amount"
+        usage = "Format: amount",
+        cost = RequirementCost.EXTERNAL_IO,
+        threadAffinity = ThreadAffinity.ANY_THREAD,
+        inputs = RequirementInput.BALANCE
 )
 public final class MoneyRequirement extends AnnotatedRequirement {
 
-    // For testing purposes
-    private static @Nullable VaultProvider testVaultProvider = null;
-
-    public static void setTestVaultProvider(@Nullable VaultProvider provider) {
-        testVaultProvider = provider;
-    }
+    private final EconomyService economy;
+    private final SettlementService settlement;
 
-    public MoneyRequirement(String[] params) {
+    public MoneyRequirement(String[] params, @NotNull RequirementServices services) {
         super(params);
+        this.economy = services.economy();
+        this.settlement = services.settlement();
     }
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        return getEconomyBalance(player) >= getRequiredAmount();
+        return economy.getBalance(player) >= getRequiredAmount();
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        // Balances are kept by the economy plugin, which can look up offline players itself
+        return new RequirementProgress(economy.getBalance(statistics.getOfflinePlayer()), getRequiredAmount());
+    }
+
+    @Override
+    public void consume(@NotNull Player player) {
+        tryConsume(player);
+    }
+
+    @Override
+    public boolean tryConsume(@NotNull Player player) {
+        // The withdrawal checks the balance first; the rankup's player lock keeps them together
+        return economy.withdraw(player, getRequiredAmount());
     }
 
-    private double getEconomyBalance(@NotNull Player player) {
-        if (testVaultProvider != null) {
-            return testVaultProvider.getEconomy().getBalance(player);
-        }
-        return Ranks.getPlugin(Ranks.class).getVaultProvider().getEconomy().getBalance(player);
+    @Override
+    public void refund(@NotNull Player player) {
+        economy.deposit(player, getRequiredAmount());
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> tryConsumeAsync(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        return settlement.withdraw(idempotencyKey, player, getRequiredAmount());
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> refundAsync(@NotNull Player player, @NotNull UUID idempotencyKey) {
+        UUID refundKey = UUID.nameUUIDFromBytes((idempotencyKey + ":refund").getBytes(StandardCharsets.UTF_8));
+        return settlement.deposit(refundKey, player, getRequiredAmount());
     }
 
     private double getRequiredAmount() {
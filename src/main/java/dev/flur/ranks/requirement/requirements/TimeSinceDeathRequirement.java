@@ -1,12 +1,18 @@
 package dev.flur.ranks.requirement.requirements;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -14,7 +20,9 @@ import java.util.regex.Pattern;
 @RequirementAnnotation(
         name = "time-since-death",
         maximum = 6,
-        usage = "Format: M1 w2 d3 h4 m5 s6 (any order, but at least 1)"
+        usage = "Format: M1 w2 d3 h4 m5 s6 (any order, but at least 1)",
+        cost = RequirementCost.STATISTIC,
+        threadAffinity = ThreadAffinity.MAIN_THREAD
 )
 public final class TimeSinceDeathRequirement extends AnnotatedRequirement {
 
@@ -173,8 +181,33 @@ public final class TimeSinceDeathRequirement extends AnnotatedRequirement {
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        int actualTicks = Objects.requireNonNull(player.getPlayer()).getStatistic(Statistic.TIME_SINCE_DEATH);
+        return meetsRequirement(PlayerStatistics.live(Objects.requireNonNull(player.getPlayer())));
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        // Only counts up while the player is online, so a snapshot taken on quit stays exact
+        snapshot.put(StatisticsSnapshot.key(Statistic.TIME_SINCE_DEATH),
+                (double) player.getStatistic(Statistic.TIME_SINCE_DEATH));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        int actualTicks = statistics.getStatistic(Statistic.TIME_SINCE_DEATH);
+        // A met requirement reports the full duration, as the statistic may have overflowed
+        if (hasWaited(actualTicks)) {
+            return new RequirementProgress(this.ticksSinceDeath, this.ticksSinceDeath);
+        }
+        return new RequirementProgress(Math.max(0, actualTicks), this.ticksSinceDeath);
+    }
 
+    private boolean hasWaited(int actualTicks) {
         // If requirement exceeds int range, we need to handle it specially
         if (this.ticksSinceDeath > Integer.MAX_VALUE) {
             // For very large requirements, we need to check if the player's ticks
@@ -1,15 +1,25 @@
 package dev.flur.ranks.requirement.requirements;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 
 @RequirementAnnotation(
         name = "xp-level",
         maximum = 1,
-        usage = "Format: level"
+        usage = "Format: level",
+        cost = RequirementCost.LOCAL_FIELD,
+        threadAffinity = ThreadAffinity.MAIN_THREAD,
+        inputs = RequirementInput.LEVEL
 )
 public final class XpLevelRequirement extends AnnotatedRequirement {
 
@@ -19,7 +29,23 @@ public final class XpLevelRequirement extends AnnotatedRequirement {
 
     @Override
     public boolean meetsRequirement(@NotNull Player player) {
-        return (int) super.amount <= player.getLevel();
+        return meetsRequirement(PlayerStatistics.live(player));
+    }
+
+    @Override
+    public boolean meetsRequirement(@NotNull PlayerStatistics statistics) {
+        return getProgress(statistics).isMet();
+    }
+
+    @Override
+    @NotNull
+    public RequirementProgress getProgress(@NotNull PlayerStatistics statistics) {
+        return new RequirementProgress(statistics.getLevel(), (int) super.amount);
+    }
+
+    @Override
+    public void captureStatistics(@NotNull Player player, @NotNull Map<String, Double> snapshot) {
+        snapshot.put(StatisticsSnapshot.LEVEL_KEY, (double) player.getLevel());
     }
 
     @Override
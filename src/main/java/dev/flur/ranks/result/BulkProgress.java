@@ -0,0 +1,25 @@
+package dev.flur.ranks.result;
+
+/**
+ * Progress of a bulk rank change.
+ *
+ * @param total         The number of players in the source rank when the change started
+ * @param processed     The number of players looked at so far
+ * @param changed       The number of players moved, or that would be moved in a dry run
+ * @param skipped       The number of players left alone because they did not meet the requirements
+ * @param failed        The number of players the permission plugin could not move
+ * @param elapsedMillis The time since the change started
+ * @param finished      Whether every player has been processed
+ */
+public record BulkProgress(int total, int processed, int changed, int skipped, int failed,
+                           long elapsedMillis, boolean finished) {
+
+    /**
+     * Gets the number of players processed per second so far.
+     *
+     * @return The throughput, or 0 if no time has passed
+     */
+    public long playersPerSecond() {
+        return elapsedMillis > 0 ? processed * 1000L / elapsedMillis : 0L;
+    }
+}
@@ -0,0 +1,43 @@
+package dev.flur.ranks.service;
+
+import dev.flur.ranks.result.BulkProgress;
+import dev.flur.ranks.result.Result;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for moving every player of one rank to another.
+ */
+public interface BulkRankService {
+
+    /**
+     * Starts moving every known player in a rank, online or not, to another rank.
+     * <p>
+     * Players are processed in chunks, one chunk per tick, off the main thread. Only one bulk
+     * change runs at a time.
+     * </p>
+     *
+     * @param fromRank          The rank to move players out of
+     * @param toRank            The rank to move players into
+     * @param checkRequirements Whether only players meeting the requirements of the rankup are moved
+     * @param dryRun            Whether to only count the players that would be moved
+     * @param progressListener  Receives progress on the main thread, at most about once a second
+     * @return A future completing on the main thread with the final progress, or an error message if the change could not start
+     */
+    @NotNull
+    Result<CompletableFuture<BulkProgress>> changeRank(
+            @NotNull String fromRank,
+            @NotNull String toRank,
+            boolean checkRequirements,
+            boolean dryRun,
+            @NotNull Consumer<BulkProgress> progressListener);
+
+    /**
+     * Checks if a bulk change is running.
+     *
+     * @return True if a bulk change is running
+     */
+    boolean isRunning();
+}
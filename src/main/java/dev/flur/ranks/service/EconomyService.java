@@ -0,0 +1,76 @@
+package dev.flur.ranks.service;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for reading and changing player balances.
+ * <p>
+ * Balances may be served from a short-lived cache, so a balance read can be slightly stale for
+ * changes made outside this plugin. Changes made through this service are always visible to
+ * the next read.
+ * </p>
+ */
+public interface EconomyService {
+
+    /**
+     * Gets a player's balance.
+     *
+     * @param player The player to get the balance for
+     * @return The player's balance
+     */
+    double getBalance(@NotNull OfflinePlayer player);
+
+    /**
+     * Checks if a player has at least the given amount.
+     *
+     * @param player The player to check
+     * @param amount The amount to check for
+     * @return True if the player's balance is at least the amount, false otherwise
+     */
+    default boolean has(@NotNull OfflinePlayer player, double amount) {
+        return getBalance(player) >= amount;
+    }
+
+    /**
+     * Withdraws an amount from a player if their balance, read fresh from the economy, covers it.
+     * <p>
+     * The check and the withdrawal are two economy calls, so callers hold the player's lock to
+     * keep other withdrawals of this plugin from landing in between.
+     * </p>
+     *
+     * @param player The player to withdraw from
+     * @param amount The amount to withdraw
+     * @return True if the amount was withdrawn, false otherwise
+     */
+    boolean withdraw(@NotNull OfflinePlayer player, double amount);
+
+    /**
+     * Deposits an amount to a player.
+     *
+     * @param player The player to deposit to
+     * @param amount The amount to deposit
+     * @return True if the amount was deposited, false otherwise
+     */
+    boolean deposit(@NotNull OfflinePlayer player, double amount);
+
+    /**
+     * Loads the balances of the given players into the cache off the main thread.
+     *
+     * @param players The players to load balances for
+     * @return A future that completes once every balance is cached
+     */
+    @NotNull
+    CompletableFuture<Void> prefetchBalances(@NotNull Collection<? extends OfflinePlayer> players);
+
+    /**
+     * Drops a player's cached balance, so the next read goes to the economy.
+     *
+     * @param playerId The player's unique id
+     */
+    void invalidate(@NotNull UUID playerId);
+}
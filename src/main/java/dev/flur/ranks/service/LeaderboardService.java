@@ -0,0 +1,61 @@
+package dev.flur.ranks.service;
+
+import dev.flur.ranks.storage.PlayerRankRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for rank leaderboards and distribution queries.
+ * <p>
+ * Answers from an in-memory index that is loaded from storage at startup and kept up to date
+ * by rankups; queries never touch the permission plugin.
+ * </p>
+ */
+public interface LeaderboardService extends Lifecycle {
+
+    /**
+     * Updates the index with a player's new rank.
+     *
+     * @param record The player's rank state
+     */
+    void update(@NotNull PlayerRankRecord record);
+
+    /**
+     * Gets the number of players in a rank.
+     *
+     * @param rank The rank name
+     * @return The number of indexed players in the rank
+     */
+    int getPlayerCount(@NotNull String rank);
+
+    /**
+     * Gets the number of players in every rank that has any.
+     *
+     * @return Rank names mapped to player counts
+     */
+    @NotNull
+    Map<String, Integer> getDistribution();
+
+    /**
+     * Gets the players in a rank in the order they reached it, earliest first.
+     *
+     * @param rank  The rank name
+     * @param limit The maximum number of players to return
+     * @return Up to {@code limit} players in the rank
+     */
+    @NotNull
+    List<PlayerRankRecord> getTopPlayers(@NotNull String rank, int limit);
+
+    /**
+     * Gets the indexed rank of a player.
+     *
+     * @param playerId The player's unique id
+     * @return The player's rank state, or empty if the player is not indexed
+     */
+    @NotNull
+    Optional<PlayerRankRecord> getPlayer(@NotNull UUID playerId);
+}
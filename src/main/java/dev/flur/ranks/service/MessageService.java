@@ -1,8 +1,10 @@
 package dev.flur.ranks.service;
 
 import dev.flur.ranks.message.Messages;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
@@ -37,6 +39,31 @@ public interface MessageService {
      */
     Component getMessage(Messages message, String locale, Map<String, Object> context);
 
+    /**
+     * Gets the locale messages to a command sender are written in.
+     *
+     * @param sender The command sender
+     * @return The sender's locale, or the default locale if it has none
+     */
+    @NotNull
+    String getLocale(@NotNull CommandSender sender);
+
+    /**
+     * Shows a boss bar to a player. Later changes to the bar are sent to the player as they are made.
+     *
+     * @param player The player
+     * @param bar    The boss bar
+     */
+    void showBossBar(@NotNull Player player, @NotNull BossBar bar);
+
+    /**
+     * Hides a boss bar from a player.
+     *
+     * @param player The player
+     * @param bar    The boss bar
+     */
+    void hideBossBar(@NotNull Player player, @NotNull BossBar bar);
+
     /**
      * Sends a message to a command sender.
      *
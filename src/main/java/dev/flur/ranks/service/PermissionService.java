@@ -1,8 +1,13 @@
 package dev.flur.ranks.service;
 
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for managing permissions.
  */
@@ -44,6 +49,70 @@ public interface PermissionService {
      */
     boolean removeFromGroup(@NotNull Player player, @NotNull String groupName);
 
+    /**
+     * Moves a player from one group to another.
+     * <p>
+     * Backends that can should do this as a single change; by default the player is removed
+     * from the old group and then added to the new one.
+     * </p>
+     *
+     * @param player    The player to move
+     * @param fromGroup The group to remove the player from
+     * @param toGroup   The group to add the player to
+     * @return True if the player was added to the new group, false otherwise
+     */
+    default boolean setGroup(@NotNull Player player, @NotNull String fromGroup, @NotNull String toGroup) {
+        removeFromGroup(player, fromGroup);
+        return addToGroup(player, toGroup);
+    }
+
+    /**
+     * Moves an online player from one group to another, possibly applying the change later.
+     * <p>
+     * By default the change is made on the calling thread, as {@link #setGroup} or, when the
+     * player has no group yet, {@link #addToGroup}.
+     * </p>
+     *
+     * @param player    The player to move
+     * @param fromGroup The group to remove the player from, or an empty string for none
+     * @param toGroup   The group to add the player to
+     * @return A future completing with true once the player is in the new group, false otherwise
+     */
+    @NotNull
+    default CompletableFuture<Boolean> setGroupAsync(@NotNull Player player, @NotNull String fromGroup, @NotNull String toGroup) {
+        boolean moved = fromGroup.isEmpty() ? addToGroup(player, toGroup) : setGroup(player, fromGroup, toGroup);
+        return CompletableFuture.completedFuture(moved);
+    }
+
+    /**
+     * Moves a player, online or not, from one group to another.
+     * <p>
+     * Backends without an asynchronous API apply the change on the calling thread, so this
+     * should not be called on the main thread.
+     * </p>
+     *
+     * @param player    The player to move
+     * @param fromGroup The group to remove the player from
+     * @param toGroup   The group to add the player to
+     * @return A future completing with true once the player is in the new group, false otherwise
+     */
+    @NotNull
+    CompletableFuture<Boolean> setGroupOffline(@NotNull OfflinePlayer player, @NotNull String fromGroup, @NotNull String toGroup);
+
+    /**
+     * Gets the unique ids of all players in a group, online or not.
+     * <p>
+     * Backends that cannot list a group's members complete with an empty set.
+     * </p>
+     *
+     * @param groupName The group to list
+     * @return A future completing with the unique ids of the group's members
+     */
+    @NotNull
+    default CompletableFuture<Set<UUID>> getGroupMembers(@NotNull String groupName) {
+        return CompletableFuture.completedFuture(Set.of());
+    }
+
     /**
      * Checks if a group exists.
      *
@@ -51,4 +120,17 @@ public interface PermissionService {
      * @return True if the group exists, false otherwise
      */
     boolean groupExists(@NotNull String groupName);
+
+    /**
+     * Gets the names of all existing groups, in lower case.
+     *
+     * @return The group names as of the last refresh
+     */
+    @NotNull
+    Set<String> getGroups();
+
+    /**
+     * Reloads the existing groups from the permission plugin. Safe to call from any thread.
+     */
+    void refreshGroups();
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package dev.flur.ranks.service;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service interface for serializing operations on the same player.
+ * <p>
+ * Locks are not reentrant and are not owned by a thread: a lock acquired on one thread may be
+ * released on another, which lets a rankup hand its lock to an asynchronous continuation.
+ * </p>
+ */
+public interface PlayerLockService {
+
+    /**
+     * Tries to acquire the lock for a player, waiting up to the given time.
+     *
+     * @param playerId The player's unique id
+     * @param timeout  The maximum time to wait
+     * @param unit     The unit of the timeout
+     * @return True if the lock was acquired, false if the wait timed out or was interrupted
+     */
+    boolean tryLock(@NotNull UUID playerId, long timeout, @NotNull TimeUnit unit);
+
+    /**
+     * Releases the lock for a player. Must only be called after a successful {@link #tryLock}.
+     *
+     * @param playerId The player's unique id
+     */
+    void unlock(@NotNull UUID playerId);
+
+    /**
+     * Gets how many lock attempts found the lock already held and had to wait.
+     *
+     * @return The number of contended lock attempts
+     */
+    long getContendedCount();
+
+    /**
+     * Gets how many lock attempts gave up without acquiring the lock.
+     *
+     * @return The number of failed lock attempts
+     */
+    long getTimedOutCount();
+}
@@ -1,9 +1,11 @@
 package dev.flur.ranks.service;
 
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -51,6 +53,33 @@ public interface PlayerRankService {
     @NotNull
     Map<String, Integer> getRequirementProgress(@NotNull Player player, @NotNull String targetRank);
 
+    /**
+     * Gets the progress of a player towards each requirement for a rank, read in the same calls
+     * that decide whether the requirement is met.
+     *
+     * @param player     The player to check
+     * @param targetRank The rank to check
+     * @return The requirements for the rank mapped to the player's progress, in configured order
+     */
+    @NotNull
+    Map<Requirement, RequirementProgress> getProgress(@NotNull Player player, @NotNull String targetRank);
+
+    /**
+     * Gets the progress of a player towards several ranks reachable from a rank in one pass.
+     * <p>
+     * A requirement shared between the ranks is read once, and its progress reused for each.
+     * </p>
+     *
+     * @param player      The player to check
+     * @param currentRank The rank the player is coming from
+     * @param targetRanks The ranks to check
+     * @return Each target rank mapped to its requirements and the player's progress, as
+     * {@link #getProgress(Player, String)} returns them
+     */
+    @NotNull
+    Map<String, Map<Requirement, RequirementProgress>> getProgress(
+            @NotNull Player player, @NotNull String currentRank, @NotNull Collection<String> targetRanks);
+
     /**
      * Checks if a player has permission to use a specific rank command.
      *
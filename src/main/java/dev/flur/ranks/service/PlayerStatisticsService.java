@@ -0,0 +1,34 @@
+package dev.flur.ranks.service;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for player statistics that outlive the player's session.
+ * <p>
+ * A snapshot of the statistics read by the configured requirements is saved when a player
+ * quits, so requirements can be checked for offline players without loading their player data.
+ * </p>
+ */
+public interface PlayerStatisticsService {
+
+    /**
+     * Saves a snapshot of an online player's statistics. Must be called on the main thread.
+     *
+     * @param player The online player
+     */
+    void saveSnapshot(@NotNull Player player);
+
+    /**
+     * Gets a player's statistics: live if the player is online, otherwise their last snapshot.
+     *
+     * @param player The player
+     * @return A future completing with the player's statistics
+     */
+    @NotNull
+    CompletableFuture<PlayerStatistics> getStatistics(@NotNull OfflinePlayer player);
+}
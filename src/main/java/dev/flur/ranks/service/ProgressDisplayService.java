@@ -0,0 +1,55 @@
+package dev.flur.ranks.service;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Service interface for showing players their progress towards their next rank.
+ */
+public interface ProgressDisplayService {
+
+    /**
+     * Starts showing a player's progress.
+     *
+     * @param player The player
+     */
+    void show(@NotNull Player player);
+
+    /**
+     * Stops showing a player's progress.
+     *
+     * @param player The player
+     */
+    void hide(@NotNull Player player);
+
+    /**
+     * Marks a player's progress as possibly changed. The display is updated on a later
+     * {@link #flush()}, at most as often as the player's updates are throttled to.
+     *
+     * @param playerId The player's unique id
+     */
+    void requestUpdate(@NotNull UUID playerId);
+
+    /**
+     * Marks the progress of every shown player as possibly changed, for progress that changes
+     * without an event announcing it.
+     */
+    void requestUpdateAll();
+
+    /**
+     * Updates the displays of players whose progress may have changed. Called on the main thread.
+     */
+    void flush();
+
+    /**
+     * Forgets rendered displays, so changed messages are used, and updates every shown player.
+     */
+    void reload();
+
+    /**
+     * Stops showing progress to all players.
+     */
+    void shutdown();
+}
@@ -0,0 +1,35 @@
+package dev.flur.ranks.service;
+
+import dev.flur.ranks.history.RankHistoryEntry;
+import dev.flur.ranks.result.RankupOutcome;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for recording and looking up past rankups.
+ */
+public interface RankHistoryService extends Lifecycle {
+
+    /**
+     * Records a successful rankup. Returns immediately; the entry is written in the background.
+     *
+     * @param outcome The outcome of the rankup
+     */
+    void recordRankup(@NotNull RankupOutcome outcome);
+
+    /**
+     * Gets all recorded rankups of a player, oldest first.
+     * <p>
+     * Rankups recorded moments ago may not be included until the background writer has
+     * written them.
+     * </p>
+     *
+     * @param playerId The player's unique id
+     * @return A future completing with the player's rankups
+     */
+    @NotNull
+    CompletableFuture<List<RankHistoryEntry>> getHistory(@NotNull UUID playerId);
+}
@@ -1,5 +1,6 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.rankup.RankupContext;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,15 +11,6 @@ import java.util.Map;
  */
 public interface RankProgressionService {
 
-    /**
-     * Performs a rank upgrade for a player.
-     *
-     * @param player     The player to upgrade
-     * @param targetRank The rank to upgrade to
-     * @return True if the upgrade was successful, false otherwise
-     */
-    boolean upgradeRank(@NotNull Player player, @NotNull String targetRank);
-
     /**
      * Gets the available ranks a player can upgrade to from their current rank.
      *
@@ -37,6 +29,14 @@ public interface RankProgressionService {
      */
     boolean canUpgradeToRank(@NotNull Player player, @NotNull String targetRank);
 
+    /**
+     * Checks if the rankup described by a context is allowed, reusing its recorded requirement results.
+     *
+     * @param context The rankup to check
+     * @return True if the player can upgrade to the target rank, false otherwise
+     */
+    boolean canUpgradeToRank(@NotNull RankupContext context);
+
     /**
      * Gets the cost of upgrading to a specific rank.
      *
@@ -1,11 +1,15 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for managing ranks and rank operations.
@@ -24,21 +28,63 @@ public interface RanksService {
     @NotNull
     Map<String, String> getNextRanks(@NotNull String currentRank);
 
+    /**
+     * Gets the next ranks of a rank that start with a prefix, ignoring case.
+     */
+    @NotNull
+    List<String> completeNextRanks(@NotNull String currentRank, @NotNull String prefix);
+
+    /**
+     * Gets the rank names and aliases from ranks.yml that start with a prefix, ignoring case.
+     */
+    @NotNull
+    List<String> completeRanks(@NotNull String prefix);
+
+    /**
+     * Resolves a rank name or one of its aliases from ranks.yml, ignoring case.
+     *
+     * @return The rank name, or null if no rank has that name or alias
+     */
+    @Nullable
+    String resolveRank(@NotNull String nameOrAlias);
+
     /**
      * Gets requirements for a specific rank transition.
      */
     @NotNull
     List<Requirement> getRequirements(@NotNull String nextRank, @NotNull Player player);
 
+    /**
+     * Gets the requirements for the transition from one rank to another, without looking up any
+     * player's rank.
+     */
+    @NotNull
+    List<Requirement> getRequirements(@NotNull String currentRank, @NotNull String nextRank);
+
+    /**
+     * Gets the distinct requirements of every configured rank transition.
+     */
+    @NotNull
+    List<Requirement> getAllRequirements();
+
     /**
      * Checks if a player can upgrade to a specific rank.
      */
     boolean canUpgrade(@NotNull Player player, @NotNull String targetRank);
 
     /**
-     * Performs a rank upgrade for a player.
+     * Checks if a player, online or not, can upgrade from a rank to a specific rank.
      */
-    boolean upgradeRank(@NotNull Player player, @NotNull String targetRank);
+    boolean canUpgrade(@NotNull PlayerStatistics statistics, @NotNull String currentRank, @NotNull String targetRank);
+
+    /**
+     * Performs a rank upgrade for a player without blocking the calling thread.
+     * <p>
+     * Must be called on the main thread. The returned future completes on the main thread.
+     * </p>
+     */
+    @NotNull
+    CompletableFuture<Boolean> upgradeRank(@NotNull Player player, @NotNull String targetRank);
 
     /**
      * Gets a player's current rank.
@@ -46,6 +92,18 @@ public interface RanksService {
     @NotNull
     String getCurrentRank(@NotNull Player player);
 
+    /**
+     * Gets a player's current rank as of their last lookup, asking the permission plugin only
+     * if the player has none cached.
+     */
+    @NotNull
+    String getCachedRank(@NotNull Player player);
+
+    /**
+     * Forgets a player's cached rank, so the next lookup asks the permission plugin.
+     */
+    void invalidateCachedRank(@NotNull UUID playerId);
+
     /**
      * Reloads rank configuration.
      */
@@ -1,5 +1,6 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -81,6 +82,16 @@ public interface RankupNotifier {
      */
     void notifyUnmetRequirements(@NotNull Player player, @NotNull List<Requirement> unmetRequirements);
 
+    /**
+     * Notifies the player of a rankup about its unmet requirements.
+     * <p>
+     * Only requirements without a recorded result are evaluated to build the list.
+     * </p>
+     *
+     * @param context The rankup whose unmet requirements to show
+     */
+    void notifyUnmetRequirements(@NotNull RankupContext context);
+
     /**
      * Broadcasts a rankup message to all players.
      *
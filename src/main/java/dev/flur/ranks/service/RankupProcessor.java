@@ -1,5 +1,6 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.result.RankupOutcome;
 import dev.flur.ranks.result.Result;
@@ -8,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for processing rankup operations.
@@ -24,15 +26,31 @@ public interface RankupProcessor {
     Map<String, String> getAvailableRanks(@NotNull Player player);
 
     /**
-     * Processes a rankup operation for a player.
+     * Processes a rankup operation for a player without blocking the calling thread.
      *
      * @param player      The player to process the rankup for
      * @param currentRank The player's current rank
      * @param targetRank  The rank to upgrade to
-     * @return A result containing the rankup outcome if successful, or an error message if failed
+     * @return A future completing on the main thread with the rankup outcome, or an error message if failed
+     * @see #processRankupAsync(RankupContext)
      */
     @NotNull
-    Result<RankupOutcome> processRankup(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank);
+    CompletableFuture<Result<RankupOutcome>> processRankupAsync(@NotNull Player player, @NotNull String currentRank,
+                                                                @NotNull String targetRank);
+
+    /**
+     * Processes a rankup operation without blocking the calling thread, reusing the requirement
+     * results recorded in the context.
+     * <p>
+     * Requirements that charge the player are settled off the main thread and the rank is only
+     * changed once every charge is confirmed.
+     * </p>
+     *
+     * @param context The rankup to process
+     * @return A future completing on the main thread with the rankup outcome, or an error message if failed
+     */
+    @NotNull
+    CompletableFuture<Result<RankupOutcome>> processRankupAsync(@NotNull RankupContext context);
 
     /**
      * Gets the requirements for a player to upgrade to a specific rank.
@@ -53,14 +71,4 @@ public interface RankupProcessor {
      */
     @NotNull
     List<Requirement> getUnmetRequirementsForRank(@NotNull Player player, @NotNull String targetRank);
-
-    /**
-     * Upgrades a player's rank.
-     *
-     * @param player     The player to upgrade
-     * @param targetRank The rank to upgrade to
-     * @return A result containing the rankup outcome if successful, or an error message if failed
-     */
-    @NotNull
-    Result<RankupOutcome> upgradeRank(@NotNull Player player, @NotNull String targetRank);
 }
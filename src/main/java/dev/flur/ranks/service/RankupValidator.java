@@ -1,5 +1,6 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -41,6 +42,9 @@ public interface RankupValidator {
 
     /**
      * Determines the target rank for a player based on available ranks and command arguments.
+     * <p>
+     * The rank argument may be a rank name or alias in any case.
+     * </p>
      *
      * @param availableRanks The available ranks for the player
      * @param args           Command arguments
@@ -67,4 +71,32 @@ public interface RankupValidator {
      */
     @NotNull
     List<Requirement> getUnmetRequirementsForRank(@NotNull Player player, @NotNull String targetRank);
+
+    /**
+     * Creates the context for a single rankup, resolving its requirements once.
+     *
+     * @param player      The player ranking up
+     * @param currentRank The player's current rank
+     * @param targetRank  The rank to upgrade to
+     * @return A new rankup context
+     */
+    @NotNull
+    RankupContext createContext(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank);
+
+    /**
+     * Checks if the player of a rankup meets all of its requirements, recording the results in the context.
+     *
+     * @param context The rankup to check
+     * @return True if the player meets all requirements, false otherwise
+     */
+    boolean meetsRequirements(@NotNull RankupContext context);
+
+    /**
+     * Gets the unmet requirements of a rankup, evaluating only those without a recorded result.
+     *
+     * @param context The rankup to check
+     * @return A list of unmet requirements
+     */
+    @NotNull
+    List<Requirement> getUnmetRequirements(@NotNull RankupContext context);
 }
\ No newline at end of file
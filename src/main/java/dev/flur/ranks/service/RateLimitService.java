@@ -0,0 +1,28 @@
+package dev.flur.ranks.service;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Service interface for limiting how often players may run commands.
+ */
+public interface RateLimitService {
+
+    /**
+     * Takes one use of a command for a player, if the player has one left.
+     *
+     * @param command  The command name
+     * @param playerId The player's unique id
+     * @return 0 if the command may run, otherwise the number of milliseconds until the player
+     * may run it again
+     */
+    long tryAcquire(@NotNull String command, @NotNull UUID playerId);
+
+    /**
+     * Gets how many command uses were refused since the server started.
+     *
+     * @return The number of refused command uses
+     */
+    long getRejectedCount();
+}
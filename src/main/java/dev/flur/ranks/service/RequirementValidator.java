@@ -1,11 +1,18 @@
 package dev.flur.ranks.service;
 
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Service interface for validating rank requirements.
@@ -14,6 +21,10 @@ public interface RequirementValidator {
 
     /**
      * Checks if a player meets all requirements for a rank.
+     * <p>
+     * Stops at the first unmet requirement. Use {@link #getUnmetRequirements(Player, List)}
+     * only when the full list has to be shown to the player.
+     * </p>
      *
      * @param player       The player to check
      * @param requirements The list of requirements to check
@@ -21,6 +32,50 @@ public interface RequirementValidator {
      */
     boolean meetsAllRequirements(@NotNull Player player, @NotNull List<Requirement> requirements);
 
+    /**
+     * Checks if a player, online or not, meets all requirements, keeping as much of the work as
+     * possible off the main thread.
+     * <p>
+     * Called off the main thread. Snapshot statistics and requirements declared
+     * {@link ThreadAffinity#ANY_THREAD} are checked on the calling thread. The remaining
+     * requirements of an online player are then checked together in a single main thread task,
+     * and only if the others were met.
+     * </p>
+     *
+     * @param statistics         The player's statistics
+     * @param requirements       The list of requirements to check
+     * @param mainThreadExecutor Runs tasks on the server's main thread
+     * @return A future completing with true if the player meets all requirements
+     */
+    @NotNull
+    CompletableFuture<Boolean> meetsAllRequirements(@NotNull PlayerStatistics statistics,
+                                                    @NotNull List<Requirement> requirements,
+                                                    @NotNull Executor mainThreadExecutor);
+
+    /**
+     * Checks if the player of a rankup meets all of its requirements.
+     * <p>
+     * Results already recorded in the context are reused, and newly evaluated results are
+     * recorded, so no requirement is evaluated twice for the same rankup.
+     * </p>
+     *
+     * @param context The rankup to check
+     * @return True if the player meets all requirements, false otherwise
+     */
+    boolean meetsAllRequirements(@NotNull RankupContext context);
+
+    /**
+     * Gets the requirements of a rankup that its player does not meet.
+     * <p>
+     * Only requirements without a recorded result are evaluated.
+     * </p>
+     *
+     * @param context The rankup to check
+     * @return A list of unmet requirements in their configured order
+     */
+    @NotNull
+    List<Requirement> getUnmetRequirements(@NotNull RankupContext context);
+
     /**
      * Gets a list of requirements that a player does not meet.
      *
@@ -41,6 +96,47 @@ public interface RequirementValidator {
     @NotNull
     Map<Requirement, Boolean> getRequirementStatus(@NotNull Player player, @NotNull List<Requirement> requirements);
 
+    /**
+     * Groups requirements by the thread they may be evaluated on.
+     * <p>
+     * Every {@link ThreadAffinity} is present in the result. Within each group requirements
+     * are in evaluation order, so callers can batch the off-thread group without losing the
+     * cost ordering.
+     * </p>
+     *
+     * @see #meetsAllRequirements(PlayerStatistics, List, Executor)
+     *
+     * @param requirements The list of requirements to group
+     * @return A map of thread affinity to the requirements with that affinity
+     */
+    @NotNull
+    Map<ThreadAffinity, List<Requirement>> groupByThreadAffinity(@NotNull List<Requirement> requirements);
+
+    /**
+     * Checks whether any of the requirements, or any requirement inside them, reads an input.
+     *
+     * @param requirements The requirements to check
+     * @param input        The input to look for
+     * @return True if at least one requirement reads the input
+     */
+    boolean readsInput(@NotNull List<Requirement> requirements, @NotNull RequirementInput input);
+
+    /**
+     * Invalidates the remembered results of a player's requirements that depend on an input.
+     * Called when the input changes.
+     *
+     * @param playerId The player's unique id
+     * @param input    The input that changed
+     */
+    void invalidate(@NotNull UUID playerId, @NotNull RequirementInput input);
+
+    /**
+     * Forgets all remembered requirement results of a player.
+     *
+     * @param playerId The player's unique id
+     */
+    void invalidate(@NotNull UUID playerId);
+
     /**
      * Gets a formatted description of a requirement.
      *
@@ -1,13 +1,30 @@
 package dev.flur.ranks.service;
 
 import dev.flur.ranks.Ranks;
+import dev.flur.ranks.rankup.RankupListener;
+import dev.flur.ranks.rankup.RankupTransaction;
+import dev.flur.ranks.requirement.RequirementServices;
 import dev.flur.ranks.service.services.DefaultRequirementRegistry;
+import dev.flur.ranks.storage.H2RankStorage;
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
 import dev.flur.ranks.service.services.*;
+import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.permission.Permission;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
@@ -15,6 +32,8 @@ import java.util.logging.Logger;
  */
 public class ServiceContainer implements Lifecycle {
 
+    private static final long PROGRESS_FLUSH_TICKS = 5L;
+
     private final Ranks plugin;
     private final Logger logger;
 
@@ -22,19 +41,34 @@ public class ServiceContainer implements Lifecycle {
     private ConfigurationService configurationService;
     private MessageService messageService;
     private PermissionService permissionService;
+    private EconomyService economyService;
+    private SettlementService settlementService;
     private DefaultRequirementRegistry requirementRegistry;
+    private PlayerLockService playerLockService;
+    private RateLimitService rateLimitService;
+    private RankupTransaction rankupTransaction;
+    private RankHistoryService rankHistoryService;
+    private RankStorage rankStorage;
+    private LeaderboardService leaderboardService;
 
     // Business logic services
     private RanksService ranksService;
+    private PlayerStatisticsService playerStatisticsService;
     private RequirementValidator requirementValidator;
     private RankProgressionService rankProgressionService;
     private PlayerRankService playerRankService;
+    private BulkRankService bulkRankService;
+    private ProgressDisplayService progressDisplayService;
 
     // Rankup services
     private RankupValidator rankupValidator;
     private RankupProcessor rankupProcessor;
     private RankupNotifier rankupNotifier;
 
+    private BukkitTask groupRefreshTask;
+    private BukkitTask progressFlushTask;
+    private BukkitTask progressRefreshTask;
+
     public ServiceContainer(@NotNull Ranks plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
@@ -47,19 +81,32 @@ public class ServiceContainer implements Lifecycle {
         // Core services first
         this.configurationService = createConfigurationService();
         this.permissionService = createPermissionService();
+        this.economyService = createEconomyService();
+        this.settlementService = createSettlementService();
         this.messageService = createMessageService();
         this.requirementRegistry = createRequirementRegistry();
+        this.playerLockService = new DefaultPlayerLockService();
+        this.rateLimitService = createRateLimitService();
+        this.rankupTransaction = createRankupTransaction();
+        this.rankHistoryService = createRankHistoryService();
+        this.rankStorage = createRankStorage();
+        this.leaderboardService = new DefaultLeaderboardService(rankStorage, logger);
 
         // Then business logic services
         this.requirementValidator = createRequirementValidator();
         this.ranksService = createRanksService();
+        this.playerStatisticsService = new DefaultPlayerStatisticsService(rankStorage, ranksService, logger);
         this.rankProgressionService = createRankProgressionService();
         this.playerRankService = createPlayerRankService();
+        this.bulkRankService = createBulkRankService();
+        this.progressDisplayService = createProgressDisplayService();
 
         // Finally rankup services
         this.rankupValidator = createRankupValidator();
         this.rankupProcessor = createRankupProcessor();
         this.rankupNotifier = createRankupNotifier();
+
+        validateRankGroups();
     }
 
     @Contract(" -> new")
@@ -68,10 +115,63 @@ public class ServiceContainer implements Lifecycle {
     }
 
     private @NotNull PermissionService createPermissionService() {
+        PermissionService backend = createPermissionBackend();
+        long writeBehindMillis = plugin.getConfig().getLong("permissions.write-behind-ms", 500L);
+        if (writeBehindMillis <= 0) {
+            return backend;
+        }
+        return new WriteBehindPermissionService(backend, writeBehindMillis, logger);
+    }
+
+    private @NotNull PermissionService createPermissionBackend() {
+        Plugin luckPerms = plugin.getServer().getPluginManager().getPlugin("LuckPerms");
+        // LuckPermsPermissionService must not be loaded unless LuckPerms is there
+        if (plugin.getConfig().getBoolean("prefer-luckperms", true) && luckPerms != null && luckPerms.isEnabled()) {
+            PermissionService luckPermsService = LuckPermsPermissionService.create(plugin, logger);
+            if (luckPermsService != null) {
+                logger.info("Using LuckPerms for permissions");
+                return luckPermsService;
+            }
+        }
         Permission vaultPermission = plugin.getVaultProvider().getPermissions();
         return new DefaultPermissionService(vaultPermission, logger);
     }
 
+    private @NotNull EconomyService createEconomyService() {
+        Economy vaultEconomy = plugin.getVaultProvider().getEconomy();
+        long balanceCacheMillis = plugin.getConfig().getLong("economy.balance-cache-ms", 2_000L);
+        return new DefaultEconomyService(vaultEconomy, asyncExecutor(), balanceCacheMillis, logger);
+    }
+
+    private @NotNull SettlementService createSettlementService() {
+        Economy vaultEconomy = plugin.getVaultProvider().getEconomy();
+        int maxAttempts = plugin.getConfig().getInt("economy.settlement.max-attempts", 3);
+        long retryDelayMillis = plugin.getConfig().getLong("economy.settlement.retry-delay-ms", 500L);
+        return new DefaultSettlementService(
+                vaultEconomy,
+                economyService,
+                asyncExecutor(),
+                maxAttempts,
+                retryDelayMillis,
+                logger);
+    }
+
+    @Contract(pure = true)
+    private @NotNull Executor asyncExecutor() {
+        return task -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    @Contract(pure = true)
+    private @NotNull Executor mainThreadExecutor() {
+        return task -> {
+            if (plugin.getServer().isPrimaryThread()) {
+                task.run();
+            } else {
+                plugin.getServer().getScheduler().runTask(plugin, task);
+            }
+        };
+    }
+
     @Contract(" -> new")
     private @NotNull MessageService createMessageService() {
         return new DefaultMessageService(plugin, configurationService);
@@ -79,19 +179,69 @@ public class ServiceContainer implements Lifecycle {
 
     @Contract(" -> new")
     private @NotNull DefaultRequirementRegistry createRequirementRegistry() {
-        DefaultRequirementRegistry registry = new DefaultRequirementRegistry(logger);
+        RequirementServices services = new RequirementServices(economyService, settlementService);
+        DefaultRequirementRegistry registry = new DefaultRequirementRegistry(logger, services);
         registry.discoverRequirements("dev.flur.ranks.requirement.requirements");
         return registry;
     }
 
     @Contract(value = " -> new", pure = true)
     private @NotNull RequirementValidator createRequirementValidator() {
-        return new DefaultRequirementValidator(logger, requirementRegistry);
+        // Money results are reused as long as the balances they were read from
+        long balanceCacheMillis = plugin.getConfig().getLong("economy.balance-cache-ms", 2_000L);
+        return new DefaultRequirementValidator(logger, requirementRegistry, balanceCacheMillis);
+    }
+
+    @Contract(" -> new")
+    private @NotNull RankupTransaction createRankupTransaction() {
+        return new RankupTransaction(permissionService, playerLockService, mainThreadExecutor(), logger);
+    }
+
+    @Contract(" -> new")
+    private @NotNull RateLimitService createRateLimitService() {
+        Map<String, DefaultRateLimitService.Limit> limits = new HashMap<>();
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("rate-limit");
+        if (section != null) {
+            for (String command : section.getKeys(false)) {
+                try {
+                    limits.put(command, new DefaultRateLimitService.Limit(
+                            section.getInt(command + ".burst", 1),
+                            section.getLong(command + ".refill-ms", 1_000L)));
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Invalid rate limit for command " + command + ": " + e.getMessage());
+                }
+            }
+        }
+        return new DefaultRateLimitService(limits);
+    }
+
+    @Contract(" -> new")
+    private @NotNull RankHistoryService createRankHistoryService() {
+        File directory = new File(plugin.getDataFolder(), "history");
+        long segmentBytes = plugin.getConfig().getLong("history.segment-size-kb", 8_192L) * 1024L;
+        return new DefaultRankHistoryService(directory, segmentBytes, asyncExecutor(), logger);
+    }
+
+    private @NotNull RankStorage createRankStorage() {
+        String type = plugin.getConfig().getString("storage.type", "h2");
+        if (type != null && !type.equalsIgnoreCase("h2")) {
+            logger.warning("Unknown storage type '" + type + "', using h2");
+        }
+        File databaseFile = new File(new File(plugin.getDataFolder(), "storage"), "ranks");
+        long flushIntervalMillis = plugin.getConfig().getLong("storage.flush-interval-ms", 1_000L);
+        int maxConnections = plugin.getConfig().getInt("storage.pool-size", 4);
+        return new H2RankStorage(databaseFile, flushIntervalMillis, maxConnections, asyncExecutor(), logger);
     }
 
     @Contract(" -> new")
     private @NotNull RanksService createRanksService() {
-        return new DefaultRanksService(configurationService, requirementRegistry, plugin, logger);
+        return new DefaultRanksService(
+                configurationService,
+                requirementRegistry,
+                permissionService,
+                rankupTransaction,
+                plugin,
+                logger);
     }
 
     private @NotNull RankProgressionService createRankProgressionService() {
@@ -107,11 +257,43 @@ public class ServiceContainer implements Lifecycle {
     }
 
     private @NotNull PlayerRankService createPlayerRankService() {
-        FileConfiguration ranksConfig = configurationService.getConfiguration("ranks.yml");
         return new DefaultPlayerRankService(
                 permissionService,
                 requirementValidator,
-                ranksConfig,
+                ranksService,
+                logger);
+    }
+
+    @Contract(" -> new")
+    private @NotNull BulkRankService createBulkRankService() {
+        int chunkSize = Math.max(1, plugin.getConfig().getInt("bulk.chunk-size", 250));
+        long lockTimeoutMillis = plugin.getConfig().getLong("rankup.lock-timeout-ms", 250L);
+        Executor nextTickExecutor = task -> plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, task, 1L);
+        return new DefaultBulkRankService(
+                leaderboardService,
+                permissionService,
+                rankStorage,
+                ranksService,
+                playerStatisticsService,
+                requirementValidator,
+                economyService,
+                playerLockService,
+                lockTimeoutMillis,
+                plugin.getServer()::getOfflinePlayer,
+                nextTickExecutor,
+                mainThreadExecutor(),
+                chunkSize,
+                logger);
+    }
+
+    @Contract(" -> new")
+    private @NotNull ProgressDisplayService createProgressDisplayService() {
+        long intervalMillis = plugin.getConfig().getLong("progress-display.interval-ms", 1_000L);
+        return new DefaultProgressDisplayService(
+                playerRankService,
+                ranksService,
+                messageService,
+                intervalMillis,
                 logger);
     }
 
@@ -120,6 +302,7 @@ public class ServiceContainer implements Lifecycle {
         return new DefaultRankupValidator(
                 playerRankService,
                 requirementValidator,
+                ranksService,
                 logger);
     }
 
@@ -129,9 +312,29 @@ public class ServiceContainer implements Lifecycle {
                 playerRankService,
                 rankProgressionService,
                 requirementValidator,
+                rankupTransaction,
+                createRankupListeners(),
                 logger);
     }
 
+    private @NotNull List<RankupListener> createRankupListeners() {
+        return List.of(
+                rankHistoryService::recordRankup,
+                outcome -> {
+                    PlayerRankRecord record = new PlayerRankRecord(
+                            outcome.getPlayer().getUniqueId(),
+                            outcome.getPlayer().getName(),
+                            outcome.getTargetRank(),
+                            System.currentTimeMillis());
+                    rankStorage.saveRank(record);
+                    leaderboardService.update(record);
+                },
+                outcome -> ranksService.invalidateCachedRank(outcome.getPlayer().getUniqueId()),
+                // The rankup consumed what its requirements checked
+                outcome -> requirementValidator.invalidate(outcome.getPlayer().getUniqueId()),
+                outcome -> progressDisplayService.requestUpdate(outcome.getPlayer().getUniqueId()));
+    }
+
     @Contract(" -> new")
     private @NotNull RankupNotifier createRankupNotifier() {
         return new DefaultRankupNotifier(
@@ -156,11 +359,51 @@ public class ServiceContainer implements Lifecycle {
         return permissionService;
     }
 
+    @NotNull
+    public EconomyService getEconomyService() {
+        return economyService;
+    }
+
+    @NotNull
+    public RankStorage getRankStorage() {
+        return rankStorage;
+    }
+
+    @NotNull
+    public LeaderboardService getLeaderboardService() {
+        return leaderboardService;
+    }
+
+    @NotNull
+    public RankHistoryService getRankHistoryService() {
+        return rankHistoryService;
+    }
+
+    @NotNull
+    public SettlementService getSettlementService() {
+        return settlementService;
+    }
+
+    @NotNull
+    public PlayerLockService getPlayerLockService() {
+        return playerLockService;
+    }
+
+    @NotNull
+    public RateLimitService getRateLimitService() {
+        return rateLimitService;
+    }
+
     @NotNull
     public RanksService getRanksService() {
         return ranksService;
     }
 
+    @NotNull
+    public PlayerStatisticsService getPlayerStatisticsService() {
+        return playerStatisticsService;
+    }
+
     @NotNull
     public RequirementValidator getRequirementValidator() {
         return requirementValidator;
@@ -176,6 +419,16 @@ public class ServiceContainer implements Lifecycle {
         return playerRankService;
     }
 
+    @NotNull
+    public BulkRankService getBulkRankService() {
+        return bulkRankService;
+    }
+
+    @NotNull
+    public ProgressDisplayService getProgressDisplayService() {
+        return progressDisplayService;
+    }
+
     @NotNull
     public RankupValidator getRankupValidator() {
         return rankupValidator;
@@ -201,6 +454,36 @@ public class ServiceContainer implements Lifecycle {
         return requirementRegistry;
     }
 
+    /**
+     * Warns about ranks in ranks.yml that have no permission group, so they are reported once
+     * instead of on every rankup.
+     */
+    private void validateRankGroups() {
+        Set<String> ranks = new TreeSet<>();
+        try {
+            FileConfiguration ranksConfig = configurationService.getConfiguration("ranks");
+            for (String key : ranksConfig.getKeys(false)) {
+                String name = ranksConfig.getString(key + ".name");
+                if (name != null && !name.isBlank()) {
+                    ranks.add(name);
+                }
+                ConfigurationSection next = ranksConfig.getConfigurationSection(key + ".next");
+                if (next != null) {
+                    ranks.addAll(next.getKeys(false));
+                }
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to validate ranks against permission groups: " + e.getMessage());
+            return;
+        }
+
+        for (String rank : ranks) {
+            if (!permissionService.groupExists(rank)) {
+                logger.warning("Rank '" + rank + "' in ranks.yml has no permission group and cannot be reached");
+            }
+        }
+    }
+
     /**
      * Reloads all services.
      */
@@ -208,20 +491,87 @@ public class ServiceContainer implements Lifecycle {
         configurationService.reloadConfigurations();
         messageService.reload();
         ranksService.reload();
+        progressDisplayService.reload();
+        permissionService.refreshGroups();
+        validateRankGroups();
     }
 
     @Override
     public void start() {
-        // Services are already started in the initialize method
+        // Services are already created in the initialize method; only background work starts here
+        long groupRefreshTicks = plugin.getConfig().getLong("permissions.group-refresh-seconds", 300L) * 20L;
+        if (groupRefreshTicks > 0) {
+            groupRefreshTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+                    plugin, permissionService::refreshGroups, groupRefreshTicks, groupRefreshTicks);
+        }
+        if (permissionService instanceof Lifecycle lifecycle) {
+            lifecycle.start();
+        }
+        settlementService.start();
+        rankHistoryService.start();
+        rankStorage.start();
+        leaderboardService.start();
+        if (plugin.getConfig().getBoolean("progress-display.enabled", true)) {
+            startProgressDisplay();
+        }
         logger.info("Service container started");
     }
 
+    private void startProgressDisplay() {
+        // Cheap when nobody's progress changed, so it runs often to keep the interval accurate
+        progressFlushTask = plugin.getServer().getScheduler().runTaskTimer(
+                plugin, progressDisplayService::flush, PROGRESS_FLUSH_TICKS, PROGRESS_FLUSH_TICKS);
+        // Balances change without an event, so shown progress is refreshed this often regardless
+        long refreshTicks = plugin.getConfig().getLong("progress-display.refresh-seconds", 30L) * 20L;
+        if (refreshTicks > 0) {
+            progressRefreshTask = plugin.getServer().getScheduler().runTaskTimer(
+                    plugin, progressDisplayService::requestUpdateAll, refreshTicks, refreshTicks);
+        }
+        plugin.getServer().getOnlinePlayers().forEach(progressDisplayService::show);
+    }
+
     @Override
     public void stop() {
         // Shutdown all services that need to be stopped
+        if (groupRefreshTask != null) {
+            groupRefreshTask.cancel();
+            groupRefreshTask = null;
+        }
+        if (progressFlushTask != null) {
+            progressFlushTask.cancel();
+            progressFlushTask = null;
+        }
+        if (progressRefreshTask != null) {
+            progressRefreshTask.cancel();
+            progressRefreshTask = null;
+        }
+        if (progressDisplayService != null) {
+            // Before the message service, which the bars are shown through
+            progressDisplayService.shutdown();
+        }
         if (messageService != null) {
             messageService.shutdown();
         }
+        // Queued group changes complete their rankups, which refund and record through the services below
+        if (permissionService instanceof Lifecycle lifecycle) {
+            lifecycle.stop();
+        }
+        if (settlementService != null) {
+            settlementService.stop();
+        }
+        if (rankHistoryService != null) {
+            rankHistoryService.stop();
+        }
+        if (leaderboardService != null) {
+            leaderboardService.stop();
+        }
+        if (playerStatisticsService != null) {
+            // Plugins are disabled before players are kicked, so their quit events come too late
+            plugin.getServer().getOnlinePlayers().forEach(playerStatisticsService::saveSnapshot);
+        }
+        if (rankStorage != null) {
+            rankStorage.stop();
+        }
         logger.info("Service container stopped");
     }
 
@@ -0,0 +1,51 @@
+package dev.flur.ranks.service;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for settling economy transactions off the main thread.
+ * <p>
+ * Every transaction carries an idempotency key. Submitting a key that is pending or was
+ * recently settled returns the existing settlement instead of moving money again.
+ * </p>
+ * <p>
+ * Withdrawals are only accepted while the service is started, while deposits such as refunds
+ * are always accepted. Stopping it waits for the pending transactions, since the rankups they
+ * pay for cannot complete once the plugin is disabled.
+ * </p>
+ */
+public interface SettlementService extends Lifecycle {
+
+    /**
+     * Withdraws an amount from a player, refusing it if their balance does not cover it.
+     *
+     * @param idempotencyKey The key identifying this withdrawal
+     * @param player         The player to withdraw from
+     * @param amount         The amount to withdraw
+     * @return A future completing with true if the amount was withdrawn, false if it was refused or failed
+     */
+    @NotNull
+    CompletableFuture<Boolean> withdraw(@NotNull UUID idempotencyKey, @NotNull OfflinePlayer player, double amount);
+
+    /**
+     * Deposits an amount to a player.
+     *
+     * @param idempotencyKey The key identifying this deposit
+     * @param player         The player to deposit to
+     * @param amount         The amount to deposit
+     * @return A future completing with true if the amount was deposited, false if it was refused or failed
+     */
+    @NotNull
+    CompletableFuture<Boolean> deposit(@NotNull UUID idempotencyKey, @NotNull OfflinePlayer player, double amount);
+
+    /**
+     * Gets the number of transactions that have not settled yet.
+     *
+     * @return The number of pending transactions
+     */
+    int getPendingCount();
+}
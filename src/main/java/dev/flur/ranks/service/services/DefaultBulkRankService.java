@@ -0,0 +1,402 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.result.BulkProgress;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.BulkRankService;
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.PlayerLockService;
+import dev.flur.ranks.service.PlayerStatisticsService;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.service.RequirementValidator;
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the BulkRankService interface.
+ * <p>
+ * The players to move are the members the permission plugin lists for the rank, where it can
+ * list them, together with the players the leaderboard index holds in the rank, so no player
+ * data is loaded to find them. The index records every player's rank when they join and quit,
+ * so it also covers permission plugins that cannot list members. Each chunk is handed to the
+ * permission plugin at once and the next chunk is scheduled a tick after the previous one has
+ * been written, which keeps the number of writes in flight bounded by the chunk size however
+ * many players the rank holds.
+ * </p>
+ * <p>
+ * Each player is moved under their rankup lock, so a rankup of the same player cannot run
+ * between the check that they are still in the rank and the write.
+ * </p>
+ */
+public class DefaultBulkRankService implements BulkRankService {
+
+    /**
+     * The minimum time between two progress reports.
+     */
+    static final long PROGRESS_INTERVAL_MILLIS = 1_000L;
+
+    private final LeaderboardService leaderboardService;
+    private final PermissionService permissionService;
+    private final RankStorage rankStorage;
+    private final RanksService ranksService;
+    private final PlayerStatisticsService statisticsService;
+    private final RequirementValidator requirementValidator;
+    private final EconomyService economyService;
+    private final PlayerLockService playerLockService;
+    private final long lockTimeoutMillis;
+    private final Function<UUID, OfflinePlayer> playerLookup;
+    private final Executor nextTickExecutor;
+    private final Executor mainThreadExecutor;
+    private final int chunkSize;
+    private final Logger logger;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Creates a new bulk rank service.
+     *
+     * @param leaderboardService The index the recorded players of a rank are read from
+     * @param permissionService  The permission service used to move players
+     * @param rankStorage        The storage moved players are saved to
+     * @param ranksService       The ranks service used to check requirements
+     * @param statisticsService  The statistics of offline players
+     * @param requirementValidator The validator requirements are checked with
+     * @param economyService     The economy the balances of a chunk are prefetched from
+     * @param playerLockService  The locks serializing rank changes per player
+     * @param lockTimeoutMillis  How long to wait for a player's lock before failing the player
+     * @param playerLookup       Looks up a player by unique id without loading their data
+     * @param nextTickExecutor   Runs tasks off the main thread, starting on the next tick
+     * @param mainThreadExecutor Runs tasks on the server's main thread
+     * @param chunkSize          The number of players processed per chunk
+     * @param logger             The logger to use
+     */
+    public DefaultBulkRankService(
+            @NotNull LeaderboardService leaderboardService,
+            @NotNull PermissionService permissionService,
+            @NotNull RankStorage rankStorage,
+            @NotNull RanksService ranksService,
+            @NotNull PlayerStatisticsService statisticsService,
+            @NotNull RequirementValidator requirementValidator,
+            @NotNull EconomyService economyService,
+            @NotNull PlayerLockService playerLockService,
+            long lockTimeoutMillis,
+            @NotNull Function<UUID, OfflinePlayer> playerLookup,
+            @NotNull Executor nextTickExecutor,
+            @NotNull Executor mainThreadExecutor,
+            int chunkSize,
+            @NotNull Logger logger) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.leaderboardService = leaderboardService;
+        this.permissionService = permissionService;
+        this.rankStorage = rankStorage;
+        this.ranksService = ranksService;
+        this.statisticsService = statisticsService;
+        this.requirementValidator = requirementValidator;
+        this.economyService = economyService;
+        this.playerLockService = playerLockService;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.playerLookup = playerLookup;
+        this.nextTickExecutor = nextTickExecutor;
+        this.mainThreadExecutor = mainThreadExecutor;
+        this.chunkSize = chunkSize;
+        this.logger = logger;
+    }
+
+    @Override
+    @NotNull
+    public Result<CompletableFuture<BulkProgress>> changeRank(
+            @NotNull String fromRank,
+            @NotNull String toRank,
+            boolean checkRequirements,
+            boolean dryRun,
+            @NotNull Consumer<BulkProgress> progressListener) {
+        if (fromRank.equalsIgnoreCase(toRank)) {
+            return Result.failure("Cannot move players from rank " + fromRank + " to itself");
+        }
+        if (!permissionService.groupExists(toRank)) {
+            return Result.failure("Rank " + toRank + " has no permission group");
+        }
+        if (checkRequirements && !ranksService.getNextRanks(fromRank).containsKey(toRank)) {
+            return Result.failure("Rank " + toRank + " is not a next rank of " + fromRank
+                    + ", so it has no requirements to check");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return Result.failure("A bulk rank change is already running");
+        }
+
+        CompletableFuture<BulkProgress> done = new CompletableFuture<>();
+        try {
+            List<Requirement> requirements = checkRequirements ? ranksService.getRequirements(fromRank, toRank) : List.of();
+            boolean prefetchBalances = requirementValidator.readsInput(requirements, RequirementInput.BALANCE);
+            permissionService.getGroupMembers(fromRank)
+                    .exceptionally(error -> {
+                        logger.warning("Failed to list the members of group " + fromRank
+                                + ", moving the players recorded in it: " + error.getMessage());
+                        return Set.of();
+                    })
+                    .thenAcceptAsync(members -> start(new BulkOperation(fromRank, toRank, checkRequirements,
+                            requirements, prefetchBalances, dryRun, collectPlayers(fromRank, members), members, progressListener, done)),
+                            nextTickExecutor)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            running.set(false);
+                            logger.severe("Error starting bulk rank change from " + fromRank + " to " + toRank
+                                    + ": " + error.getMessage());
+                            done.completeExceptionally(error);
+                        }
+                    });
+        } catch (Exception e) {
+            running.set(false);
+            logger.severe("Error starting bulk rank change from " + fromRank + " to " + toRank + ": " + e.getMessage());
+            return Result.failure("Error starting bulk rank change: " + e.getMessage());
+        }
+        return Result.success(done);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void start(@NotNull BulkOperation operation) {
+        logger.info("Bulk rank change from " + operation.fromRank + " to " + operation.toRank + " started for "
+                + operation.players.size() + " players" + (operation.dryRun ? " (dry run)" : ""));
+        processChunk(operation, 0);
+    }
+
+    /**
+     * Gets the players recorded in the rank, followed by the listed members that are not recorded.
+     */
+    @NotNull
+    private List<PlayerRankRecord> collectPlayers(@NotNull String fromRank, @NotNull Set<UUID> members) {
+        Map<UUID, PlayerRankRecord> players = new LinkedHashMap<>();
+        for (PlayerRankRecord record : leaderboardService.getTopPlayers(fromRank, Integer.MAX_VALUE)) {
+            players.put(record.playerId(), record);
+        }
+        for (UUID member : members) {
+            // The name is filled in from the player once they are moved
+            players.putIfAbsent(member, new PlayerRankRecord(member, member.toString(), fromRank, 0L));
+        }
+        return List.copyOf(players.values());
+    }
+
+    private void processChunk(@NotNull BulkOperation operation, int start) {
+        int end = Math.min(start + chunkSize, operation.players.size());
+        if (!operation.prefetchBalances) {
+            moveChunk(operation, start, end);
+            return;
+        }
+        // One background pass loads the chunk's balances, instead of one economy call per requirement check
+        List<OfflinePlayer> chunkPlayers = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            chunkPlayers.add(playerLookup.apply(operation.players.get(i).playerId()));
+        }
+        economyService.prefetchBalances(chunkPlayers).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warning("Failed to prefetch balances, reading them per player: " + error.getMessage());
+            }
+            moveChunk(operation, start, end);
+        });
+    }
+
+    private void moveChunk(@NotNull BulkOperation operation, int start, int end) {
+        CompletableFuture<?>[] chunk = new CompletableFuture<?>[end - start];
+        for (int i = start; i < end; i++) {
+            PlayerRankRecord record = operation.players.get(i);
+            CompletableFuture<Void> moved;
+            try {
+                moved = processPlayer(operation, record);
+            } catch (Exception e) {
+                moved = CompletableFuture.failedFuture(e);
+            }
+            chunk[i - start] = moved.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    operation.failed.incrementAndGet();
+                    logger.warning("Failed to move player " + record.playerName() + " from " + operation.fromRank
+                            + " to " + operation.toRank + ": " + error.getMessage());
+                }
+                operation.processed.incrementAndGet();
+            });
+        }
+
+        CompletableFuture.allOf(chunk).whenComplete((ignored, error) -> {
+            if (end < operation.players.size()) {
+                reportProgress(operation);
+                nextTickExecutor.execute(() -> processChunk(operation, end));
+            } else {
+                finish(operation);
+            }
+        });
+    }
+
+    @NotNull
+    private CompletableFuture<Void> processPlayer(@NotNull BulkOperation operation, @NotNull PlayerRankRecord record) {
+        // Held from the rank check until the move is written, so no rankup of the player runs in between
+        UUID playerId = record.playerId();
+        if (!playerLockService.tryLock(playerId, lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Another rankup of the player is in progress"));
+        }
+
+        CompletableFuture<Void> moved;
+        try {
+            moved = checkAndMove(operation, record);
+        } catch (Exception e) {
+            moved = CompletableFuture.failedFuture(e);
+        }
+        return moved.whenComplete((ignored, error) -> playerLockService.unlock(playerId));
+    }
+
+    @NotNull
+    private CompletableFuture<Void> checkAndMove(@NotNull BulkOperation operation, @NotNull PlayerRankRecord record) {
+        OfflinePlayer player = playerLookup.apply(record.playerId());
+        if (!isStillInRank(operation, record, player)) {
+            operation.skipped.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return isEligible(operation, player).thenCompose(eligible -> {
+            if (!eligible) {
+                operation.skipped.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }
+            if (operation.dryRun) {
+                operation.changed.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }
+            return permissionService.setGroupOffline(player, operation.fromRank, operation.toRank).thenAccept(moved -> {
+                if (!moved) {
+                    operation.failed.incrementAndGet();
+                    return;
+                }
+                String name = player.getName() != null ? player.getName() : record.playerName();
+                PlayerRankRecord updated = new PlayerRankRecord(
+                        record.playerId(), name, operation.toRank, System.currentTimeMillis());
+                rankStorage.saveRank(updated);
+                leaderboardService.update(updated);
+                ranksService.invalidateCachedRank(record.playerId());
+                operation.changed.incrementAndGet();
+            });
+        });
+    }
+
+    private boolean isStillInRank(@NotNull BulkOperation operation, @NotNull PlayerRankRecord record,
+                                  @NotNull OfflinePlayer player) {
+        // The player may have ranked up since the operation started
+        Player online = player.getPlayer();
+        if (online != null) {
+            return permissionService.getPrimaryGroup(online).equalsIgnoreCase(operation.fromRank);
+        }
+        // Listed members are in the rank as far as the permission plugin knows, even if the
+        // index has not caught up with them
+        return operation.members.contains(record.playerId())
+                || leaderboardService.getPlayer(record.playerId())
+                .map(current -> current.rank().equalsIgnoreCase(operation.fromRank))
+                .orElse(false);
+    }
+
+    @NotNull
+    private CompletableFuture<Boolean> isEligible(@NotNull BulkOperation operation, @NotNull OfflinePlayer player) {
+        if (!operation.checkRequirements) {
+            return CompletableFuture.completedFuture(true);
+        }
+        // Only the requirements of online players that must run on the main thread are sent there
+        return statisticsService.getStatistics(player).thenCompose(statistics ->
+                requirementValidator.meetsAllRequirements(statistics, operation.requirements, mainThreadExecutor));
+    }
+
+    private void reportProgress(@NotNull BulkOperation operation) {
+        long now = System.currentTimeMillis();
+        if (now - operation.lastReportMillis < PROGRESS_INTERVAL_MILLIS) {
+            return;
+        }
+        operation.lastReportMillis = now;
+        BulkProgress progress = operation.progress(now, false);
+        mainThreadExecutor.execute(() -> notifyProgress(operation, progress));
+    }
+
+    private void finish(@NotNull BulkOperation operation) {
+        BulkProgress progress = operation.progress(System.currentTimeMillis(), true);
+        logger.info("Bulk rank change from " + operation.fromRank + " to " + operation.toRank + " finished: "
+                + progress.changed() + " moved, " + progress.skipped() + " skipped, " + progress.failed()
+                + " failed in " + progress.elapsedMillis() + " ms" + (operation.dryRun ? " (dry run)" : ""));
+        mainThreadExecutor.execute(() -> {
+            running.set(false);
+            notifyProgress(operation, progress);
+            operation.done.complete(progress);
+        });
+    }
+
+    private void notifyProgress(@NotNull BulkOperation operation, @NotNull BulkProgress progress) {
+        try {
+            operation.progressListener.accept(progress);
+        } catch (Exception e) {
+            logger.warning("Error reporting bulk rank change progress: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The state of a running bulk rank change.
+     */
+    private static final class BulkOperation {
+        private final String fromRank;
+        private final String toRank;
+        private final boolean checkRequirements;
+        private final List<Requirement> requirements;
+        private final boolean prefetchBalances;
+        private final boolean dryRun;
+        private final List<PlayerRankRecord> players;
+        // The players the permission plugin listed in the rank
+        private final Set<UUID> members;
+        private final Consumer<BulkProgress> progressListener;
+        private final CompletableFuture<BulkProgress> done;
+        private final long startMillis = System.currentTimeMillis();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger changed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        // Only touched by the thread completing a chunk, and chunks run one after the other
+        private long lastReportMillis = startMillis;
+
+        BulkOperation(String fromRank, String toRank, boolean checkRequirements, List<Requirement> requirements,
+                      boolean prefetchBalances, boolean dryRun, List<PlayerRankRecord> players, Set<UUID> members,
+                      Consumer<BulkProgress> progressListener, CompletableFuture<BulkProgress> done) {
+            this.fromRank = fromRank;
+            this.toRank = toRank;
+            this.checkRequirements = checkRequirements;
+            this.requirements = requirements;
+            this.prefetchBalances = prefetchBalances;
+            this.dryRun = dryRun;
+            this.players = players;
+            this.members = members;
+            this.progressListener = progressListener;
+            this.done = done;
+        }
+
+        BulkProgress progress(long now, boolean finished) {
+            return new BulkProgress(players.size(), processed.get(), changed.get(), skipped.get(), failed.get(),
+                    now - startMillis, finished);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.EconomyService;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the EconomyService interface using Vault.
+ * <p>
+ * Balances are cached per player for a short time, since each read may be a database round
+ * trip in the economy plugin. Withdrawals and deposits made through this service drop the
+ * player's cached balance. A balance read while the player's cache was dropped is not cached,
+ * since it may predate the change that dropped it.
+ * </p>
+ */
+public class DefaultEconomyService implements EconomyService {
+
+    private final Economy economy;
+    private final Executor asyncExecutor;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Logger logger;
+    private final Map<UUID, CachedBalance> balances = new ConcurrentHashMap<>();
+    // Bumped on every invalidate, so a read can tell whether it raced one
+    private final Map<UUID, Long> stamps = new ConcurrentHashMap<>();
+
+    public DefaultEconomyService(
+            @NotNull Economy economy,
+            @NotNull Executor asyncExecutor,
+            long ttlMillis,
+            @NotNull Logger logger) {
+        this(economy, asyncExecutor, ttlMillis, System::nanoTime, logger);
+    }
+
+    DefaultEconomyService(
+            @NotNull Economy economy,
+            @NotNull Executor asyncExecutor,
+            long ttlMillis,
+            @NotNull LongSupplier nanoClock,
+            @NotNull Logger logger) {
+        this.economy = economy;
+        this.asyncExecutor = asyncExecutor;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.logger = logger;
+    }
+
+    @Override
+    public double getBalance(@NotNull OfflinePlayer player) {
+        UUID playerId = player.getUniqueId();
+        long now = nanoClock.getAsLong();
+
+        CachedBalance cached = balances.get(playerId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.balance();
+        }
+
+        long stamp = stampOf(playerId);
+        double balance = economy.getBalance(player);
+        cacheIfCurrent(playerId, stamp, new CachedBalance(balance, now));
+        return balance;
+    }
+
+    @Override
+    public boolean withdraw(@NotNull OfflinePlayer player, double amount) {
+        try {
+            // Many economies let balances go negative, so affordability is checked here
+            if (!economy.has(player, amount)) {
+                return false;
+            }
+            EconomyResponse response = economy.withdrawPlayer(player, amount);
+            return response != null && response.transactionSuccess();
+        } catch (Exception e) {
+            logger.severe("Error withdrawing " + amount + " from player " + player.getName() + ": " + e.getMessage());
+            return false;
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public boolean deposit(@NotNull OfflinePlayer player, double amount) {
+        try {
+            EconomyResponse response = economy.depositPlayer(player, amount);
+            return response != null && response.transactionSuccess();
+        } catch (Exception e) {
+            logger.severe("Error depositing " + amount + " to player " + player.getName() + ": " + e.getMessage());
+            return false;
+        } finally {
+            invalidate(player.getUniqueId());
+        }
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Void> prefetchBalances(@NotNull Collection<? extends OfflinePlayer> players) {
+        // Copy first, the caller may keep changing its collection
+        List<OfflinePlayer> snapshot = new ArrayList<>(players);
+        return CompletableFuture.runAsync(() -> {
+            for (OfflinePlayer player : snapshot) {
+                try {
+                    UUID playerId = player.getUniqueId();
+                    long stamp = stampOf(playerId);
+                    cacheIfCurrent(playerId, stamp, new CachedBalance(economy.getBalance(player), nanoClock.getAsLong()));
+                } catch (Exception e) {
+                    logger.warning("Error prefetching balance for player " + player.getName() + ": " + e.getMessage());
+                }
+            }
+        }, asyncExecutor);
+    }
+
+    @Override
+    public void invalidate(@NotNull UUID playerId) {
+        // Bumped before the removal, so a read caching concurrently either sees it or is removed
+        stamps.merge(playerId, 1L, Long::sum);
+        balances.remove(playerId);
+    }
+
+    private long stampOf(@NotNull UUID playerId) {
+        return stamps.getOrDefault(playerId, 0L);
+    }
+
+    /**
+     * Caches a balance unless the player was invalidated since the balance was read.
+     */
+    private void cacheIfCurrent(@NotNull UUID playerId, long stamp, @NotNull CachedBalance balance) {
+        balances.compute(playerId, (id, cached) -> stampOf(id) == stamp ? balance : cached);
+    }
+
+    private record CachedBalance(double balance, long loadedAt) {
+    }
+}
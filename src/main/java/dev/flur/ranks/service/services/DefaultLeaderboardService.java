@@ -0,0 +1,152 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the LeaderboardService interface.
+ * <p>
+ * Keeps every player's latest rank plus, per rank, a player count and the players sorted by
+ * promotion time. Counts are O(1) and the first {@code n} players of a rank are O(log n + limit).
+ * Updates are serialized; reads never block.
+ * </p>
+ */
+public class DefaultLeaderboardService implements LeaderboardService {
+
+    private static final Comparator<PlayerRankRecord> BY_PROMOTION_TIME = Comparator
+            .comparingLong(PlayerRankRecord::rankedUpAt)
+            .thenComparing(PlayerRankRecord::playerId);
+
+    private final RankStorage rankStorage;
+    private final Logger logger;
+    private final Map<UUID, PlayerRankRecord> players = new ConcurrentHashMap<>();
+    private final Map<String, RankIndex> ranks = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    public DefaultLeaderboardService(@NotNull RankStorage rankStorage, @NotNull Logger logger) {
+        this.rankStorage = rankStorage;
+        this.logger = logger;
+    }
+
+    @Override
+    public synchronized void update(@NotNull PlayerRankRecord record) {
+        PlayerRankRecord previous = players.put(record.playerId(), record);
+        if (previous != null) {
+            RankIndex previousRank = ranks.get(previous.rank());
+            if (previousRank != null) {
+                previousRank.remove(previous);
+            }
+        }
+        ranks.computeIfAbsent(record.rank(), rank -> new RankIndex()).add(record);
+    }
+
+    @Override
+    public int getPlayerCount(@NotNull String rank) {
+        RankIndex index = ranks.get(rank);
+        return index != null ? index.count.get() : 0;
+    }
+
+    @Override
+    @NotNull
+    public Map<String, Integer> getDistribution() {
+        Map<String, Integer> distribution = new HashMap<>();
+        ranks.forEach((rank, index) -> {
+            int count = index.count.get();
+            if (count > 0) {
+                distribution.put(rank, count);
+            }
+        });
+        return distribution;
+    }
+
+    @Override
+    @NotNull
+    public List<PlayerRankRecord> getTopPlayers(@NotNull String rank, int limit) {
+        RankIndex index = ranks.get(rank);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+        List<PlayerRankRecord> top = new ArrayList<>(Math.min(limit, index.count.get()));
+        Iterator<PlayerRankRecord> iterator = index.players.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    @Override
+    @NotNull
+    public Optional<PlayerRankRecord> getPlayer(@NotNull UUID playerId) {
+        return Optional.ofNullable(players.get(playerId));
+    }
+
+    @Override
+    public void start() {
+        rankStorage.loadAllPlayers().whenComplete((records, error) -> {
+            if (error != null) {
+                logger.severe("Failed to load leaderboard: " + error.getMessage());
+                return;
+            }
+            synchronized (this) {
+                // Rankups applied while loading are newer than what storage returned
+                for (PlayerRankRecord record : records) {
+                    PlayerRankRecord current = players.get(record.playerId());
+                    if (current == null || current.rankedUpAt() < record.rankedUpAt()) {
+                        update(record);
+                    }
+                }
+            }
+            loaded = true;
+            logger.info("Loaded leaderboard with " + records.size() + " players");
+        });
+    }
+
+    @Override
+    public synchronized void stop() {
+        players.clear();
+        ranks.clear();
+        loaded = false;
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return loaded;
+    }
+
+    /**
+     * The players in a single rank.
+     */
+    private static final class RankIndex {
+        private final ConcurrentSkipListSet<PlayerRankRecord> players = new ConcurrentSkipListSet<>(BY_PROMOTION_TIME);
+        // The skip list's own size() is O(n)
+        private final AtomicInteger count = new AtomicInteger();
+
+        void add(@NotNull PlayerRankRecord record) {
+            if (players.add(record)) {
+                count.incrementAndGet();
+            }
+        }
+
+        void remove(@NotNull PlayerRankRecord record) {
+            if (players.remove(record)) {
+                count.decrementAndGet();
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import dev.flur.ranks.message.TemplateProcessor;
 import dev.flur.ranks.service.ConfigurationService;
 import dev.flur.ranks.service.MessageService;
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
@@ -68,6 +69,22 @@ public class DefaultMessageService implements MessageService {
         return getMessage(message.getKey(), locale, context);
     }
 
+    @Override
+    @NotNull
+    public String getLocale(@NotNull CommandSender sender) {
+        return getLocaleForSender(sender);
+    }
+
+    @Override
+    public void showBossBar(@NotNull Player player, @NotNull BossBar bar) {
+        audiences.player(player).showBossBar(bar);
+    }
+
+    @Override
+    public void hideBossBar(@NotNull Player player, @NotNull BossBar bar) {
+        audiences.player(player).hideBossBar(bar);
+    }
+
     @Override
     public void sendMessage(@NotNull CommandSender sender, @NotNull Messages message, Map<String, Object> context) {
         String locale = getLocaleForSender(sender);
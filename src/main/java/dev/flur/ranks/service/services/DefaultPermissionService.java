@@ -2,22 +2,34 @@ package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.service.PermissionService;
 import net.milkbowl.vault.permission.Permission;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
  * Default implementation of the PermissionService interface using Vault.
+ * <p>
+ * Group existence is answered from an immutable set of group names fetched from Vault and
+ * replaced on every {@link #refreshGroups()}.
+ * </p>
  */
 public class DefaultPermissionService implements PermissionService {
 
     private final Permission permission;
     private final Logger logger;
 
+    private volatile Set<String> groups = Set.of();
+
     public DefaultPermissionService(@NotNull Permission permission, @NotNull Logger logger) {
         this.permission = permission;
         this.logger = logger;
+        refreshGroups();
     }
 
     @Override
@@ -62,14 +74,48 @@ public class DefaultPermissionService implements PermissionService {
         }
     }
 
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> setGroupOffline(@NotNull OfflinePlayer player, @NotNull String fromGroup, @NotNull String toGroup) {
+        try {
+            permission.playerRemoveGroup(null, player, fromGroup);
+            return CompletableFuture.completedFuture(permission.playerAddGroup(null, player, toGroup));
+        } catch (Exception e) {
+            logger.warning("Error moving player " + player.getName() + " from group " + fromGroup + " to " + toGroup + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
     @Override
     public boolean groupExists(@NotNull String groupName) {
+        return groups.contains(groupName.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    @NotNull
+    public Set<String> getGroups() {
+        return groups;
+    }
+
+    @Override
+    public void refreshGroups() {
+        String[] names;
         try {
-            return permission.groupHas((String) null, groupName, "");
+            names = permission.getGroups();
         } catch (Exception e) {
-            // This is a hack to check if a group exists since Vault doesn't provide a direct method
-            // If the group doesn't exist, Vault will throw an exception
-            return false;
+            // Keep the groups we have; a later refresh may succeed
+            logger.warning("Error loading permission groups: " + e.getMessage());
+            return;
+        }
+
+        Set<String> loaded = new HashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null) {
+                    loaded.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
         }
+        this.groups = Set.copyOf(loaded);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.PlayerLockService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of the PlayerLockService interface.
+ * <p>
+ * Every player has a binary semaphore of their own, so a rankup only ever waits on another
+ * rankup of the same player, however long that one takes to settle. A player's semaphore only
+ * exists while someone holds or waits for it, so no lock objects are retained for idle players.
+ * </p>
+ */
+public class DefaultPlayerLockService implements PlayerLockService {
+
+    private final Map<UUID, PlayerLock> locks = new ConcurrentHashMap<>();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    @Override
+    public boolean tryLock(@NotNull UUID playerId, long timeout, @NotNull TimeUnit unit) {
+        PlayerLock lock = locks.compute(playerId, (id, existing) -> {
+            PlayerLock used = existing != null ? existing : new PlayerLock();
+            used.users++;
+            return used;
+        });
+        if (lock.semaphore.tryAcquire()) {
+            return true;
+        }
+
+        contended.increment();
+        try {
+            if (lock.semaphore.tryAcquire(timeout, unit)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timedOut.increment();
+        release(playerId);
+        return false;
+    }
+
+    @Override
+    public void unlock(@NotNull UUID playerId) {
+        PlayerLock lock = locks.get(playerId);
+        if (lock == null) {
+            throw new IllegalStateException("Player " + playerId + " is not locked");
+        }
+        lock.semaphore.release();
+        release(playerId);
+    }
+
+    @Override
+    public long getContendedCount() {
+        return contended.sum();
+    }
+
+    @Override
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Gets how many players have a lock that is held or waited for.
+     */
+    int getLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * Stops using a player's lock, dropping it once nobody holds or waits for it.
+     */
+    private void release(@NotNull UUID playerId) {
+        locks.computeIfPresent(playerId, (id, lock) -> --lock.users == 0 ? null : lock);
+    }
+
+    /**
+     * The lock of one player.
+     */
+    private static final class PlayerLock {
+        private final Semaphore semaphore = new Semaphore(1);
+        // Holders and waiters; only changed inside the map's atomic compute calls
+        private int users;
+    }
+}
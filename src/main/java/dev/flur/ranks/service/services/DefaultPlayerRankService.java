@@ -1,15 +1,18 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
 import dev.flur.ranks.service.PermissionService;
 import dev.flur.ranks.service.PlayerRankService;
+import dev.flur.ranks.service.RanksService;
 import dev.flur.ranks.service.RequirementValidator;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -21,17 +24,17 @@ public class DefaultPlayerRankService implements PlayerRankService {
 
     private final PermissionService permissionService;
     private final RequirementValidator requirementValidator;
-    private final FileConfiguration ranksConfig;
+    private final RanksService ranksService;
     private final Logger logger;
 
     public DefaultPlayerRankService(
             @NotNull PermissionService permissionService,
             @NotNull RequirementValidator requirementValidator,
-            @NotNull FileConfiguration ranksConfig,
+            @NotNull RanksService ranksService,
             @NotNull Logger logger) {
         this.permissionService = permissionService;
         this.requirementValidator = requirementValidator;
-        this.ranksConfig = ranksConfig;
+        this.ranksService = ranksService;
         this.logger = logger;
     }
 
@@ -50,9 +53,7 @@ public class DefaultPlayerRankService implements PlayerRankService {
     @Override
     @NotNull
     public List<Requirement> getRequirementsForRank(@NotNull Player player, @NotNull String targetRank) {
-        // This would need to be implemented based on how requirements are stored
-        // For now, returning an empty list as a placeholder
-        return new ArrayList<>();
+        return ranksService.getRequirements(targetRank, player);
     }
 
     @Override
@@ -65,19 +66,53 @@ public class DefaultPlayerRankService implements PlayerRankService {
     @Override
     @NotNull
     public Map<String, Integer> getRequirementProgress(@NotNull Player player, @NotNull String targetRank) {
-        List<Requirement> requirements = getRequirementsForRank(player, targetRank);
-        Map<String, Integer> progress = new HashMap<>();
+        Map<String, Integer> progress = new LinkedHashMap<>();
+        for (Map.Entry<Requirement, RequirementProgress> entry : getProgress(player, targetRank).entrySet()) {
+            progress.put(requirementValidator.getRequirementDescription(entry.getKey()), entry.getValue().percent());
+        }
+        return progress;
+    }
+
+    @Override
+    @NotNull
+    public Map<Requirement, RequirementProgress> getProgress(@NotNull Player player, @NotNull String targetRank) {
+        return getProgress(getRequirementsForRank(player, targetRank), PlayerStatistics.live(player), new HashMap<>());
+    }
+
+    @Override
+    @NotNull
+    public Map<String, Map<Requirement, RequirementProgress>> getProgress(
+            @NotNull Player player, @NotNull String currentRank, @NotNull Collection<String> targetRanks) {
+        PlayerStatistics statistics = PlayerStatistics.live(player);
+        // Requirements are shared between ranks, so each is read once for all of them
+        Map<Requirement, RequirementProgress> read = new HashMap<>();
+        Map<String, Map<Requirement, RequirementProgress>> progress = new LinkedHashMap<>();
+
+        for (String targetRank : targetRanks) {
+            progress.put(targetRank, getProgress(ranksService.getRequirements(currentRank, targetRank), statistics, read));
+        }
+
+        return progress;
+    }
+
+    @NotNull
+    private Map<Requirement, RequirementProgress> getProgress(@NotNull List<Requirement> requirements,
+                                                              @NotNull PlayerStatistics statistics,
+                                                              @NotNull Map<Requirement, RequirementProgress> read) {
+        Map<Requirement, RequirementProgress> progress = new LinkedHashMap<>();
 
         for (Requirement requirement : requirements) {
-            try {
-                // This is a placeholder - actual implementation would depend on how requirements track progress
-                String description = requirementValidator.getRequirementDescription(requirement);
-                int progressValue = requirement.meetsRequirement(player) ? 100 : 0;
-                progress.put(description, progressValue);
-            } catch (Exception e) {
-                logger.warning("Error getting progress for requirement: " + e.getMessage());
-                progress.put("Unknown requirement", 0);
+            RequirementProgress known = read.get(requirement);
+            if (known == null) {
+                try {
+                    known = requirement.getProgress(statistics);
+                } catch (Exception e) {
+                    logger.warning("Error getting progress for requirement: " + e.getMessage());
+                    known = RequirementProgress.of(false);
+                }
+                read.put(requirement, known);
             }
+            progress.put(requirement, known);
         }
 
         return progress;
@@ -88,4 +123,4 @@ public class DefaultPlayerRankService implements PlayerRankService {
         String permission = "ranks." + command.toLowerCase();
         return permissionService.hasPermission(player, permission);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
+import dev.flur.ranks.service.PlayerStatisticsService;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.storage.RankStorage;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the PlayerStatisticsService interface.
+ * <p>
+ * Snapshots hold only the statistics the configured requirements read, and are kept in the
+ * rank storage next to the player's rank.
+ * </p>
+ */
+public class DefaultPlayerStatisticsService implements PlayerStatisticsService {
+
+    private final RankStorage rankStorage;
+    private final RanksService ranksService;
+    private final Logger logger;
+
+    public DefaultPlayerStatisticsService(
+            @NotNull RankStorage rankStorage,
+            @NotNull RanksService ranksService,
+            @NotNull Logger logger) {
+        this.rankStorage = rankStorage;
+        this.ranksService = ranksService;
+        this.logger = logger;
+    }
+
+    @Override
+    public void saveSnapshot(@NotNull Player player) {
+        Map<String, Double> snapshot = new HashMap<>();
+        for (Requirement requirement : ranksService.getAllRequirements()) {
+            try {
+                requirement.captureStatistics(player, snapshot);
+            } catch (Exception e) {
+                logger.warning("Failed to capture statistics of " + player.getName() + " for requirement "
+                        + requirement + ": " + e.getMessage());
+            }
+        }
+        snapshot.forEach((key, value) -> rankStorage.saveRequirementProgress(player.getUniqueId(), key, value));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<PlayerStatistics> getStatistics(@NotNull OfflinePlayer player) {
+        Player online = player.getPlayer();
+        if (online != null) {
+            return CompletableFuture.completedFuture(PlayerStatistics.live(online));
+        }
+        return rankStorage.loadRequirementProgress(player.getUniqueId()).thenApply(progress -> {
+            Map<String, Double> values = new HashMap<>();
+            progress.forEach((key, value) -> {
+                if (key.startsWith(StatisticsSnapshot.KEY_PREFIX)) {
+                    values.put(key, value);
+                }
+            });
+            return new StatisticsSnapshot(player, values);
+        });
+    }
+}
@@ -0,0 +1,284 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.PlayerRankService;
+import dev.flur.ranks.service.ProgressDisplayService;
+import dev.flur.ranks.service.RanksService;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the ProgressDisplayService interface.
+ * <p>
+ * Shows each player a boss bar with their progress towards the closest of their next ranks.
+ * Events only mark a player as changed; {@link #flush()} then evaluates changed players at most
+ * once per interval each, so idle players cost nothing and a mining spree costs one evaluation
+ * per interval. The bar is only touched when what it shows changes, and titles are rendered once
+ * per distinct rank, progress and locale, then shared between players.
+ * </p>
+ */
+public class DefaultProgressDisplayService implements ProgressDisplayService {
+
+    // Rendered titles kept before the cache is started over
+    private static final int MAX_TITLES = 1_024;
+
+    private final PlayerRankService playerRankService;
+    private final RanksService ranksService;
+    private final MessageService messageService;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final Logger logger;
+    private final Map<UUID, Display> displays = new ConcurrentHashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    // Only used on the main thread
+    private final Map<Title, Component> titles = new HashMap<>();
+
+    /**
+     * Creates a progress display service.
+     *
+     * @param intervalMillis The least time between two updates of a player's display, in milliseconds
+     */
+    public DefaultProgressDisplayService(
+            @NotNull PlayerRankService playerRankService,
+            @NotNull RanksService ranksService,
+            @NotNull MessageService messageService,
+            long intervalMillis,
+            @NotNull Logger logger) {
+        this(playerRankService, ranksService, messageService, intervalMillis, System::nanoTime, logger);
+    }
+
+    DefaultProgressDisplayService(
+            @NotNull PlayerRankService playerRankService,
+            @NotNull RanksService ranksService,
+            @NotNull MessageService messageService,
+            long intervalMillis,
+            @NotNull LongSupplier nanoClock,
+            @NotNull Logger logger) {
+        this.playerRankService = playerRankService;
+        this.ranksService = ranksService;
+        this.messageService = messageService;
+        this.intervalNanos = Math.max(0L, intervalMillis) * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.logger = logger;
+    }
+
+    @Override
+    public void show(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        displays.putIfAbsent(playerId, new Display(player, nanoClock.getAsLong()));
+        changed.add(playerId);
+    }
+
+    @Override
+    public void hide(@NotNull Player player) {
+        changed.remove(player.getUniqueId());
+        Display display = displays.remove(player.getUniqueId());
+        if (display != null && display.shown) {
+            messageService.hideBossBar(display.player, display.bar);
+        }
+    }
+
+    @Override
+    public void requestUpdate(@NotNull UUID playerId) {
+        // Players that are not shown their progress have nothing to update
+        if (displays.containsKey(playerId)) {
+            changed.add(playerId);
+        }
+    }
+
+    @Override
+    public void requestUpdateAll() {
+        changed.addAll(displays.keySet());
+    }
+
+    @Override
+    public void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        Iterator<UUID> iterator = changed.iterator();
+        while (iterator.hasNext()) {
+            Display display = displays.get(iterator.next());
+            if (display == null) {
+                iterator.remove();
+                continue;
+            }
+            // Throttled players stay marked, so their latest progress is shown once allowed
+            if (now - display.nextUpdate < 0) {
+                continue;
+            }
+            iterator.remove();
+            display.nextUpdate = now + intervalNanos;
+            try {
+                update(display);
+            } catch (Exception e) {
+                logger.warning("Failed to update progress display for player "
+                        + display.player.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void reload() {
+        titles.clear();
+        for (Display display : displays.values()) {
+            display.title = null;
+        }
+        requestUpdateAll();
+    }
+
+    @Override
+    public void shutdown() {
+        for (Display display : displays.values()) {
+            if (display.shown) {
+                messageService.hideBossBar(display.player, display.bar);
+            }
+        }
+        displays.clear();
+        changed.clear();
+        titles.clear();
+    }
+
+    private void update(@NotNull Display display) {
+        Player player = display.player;
+        Closest closest = findClosest(player);
+        if (closest == null) {
+            if (display.shown) {
+                messageService.hideBossBar(player, display.bar);
+                display.shown = false;
+            }
+            return;
+        }
+
+        Title title = new Title(messageService.getLocale(player), closest.rank, closest.met, closest.total, closest.percent);
+        if (!title.equals(display.title)) {
+            display.bar.name(render(title));
+            display.title = title;
+        }
+        float progress = closest.percent / 100f;
+        if (display.bar.progress() != progress) {
+            display.bar.progress(progress);
+        }
+        BossBar.Color color = closest.percent == 100 ? BossBar.Color.GREEN : BossBar.Color.YELLOW;
+        if (display.bar.color() != color) {
+            display.bar.color(color);
+        }
+        if (!display.shown) {
+            messageService.showBossBar(player, display.bar);
+            display.shown = true;
+        }
+    }
+
+    /**
+     * Finds the next rank a player is closest to reaching.
+     *
+     * @return The closest rank, or null if the player has no next rank
+     */
+    @Nullable
+    private Closest findClosest(@NotNull Player player) {
+        String currentRank = ranksService.getCachedRank(player);
+        // Sorted, so ties always go to the same rank
+        Set<String> nextRanks = new TreeSet<>(ranksService.getNextRanks(currentRank).keySet());
+        if (nextRanks.isEmpty()) {
+            return null;
+        }
+        Closest closest = null;
+        // One pass over all next ranks, so requirements they share are read once
+        for (Map.Entry<String, Map<Requirement, RequirementProgress>> entry
+                : playerRankService.getProgress(player, currentRank, nextRanks).entrySet()) {
+            Closest candidate = Closest.of(entry.getKey(), entry.getValue());
+            if (closest == null || candidate.fraction > closest.fraction) {
+                closest = candidate;
+            }
+        }
+        return closest;
+    }
+
+    @NotNull
+    private Component render(@NotNull Title title) {
+        Component component = titles.get(title);
+        if (component == null) {
+            if (titles.size() >= MAX_TITLES) {
+                titles.clear();
+            }
+            Map<String, Object> context = new HashMap<>();
+            context.put("rank", title.rank);
+            context.put("met", title.met);
+            context.put("total", title.total);
+            context.put("percent", title.percent);
+            component = messageService.getMessage(Messages.PROGRESS_BAR, title.locale, context);
+            titles.put(title, component);
+        }
+        return component;
+    }
+
+    /**
+     * Gets how many players are shown their progress.
+     */
+    int getShownCount() {
+        return displays.size();
+    }
+
+    /**
+     * What a title shows, so it is only rendered when that changes.
+     */
+    private record Title(String locale, String rank, int met, int total, int percent) {
+    }
+
+    /**
+     * A player's progress towards one next rank.
+     */
+    private record Closest(String rank, int met, int total, double fraction, int percent) {
+
+        @NotNull
+        static Closest of(@NotNull String rank, @NotNull Map<?, RequirementProgress> progress) {
+            int met = 0;
+            double sum = 0;
+            for (RequirementProgress requirement : progress.values()) {
+                if (requirement.isMet()) {
+                    met++;
+                }
+                sum += requirement.fraction();
+            }
+            int total = progress.size();
+            double fraction = total == 0 ? 1 : sum / total;
+            // Only full once every requirement is met, like a single requirement's percentage
+            int percent = met == total ? 100 : Math.min(99, (int) (fraction * 100));
+            return new Closest(rank, met, total, fraction, percent);
+        }
+    }
+
+    /**
+     * The progress display of one player.
+     */
+    private static final class Display {
+        private final Player player;
+        private final BossBar bar = BossBar.bossBar(Component.empty(), 0f, BossBar.Color.YELLOW, BossBar.Overlay.PROGRESS);
+        private long nextUpdate;
+        private boolean shown;
+        @Nullable
+        private Title title;
+
+        Display(@NotNull Player player, long now) {
+            this.player = player;
+            this.nextUpdate = now;
+        }
+    }
+}
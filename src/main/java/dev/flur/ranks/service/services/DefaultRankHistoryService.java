@@ -0,0 +1,170 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.history.RankHistoryEntry;
+import dev.flur.ranks.history.RankHistoryLog;
+import dev.flur.ranks.result.RankupOutcome;
+import dev.flur.ranks.service.RankHistoryService;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the RankHistoryService interface backed by a {@link RankHistoryLog}.
+ * <p>
+ * Recorded rankups go into a bounded queue. A single writer thread drains the queue in batches
+ * and syncs the log once per batch, so the rankup path never waits on the disk. The writer
+ * closes the log once it has drained the queue, so a slow drain never sees a closed log.
+ * </p>
+ */
+public class DefaultRankHistoryService implements RankHistoryService {
+
+    private static final int MAX_QUEUED_ENTRIES = 10_000;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long POLL_MILLIS = 250L;
+
+    private final File directory;
+    private final long maxSegmentBytes;
+    private final Executor asyncExecutor;
+    private final Logger logger;
+    private final BlockingQueue<RankHistoryEntry> queue = new LinkedBlockingQueue<>(MAX_QUEUED_ENTRIES);
+
+    private volatile RankHistoryLog log;
+    private volatile boolean running;
+    private Thread writer;
+
+    public DefaultRankHistoryService(
+            @NotNull File directory,
+            long maxSegmentBytes,
+            @NotNull Executor asyncExecutor,
+            @NotNull Logger logger) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.asyncExecutor = asyncExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public void recordRankup(@NotNull RankupOutcome outcome) {
+        Player player = outcome.getPlayer();
+        if (!running) {
+            logger.warning("Rank history is not open, not recording rankup of player " + player.getName());
+            return;
+        }
+        RankHistoryEntry entry = new RankHistoryEntry(player.getUniqueId(), player.getName(),
+                outcome.getCurrentRank(), outcome.getTargetRank(), System.currentTimeMillis());
+        if (!queue.offer(entry)) {
+            logger.warning("Rank history queue is full, dropping rankup of player " + player.getName());
+        }
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<List<RankHistoryEntry>> getHistory(@NotNull UUID playerId) {
+        RankHistoryLog current = log;
+        if (current == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return current.read(playerId);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, asyncExecutor);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (writer != null && writer.isAlive()) {
+            logger.severe("Rank history writer of the last run is still writing, not opening rank history");
+            return;
+        }
+        RankHistoryLog opened;
+        try {
+            opened = RankHistoryLog.open(directory, maxSegmentBytes, logger);
+        } catch (IOException e) {
+            logger.severe("Failed to open rank history: " + e.getMessage());
+            return;
+        }
+        log = opened;
+        running = true;
+        writer = new Thread(() -> runWriter(opened), "Ranks-History-Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // The writer drains whatever is still queued before it exits
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warning("Rank history writer is still writing " + queue.size() + " entries, it closes the log when done");
+        }
+        log = null;
+    }
+
+    @Override
+    public boolean isHealthy() {
+        Thread current = writer;
+        return running && current != null && current.isAlive();
+    }
+
+    private void runWriter(@NotNull RankHistoryLog log) {
+        List<RankHistoryEntry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                RankHistoryEntry first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                write(log, batch);
+            } catch (InterruptedException e) {
+                // Keep going until stop() clears the running flag and the queue is empty
+                Thread.interrupted();
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.severe("Failed to close rank history: " + e.getMessage());
+        }
+    }
+
+    private void write(@NotNull RankHistoryLog log, @NotNull List<RankHistoryEntry> batch) {
+        try {
+            for (RankHistoryEntry entry : batch) {
+                log.append(entry);
+            }
+            log.sync();
+        } catch (IOException e) {
+            logger.severe("Failed to write " + batch.size() + " rank history entries: " + e.getMessage());
+        }
+    }
+}
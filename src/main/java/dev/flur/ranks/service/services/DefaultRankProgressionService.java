@@ -1,6 +1,7 @@
 package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.PermissionService;
@@ -43,44 +44,6 @@ public class DefaultRankProgressionService implements RankProgressionService {
         this.broadcastRankups = broadcastRankups;
     }
 
-    @Override
-    public boolean upgradeRank(@NotNull Player player, @NotNull String targetRank) {
-        String currentRank = permissionService.getPrimaryGroup(player);
-
-        if (!canUpgradeToRank(player, targetRank)) {
-            return false;
-        }
-
-        try {
-            // Remove from current rank
-            if (!currentRank.isEmpty()) {
-                permissionService.removeFromGroup(player, currentRank);
-            }
-
-            // Add to new rank
-            boolean success = permissionService.addToGroup(player, targetRank);
-
-            if (success) {
-                // Handle economy cost if applicable
-                double cost = getUpgradeCost(targetRank);
-                // Economy handling would go here if implemented
-
-                logger.info("Player " + player.getName() + " upgraded from " + currentRank + " to " + targetRank);
-            } else {
-                // Revert if failed
-                if (!currentRank.isEmpty()) {
-                    permissionService.addToGroup(player, currentRank);
-                }
-                logger.warning("Failed to upgrade player " + player.getName() + " to rank " + targetRank);
-            }
-
-            return success;
-        } catch (Exception e) {
-            logger.severe("Error upgrading player " + player.getName() + " to rank " + targetRank + ": " + e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     @NotNull
     public Map<String, String> getAvailableRanks(@NotNull Player player) {
@@ -112,6 +75,29 @@ public class DefaultRankProgressionService implements RankProgressionService {
 
     @Override
     public boolean canUpgradeToRank(@NotNull Player player, @NotNull String targetRank) {
+        if (!isRankReachable(player, targetRank)) {
+            return false;
+        }
+
+        // Check if the player meets all requirements
+        List<Requirement> requirements = getRequirementsForRank(player, targetRank);
+        return requirementValidator.meetsAllRequirements(player, requirements);
+    }
+
+    @Override
+    public boolean canUpgradeToRank(@NotNull RankupContext context) {
+        if (!isRankReachable(context.getPlayer(), context.getTargetRank())) {
+            return false;
+        }
+
+        // Reuses the results recorded while the rankup was validated
+        return requirementValidator.meetsAllRequirements(context);
+    }
+
+    /**
+     * Checks that the target rank exists and is a next rank of the player's current rank.
+     */
+    private boolean isRankReachable(@NotNull Player player, @NotNull String targetRank) {
         // Check if the rank exists
         if (!permissionService.groupExists(targetRank)) {
             logger.warning("Rank " + targetRank + " does not exist");
@@ -125,9 +111,7 @@ public class DefaultRankProgressionService implements RankProgressionService {
             return false;
         }
 
-        // Check if the player meets all requirements
-        List<Requirement> requirements = getRequirementsForRank(player, targetRank);
-        return requirementValidator.meetsAllRequirements(player, requirements);
+        return true;
     }
 
     @Override
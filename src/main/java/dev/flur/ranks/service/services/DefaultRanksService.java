@@ -1,45 +1,83 @@
 package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.Ranks;
+import dev.flur.ranks.rankup.RankNameIndex;
+import dev.flur.ranks.rankup.RankNameTrie;
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.rankup.RankupTransaction;
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.requirement.RequirementFactory;
+import dev.flur.ranks.requirement.composite.ThresholdRequirement;
 import dev.flur.ranks.service.ConfigurationService;
+import dev.flur.ranks.service.PermissionService;
 import dev.flur.ranks.service.RanksService;
-import net.milkbowl.vault.permission.Permission;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Default implementation of RankService.
+ * <p>
+ * Rank and next rank completions are built once per load, and players' ranks are cached from
+ * their last lookup, so tab completion never reaches the permission plugin. Ranks are read
+ * through the plugin's PermissionService, so they include group changes that are still being
+ * written.
+ * </p>
+ * <p>
+ * Requirements are compiled once per load as well. Identical requirements on different rank
+ * transitions are the same instance, so their results are shared wherever they are cached.
+ * </p>
  */
 public class DefaultRanksService implements RanksService {
 
     private final ConfigurationService configurationService;
     private final Logger logger;
     private final RequirementFactory requirementFactory;
+    private final RankupTransaction rankupTransaction;
     private final Ranks plugin;
-    private final Permission permissions;
+    private final PermissionService permissionService;
     private Map<String, String> ranksCache;
+    // Requirements by rank path, then next rank
+    private Map<String, Map<String, List<Requirement>>> rankRequirements;
+    private List<Requirement> allRequirements;
+    private Map<String, RankNameTrie> nextRankCompletions;
+    private RankNameIndex rankIndex;
+    private RankNameTrie rankCompletions;
+    private final Map<UUID, String> cachedRanks = new ConcurrentHashMap<>();
 
     public DefaultRanksService(@NotNull ConfigurationService configurationService, 
                               @NotNull DefaultRequirementRegistry registry,
+                              @NotNull PermissionService permissionService,
+                              @NotNull RankupTransaction rankupTransaction,
                               @NotNull Ranks plugin,
                               @NotNull Logger logger) {
         this.configurationService = configurationService;
         this.logger = logger;
         this.plugin = plugin;
-        this.permissions = plugin.getVaultProvider().getPermissions();
+        this.permissionService = permissionService;
         this.requirementFactory = new RequirementFactory(registry);
+        this.rankupTransaction = rankupTransaction;
         this.ranksCache = new HashMap<>();
+        this.rankRequirements = Map.of();
+        this.allRequirements = List.of();
+        this.nextRankCompletions = Map.of();
+        this.rankIndex = RankNameIndex.EMPTY;
+        this.rankCompletions = RankNameTrie.EMPTY;
         loadRanks();
     }
 
@@ -83,13 +121,31 @@ public class DefaultRanksService implements RanksService {
         return nextRanks;
     }
 
+    @Override
+    @NotNull
+    public List<String> completeNextRanks(@NotNull String currentRank, @NotNull String prefix) {
+        return nextRankCompletions.getOrDefault(currentRank, RankNameTrie.EMPTY).complete(prefix);
+    }
+
+    @Override
+    @NotNull
+    public List<String> completeRanks(@NotNull String prefix) {
+        return rankCompletions.complete(prefix);
+    }
+
+    @Override
+    @Nullable
+    public String resolveRank(@NotNull String nameOrAlias) {
+        return rankIndex.resolve(nameOrAlias);
+    }
+
     @Override
     @NotNull
     public List<Requirement> getRequirements(@NotNull String nextRank, @NotNull Player player) {
-        List<Requirement> requirements = new ArrayList<>();
+        List<Requirement> requirements = List.of();
 
         try {
-            String primaryGroup = permissions.getPrimaryGroup(player);
+            String primaryGroup = permissionService.getPrimaryGroup(player);
 
             if (!ranksCache.containsKey(primaryGroup)) {
                 if (plugin.isDebugEnabled()) {
@@ -99,22 +155,7 @@ public class DefaultRanksService implements RanksService {
                 return requirements;
             }
 
-            FileConfiguration ranksConfig = configurationService.getConfiguration("ranks");
-            String path = ranksCache.get(primaryGroup) + ".next." + nextRank + ".requirements";
-
-            if (plugin.isDebugEnabled()) {
-                logger.info("Loading requirements from path: " + path);
-            }
-
-            List<String> requirementStrings = ranksConfig.getStringList(path);
-            for (String reqString : requirementStrings) {
-                try {
-                    Requirement requirement = requirementFactory.createRequirement(reqString);
-                    requirements.add(requirement);
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Failed to create requirement from string: " + reqString, e);
-                }
-            }
+            requirements = getRequirements(primaryGroup, nextRank);
 
             if (plugin.isDebugEnabled()) {
                 logger.info("Loaded " + requirements.size() + " requirements for " + nextRank);
@@ -126,60 +167,118 @@ public class DefaultRanksService implements RanksService {
         return requirements;
     }
 
+    @Override
+    @NotNull
+    public List<Requirement> getRequirements(@NotNull String currentRank, @NotNull String nextRank) {
+        String rankPath = ranksCache.get(currentRank);
+        if (rankPath == null) {
+            return List.of();
+        }
+        return rankRequirements.getOrDefault(rankPath, Map.of()).getOrDefault(nextRank, List.of());
+    }
+
+    @Override
+    @NotNull
+    public List<Requirement> getAllRequirements() {
+        return allRequirements;
+    }
+
     @Override
     public boolean canUpgrade(@NotNull Player player, @NotNull String targetRank) {
-        List<Requirement> requirements = getRequirements(targetRank, player);
+        return meetsAll(player, getRequirements(targetRank, player));
+    }
 
-        for (Requirement requirement : requirements) {
-            if (!requirement.meetsRequirement(player)) {
+    @Override
+    public boolean canUpgrade(@NotNull PlayerStatistics statistics, @NotNull String currentRank, @NotNull String targetRank) {
+        if (!ranksCache.containsKey(currentRank)) {
+            return false;
+        }
+        for (Requirement requirement : getRequirements(currentRank, targetRank)) {
+            if (!requirement.meetsRequirement(statistics)) {
                 return false;
             }
         }
-
         return true;
     }
 
-    @Override
-    public boolean upgradeRank(@NotNull Player player, @NotNull String targetRank) {
-        if (!canUpgrade(player, targetRank)) {
-            return false;
+    @NotNull
+    private List<Requirement> parseRequirements(@NotNull String rankPath, @NotNull String nextRank) {
+        FileConfiguration ranksConfig = configurationService.getConfiguration("ranks");
+        String path = rankPath + ".next." + nextRank + ".requirements";
+
+        if (plugin.isDebugEnabled()) {
+            logger.info("Loading requirements from path: " + path);
         }
 
-        try {
-            // Remove current rank
-            String currentRank = getCurrentRank(player);
-            if (!currentRank.isEmpty()) {
-                permissions.playerRemoveGroup(player, currentRank);
+        // A list, so a cost listed twice is charged twice; the instances themselves are interned
+        List<Requirement> requirements = new ArrayList<>();
+        for (Object expression : ranksConfig.getList(path, List.of())) {
+            try {
+                Requirement requirement = requirementFactory.compile(expression);
+                // The list itself is all-of, so a top-level all-of group adds its children
+                if (requirement instanceof ThresholdRequirement group && group.isAllOf()) {
+                    requirements.addAll(group.getChildren());
+                } else {
+                    requirements.add(requirement);
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to create requirement from expression: " + expression, e);
             }
+        }
+        return List.copyOf(requirements);
+    }
 
-            // Add new rank
-            permissions.playerAddGroup(player, targetRank);
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> upgradeRank(@NotNull Player player, @NotNull String targetRank) {
+        // Parse once: the same instances are checked and later consumed
+        List<Requirement> requirements = getRequirements(targetRank, player);
+        if (!meetsAll(player, requirements)) {
+            return CompletableFuture.completedFuture(false);
+        }
 
-            // Consume requirements (e.g., money, items)
-            List<Requirement> requirements = getRequirements(targetRank, player);
-            for (Requirement requirement : requirements) {
-                requirement.consume(player);
-            }
+        RankupContext context = new RankupContext(player, getCurrentRank(player), targetRank, requirements);
+        return rankupTransaction.executeAsync(context)
+                .thenApply(result -> result
+                        .onFailure(errorMessage -> logger.warning("Failed to upgrade rank for player "
+                                + player.getName() + ": " + errorMessage))
+                        .isSuccess());
+    }
 
-            return true;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to upgrade rank for player " + player.getName(), e);
-            return false;
+    private boolean meetsAll(@NotNull Player player, @NotNull List<Requirement> requirements) {
+        for (Requirement requirement : requirements) {
+            if (!requirement.meetsRequirement(player)) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
     @NotNull
     public String getCurrentRank(@NotNull Player player) {
         try {
-            String primaryGroup = permissions.getPrimaryGroup(player);
-            return primaryGroup != null ? primaryGroup : "";
+            String rank = permissionService.getPrimaryGroup(player);
+            cachedRanks.put(player.getUniqueId(), rank);
+            return rank;
         } catch (Exception e) {
             logger.log(Level.WARNING, "Failed to get current rank for player " + player.getName(), e);
             return "";
         }
     }
 
+    @Override
+    @NotNull
+    public String getCachedRank(@NotNull Player player) {
+        String rank = cachedRanks.get(player.getUniqueId());
+        return rank != null ? rank : getCurrentRank(player);
+    }
+
+    @Override
+    public void invalidateCachedRank(@NotNull UUID playerId) {
+        cachedRanks.remove(playerId);
+    }
+
     @Override
     public void reload() {
         configurationService.reloadConfigurations();
@@ -188,6 +287,8 @@ public class DefaultRanksService implements RanksService {
 
     private void loadRanks() {
         Map<String, String> ranks = new HashMap<>();
+        // Compiled requirements are interned by expression, so a reload does not reuse old instances
+        requirementFactory.clearCompiled();
 
         try {
             FileConfiguration ranksFile = configurationService.getConfiguration("ranks");
@@ -211,5 +312,90 @@ public class DefaultRanksService implements RanksService {
         }
 
         this.ranksCache = ranks;
+        this.rankRequirements = loadRequirements(ranks);
+        this.allRequirements = distinctRequirements(rankRequirements);
+        this.nextRankCompletions = loadNextRankCompletions(ranks);
+        loadRankNames(ranks);
+    }
+
+    /**
+     * Builds the index resolving rank names and aliases, and the trie completing them.
+     */
+    private void loadRankNames(@NotNull Map<String, String> ranks) {
+        Set<String> names = new LinkedHashSet<>(ranks.keySet());
+        Map<String, List<String>> aliases = new HashMap<>();
+        try {
+            FileConfiguration ranksFile = configurationService.getConfiguration("ranks");
+            for (Map.Entry<String, String> rank : ranks.entrySet()) {
+                List<String> rankAliases = ranksFile.getStringList(rank.getValue() + ".aliases");
+                if (!rankAliases.isEmpty()) {
+                    aliases.put(rank.getKey(), rankAliases);
+                }
+                // Next ranks may be named without a section of their own
+                ConfigurationSection next = ranksFile.getConfigurationSection(rank.getValue() + ".next");
+                if (next != null) {
+                    names.addAll(next.getKeys(false));
+                }
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to load rank aliases", e);
+        }
+        List<String> completions = new ArrayList<>(names);
+        aliases.values().forEach(completions::addAll);
+        this.rankIndex = RankNameIndex.of(names, aliases, logger);
+        this.rankCompletions = RankNameTrie.of(completions);
+    }
+
+    @NotNull
+    private Map<String, RankNameTrie> loadNextRankCompletions(@NotNull Map<String, String> ranks) {
+        Map<String, RankNameTrie> completions = new HashMap<>();
+        try {
+            FileConfiguration ranksFile = configurationService.getConfiguration("ranks");
+            for (Map.Entry<String, String> rank : ranks.entrySet()) {
+                ConfigurationSection next = ranksFile.getConfigurationSection(rank.getValue() + ".next");
+                if (next != null) {
+                    completions.put(rank.getKey(), RankNameTrie.of(next.getKeys(false)));
+                }
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to load next rank completions", e);
+        }
+        return Map.copyOf(completions);
+    }
+
+    @NotNull
+    private Map<String, Map<String, List<Requirement>>> loadRequirements(@NotNull Map<String, String> ranks) {
+        Map<String, Map<String, List<Requirement>>> requirements = new HashMap<>();
+        try {
+            FileConfiguration ranksFile = configurationService.getConfiguration("ranks");
+            for (String rankPath : ranks.values()) {
+                ConfigurationSection next = ranksFile.getConfigurationSection(rankPath + ".next");
+                if (next == null) {
+                    continue;
+                }
+                Map<String, List<Requirement>> edges = new HashMap<>();
+                for (String nextRank : next.getKeys(false)) {
+                    edges.put(nextRank, parseRequirements(rankPath, nextRank));
+                }
+                requirements.put(rankPath, Map.copyOf(edges));
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to load rank requirements", e);
+        }
+        return Map.copyOf(requirements);
+    }
+
+    @NotNull
+    private List<Requirement> distinctRequirements(@NotNull Map<String, Map<String, List<Requirement>>> requirements) {
+        Set<Requirement> distinct = new LinkedHashSet<>();
+        for (Map<String, List<Requirement>> edges : requirements.values()) {
+            for (List<Requirement> edge : edges.values()) {
+                distinct.addAll(edge);
+            }
+        }
+        if (plugin.isDebugEnabled()) {
+            logger.info("Compiled " + distinct.size() + " distinct requirements");
+        }
+        return List.copyOf(distinct);
     }
 }
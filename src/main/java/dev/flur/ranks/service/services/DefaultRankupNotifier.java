@@ -1,6 +1,7 @@
 package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.RankProgressionService;
@@ -100,6 +101,11 @@ public class DefaultRankupNotifier implements RankupNotifier {
         });
     }
 
+    @Override
+    public void notifyUnmetRequirements(@NotNull RankupContext context) {
+        notifyUnmetRequirements(context.getPlayer(), requirementValidator.getUnmetRequirements(context));
+    }
+
     @Override
     public void broadcastRankup(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank) {
         rankProgressionService.broadcastRankUpgrade(player, currentRank, targetRank);
@@ -1,5 +1,8 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.rankup.RankupListener;
+import dev.flur.ranks.rankup.RankupTransaction;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.result.RankupOutcome;
 import dev.flur.ranks.result.Result;
@@ -12,6 +15,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
@@ -22,16 +26,22 @@ public class DefaultRankupProcessor implements RankupProcessor {
     private final PlayerRankService playerRankService;
     private final RankProgressionService rankProgressionService;
     private final RequirementValidator requirementValidator;
+    private final RankupTransaction rankupTransaction;
+    private final List<RankupListener> rankupListeners;
     private final Logger logger;
 
     public DefaultRankupProcessor(
             @NotNull PlayerRankService playerRankService,
             @NotNull RankProgressionService rankProgressionService,
             @NotNull RequirementValidator requirementValidator,
+            @NotNull RankupTransaction rankupTransaction,
+            @NotNull List<RankupListener> rankupListeners,
             @NotNull Logger logger) {
         this.playerRankService = playerRankService;
         this.rankProgressionService = rankProgressionService;
         this.requirementValidator = requirementValidator;
+        this.rankupTransaction = rankupTransaction;
+        this.rankupListeners = List.copyOf(rankupListeners);
         this.logger = logger;
     }
 
@@ -43,15 +53,41 @@ public class DefaultRankupProcessor implements RankupProcessor {
 
     @Override
     @NotNull
-    public Result<RankupOutcome> processRankup(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank) {
+    public CompletableFuture<Result<RankupOutcome>> processRankupAsync(@NotNull Player player, @NotNull String currentRank,
+                                                                       @NotNull String targetRank) {
         List<Requirement> requirements = getRequirementsForRank(player, targetRank);
-        List<Requirement> unmetRequirements = requirementValidator.getUnmetRequirements(player, requirements);
+        return processRankupAsync(new RankupContext(player, currentRank, targetRank, requirements));
+    }
 
-        if (unmetRequirements.isEmpty()) {
-            return upgradeRank(player, targetRank);
+    @Override
+    @NotNull
+    public CompletableFuture<Result<RankupOutcome>> processRankupAsync(@NotNull RankupContext context) {
+        Player player = context.getPlayer();
+        String targetRank = context.getTargetRank();
+
+        if (!requirementValidator.meetsAllRequirements(context)) {
+            return CompletableFuture.completedFuture(
+                    Result.failure("Player does not meet all requirements for rank " + targetRank));
         }
 
-        return Result.failure("Player does not meet all requirements for rank " + targetRank);
+        if (!rankProgressionService.canUpgradeToRank(context)) {
+            return CompletableFuture.completedFuture(
+                    Result.failure("Failed to upgrade rank for player " + player.getName()));
+        }
+
+        // Consumes the requirements and swaps the group under the player's lock
+        return rankupTransaction.executeAsync(context)
+                .thenApply(result -> result.onSuccess(this::notifyListeners));
+    }
+
+    private void notifyListeners(@NotNull RankupOutcome outcome) {
+        for (RankupListener listener : rankupListeners) {
+            try {
+                listener.onRankup(outcome);
+            } catch (Exception e) {
+                logger.severe("Error notifying rankup listener for player " + outcome.getPlayer().getName() + ": " + e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -66,23 +102,4 @@ public class DefaultRankupProcessor implements RankupProcessor {
         List<Requirement> requirements = getRequirementsForRank(player, targetRank);
         return requirementValidator.getUnmetRequirements(player, requirements);
     }
-
-    @Override
-    @NotNull
-    public Result<RankupOutcome> upgradeRank(@NotNull Player player, @NotNull String targetRank) {
-        try {
-            String currentRank = playerRankService.getCurrentRank(player);
-            boolean success = rankProgressionService.upgradeRank(player, targetRank);
-
-            if (success) {
-                RankupOutcome outcome = new RankupOutcome(player, currentRank, targetRank, true);
-                return Result.success(outcome);
-            } else {
-                return Result.failure("Failed to upgrade rank for player " + player.getName());
-            }
-        } catch (Exception e) {
-            logger.severe("Failed to upgrade rank for player " + player.getName() + ": " + e.getMessage());
-            return Result.failure("Error upgrading rank: " + e.getMessage());
-        }
-    }
 }
@@ -1,7 +1,9 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.service.PlayerRankService;
+import dev.flur.ranks.service.RanksService;
 import dev.flur.ranks.service.RankupValidator;
 import dev.flur.ranks.service.RequirementValidator;
 import org.bukkit.entity.Player;
@@ -19,14 +21,17 @@ public class DefaultRankupValidator implements RankupValidator {
 
     private final PlayerRankService playerRankService;
     private final RequirementValidator requirementValidator;
+    private final RanksService ranksService;
     private final Logger logger;
 
     public DefaultRankupValidator(
             @NotNull PlayerRankService playerRankService,
             @NotNull RequirementValidator requirementValidator,
+            @NotNull RanksService ranksService,
             @NotNull Logger logger) {
         this.playerRankService = playerRankService;
         this.requirementValidator = requirementValidator;
+        this.ranksService = ranksService;
         this.logger = logger;
     }
 
@@ -60,11 +65,12 @@ public class DefaultRankupValidator implements RankupValidator {
         }
 
         if (args.length > 0) {
-            String specifiedRank = args[0].toLowerCase();
-            return availableRanks.keySet().stream()
-                    .filter(rank -> rank.toLowerCase().equals(specifiedRank))
-                    .findFirst()
-                    .orElse(null);
+            String rank = ranksService.resolveRank(args[0]);
+            if (rank == null) {
+                // Not in ranks.yml, but the rank may still be offered by name
+                rank = args[0];
+            }
+            return availableRanks.containsKey(rank) ? rank : null;
         }
 
         return null;
@@ -82,4 +88,22 @@ public class DefaultRankupValidator implements RankupValidator {
         List<Requirement> requirements = playerRankService.getRequirementsForRank(player, targetRank);
         return requirementValidator.getUnmetRequirements(player, requirements);
     }
+
+    @Override
+    @NotNull
+    public RankupContext createContext(@NotNull Player player, @NotNull String currentRank, @NotNull String targetRank) {
+        List<Requirement> requirements = playerRankService.getRequirementsForRank(player, targetRank);
+        return new RankupContext(player, currentRank, targetRank, requirements);
+    }
+
+    @Override
+    public boolean meetsRequirements(@NotNull RankupContext context) {
+        return requirementValidator.meetsAllRequirements(context);
+    }
+
+    @Override
+    @NotNull
+    public List<Requirement> getUnmetRequirements(@NotNull RankupContext context) {
+        return requirementValidator.getUnmetRequirements(context);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.RateLimitService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Default implementation of the RateLimitService interface.
+ * <p>
+ * Each limited command has a token bucket per player. A bucket is stored as the single time at
+ * which it will be full again, in an open-addressing table keyed by the two halves of the
+ * player's unique id, so a use allocates nothing. Buckets that have filled up hold no state
+ * worth keeping and are dropped whenever the table would otherwise grow, and at least once per
+ * time it takes an empty bucket to fill.
+ * </p>
+ */
+public class DefaultRateLimitService implements RateLimitService {
+
+    private final Map<String, Buckets> buckets = new HashMap<>();
+    private final LongSupplier nanoClock;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a rate limit service.
+     *
+     * @param limits Command names mapped to their limits; other commands are not limited
+     */
+    public DefaultRateLimitService(@NotNull Map<String, Limit> limits) {
+        this(limits, System::nanoTime);
+    }
+
+    DefaultRateLimitService(@NotNull Map<String, Limit> limits, @NotNull LongSupplier nanoClock) {
+        for (Map.Entry<String, Limit> entry : limits.entrySet()) {
+            buckets.put(entry.getKey().toLowerCase(Locale.ROOT), new Buckets(entry.getValue()));
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryAcquire(@NotNull String command, @NotNull UUID playerId) {
+        Buckets commandBuckets = buckets.get(command.toLowerCase(Locale.ROOT));
+        if (commandBuckets == null) {
+            return 0L;
+        }
+        long waitNanos = commandBuckets.tryAcquire(playerId, nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            rejected.increment();
+            // Round up, so a refused player is never told to wait 0 ms
+            return (waitNanos + 999_999L) / 1_000_000L;
+        }
+        return 0L;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets how many player buckets of a command are stored, including full ones not yet dropped.
+     */
+    int getStoredBuckets(@NotNull String command) {
+        Buckets commandBuckets = buckets.get(command.toLowerCase(Locale.ROOT));
+        return commandBuckets != null ? commandBuckets.size() : 0;
+    }
+
+    /**
+     * How often a command may be run.
+     *
+     * @param burst        How many times a player may run the command in a row
+     * @param refillMillis How long it takes for one more use to become available, in milliseconds
+     */
+    public record Limit(int burst, long refillMillis) {
+
+        public Limit {
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be positive");
+            }
+            if (refillMillis < 1) {
+                throw new IllegalArgumentException("Refill time must be positive");
+            }
+        }
+    }
+
+    /**
+     * The buckets of one command.
+     */
+    private static final class Buckets {
+
+        private static final int MIN_CAPACITY = 16;
+
+        private final long refillNanos;
+        // How far ahead of now the full time may be while a use is still left
+        private final long toleranceNanos;
+        private final long sweepIntervalNanos;
+
+        private long[] mostBits = new long[MIN_CAPACITY];
+        private long[] leastBits = new long[MIN_CAPACITY];
+        private long[] fullAt = new long[MIN_CAPACITY];
+        private boolean[] used = new boolean[MIN_CAPACITY];
+        private int size;
+        private long nextSweep;
+
+        Buckets(@NotNull Limit limit) {
+            this.refillNanos = limit.refillMillis() * 1_000_000L;
+            this.toleranceNanos = refillNanos * (limit.burst() - 1);
+            this.sweepIntervalNanos = refillNanos * limit.burst();
+        }
+
+        /**
+         * Takes a use from a player's bucket.
+         *
+         * @return 0 if a use was taken, otherwise the nanoseconds until one is available
+         */
+        synchronized long tryAcquire(@NotNull UUID playerId, long now) {
+            long most = playerId.getMostSignificantBits();
+            long least = playerId.getLeastSignificantBits();
+            int slot = find(most, least);
+
+            long full = used[slot] && fullAt[slot] - now > 0 ? fullAt[slot] : now;
+            long ahead = full - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+
+            if (!used[slot]) {
+                if (size == 0) {
+                    nextSweep = now + sweepIntervalNanos;
+                } else if (size + 1 > mostBits.length / 2 || now - nextSweep >= 0) {
+                    rebuild(now);
+                    slot = find(most, least);
+                }
+                used[slot] = true;
+                mostBits[slot] = most;
+                leastBits[slot] = least;
+                size++;
+            }
+            fullAt[slot] = full + refillNanos;
+            return 0L;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Finds the slot of a player, or the empty slot the player would be put in.
+         */
+        private int find(long most, long least) {
+            int mask = mostBits.length - 1;
+            int slot = hash(most, least) & mask;
+            while (used[slot] && (mostBits[slot] != most || leastBits[slot] != least)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Drops the buckets that are full again and resizes the table to the ones left, keeping
+         * room for at least one more.
+         */
+        private void rebuild(long now) {
+            long[] oldMostBits = mostBits;
+            long[] oldLeastBits = leastBits;
+            long[] oldFullAt = fullAt;
+            boolean[] oldUsed = used;
+
+            int live = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i] && oldFullAt[i] - now > 0) {
+                    live++;
+                }
+            }
+            // At most half full, so probe sequences stay short
+            int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit((live + 1) * 2) * 2);
+            mostBits = new long[capacity];
+            leastBits = new long[capacity];
+            fullAt = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+            nextSweep = now + sweepIntervalNanos;
+
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i] && oldFullAt[i] - now > 0) {
+                    int slot = find(oldMostBits[i], oldLeastBits[i]);
+                    used[slot] = true;
+                    mostBits[slot] = oldMostBits[i];
+                    leastBits[slot] = oldLeastBits[i];
+                    fullAt[slot] = oldFullAt[i];
+                    size++;
+                }
+            }
+        }
+
+        private static int hash(long most, long least) {
+            long hash = most ^ least;
+            int folded = (int) (hash ^ (hash >>> 32));
+            return folded ^ (folded >>> 16);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementServices;
 import dev.flur.ranks.service.RequirementDiscovery;
 import dev.flur.ranks.service.RequirementLookup;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
@@ -34,14 +35,28 @@ public class DefaultRequirementRegistry implements RequirementDiscovery, Require
     private final Map<String, RequirementRecord> nameRegistry = new ConcurrentHashMap<>();
     private final Map<Class<? extends Requirement>, RequirementRecord> classRegistry = new ConcurrentHashMap<>();
     private final Logger logger;
+    @Nullable
+    private final RequirementServices services;
 
     /**
-     * Creates a new DefaultRequirementRegistry.
+     * Creates a new DefaultRequirementRegistry without services, so only requirements that do
+     * not need them can be created.
      *
      * @param logger The logger to use
      */
     public DefaultRequirementRegistry(@NotNull Logger logger) {
+        this(logger, null);
+    }
+
+    /**
+     * Creates a new DefaultRequirementRegistry.
+     *
+     * @param logger   The logger to use
+     * @param services The services handed to requirements that need them
+     */
+    public DefaultRequirementRegistry(@NotNull Logger logger, @Nullable RequirementServices services) {
         this.logger = logger;
+        this.services = services;
     }
 
     /**
@@ -53,11 +68,22 @@ public class DefaultRequirementRegistry implements RequirementDiscovery, Require
 
     /**
      * Creates a constructor function for the requirement class.
+     * <p>
+     * Requirements with a constructor taking {@link RequirementServices} are given this
+     * registry's services.
+     * </p>
      */
     @Contract(pure = true)
-    private static @NotNull Function<String[], Requirement> createConstructor(Class<? extends AnnotatedRequirement> clazz) {
+    private @NotNull Function<String[], Requirement> createConstructor(Class<? extends AnnotatedRequirement> clazz) {
         return params -> {
             try {
+                Constructor<? extends AnnotatedRequirement> withServices = findServicesConstructor(clazz);
+                if (withServices != null) {
+                    if (services == null) {
+                        throw new IllegalStateException("Requirement " + clazz.getName() + " needs the plugin's services");
+                    }
+                    return withServices.newInstance(params, services);
+                }
                 Constructor<? extends AnnotatedRequirement> constructor =
                         clazz.getConstructor(String[].class);
                 return constructor.newInstance((Object) params);
@@ -72,6 +98,16 @@ public class DefaultRequirementRegistry implements RequirementDiscovery, Require
         };
     }
 
+    @Nullable
+    private static Constructor<? extends AnnotatedRequirement> findServicesConstructor(
+            @NotNull Class<? extends AnnotatedRequirement> clazz) {
+        try {
+            return clazz.getConstructor(String[].class, RequirementServices.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
     @Override
     public void registerRequirement(@NotNull Class<? extends Requirement> requirementClass) {
         if (!(AnnotatedRequirement.class.isAssignableFrom(requirementClass))) {
@@ -82,14 +118,17 @@ public class DefaultRequirementRegistry implements RequirementDiscovery, Require
         @SuppressWarnings("unchecked")
         Class<? extends AnnotatedRequirement> annotatedClass = (Class<? extends AnnotatedRequirement>) requirementClass;
 
+        RequirementAnnotation annotation = annotatedClass.getAnnotation(RequirementAnnotation.class);
         String name = getRequirementName(annotatedClass);
         Function<String[], dev.flur.ranks.requirement.Requirement> constructor = createConstructor(annotatedClass);
 
-        RequirementRecord info = new RequirementRecord(name, constructor, requirementClass);
+        RequirementRecord info = new RequirementRecord(name, constructor, requirementClass,
+                annotation.cost(), annotation.threadAffinity(), Set.copyOf(Arrays.asList(annotation.inputs())));
         nameRegistry.put(name, info);
         classRegistry.put(requirementClass, info);
 
-        logger.info("Registered requirement: " + name + " (" + requirementClass.getSimpleName() + ")");
+        logger.info("Registered requirement: " + name + " (" + requirementClass.getSimpleName()
+                + ", cost: " + info.cost() + ", thread: " + info.threadAffinity() + ")");
     }
 
     @Override
@@ -1,24 +1,65 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.requirement.RequirementFactory;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
+import dev.flur.ranks.requirement.composite.CompositeRequirement;
+import dev.flur.ranks.requirement.records.RequirementRecord;
 import dev.flur.ranks.service.RequirementValidator;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Default implementation of the RequirementValidator interface.
+ * <p>
+ * {@link #meetsAllRequirements(Player, List)} stops at the first failing requirement and
+ * evaluates requirements cheapest-and-most-likely-to-fail first. Both figures are learned per
+ * requirement type while the server runs, starting from the {@link RequirementCost} declared
+ * on the requirement's annotation.
+ * </p>
+ * <p>
+ * The result of a requirement that declares its {@link RequirementInput}s is reused for an
+ * online player until one of those inputs changes, so a player repeating a check while nothing
+ * changed evaluates nothing. Requirements without declared inputs are evaluated every time.
+ * </p>
+ * <p>
+ * Checks made off the main thread use each requirement's {@link ThreadAffinity} to decide what
+ * can stay there, so only main-thread-only requirements of online players cost a main thread task.
+ * </p>
  */
 public class DefaultRequirementValidator implements RequirementValidator {
 
+    /**
+     * How many measured evaluations the declared cost estimate is worth.
+     */
+    private static final int PRIOR_SAMPLES = 8;
+
     private final Logger logger;
+    private final DefaultRequirementRegistry registry;
     private final RequirementFactory requirementFactory;
+    private final Map<Class<? extends Requirement>, EvaluationStatistics> statistics = new ConcurrentHashMap<>();
+    private final RequirementResultCache resultCache;
 
     /**
      * Creates a new DefaultRequirementValidator with the specified logger.
@@ -27,52 +68,314 @@ public class DefaultRequirementValidator implements RequirementValidator {
      * @param registry the requirement registry to use
      */
     public DefaultRequirementValidator(@NotNull Logger logger, @NotNull DefaultRequirementRegistry registry) {
+        this(logger, registry, 0L);
+    }
+
+    /**
+     * Creates a new DefaultRequirementValidator.
+     *
+     * @param logger              the logger to use
+     * @param registry            the requirement registry to use
+     * @param balanceResultMillis how long results depending on a balance are reused, in milliseconds
+     */
+    public DefaultRequirementValidator(@NotNull Logger logger, @NotNull DefaultRequirementRegistry registry,
+                                       long balanceResultMillis) {
+        this(logger, registry, balanceResultMillis, System::nanoTime);
+    }
+
+    DefaultRequirementValidator(@NotNull Logger logger, @NotNull DefaultRequirementRegistry registry,
+                                long balanceResultMillis, @NotNull LongSupplier nanoClock) {
         this.logger = logger;
+        this.registry = registry;
         this.requirementFactory = new RequirementFactory(registry);
+        this.resultCache = new RequirementResultCache(balanceResultMillis * 1_000_000L, nanoClock);
     }
 
     @Override
     public boolean meetsAllRequirements(@NotNull Player player, @NotNull List<Requirement> requirements) {
-        return getUnmetRequirements(player, requirements).isEmpty();
+        for (Requirement requirement : orderForEvaluation(requirements)) {
+            if (!evaluate(player, requirement, "Error checking requirement: ")) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     @NotNull
     public List<Requirement> getUnmetRequirements(@NotNull Player player, @NotNull List<Requirement> requirements) {
-        return requirements.stream()
-                .filter(req -> {
-                    try {
-                        return !req.meetsRequirement(player);
-                    } catch (Exception e) {
-                        logger.severe("Error checking requirement: " + e.getMessage());
-                        return true; // Assume requirement not met if error occurs
-                    }
-                })
-                .collect(Collectors.toList());
+        // Keeps the configured order, since this list is shown to the player
+        List<Requirement> unmet = new ArrayList<>();
+        for (Requirement requirement : requirements) {
+            if (!evaluate(player, requirement, "Error checking requirement: ")) {
+                unmet.add(requirement);
+            }
+        }
+        return unmet;
     }
 
     @Override
     @NotNull
-    public Map<Requirement, Boolean> getRequirementStatus(@NotNull Player player, @NotNull List<Requirement> requirements) {
-        Map<Requirement, Boolean> statusMap = new HashMap<>();
+    public CompletableFuture<Boolean> meetsAllRequirements(@NotNull PlayerStatistics statistics,
+                                                           @NotNull List<Requirement> requirements,
+                                                           @NotNull Executor mainThreadExecutor) {
+        if (statistics.getOnlinePlayer() == null) {
+            // A snapshot is plain data, so every requirement can read it from here
+            return CompletableFuture.completedFuture(meetsAll(statistics, orderForEvaluation(requirements)));
+        }
+
+        Map<ThreadAffinity, List<Requirement>> groups = groupByThreadAffinity(requirements);
+        if (!meetsAll(statistics, groups.get(ThreadAffinity.ANY_THREAD))) {
+            return CompletableFuture.completedFuture(false);
+        }
+        List<Requirement> mainThread = groups.get(ThreadAffinity.MAIN_THREAD);
+        if (mainThread.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return CompletableFuture.supplyAsync(() -> meetsAll(statistics, mainThread), mainThreadExecutor);
+    }
 
+    private boolean meetsAll(@NotNull PlayerStatistics statistics, @NotNull List<Requirement> requirements) {
         for (Requirement requirement : requirements) {
+            long start = System.nanoTime();
+            boolean met;
             try {
-                boolean meets = requirement.meetsRequirement(player);
-                statusMap.put(requirement, meets);
+                met = requirement.meetsRequirement(statistics);
             } catch (Exception e) {
-                logger.severe("Error checking requirement status: " + e.getMessage());
-                statusMap.put(requirement, false); // Assume requirement not met if error occurs
+                logger.severe("Error checking requirement: " + e.getMessage());
+                met = false;
+            }
+            statisticsFor(requirement).record(System.nanoTime() - start, met);
+            if (!met) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean meetsAllRequirements(@NotNull RankupContext context) {
+        for (Requirement requirement : orderForEvaluation(context.getRequirements())) {
+            if (!evaluate(context, requirement)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    @Override
+    @NotNull
+    public List<Requirement> getUnmetRequirements(@NotNull RankupContext context) {
+        for (Requirement requirement : context.getRequirements()) {
+            evaluate(context, requirement);
+        }
+        return context.getRecordedUnmetRequirements();
+    }
+
+    @Override
+    @NotNull
+    public Map<Requirement, Boolean> getRequirementStatus(@NotNull Player player, @NotNull List<Requirement> requirements) {
+        Map<Requirement, Boolean> statusMap = new HashMap<>();
+
+        for (Requirement requirement : requirements) {
+            statusMap.put(requirement, evaluate(player, requirement, "Error checking requirement status: "));
+        }
 
         return statusMap;
     }
 
+    @Override
+    @NotNull
+    public Map<ThreadAffinity, List<Requirement>> groupByThreadAffinity(@NotNull List<Requirement> requirements) {
+        Map<ThreadAffinity, List<Requirement>> groups = new EnumMap<>(ThreadAffinity.class);
+        for (ThreadAffinity affinity : ThreadAffinity.values()) {
+            groups.put(affinity, new ArrayList<>());
+        }
+
+        for (Requirement requirement : orderForEvaluation(requirements)) {
+            RequirementRecord record = registry.fromClass(requirement.getClass());
+            ThreadAffinity affinity = record != null ? record.threadAffinity() : ThreadAffinity.MAIN_THREAD;
+            groups.get(affinity).add(requirement);
+        }
+
+        return groups;
+    }
+
+    @Override
+    public void invalidate(@NotNull UUID playerId, @NotNull RequirementInput input) {
+        resultCache.invalidate(playerId, input);
+    }
+
+    @Override
+    public void invalidate(@NotNull UUID playerId) {
+        resultCache.invalidate(playerId);
+    }
+
     @Override
     @NotNull
     public String getRequirementDescription(@NotNull Requirement requirement) {
         String reqName = requirementFactory.getRequirementName(requirement);
         return reqName != null ? reqName : "Unknown requirement";
     }
+
+    /**
+     * Orders requirements so that the expected cost of finding a failure is minimal.
+     * <p>
+     * Each requirement is ranked by its average evaluation time divided by its failure rate,
+     * which is the optimal order for a short-circuiting AND of independent checks. Until enough
+     * evaluations have been measured, the declared {@link RequirementCost} dominates the estimate.
+     * The sort is stable, so requirements with equal ranking keep their configured order.
+     * </p>
+     *
+     * @param requirements the requirements to order
+     * @return a new list in evaluation order, or the given list if it has fewer than two elements
+     */
+    @NotNull
+    List<Requirement> orderForEvaluation(@NotNull List<Requirement> requirements) {
+        if (requirements.size() < 2) {
+            return requirements;
+        }
+
+        // Snapshot the priorities first; the statistics keep changing while we sort
+        List<RankedRequirement> ranked = new ArrayList<>(requirements.size());
+        for (Requirement requirement : requirements) {
+            ranked.add(new RankedRequirement(requirement, statisticsFor(requirement).priority()));
+        }
+        ranked.sort(Comparator.comparingDouble(RankedRequirement::priority));
+
+        List<Requirement> ordered = new ArrayList<>(ranked.size());
+        for (RankedRequirement entry : ranked) {
+            ordered.add(entry.requirement());
+        }
+        return ordered;
+    }
+
+    private boolean evaluate(@NotNull Player player, @NotNull Requirement requirement, @NotNull String errorPrefix) {
+        Set<RequirementInput> inputs = inputsOf(requirement);
+        if (inputs.isEmpty() || !player.isOnline()) {
+            Boolean met = measure(player, requirement, errorPrefix);
+            return met != null && met;
+        }
+
+        UUID playerId = player.getUniqueId();
+        Boolean cached = resultCache.get(playerId, requirement, inputs);
+        if (cached != null) {
+            return cached;
+        }
+        RequirementResultCache.Stamp stamp = resultCache.stamp(playerId);
+        Boolean met = measure(player, requirement, errorPrefix);
+        if (met == null) {
+            // Errors may be temporary, so they are not remembered
+            return false;
+        }
+        resultCache.put(playerId, requirement, met, stamp);
+        return met;
+    }
+
+    /**
+     * Evaluates a requirement and records how long it took.
+     *
+     * @return whether the requirement is met, or null if evaluating it failed
+     */
+    @Nullable
+    private Boolean measure(@NotNull Player player, @NotNull Requirement requirement, @NotNull String errorPrefix) {
+        long start = System.nanoTime();
+        Boolean met;
+        try {
+            met = requirement.meetsRequirement(player);
+        } catch (Exception e) {
+            logger.severe(errorPrefix + e.getMessage());
+            met = null;
+        }
+        // Assume requirement not met if error occurs
+        statisticsFor(requirement).record(System.nanoTime() - start, met != null && met);
+        return met;
+    }
+
+    @Override
+    public boolean readsInput(@NotNull List<Requirement> requirements, @NotNull RequirementInput input) {
+        for (Requirement requirement : requirements) {
+            if (requirement instanceof CompositeRequirement composite) {
+                if (readsInput(composite.getChildren(), input)) {
+                    return true;
+                }
+                continue;
+            }
+            RequirementRecord record = registry.fromClass(requirement.getClass());
+            if (record != null && record.inputs().contains(input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private Set<RequirementInput> inputsOf(@NotNull Requirement requirement) {
+        if (requirement instanceof CompositeRequirement composite) {
+            // A composite changes when any child does, and cannot be remembered if a child cannot
+            Set<RequirementInput> inputs = EnumSet.noneOf(RequirementInput.class);
+            for (Requirement child : composite.getChildren()) {
+                Set<RequirementInput> childInputs = inputsOf(child);
+                if (childInputs.isEmpty()) {
+                    return Set.of();
+                }
+                inputs.addAll(childInputs);
+            }
+            return inputs;
+        }
+        RequirementRecord record = registry.fromClass(requirement.getClass());
+        return record != null ? record.inputs() : Set.of();
+    }
+
+    private boolean evaluate(@NotNull RankupContext context, @NotNull Requirement requirement) {
+        Boolean recorded = context.getResult(requirement);
+        if (recorded != null) {
+            return recorded;
+        }
+        boolean met = evaluate(context.getPlayer(), requirement, "Error checking requirement: ");
+        context.recordResult(requirement, met);
+        return met;
+    }
+
+    @NotNull
+    private EvaluationStatistics statisticsFor(@NotNull Requirement requirement) {
+        return statistics.computeIfAbsent(requirement.getClass(), clazz -> {
+            RequirementRecord record = registry.fromClass(clazz);
+            RequirementCost cost = record != null ? record.cost() : RequirementCost.STATISTIC;
+            return new EvaluationStatistics(cost.estimatedNanos());
+        });
+    }
+
+    private record RankedRequirement(Requirement requirement, double priority) {
+    }
+
+    /**
+     * Running evaluation figures for a single requirement type.
+     */
+    private static final class EvaluationStatistics {
+        private final long estimatedNanos;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        EvaluationStatistics(long estimatedNanos) {
+            this.estimatedNanos = estimatedNanos;
+        }
+
+        void record(long nanos, boolean met) {
+            evaluations.increment();
+            totalNanos.add(nanos);
+            if (!met) {
+                failures.increment();
+            }
+        }
+
+        double priority() {
+            long count = evaluations.sum();
+            double averageNanos = ((double) estimatedNanos * PRIOR_SAMPLES + totalNanos.sum()) / (PRIOR_SAMPLES + count);
+            // Laplace smoothing keeps always-passing requirements from dividing by zero
+            double failureRate = (failures.sum() + 1.0) / (count + 2.0);
+            return averageNanos / failureRate;
+        }
+    }
 }
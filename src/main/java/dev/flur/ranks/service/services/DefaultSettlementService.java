@@ -0,0 +1,277 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.SettlementService;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Default implementation of the SettlementService interface using Vault.
+ * <p>
+ * Transactions run on the async executor. A withdrawal is refused without calling the economy
+ * when the player's balance does not cover it. A refused transaction is final. When the economy throws, the balance is read again to tell
+ * whether the transaction was applied before the failure; it is only retried, with a growing
+ * delay, when the balance is unchanged. Settled keys are remembered for the most recent
+ * transactions.
+ * </p>
+ * <p>
+ * On stop, new withdrawals are refused and pending transactions are waited for. A withdrawal
+ * that succeeds while stopping is deposited back, as the rankup it paid for can no longer swap
+ * the player's group. Once the scheduler refuses tasks, transactions settle on the calling
+ * thread.
+ * </p>
+ */
+public class DefaultSettlementService implements SettlementService {
+
+    private static final int RETAINED_SETTLEMENTS = 1024;
+    // Balances are compared after a failure, so rounding in the economy must not read as a change
+    private static final double BALANCE_EPSILON = 1e-6;
+    private static final long STOP_TIMEOUT_MILLIS = 10_000L;
+
+    private final Economy economy;
+    private final EconomyService economyService;
+    private final Executor asyncExecutor;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Logger logger;
+
+    private final Map<UUID, CompletableFuture<Boolean>> settlements = new ConcurrentHashMap<>();
+    private final Queue<UUID> settledKeys = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, PendingSettlement> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public DefaultSettlementService(
+            @NotNull Economy economy,
+            @NotNull EconomyService economyService,
+            @NotNull Executor asyncExecutor,
+            int maxAttempts,
+            long retryDelayMillis,
+            @NotNull Logger logger) {
+        this.economy = economy;
+        this.economyService = economyService;
+        this.asyncExecutor = asyncExecutor;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = retryDelayMillis;
+        this.logger = logger;
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> withdraw(@NotNull UUID idempotencyKey, @NotNull OfflinePlayer player, double amount) {
+        return submit(idempotencyKey, player, -amount, () -> economy.withdrawPlayer(player, amount),
+                "withdraw " + amount + " from player " + player.getName());
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> deposit(@NotNull UUID idempotencyKey, @NotNull OfflinePlayer player, double amount) {
+        return submit(idempotencyKey, player, amount, () -> economy.depositPlayer(player, amount),
+                "deposit " + amount + " to player " + player.getName());
+    }
+
+    @Override
+    public int getPendingCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MILLIS);
+        for (PendingSettlement settlement : List.copyOf(inFlight.values())) {
+            boolean settled;
+            try {
+                settled = settlement.result().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                logger.severe("Could not finish to " + settlement.description() + " before shutdown, its balance needs checking");
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (settled && settlement.change() < 0) {
+                refundOnStop(settlement);
+            }
+        }
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return running;
+    }
+
+    /**
+     * Deposits back a withdrawal whose rankup was cut short by the shutdown.
+     */
+    private void refundOnStop(@NotNull PendingSettlement settlement) {
+        OfflinePlayer player = settlement.player();
+        double amount = -settlement.change();
+        try {
+            EconomyResponse response = economy.depositPlayer(player, amount);
+            if (response != null && response.transactionSuccess()) {
+                logger.warning("Refunded " + amount + " to player " + player.getName() + ", the rankup it paid for was stopped");
+                return;
+            }
+            logger.severe("Economy refused to refund " + amount + " to player " + player.getName() + " on shutdown");
+        } catch (Exception e) {
+            logger.severe("Failed to refund " + amount + " to player " + player.getName() + " on shutdown: " + e.getMessage());
+        } finally {
+            economyService.invalidate(player.getUniqueId());
+        }
+    }
+
+    @NotNull
+    private CompletableFuture<Boolean> submit(@NotNull UUID idempotencyKey, @NotNull OfflinePlayer player,
+                                              double change, @NotNull Supplier<EconomyResponse> transaction,
+                                              @NotNull String description) {
+        if (!running && change < 0) {
+            logger.warning("Settlements are stopped, refusing to " + description);
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = settlements.putIfAbsent(idempotencyKey, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        inFlight.put(idempotencyKey, new PendingSettlement(player, change, description, created));
+        created.whenComplete((settled, error) -> {
+            inFlight.remove(idempotencyKey);
+            economyService.invalidate(player.getUniqueId());
+            retain(idempotencyKey);
+        });
+        try {
+            asyncExecutor.execute(() -> attempt(player, change, transaction, description, 1, created));
+        } catch (RuntimeException e) {
+            // The scheduler refuses tasks once the plugin is disabled, such as refunds made on shutdown
+            attempt(player, change, transaction, description, 1, created);
+        }
+        return created;
+    }
+
+    private void attempt(@NotNull OfflinePlayer player, double change,
+                         @NotNull Supplier<EconomyResponse> transaction, @NotNull String description,
+                         int attempt, @NotNull CompletableFuture<Boolean> result) {
+        double before;
+        try {
+            before = economy.getBalance(player);
+        } catch (Exception e) {
+            // Nothing was attempted yet, so this is always safe to retry
+            retryOrFail(player, change, transaction, description, attempt, result, e);
+            return;
+        }
+        // Many economies let balances go negative, so affordability is checked here
+        if (change < 0 && before + change < -BALANCE_EPSILON) {
+            logger.warning("Player cannot afford to " + description + ", balance is " + before);
+            result.complete(false);
+            return;
+        }
+
+        try {
+            EconomyResponse response = transaction.get();
+            boolean success = response != null && response.transactionSuccess();
+            if (!success) {
+                logger.warning("Economy refused to " + description
+                        + (response != null && response.errorMessage != null ? ": " + response.errorMessage : ""));
+            }
+            result.complete(success);
+        } catch (Exception e) {
+            Boolean applied = wasApplied(player, before, change);
+            if (applied == null) {
+                logger.severe("Failed to " + description + " and could not tell whether it was applied, not retrying: "
+                        + e.getMessage());
+                result.complete(false);
+            } else if (applied) {
+                logger.warning("Economy failed after it applied the transaction to " + description + ": " + e.getMessage());
+                result.complete(true);
+            } else {
+                retryOrFail(player, change, transaction, description, attempt, result, e);
+            }
+        }
+    }
+
+    private void retryOrFail(@NotNull OfflinePlayer player, double change,
+                             @NotNull Supplier<EconomyResponse> transaction, @NotNull String description,
+                             int attempt, @NotNull CompletableFuture<Boolean> result, @NotNull Exception error) {
+        if (attempt >= maxAttempts) {
+            logger.severe("Failed to " + description + " after " + attempt + " attempts: " + error.getMessage());
+            result.complete(false);
+            return;
+        }
+        if (!running) {
+            // Retries could not be scheduled once the plugin is disabled
+            logger.severe("Failed to " + description + " while stopping, not retrying: " + error.getMessage());
+            result.complete(false);
+            return;
+        }
+        logger.warning("Failed to " + description + ", retrying: " + error.getMessage());
+        Executor delayed = CompletableFuture.delayedExecutor(retryDelayMillis * attempt, TimeUnit.MILLISECONDS, asyncExecutor);
+        delayed.execute(() -> attempt(player, change, transaction, description, attempt + 1, result));
+    }
+
+    /**
+     * Tells from the balance whether a failed transaction was applied.
+     *
+     * @return True if the balance moved by the change, false if it did not move, or null if it
+     * cannot be read or moved by something else
+     */
+    @Nullable
+    private Boolean wasApplied(@NotNull OfflinePlayer player, double before, double change) {
+        double after;
+        try {
+            after = economy.getBalance(player);
+        } catch (Exception e) {
+            return null;
+        }
+        if (Math.abs(after - (before + change)) < BALANCE_EPSILON) {
+            return true;
+        }
+        if (Math.abs(after - before) < BALANCE_EPSILON) {
+            return false;
+        }
+        return null;
+    }
+
+    private void retain(@NotNull UUID idempotencyKey) {
+        settledKeys.add(idempotencyKey);
+        while (settledKeys.size() > RETAINED_SETTLEMENTS) {
+            UUID oldest = settledKeys.poll();
+            if (oldest != null) {
+                settlements.remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * A transaction that has not settled yet.
+     */
+    private record PendingSettlement(@NotNull OfflinePlayer player, double change, @NotNull String description,
+                                     @NotNull CompletableFuture<Boolean> result) {
+    }
+}
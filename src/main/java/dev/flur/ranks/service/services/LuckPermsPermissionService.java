@@ -0,0 +1,205 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.PermissionService;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.group.GroupCreateEvent;
+import net.luckperms.api.event.group.GroupDeleteEvent;
+import net.luckperms.api.event.group.GroupLoadAllEvent;
+import net.luckperms.api.model.data.DataMutateResult;
+import net.luckperms.api.model.group.Group;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.node.matcher.NodeMatcher;
+import net.luckperms.api.node.types.InheritanceNode;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of the PermissionService interface on the native LuckPerms API.
+ * <p>
+ * Online players' users are always loaded by LuckPerms, so lookups and group changes are
+ * in-memory operations; changes are saved by LuckPerms in the background instead of blocking
+ * the main thread like Vault's bridge does. Group existence is answered from a set of group
+ * names kept up to date by LuckPerms' group events.
+ * </p>
+ * <p>
+ * Loading this class loads LuckPerms classes, so check that LuckPerms is enabled before
+ * referencing it.
+ * </p>
+ */
+public class LuckPermsPermissionService implements PermissionService {
+
+    private final LuckPerms luckPerms;
+    private final Logger logger;
+
+    private volatile Set<String> groupNames = Set.of();
+
+    public LuckPermsPermissionService(@NotNull LuckPerms luckPerms, @NotNull Logger logger) {
+        this.luckPerms = luckPerms;
+        this.logger = logger;
+        refreshGroups();
+    }
+
+    /**
+     * Creates a LuckPerms permission service from the API LuckPerms registered.
+     *
+     * @param plugin The plugin to register group event listeners for
+     * @param logger The logger to use
+     * @return The permission service, or null if LuckPerms has not registered its API
+     */
+    @Nullable
+    public static PermissionService create(@NotNull Plugin plugin, @NotNull Logger logger) {
+        RegisteredServiceProvider<LuckPerms> provider = plugin.getServer().getServicesManager().getRegistration(LuckPerms.class);
+        if (provider == null) {
+            return null;
+        }
+        LuckPermsPermissionService service = new LuckPermsPermissionService(provider.getProvider(), logger);
+        service.subscribe(plugin);
+        return service;
+    }
+
+    /**
+     * Keeps the group names up to date as groups are created, deleted and reloaded.
+     *
+     * @param plugin The plugin owning the subscriptions
+     */
+    public void subscribe(@NotNull Plugin plugin) {
+        EventBus eventBus = luckPerms.getEventBus();
+        eventBus.subscribe(plugin, GroupCreateEvent.class, event -> refreshGroups());
+        eventBus.subscribe(plugin, GroupDeleteEvent.class, event -> refreshGroups());
+        eventBus.subscribe(plugin, GroupLoadAllEvent.class, event -> refreshGroups());
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull Player player, @NotNull String permission) {
+        User user = getUser(player);
+        if (user == null) {
+            return player.hasPermission(permission);
+        }
+        return user.getCachedData().getPermissionData().checkPermission(permission).asBoolean();
+    }
+
+    @Override
+    @NotNull
+    public String getPrimaryGroup(@NotNull Player player) {
+        User user = getUser(player);
+        return user != null ? user.getPrimaryGroup() : "";
+    }
+
+    @Override
+    public boolean addToGroup(@NotNull Player player, @NotNull String groupName) {
+        User user = getUser(player);
+        if (user == null || !groupExists(groupName)) {
+            return false;
+        }
+        DataMutateResult result = user.data().add(inheritanceNode(groupName));
+        save(user);
+        // Already being in the group is what the caller asked for
+        return result.wasSuccessful() || result == DataMutateResult.FAIL_ALREADY_HAS;
+    }
+
+    @Override
+    public boolean removeFromGroup(@NotNull Player player, @NotNull String groupName) {
+        User user = getUser(player);
+        if (user == null) {
+            return false;
+        }
+        DataMutateResult result = user.data().remove(inheritanceNode(groupName));
+        save(user);
+        return result.wasSuccessful();
+    }
+
+    @Override
+    public boolean setGroup(@NotNull Player player, @NotNull String fromGroup, @NotNull String toGroup) {
+        User user = getUser(player);
+        if (user == null || !groupExists(toGroup)) {
+            return false;
+        }
+        // Both changes go out in a single save
+        user.data().remove(inheritanceNode(fromGroup));
+        DataMutateResult result = user.data().add(inheritanceNode(toGroup));
+        save(user);
+        return result.wasSuccessful() || result == DataMutateResult.FAIL_ALREADY_HAS;
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> setGroupOffline(@NotNull OfflinePlayer player, @NotNull String fromGroup, @NotNull String toGroup) {
+        if (!groupExists(toGroup)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        // Loads the user if needed, applies both changes and saves once, all on LuckPerms' executor
+        return luckPerms.getUserManager().modifyUser(player.getUniqueId(), user -> {
+            user.data().remove(inheritanceNode(fromGroup));
+            user.data().add(inheritanceNode(toGroup));
+        }).handle((ignored, error) -> {
+            if (error != null) {
+                logger.severe("Failed to move LuckPerms user " + player.getUniqueId() + " to group " + toGroup + ": " + error.getMessage());
+                return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Set<UUID>> getGroupMembers(@NotNull String groupName) {
+        // Searches the storage, so offline players are found without loading them
+        NodeMatcher<InheritanceNode> matcher = luckPerms.getNodeMatcherFactory().key(inheritanceNode(groupName));
+        return luckPerms.getUserManager().searchAll(matcher).thenApply(found -> Set.copyOf(found.keySet()));
+    }
+
+    @Override
+    public boolean groupExists(@NotNull String groupName) {
+        // LuckPerms stores group names in lower case
+        return groupNames.contains(groupName.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    @NotNull
+    public Set<String> getGroups() {
+        return groupNames;
+    }
+
+    @Override
+    public void refreshGroups() {
+        Set<String> names = new HashSet<>();
+        for (Group group : luckPerms.getGroupManager().getLoadedGroups()) {
+            names.add(group.getName());
+        }
+        this.groupNames = Set.copyOf(names);
+    }
+
+    @NotNull
+    private InheritanceNode inheritanceNode(@NotNull String groupName) {
+        return luckPerms.getNodeBuilderRegistry().forInheritance().group(groupName).build();
+    }
+
+    @Nullable
+    private User getUser(@NotNull Player player) {
+        User user = luckPerms.getUserManager().getUser(player.getUniqueId());
+        if (user == null) {
+            logger.warning("LuckPerms has no loaded user for player " + player.getName());
+        }
+        return user;
+    }
+
+    private void save(@NotNull User user) {
+        luckPerms.getUserManager().saveUser(user).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.severe("Failed to save LuckPerms user " + user.getUsername() + ": " + error.getMessage());
+            }
+        });
+    }
+}
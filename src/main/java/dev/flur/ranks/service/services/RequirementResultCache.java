@@ -0,0 +1,147 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * The last results of players' requirements, each reused until an input it depends on changes.
+ * <p>
+ * Every player has a version per {@link RequirementInput}, bumped when that input changes. A
+ * result remembers the versions it was evaluated at, so a change is a single increment however
+ * many results depend on it, and the events announcing changes stay cheap to handle.
+ * </p>
+ */
+final class RequirementResultCache {
+
+    private static final int INPUTS = RequirementInput.values().length;
+
+    private final Map<UUID, PlayerResults> players = new ConcurrentHashMap<>();
+    private final long balanceTtlNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a result cache.
+     *
+     * @param balanceTtlNanos How long results depending on a balance are reused
+     * @param nanoClock       The clock result ages are measured with
+     */
+    RequirementResultCache(long balanceTtlNanos, @NotNull LongSupplier nanoClock) {
+        this.balanceTtlNanos = balanceTtlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Gets a player's result of a requirement, if it is still valid.
+     *
+     * @param playerId    The player's unique id
+     * @param requirement The requirement
+     * @param inputs      What the requirement depends on
+     * @return The result, or null if there is none or an input changed since
+     */
+    @Nullable
+    Boolean get(@NotNull UUID playerId, @NotNull Requirement requirement, @NotNull Set<RequirementInput> inputs) {
+        PlayerResults results = players.get(playerId);
+        if (results == null) {
+            return null;
+        }
+        Result result = results.results.get(requirement);
+        if (result == null) {
+            return null;
+        }
+        for (RequirementInput input : inputs) {
+            if (result.stamp.versions[input.ordinal()] != results.versions.get(input.ordinal())) {
+                return null;
+            }
+        }
+        if (inputs.contains(RequirementInput.BALANCE) && nanoClock.getAsLong() - result.stamp.nanos >= balanceTtlNanos) {
+            return null;
+        }
+        return result.met;
+    }
+
+    /**
+     * Takes the current input versions of a player. Taken before a requirement is evaluated, so
+     * a change during the evaluation invalidates its result.
+     *
+     * @param playerId The player's unique id
+     * @return The stamp to store the result with
+     */
+    @NotNull
+    Stamp stamp(@NotNull UUID playerId) {
+        PlayerResults results = players.computeIfAbsent(playerId, id -> new PlayerResults());
+        long[] versions = new long[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            versions[i] = results.versions.get(i);
+        }
+        return new Stamp(results, versions, nanoClock.getAsLong());
+    }
+
+    /**
+     * Stores a player's result of a requirement.
+     *
+     * @param playerId    The player's unique id
+     * @param requirement The requirement
+     * @param met         Whether the requirement was met
+     * @param stamp       The stamp taken before the requirement was evaluated
+     */
+    void put(@NotNull UUID playerId, @NotNull Requirement requirement, boolean met, @NotNull Stamp stamp) {
+        // Results dropped while evaluating are not brought back
+        if (players.get(playerId) == stamp.owner) {
+            stamp.owner.results.put(requirement, new Result(met, stamp));
+        }
+    }
+
+    /**
+     * Invalidates a player's results that depend on an input.
+     *
+     * @param playerId The player's unique id
+     * @param input    The input that changed
+     */
+    void invalidate(@NotNull UUID playerId, @NotNull RequirementInput input) {
+        PlayerResults results = players.get(playerId);
+        if (results != null) {
+            results.versions.incrementAndGet(input.ordinal());
+        }
+    }
+
+    /**
+     * Drops all results of a player.
+     *
+     * @param playerId The player's unique id
+     */
+    void invalidate(@NotNull UUID playerId) {
+        players.remove(playerId);
+    }
+
+    /**
+     * The input versions of a player at some point in time.
+     */
+    static final class Stamp {
+        private final PlayerResults owner;
+        private final long[] versions;
+        private final long nanos;
+
+        private Stamp(@NotNull PlayerResults owner, long @NotNull [] versions, long nanos) {
+            this.owner = owner;
+            this.versions = versions;
+            this.nanos = nanos;
+        }
+    }
+
+    private record Result(boolean met, Stamp stamp) {
+    }
+
+    private static final class PlayerResults {
+        private final AtomicLongArray versions = new AtomicLongArray(INPUTS);
+        private final Map<Requirement, Result> results = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,311 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.Lifecycle;
+import dev.flur.ranks.service.PermissionService;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * PermissionService that queues group changes and applies them to another PermissionService
+ * in the background.
+ * <p>
+ * Only {@link #setGroupAsync} is queued. Changes are coalesced per player: a rankup's remove
+ * and add, or several moves in a row, become one pending change that is applied with a single
+ * {@link PermissionService#setGroup} call where possible. A single writer thread applies all
+ * pending changes every flush interval and completes their futures with the outcome, so a
+ * failed change is reported to its caller rather than retried behind its back. Once stopped,
+ * changes are applied on the calling thread.
+ * </p>
+ * <p>
+ * The synchronous group changes apply the player's queued change first and then write
+ * through, so their results are real. {@link #getPrimaryGroup(Player)} sees queued changes;
+ * everything else reads through.
+ * </p>
+ */
+public class WriteBehindPermissionService implements PermissionService, Lifecycle {
+
+    private final PermissionService delegate;
+    private final long flushIntervalMillis;
+    private final Logger logger;
+    private final Map<UUID, PendingChange> pending = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService writer;
+    // Once stopped, nothing flushes in the background any more, so changes are applied right away
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new write-behind permission service. Nothing is written until {@link #start()}.
+     *
+     * @param delegate            The permission service changes are applied to
+     * @param flushIntervalMillis How often pending changes are applied
+     * @param logger              The logger to use
+     */
+    public WriteBehindPermissionService(
+            @NotNull PermissionService delegate,
+            long flushIntervalMillis,
+            @NotNull Logger logger) {
+        this.delegate = delegate;
+        this.flushIntervalMillis = Math.max(1L, flushIntervalMillis);
+        this.logger = logger;
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull Player player, @NotNull String permission) {
+        return delegate.hasPermission(player, permission);
+    }
+
+    @Override
+    @NotNull
+    public String getPrimaryGroup(@NotNull Player player) {
+        PendingChange change = pending.get(player.getUniqueId());
+        String group = change != null ? change.primaryGroup() : null;
+        return group != null ? group : delegate.getPrimaryGroup(player);
+    }
+
+    @Override
+    public boolean addToGroup(@NotNull Player player, @NotNull String groupName) {
+        flush(player.getUniqueId());
+        return delegate.addToGroup(player, groupName);
+    }
+
+    @Override
+    public boolean removeFromGroup(@NotNull Player player, @NotNull String groupName) {
+        flush(player.getUniqueId());
+        return delegate.removeFromGroup(player, groupName);
+    }
+
+    @Override
+    public boolean setGroup(@NotNull Player player, @NotNull String fromGroup, @NotNull String toGroup) {
+        flush(player.getUniqueId());
+        return delegate.setGroup(player, fromGroup, toGroup);
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> setGroupAsync(@NotNull Player player, @NotNull String fromGroup, @NotNull String toGroup) {
+        if (!delegate.groupExists(toGroup)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> applied = new CompletableFuture<>();
+        pending.compute(player.getUniqueId(), (id, change) -> {
+            PendingChange updated = change != null ? change : new PendingChange(player);
+            if (!fromGroup.isEmpty()) {
+                updated.remove(fromGroup);
+            }
+            updated.add(toGroup);
+            updated.waiters.add(applied);
+            return updated;
+        });
+        if (stopped) {
+            flush(player.getUniqueId());
+        }
+        return applied;
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Boolean> setGroupOffline(@NotNull OfflinePlayer player, @NotNull String fromGroup, @NotNull String toGroup) {
+        // Callers of this batch their own writes; queued changes of the player go out first
+        flush(player.getUniqueId());
+        return delegate.setGroupOffline(player, fromGroup, toGroup);
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Set<UUID>> getGroupMembers(@NotNull String groupName) {
+        return delegate.getGroupMembers(groupName);
+    }
+
+    @Override
+    public boolean groupExists(@NotNull String groupName) {
+        return delegate.groupExists(groupName);
+    }
+
+    @Override
+    @NotNull
+    public Set<String> getGroups() {
+        return delegate.getGroups();
+    }
+
+    @Override
+    public void refreshGroups() {
+        delegate.refreshGroups();
+    }
+
+    /**
+     * Gets the number of players with changes that have not been applied yet.
+     *
+     * @return The number of players with pending changes
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Applies all pending changes on the calling thread.
+     */
+    public void flush() {
+        for (UUID playerId : new ArrayList<>(pending.keySet())) {
+            flush(playerId);
+        }
+    }
+
+    /**
+     * Applies the pending change of one player, if any, and tells its callers how it went.
+     * <p>
+     * The change is applied inside the map's compute for that player, so a write-through or new
+     * change of the same player waits for it, while other players' changes do not.
+     * </p>
+     */
+    private void flush(@NotNull UUID playerId) {
+        PendingChange[] flushed = new PendingChange[1];
+        boolean[] applied = new boolean[1];
+        pending.computeIfPresent(playerId, (id, change) -> {
+            flushed[0] = change;
+            applied[0] = apply(change);
+            return null;
+        });
+        if (flushed[0] != null) {
+            // Callers undo their side of a failed change, so it is not retried
+            flushed[0].waiters.forEach(waiter -> waiter.complete(applied[0]));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        stopped = false;
+        writer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "Ranks-Permission-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        ScheduledExecutorService current = writer;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Permission writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        stopped = true;
+        // Whatever is left is applied before the plugin goes away
+        flush();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        ScheduledExecutorService current = writer;
+        return current != null && !current.isShutdown();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.severe("Error applying group changes: " + e.getMessage());
+        }
+    }
+
+    private boolean apply(@NotNull PendingChange change) {
+        Player player = change.player;
+        try {
+            if (change.removes.size() == 1 && change.adds.size() == 1) {
+                String from = change.removes.iterator().next();
+                String to = change.adds.iterator().next();
+                if (!delegate.setGroup(player, from, to)) {
+                    logger.severe("Failed to move player " + player.getName() + " from group " + from + " to " + to);
+                    return false;
+                }
+                return true;
+            }
+            for (String group : change.removes) {
+                // Removing a group the player is not in is harmless
+                delegate.removeFromGroup(player, group);
+            }
+            for (String group : change.adds) {
+                if (!delegate.addToGroup(player, group)) {
+                    logger.severe("Failed to add player " + player.getName() + " to group " + group);
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            logger.severe("Error applying group changes of player " + player.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The group changes queued for one player, reduced to the groups to leave and to join.
+     * Removes are applied before adds.
+     */
+    private static final class PendingChange {
+        private final Player player;
+        private final Set<String> removes = new LinkedHashSet<>();
+        private final Set<String> adds = new LinkedHashSet<>();
+        // Completed with the outcome once the change is applied
+        private final List<CompletableFuture<Boolean>> waiters = new ArrayList<>();
+        // Read without holding the map's lock, so it is kept apart from the sets
+        private volatile String primaryGroup;
+
+        PendingChange(@NotNull Player player) {
+            this.player = player;
+        }
+
+        void remove(@NotNull String group) {
+            adds.remove(group);
+            removes.add(group);
+            if (group.equals(primaryGroup)) {
+                primaryGroup = lastAdded();
+            }
+        }
+
+        void add(@NotNull String group) {
+            removes.remove(group);
+            adds.add(group);
+            primaryGroup = group;
+        }
+
+        @Nullable
+        String primaryGroup() {
+            return primaryGroup;
+        }
+
+        @Nullable
+        private String lastAdded() {
+            String last = null;
+            for (String group : adds) {
+                last = group;
+            }
+            return last;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package dev.flur.ranks.storage;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * RankStorage backed by an embedded H2 database file.
+ * <p>
+ * Writes are collected in memory, keeping only the latest value per player and requirement,
+ * and written by a single background thread in one transaction every flush interval. Writes
+ * that fail stay pending and are retried on the next flush. Reads run on the async executor
+ * and borrow connections from a small pool.
+ * </p>
+ */
+public class H2RankStorage implements RankStorage {
+
+    private static final String MERGE_RANK =
+            "MERGE INTO player_ranks (player_id, player_name, rank_name, ranked_up_at) KEY (player_id) VALUES (?, ?, ?, ?)";
+    private static final String MERGE_PROGRESS =
+            "MERGE INTO requirement_progress (player_id, requirement, progress) KEY (player_id, requirement) VALUES (?, ?, ?)";
+
+    private final File databaseFile;
+    private final long flushIntervalMillis;
+    private final int maxConnections;
+    private final Executor readExecutor;
+    private final Logger logger;
+
+    private final Map<UUID, PlayerRankRecord> pendingRanks = new ConcurrentHashMap<>();
+    private final Map<ProgressKey, Double> pendingProgress = new ConcurrentHashMap<>();
+
+    private volatile JdbcConnectionPool pool;
+    private volatile ScheduledExecutorService writer;
+
+    /**
+     * Creates a new H2 rank storage. Nothing is opened until {@link #start()}.
+     *
+     * @param databaseFile        The database file, without the H2 file extension
+     * @param flushIntervalMillis How often pending writes are persisted
+     * @param maxConnections      The maximum number of pooled connections
+     * @param readExecutor        The executor reads run on
+     * @param logger              The logger to use
+     */
+    public H2RankStorage(
+            @NotNull File databaseFile,
+            long flushIntervalMillis,
+            int maxConnections,
+            @NotNull Executor readExecutor,
+            @NotNull Logger logger) {
+        this.databaseFile = databaseFile;
+        this.flushIntervalMillis = Math.max(1L, flushIntervalMillis);
+        this.maxConnections = Math.max(2, maxConnections);
+        this.readExecutor = readExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public void saveRank(@NotNull PlayerRankRecord record) {
+        pendingRanks.put(record.playerId(), record);
+    }
+
+    @Override
+    public void saveRequirementProgress(@NotNull UUID playerId, @NotNull String requirement, double progress) {
+        pendingProgress.put(new ProgressKey(playerId, requirement), progress);
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Optional<PlayerRankRecord>> loadPlayer(@NotNull UUID playerId) {
+        return query(connection -> {
+            PlayerRankRecord pending = pendingRanks.get(playerId);
+            if (pending != null) {
+                return Optional.of(pending);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT player_id, player_name, rank_name, ranked_up_at FROM player_ranks WHERE player_id = ?")) {
+                statement.setObject(1, playerId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? Optional.of(readRank(resultSet)) : Optional.empty();
+                }
+            }
+        });
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<List<PlayerRankRecord>> loadAllPlayers() {
+        return query(connection -> new ArrayList<>(loadAllMerged(connection).values()));
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Map<String, Double>> loadRequirementProgress(@NotNull UUID playerId) {
+        return query(connection -> {
+            Map<String, Double> progress = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT requirement, progress FROM requirement_progress WHERE player_id = ?")) {
+                statement.setObject(1, playerId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        progress.put(resultSet.getString(1), resultSet.getDouble(2));
+                    }
+                }
+            }
+            pendingProgress.forEach((key, value) -> {
+                if (key.playerId().equals(playerId)) {
+                    progress.put(key.requirement(), value);
+                }
+            });
+            return progress;
+        });
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Map<String, Integer>> countPlayersByRank() {
+        return query(connection -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (PlayerRankRecord record : loadAllMerged(connection).values()) {
+                counts.merge(record.rank(), 1, Integer::sum);
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    @NotNull
+    public CompletableFuture<Void> flush() {
+        ScheduledExecutorService current = writer;
+        if (current == null || current.isShutdown()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(this::flushPending, current);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (pool != null) {
+            return;
+        }
+        File directory = databaseFile.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            logger.severe("Failed to create storage directory " + directory);
+            return;
+        }
+
+        JdbcConnectionPool created = JdbcConnectionPool.create("jdbc:h2:file:" + databaseFile.getAbsolutePath(), "sa", "");
+        created.setMaxConnections(maxConnections);
+        try (Connection connection = created.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS player_ranks ("
+                    + "player_id UUID PRIMARY KEY, "
+                    + "player_name VARCHAR(32) NOT NULL, "
+                    + "rank_name VARCHAR(64) NOT NULL, "
+                    + "ranked_up_at BIGINT NOT NULL)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_player_ranks_rank ON player_ranks (rank_name, ranked_up_at)");
+            statement.execute("CREATE TABLE IF NOT EXISTS requirement_progress ("
+                    + "player_id UUID NOT NULL, "
+                    + "requirement VARCHAR(64) NOT NULL, "
+                    + "progress DOUBLE PRECISION NOT NULL, "
+                    + "PRIMARY KEY (player_id, requirement))");
+        } catch (SQLException e) {
+            logger.severe("Failed to open rank storage: " + e.getMessage());
+            created.dispose();
+            return;
+        }
+
+        pool = created;
+        writer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "Ranks-Storage-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushPending, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        ScheduledExecutorService current = writer;
+        if (current == null) {
+            return;
+        }
+        // Runs after any flush already queued on the writer
+        current.execute(this::flushPending);
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Rank storage writer did not finish in time; some writes may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.dispose();
+        pool = null;
+        writer = null;
+    }
+
+    @Override
+    public boolean isHealthy() {
+        ScheduledExecutorService current = writer;
+        return pool != null && current != null && !current.isShutdown();
+    }
+
+    private void flushPending() {
+        if (pendingRanks.isEmpty() && pendingProgress.isEmpty()) {
+            return;
+        }
+        Map<UUID, PlayerRankRecord> ranks = new HashMap<>(pendingRanks);
+        Map<ProgressKey, Double> progress = new HashMap<>(pendingProgress);
+
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement mergeRank = connection.prepareStatement(MERGE_RANK);
+                 PreparedStatement mergeProgress = connection.prepareStatement(MERGE_PROGRESS)) {
+                for (PlayerRankRecord record : ranks.values()) {
+                    mergeRank.setObject(1, record.playerId());
+                    mergeRank.setString(2, record.playerName());
+                    mergeRank.setString(3, record.rank());
+                    mergeRank.setLong(4, record.rankedUpAt());
+                    mergeRank.addBatch();
+                }
+                for (Map.Entry<ProgressKey, Double> entry : progress.entrySet()) {
+                    mergeProgress.setObject(1, entry.getKey().playerId());
+                    mergeProgress.setString(2, entry.getKey().requirement());
+                    mergeProgress.setDouble(3, entry.getValue());
+                    mergeProgress.addBatch();
+                }
+                mergeRank.executeBatch();
+                mergeProgress.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.severe("Failed to flush rank storage, will retry: " + e.getMessage());
+            return;
+        }
+
+        // Only drop what was written; newer values saved during the flush stay pending
+        ranks.forEach(pendingRanks::remove);
+        progress.forEach(pendingProgress::remove);
+    }
+
+    @NotNull
+    private Map<UUID, PlayerRankRecord> loadAllMerged(@NotNull Connection connection) throws SQLException {
+        Map<UUID, PlayerRankRecord> records = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT player_id, player_name, rank_name, ranked_up_at FROM player_ranks")) {
+            while (resultSet.next()) {
+                PlayerRankRecord record = readRank(resultSet);
+                records.put(record.playerId(), record);
+            }
+        }
+        records.putAll(pendingRanks);
+        return records;
+    }
+
+    @NotNull
+    private static PlayerRankRecord readRank(@NotNull ResultSet resultSet) throws SQLException {
+        return new PlayerRankRecord(
+                resultSet.getObject(1, UUID.class),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                resultSet.getLong(4));
+    }
+
+    @NotNull
+    private <T> CompletableFuture<T> query(@NotNull Query<T> query) {
+        JdbcConnectionPool current = pool;
+        if (current == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Rank storage is not started"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = current.getConnection()) {
+                return query.run(connection);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, readExecutor);
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(@NotNull Connection connection) throws SQLException;
+    }
+
+    private record ProgressKey(@NotNull UUID playerId, @NotNull String requirement) {
+    }
+}
@@ -0,0 +1,17 @@
+package dev.flur.ranks.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * The stored rank state of a player.
+ *
+ * @param playerId   The player's unique id
+ * @param playerName The player's last known name
+ * @param rank       The player's rank
+ * @param rankedUpAt When the player reached the rank, in milliseconds since the epoch
+ */
+public record PlayerRankRecord(@NotNull UUID playerId, @NotNull String playerName,
+                               @NotNull String rank, long rankedUpAt) {
+}
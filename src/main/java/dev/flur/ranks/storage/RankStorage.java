@@ -0,0 +1,78 @@
+package dev.flur.ranks.storage;
+
+import dev.flur.ranks.service.Lifecycle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistent store of player rank state, independent of the permission plugin.
+ * <p>
+ * Writes return immediately and are persisted in batches in the background. Reads never run on
+ * the calling thread and see every write made before them, persisted or not.
+ * </p>
+ */
+public interface RankStorage extends Lifecycle {
+
+    /**
+     * Saves a player's rank.
+     *
+     * @param record The player's rank state
+     */
+    void saveRank(@NotNull PlayerRankRecord record);
+
+    /**
+     * Saves a player's progress toward a requirement.
+     *
+     * @param playerId    The player's unique id
+     * @param requirement The requirement's name
+     * @param progress    The player's current value for the requirement
+     */
+    void saveRequirementProgress(@NotNull UUID playerId, @NotNull String requirement, double progress);
+
+    /**
+     * Loads a player's rank.
+     *
+     * @param playerId The player's unique id
+     * @return A future completing with the player's rank state, or empty if none is stored
+     */
+    @NotNull
+    CompletableFuture<Optional<PlayerRankRecord>> loadPlayer(@NotNull UUID playerId);
+
+    /**
+     * Loads the rank of every stored player.
+     *
+     * @return A future completing with all stored rank states
+     */
+    @NotNull
+    CompletableFuture<List<PlayerRankRecord>> loadAllPlayers();
+
+    /**
+     * Loads a player's progress toward all requirements.
+     *
+     * @param playerId The player's unique id
+     * @return A future completing with requirement names mapped to the player's values
+     */
+    @NotNull
+    CompletableFuture<Map<String, Double>> loadRequirementProgress(@NotNull UUID playerId);
+
+    /**
+     * Counts the stored players in each rank.
+     *
+     * @return A future completing with rank names mapped to player counts
+     */
+    @NotNull
+    CompletableFuture<Map<String, Integer>> countPlayersByRank();
+
+    /**
+     * Persists all pending writes.
+     *
+     * @return A future completing once the pending writes are persisted
+     */
+    @NotNull
+    CompletableFuture<Void> flush();
+}
@@ -1,7 +1,11 @@
 package dev.flur.ranks.command;
 
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.RateLimitService;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,8 +14,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class BaseCommandTest {
@@ -30,7 +38,7 @@ class BaseCommandTest {
         // Create a concrete implementation of the abstract BaseCommand for testing
         testCommand = new BaseCommand() {
             @Override
-            public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+            protected boolean execute(CommandSender sender, Command command, String label, String[] args) {
                 return true; // Default implementation for testing
             }
         };
@@ -53,6 +61,73 @@ class BaseCommandTest {
         }
     }
 
+    @Nested
+    @DisplayName("Rate Limit Tests")
+    class RateLimitTests {
+        @Test
+        @DisplayName("Players over the limit are told to wait and the command does not run")
+        void testRateLimitedPlayerIsRefused() {
+            // Arrange
+            UUID playerId = UUID.randomUUID();
+            Player player = mock(Player.class);
+            when(player.getUniqueId()).thenReturn(playerId);
+            RateLimitService rateLimitService = mock(RateLimitService.class);
+            MessageService messageService = mock(MessageService.class);
+            when(rateLimitService.tryAcquire("test", playerId)).thenReturn(1_500L);
+            AtomicInteger runs = new AtomicInteger();
+            BaseCommand limited = new BaseCommand() {
+                @Override
+                protected boolean execute(CommandSender sender, Command command, String label, String[] args) {
+                    runs.incrementAndGet();
+                    return true;
+                }
+            };
+            limited.setRateLimit("test", rateLimitService, messageService);
+
+            // Act
+            boolean result = limited.onCommand(player, command, "test", new String[0]);
+
+            // Assert
+            assertTrue(result);
+            assertEquals(0, runs.get());
+            verify(messageService).sendMessage(player, Messages.COMMAND_RATE_LIMITED, Map.of("seconds", "1.5"));
+        }
+
+        @Test
+        @DisplayName("Players within the limit run the command")
+        void testPlayerWithinLimitRunsCommand() {
+            // Arrange
+            Player player = mock(Player.class);
+            when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+            RateLimitService rateLimitService = mock(RateLimitService.class);
+            MessageService messageService = mock(MessageService.class);
+            testCommand.setRateLimit("test", rateLimitService, messageService);
+
+            // Act
+            boolean result = testCommand.onCommand(player, command, "test", new String[0]);
+
+            // Assert
+            assertTrue(result);
+            verify(rateLimitService).tryAcquire(eq("test"), any(UUID.class));
+            verifyNoInteractions(messageService);
+        }
+
+        @Test
+        @DisplayName("Senders other than players are not limited")
+        void testConsoleIsNotLimited() {
+            // Arrange
+            RateLimitService rateLimitService = mock(RateLimitService.class);
+            testCommand.setRateLimit("test", rateLimitService, mock(MessageService.class));
+
+            // Act
+            boolean result = testCommand.onCommand(commandSender, command, "test", new String[0]);
+
+            // Assert
+            assertTrue(result);
+            verifyNoInteractions(rateLimitService);
+        }
+    }
+
     @Nested
     @DisplayName("onTabComplete Tests")
     class OnTabCompleteTests {
@@ -77,7 +152,7 @@ class BaseCommandTest {
             // Arrange
             BaseCommand customCommand = new BaseCommand() {
                 @Override
-                public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+                protected boolean execute(CommandSender sender, Command command, String label, String[] args) {
                     return true;
                 }
                 
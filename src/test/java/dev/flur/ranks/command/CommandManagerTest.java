@@ -96,7 +96,7 @@ class CommandManagerTest {
         }
 
         @Override
-        public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        protected boolean execute(CommandSender sender, Command command, String label, String[] args) {
             return true;
         }
     }
@@ -0,0 +1,60 @@
+package dev.flur.ranks.command;
+
+import dev.flur.commands.CommandInfo;
+import dev.flur.ranks.Ranks;
+import dev.flur.ranks.service.ServiceContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CommandRegistryTest {
+
+    private Ranks plugin;
+    private ServiceContainer serviceContainer;
+
+    @BeforeEach
+    void setUp() {
+        plugin = mock(Ranks.class);
+        serviceContainer = mock(ServiceContainer.class);
+        when(plugin.getLogger()).thenReturn(mock(Logger.class));
+    }
+
+    @Test
+    @DisplayName("Every command is registered under the name of its @CommandInfo")
+    void testNamesMatchCommandInfo() {
+        // Act
+        Map<String, BaseCommand> commands = CommandRegistry.createCommands(plugin, serviceContainer);
+
+        // Assert
+        commands.forEach((name, command) -> {
+            CommandInfo info = command.getClass().getAnnotation(CommandInfo.class);
+            assertNotNull(info, command.getClass().getSimpleName() + " should have @CommandInfo");
+            assertEquals(info.name(), name);
+        });
+    }
+
+    @Test
+    @DisplayName("Every annotated command class is registered")
+    void testAllCommandsRegistered() {
+        // Arrange
+        Set<Class<?>> annotated = new Reflections("dev.flur.ranks.command.commands")
+                .getTypesAnnotatedWith(CommandInfo.class);
+
+        // Act
+        Set<Class<?>> registered = CommandRegistry.createCommands(plugin, serviceContainer).values().stream()
+                .map(Object::getClass)
+                .collect(Collectors.toSet());
+
+        // Assert
+        assertEquals(annotated, registered);
+    }
+}
@@ -1,6 +1,15 @@
 package dev.flur.ranks.command.commands;
 
+import dev.flur.ranks.command.tree.CommandHandler;
+import dev.flur.ranks.command.tree.CommandNode;
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.result.BulkProgress;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.BulkRankService;
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.storage.PlayerRankRecord;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +20,9 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,6 +32,15 @@ class RanksCommandTest {
     @Mock
     private RanksService ranksService;
 
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private BulkRankService bulkRankService;
+
+    @Mock
+    private MessageService messageService;
+
     @Mock
     private CommandSender sender;
 
@@ -31,7 +52,7 @@ class RanksCommandTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ranksCommand = new RanksCommand(ranksService);
+        ranksCommand = new RanksCommand(ranksService, leaderboardService, bulkRankService, messageService);
     }
 
     @Test
@@ -127,4 +148,179 @@ class RanksCommandTest {
         });
         verify(ranksService).getAllRanks();
     }
+
+    @Test
+    @DisplayName("top without a rank shows the player distribution")
+    void testTopShowsDistribution() {
+        // Arrange
+        when(leaderboardService.getDistribution()).thenReturn(Map.of("member", 5, "vip", 2));
+
+        // Act
+        boolean result = ranksCommand.onCommand(sender, command, "ranks", new String[]{"top"});
+
+        // Assert
+        assertTrue(result);
+        verify(messageService).sendMessage(sender, Messages.RANKS_DISTRIBUTION_HEADER);
+        verify(messageService).sendMessage(sender, Messages.RANKS_DISTRIBUTION_ITEM, Map.of("rank", "member", "count", 5));
+        verify(messageService).sendMessage(sender, Messages.RANKS_DISTRIBUTION_ITEM, Map.of("rank", "vip", "count", 2));
+        verify(ranksService, never()).getAllRanks();
+    }
+
+    @Test
+    @DisplayName("top with a rank lists the first players to reach it")
+    void testTopListsPlayersOfRank() {
+        // Arrange
+        when(leaderboardService.getTopPlayers("vip", 10)).thenReturn(List.of(
+                new PlayerRankRecord(UUID.randomUUID(), "Steve", "vip", 1000L),
+                new PlayerRankRecord(UUID.randomUUID(), "Alex", "vip", 2000L)));
+
+        // Act
+        boolean result = ranksCommand.onCommand(sender, command, "ranks", new String[]{"top", "vip"});
+
+        // Assert
+        assertTrue(result);
+        verify(messageService).sendMessage(sender, Messages.RANKS_TOP_HEADER, Map.of("rank", "vip"));
+        verify(messageService).sendMessage(sender, Messages.RANKS_TOP_ITEM, Map.of("position", 1, "playerName", "Steve"));
+        verify(messageService).sendMessage(sender, Messages.RANKS_TOP_ITEM, Map.of("position", 2, "playerName", "Alex"));
+    }
+
+    @Test
+    @DisplayName("top with an empty rank says so")
+    void testTopWithEmptyRank() {
+        // Arrange
+        when(leaderboardService.getTopPlayers("vip", 10)).thenReturn(List.of());
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks", new String[]{"top", "vip"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.RANKS_TOP_EMPTY, Map.of("rank", "vip"));
+        verify(messageService, never()).sendMessage(sender, Messages.RANKS_TOP_HEADER, Map.of("rank", "vip"));
+    }
+
+    @Test
+    @DisplayName("top resolves rank aliases")
+    void testTopResolvesAlias() {
+        // Arrange
+        when(ranksService.resolveRank("2nd")).thenReturn("vip");
+        when(leaderboardService.getTopPlayers("vip", 10)).thenReturn(List.of());
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks", new String[]{"top", "2nd"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.RANKS_TOP_EMPTY, Map.of("rank", "vip"));
+    }
+
+    @Test
+    @DisplayName("an unknown subcommand shows the usage")
+    void testUnknownSubcommandShowsUsage() {
+        // Act
+        boolean result = ranksCommand.onCommand(sender, command, "ranks", new String[]{"nope"});
+
+        // Assert
+        assertTrue(result);
+        verify(messageService).sendMessage(sender, Messages.RANKS_USAGE, Map.of("usage", "/ranks [bulk|top]"));
+        verify(ranksService, never()).getAllRanks();
+    }
+
+    @Test
+    @DisplayName("subcommands are added to the command tree")
+    void testSubcommandsAreDispatched() {
+        // Arrange
+        CommandHandler handler = mock(CommandHandler.class);
+        when(handler.execute(eq(sender), any())).thenReturn(true);
+        RanksCommand withSubcommand = new RanksCommand(ranksService, leaderboardService, bulkRankService, messageService,
+                () -> CommandNode.literal("ping").executes(handler));
+
+        // Act
+        boolean result = withSubcommand.onCommand(sender, command, "ranks", new String[]{"PING"});
+
+        // Assert
+        assertTrue(result);
+        verify(handler).execute(eq(sender), any());
+        assertEquals(List.of("ping"), withSubcommand.onTabComplete(sender, command, "ranks", new String[]{"p"}));
+    }
+
+    @Test
+    @DisplayName("bulk without permission is refused")
+    void testBulkRequiresPermission() {
+        // Arrange
+        when(sender.hasPermission("ranks.admin.bulk")).thenReturn(false);
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks", new String[]{"bulk", "member", "vip"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.NO_PERMISSION);
+        verifyNoInteractions(bulkRankService);
+    }
+
+    @Test
+    @DisplayName("bulk without two ranks shows the usage")
+    void testBulkShowsUsage() {
+        // Arrange
+        when(sender.hasPermission("ranks.admin.bulk")).thenReturn(true);
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks", new String[]{"bulk", "member", "--dry-run"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.RANKS_USAGE,
+                Map.of("usage", "/ranks bulk <fromRank> <toRank> [flags...]"));
+        verifyNoInteractions(bulkRankService);
+    }
+
+    @Test
+    @DisplayName("bulk passes the flags and reports the result")
+    void testBulkStartsChange() {
+        // Arrange
+        when(sender.hasPermission("ranks.admin.bulk")).thenReturn(true);
+        when(leaderboardService.getPlayerCount("member")).thenReturn(3);
+        BulkProgress done = new BulkProgress(3, 3, 2, 1, 0, 1500L, true);
+        when(bulkRankService.changeRank(eq("member"), eq("vip"), eq(true), eq(true), any()))
+                .thenReturn(Result.success(CompletableFuture.completedFuture(done)));
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks",
+                new String[]{"bulk", "member", "vip", "--check-requirements", "--dry-run"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.RANKS_BULK_STARTED,
+                Map.of("count", 3, "fromRank", "member", "toRank", "vip", "mode", " (dry run)"));
+        verify(messageService).sendMessage(eq(sender), eq(Messages.RANKS_BULK_FINISHED), argThat(context ->
+                context.get("changed").equals(2) && context.get("skipped").equals(1) && context.get("total").equals(3)));
+    }
+
+    @Test
+    @DisplayName("bulk reports why a change could not start")
+    void testBulkReportsFailure() {
+        // Arrange
+        when(sender.hasPermission("ranks.admin.bulk")).thenReturn(true);
+        when(bulkRankService.changeRank(eq("member"), eq("vip"), eq(false), eq(false), any()))
+                .thenReturn(Result.failure("A bulk rank change is already running"));
+
+        // Act
+        ranksCommand.onCommand(sender, command, "ranks", new String[]{"bulk", "member", "vip"});
+
+        // Assert
+        verify(messageService).sendMessage(sender, Messages.RANKS_BULK_FAILED,
+                Map.of("reason", "A bulk rank change is already running"));
+        verify(messageService, never()).sendMessage(eq(sender), eq(Messages.RANKS_BULK_STARTED), anyMap());
+    }
+
+    @Test
+    @DisplayName("bulk is only tab completed for senders allowed to use it")
+    void testBulkTabCompletion() {
+        // Arrange
+        CommandSender admin = mock(CommandSender.class);
+        when(admin.hasPermission("ranks.admin.bulk")).thenReturn(true);
+        when(ranksService.completeRanks("v")).thenReturn(List.of("vip"));
+
+        // Act & Assert
+        assertEquals(List.of("top"), ranksCommand.onTabComplete(sender, command, "ranks", new String[]{""}));
+        assertEquals(List.of("bulk", "top"), ranksCommand.onTabComplete(admin, command, "ranks", new String[]{""}));
+        assertEquals(List.of("vip"), ranksCommand.onTabComplete(admin, command, "ranks", new String[]{"bulk", "member", "v"}));
+        assertEquals(List.of("--dry-run"), ranksCommand.onTabComplete(admin, command, "ranks", new String[]{"bulk", "member", "vip", "--d"}));
+    }
 }
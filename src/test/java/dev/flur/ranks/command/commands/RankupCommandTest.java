@@ -1,8 +1,10 @@
 package dev.flur.ranks.command.commands;
 
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.result.Result;
 import dev.flur.ranks.result.RankupOutcome;
+import dev.flur.ranks.service.RanksService;
 import dev.flur.ranks.service.RankupNotifier;
 import dev.flur.ranks.service.RankupProcessor;
 import dev.flur.ranks.service.RankupValidator;
@@ -20,6 +22,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +39,9 @@ class RankupCommandTest {
     @Mock
     private RankupNotifier rankupNotifier;
 
+    @Mock
+    private RanksService ranksService;
+
     @Mock
     private Logger logger;
 
@@ -54,7 +60,7 @@ class RankupCommandTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        rankupCommand = new RankupCommand(rankupValidator, rankupProcessor, rankupNotifier, logger);
+        rankupCommand = new RankupCommand(rankupValidator, rankupProcessor, rankupNotifier, ranksService, logger);
     }
 
     @Nested
@@ -179,14 +185,15 @@ class RankupCommandTest {
             Map<String, String> availableRanks = new HashMap<>();
             availableRanks.put("target-rank", "Target Rank");
             String[] args = new String[]{"target-rank"};
-            List<Requirement> unmetRequirements = List.of(mock(Requirement.class));
+            RankupContext context = new RankupContext(player, "current-rank", "target-rank", List.of(mock(Requirement.class)));
 
             when(rankupValidator.hasValidCurrentRank(player)).thenReturn(false);
             when(rankupValidator.getCurrentRank(player)).thenReturn("current-rank");
             when(rankupProcessor.getAvailableRanks(player)).thenReturn(availableRanks);
             when(rankupValidator.shouldShowRankOptions(availableRanks, args)).thenReturn(false);
             when(rankupValidator.determineTargetRank(availableRanks, args)).thenReturn("target-rank");
-            when(rankupValidator.getUnmetRequirementsForRank(player, "target-rank")).thenReturn(unmetRequirements);
+            when(rankupValidator.createContext(player, "current-rank", "target-rank")).thenReturn(context);
+            when(rankupValidator.meetsRequirements(context)).thenReturn(false);
 
             // Act
             boolean result = rankupCommand.onCommand(player, command, "rankup", args);
@@ -198,8 +205,10 @@ class RankupCommandTest {
             verify(rankupProcessor).getAvailableRanks(player);
             verify(rankupValidator).shouldShowRankOptions(availableRanks, args);
             verify(rankupValidator).determineTargetRank(availableRanks, args);
-            verify(rankupValidator).getUnmetRequirementsForRank(player, "target-rank");
-            verify(rankupNotifier).notifyUnmetRequirements(player, unmetRequirements);
+            verify(rankupValidator).createContext(player, "current-rank", "target-rank");
+            verify(rankupValidator).meetsRequirements(context);
+            verify(rankupNotifier).notifyUnmetRequirements(context);
+            verify(rankupProcessor, never()).processRankupAsync(any(RankupContext.class));
         }
 
         @Test
@@ -216,8 +225,10 @@ class RankupCommandTest {
             when(rankupProcessor.getAvailableRanks(player)).thenReturn(availableRanks);
             when(rankupValidator.shouldShowRankOptions(availableRanks, args)).thenReturn(false);
             when(rankupValidator.determineTargetRank(availableRanks, args)).thenReturn("target-rank");
-            when(rankupValidator.getUnmetRequirementsForRank(player, "target-rank")).thenReturn(Collections.emptyList());
-            when(rankupProcessor.processRankup(player, "current-rank", "target-rank")).thenReturn(successResult);
+            RankupContext context = new RankupContext(player, "current-rank", "target-rank", Collections.emptyList());
+            when(rankupValidator.createContext(player, "current-rank", "target-rank")).thenReturn(context);
+            when(rankupValidator.meetsRequirements(context)).thenReturn(true);
+            when(rankupProcessor.processRankupAsync(context)).thenReturn(CompletableFuture.completedFuture(successResult));
 
             // Act
             boolean result = rankupCommand.onCommand(player, command, "rankup", args);
@@ -229,8 +240,8 @@ class RankupCommandTest {
             verify(rankupProcessor).getAvailableRanks(player);
             verify(rankupValidator).shouldShowRankOptions(availableRanks, args);
             verify(rankupValidator).determineTargetRank(availableRanks, args);
-            verify(rankupValidator).getUnmetRequirementsForRank(player, "target-rank");
-            verify(rankupProcessor).processRankup(player, "current-rank", "target-rank");
+            verify(rankupValidator).meetsRequirements(context);
+            verify(rankupProcessor).processRankupAsync(context);
             verify(rankupNotifier).sendRankupSuccessMessage(player, "target-rank");
             verify(rankupNotifier).broadcastRankup(player, "current-rank", "target-rank");
         }
@@ -249,21 +260,23 @@ class RankupCommandTest {
             when(rankupProcessor.getAvailableRanks(player)).thenReturn(availableRanks);
             when(rankupValidator.shouldShowRankOptions(availableRanks, args)).thenReturn(false);
             when(rankupValidator.determineTargetRank(availableRanks, args)).thenReturn("target-rank");
-            when(rankupValidator.getUnmetRequirementsForRank(player, "target-rank")).thenReturn(Collections.emptyList());
-            when(rankupProcessor.processRankup(player, "current-rank", "target-rank")).thenReturn(failureResult);
+            RankupContext context = new RankupContext(player, "current-rank", "target-rank", Collections.emptyList());
+            when(rankupValidator.createContext(player, "current-rank", "target-rank")).thenReturn(context);
+            when(rankupValidator.meetsRequirements(context)).thenReturn(true);
+            when(rankupProcessor.processRankupAsync(context)).thenReturn(CompletableFuture.completedFuture(failureResult));
 
             // Act
             boolean result = rankupCommand.onCommand(player, command, "rankup", args);
 
             // Assert
-            assertFalse(result, "Command should return false for failed rankup");
+            assertTrue(result, "Command should return true once the rankup is dispatched");
             verify(rankupValidator).hasValidCurrentRank(player);
             verify(rankupValidator).getCurrentRank(player);
             verify(rankupProcessor).getAvailableRanks(player);
             verify(rankupValidator).shouldShowRankOptions(availableRanks, args);
             verify(rankupValidator).determineTargetRank(availableRanks, args);
-            verify(rankupValidator).getUnmetRequirementsForRank(player, "target-rank");
-            verify(rankupProcessor).processRankup(player, "current-rank", "target-rank");
+            verify(rankupValidator).meetsRequirements(context);
+            verify(rankupProcessor).processRankupAsync(context);
             verify(rankupNotifier).sendRankupFailedMessage(player);
             verify(logger).warning(contains("Failed to rankup"));
         }
@@ -300,77 +313,57 @@ class RankupCommandTest {
         void testOnTabCompleteWithInvalidCurrentRank() {
             // Arrange
             String[] args = new String[]{""};
-            when(rankupValidator.hasValidCurrentRank(player)).thenReturn(true);
+            when(ranksService.getCachedRank(player)).thenReturn("");
 
             // Act
             List<String> result = rankupCommand.onTabComplete(player, command, "rankup", args);
 
             // Assert
             assertTrue(result.isEmpty(), "Tab completion should return empty list for invalid current rank");
-            verify(rankupValidator).hasValidCurrentRank(player);
+            verify(ranksService, never()).completeNextRanks(anyString(), anyString());
         }
 
-
         @Test
-        @DisplayName("onTabComplete returns available ranks")
-        void testOnTabCompleteReturnsAvailableRanks() {
+        @DisplayName("onTabComplete returns next ranks matching the prefix")
+        void testOnTabCompleteReturnsMatchingRanks() {
             // Arrange
-            Map<String, String> availableRanks = new HashMap<>();
-            availableRanks.put("rank1", "Rank 1");
-            availableRanks.put("rank2", "Rank 2");
-            String[] args = new String[]{""};
-
-            when(rankupValidator.hasValidCurrentRank(player)).thenReturn(false);
-            when(rankupProcessor.getAvailableRanks(player)).thenReturn(availableRanks);
+            String[] args = new String[]{"R"};
+            when(ranksService.getCachedRank(player)).thenReturn("first");
+            when(ranksService.completeNextRanks("first", "R")).thenReturn(List.of("rank1", "rank2"));
 
             // Act
             List<String> result = rankupCommand.onTabComplete(player, command, "rankup", args);
 
             // Assert
-            assertEquals(2, result.size(), "Tab completion should return 2 available ranks");
-            assertTrue(result.contains("rank1"), "Tab completion should include rank1");
-            assertTrue(result.contains("rank2"), "Tab completion should include rank2");
-            verify(rankupValidator).hasValidCurrentRank(player);
-            verify(rankupProcessor).getAvailableRanks(player);
+            assertEquals(List.of("rank1", "rank2"), result);
         }
 
         @Test
-        @DisplayName("onTabComplete filters ranks by prefix")
-        void testOnTabCompleteFiltersRanksByPrefix() {
+        @DisplayName("onTabComplete never asks the permission plugin")
+        void testOnTabCompleteUsesCachedRank() {
             // Arrange
-            Map<String, String> availableRanks = new HashMap<>();
-            availableRanks.put("rank1", "Rank 1");
-            availableRanks.put("rank2", "Rank 2");
-            availableRanks.put("test", "Test Rank");
-            String[] args = new String[]{"r"};
-
-            when(rankupValidator.hasValidCurrentRank(player)).thenReturn(false);
-            when(rankupProcessor.getAvailableRanks(player)).thenReturn(availableRanks);
+            when(ranksService.getCachedRank(player)).thenReturn("first");
+            when(ranksService.completeNextRanks("first", "")).thenReturn(List.of("second"));
 
             // Act
-            List<String> result = rankupCommand.onTabComplete(player, command, "rankup", args);
+            rankupCommand.onTabComplete(player, command, "rankup", new String[]{""});
 
             // Assert
-            assertEquals(2, result.size(), "Tab completion should return 2 filtered ranks");
-            assertTrue(result.contains("rank1"), "Tab completion should include rank1");
-            assertTrue(result.contains("rank2"), "Tab completion should include rank2");
-            assertFalse(result.contains("test"), "Tab completion should not include test");
-            verify(rankupValidator).hasValidCurrentRank(player);
-            verify(rankupProcessor).getAvailableRanks(player);
+            verify(ranksService, never()).getCurrentRank(player);
+            verifyNoInteractions(rankupValidator, rankupProcessor);
         }
 
         @Test
         @DisplayName("onTabComplete handles exception")
         void testOnTabCompleteHandlesException() {
             // Arrange
-            when(rankupValidator.hasValidCurrentRank(player)).thenThrow(new RuntimeException("Test exception"));
+            when(ranksService.getCachedRank(player)).thenThrow(new RuntimeException("Test exception"));
 
             // Act
             List<String> result = rankupCommand.onTabComplete(player, command, "rankup", new String[]{""});
 
             // Assert
             assertTrue(result.isEmpty(), "Tab completion should return empty list when exception occurs");
-            verify(rankupValidator).hasValidCurrentRank(player);
             verify(logger).severe(contains("Error in tab completion"));
         }
     }
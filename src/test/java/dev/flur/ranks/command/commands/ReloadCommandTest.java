@@ -1,11 +1,11 @@
 package dev.flur.ranks.command.commands;
 
 import dev.flur.ranks.Ranks;
+import dev.flur.ranks.command.tree.CommandDispatcher;
+import dev.flur.ranks.command.tree.CommandNode;
 import dev.flur.ranks.message.Messages;
 import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.ServiceContainer;
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,39 +31,38 @@ class ReloadCommandTest {
     @Mock
     private MessageService messageService;
 
-    @Mock
-    private Command command;
-
     @Mock
     private Player player;
 
     @Mock
     private ConsoleCommandSender consoleSender;
 
-    private ReloadCommand reloadCommand;
-    private String[] emptyArgs = new String[0];
-    private String[] fullReloadArgs = new String[]{"full"};
+    private CommandDispatcher dispatcher;
+    private String[] emptyArgs = new String[]{"reload"};
+    private String[] fullReloadArgs = new String[]{"reload", "full"};
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        reloadCommand = new ReloadCommand(plugin, serviceContainer, messageService);
-        
-        // Setup player mock
+        ReloadCommand reloadCommand = new ReloadCommand(plugin, serviceContainer, messageService);
+        dispatcher = new CommandDispatcher(CommandNode.literal("ranks").then(reloadCommand.createNode()), messageService);
+
+        // Setup sender mocks
         when(player.hasPermission("ranks.admin.reload")).thenReturn(true);
+        when(consoleSender.hasPermission("ranks.admin.reload")).thenReturn(true);
     }
 
     @Nested
     @DisplayName("Permission Tests")
     class PermissionTests {
         @Test
-        @DisplayName("onCommand returns true and sends no permission message for player without permission")
+        @DisplayName("dispatch returns true and sends no permission message for player without permission")
         void testOnCommandWithPlayerWithoutPermission() {
             // Arrange
             when(player.hasPermission("ranks.admin.reload")).thenReturn(false);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", emptyArgs);
+            boolean result = dispatcher.dispatch(player, emptyArgs);
 
             // Assert
             assertTrue(result, "Command should return true for player without permission");
@@ -70,13 +71,25 @@ class ReloadCommandTest {
         }
 
         @Test
-        @DisplayName("onCommand processes reload for player with permission")
+        @DisplayName("reload is only suggested to senders allowed to use it")
+        void testReloadTabCompletion() {
+            // Arrange
+            when(consoleSender.hasPermission("ranks.admin.reload")).thenReturn(false);
+
+            // Act & Assert
+            assertEquals(List.of("reload"), dispatcher.suggest(player, new String[]{"re"}));
+            assertEquals(List.of(), dispatcher.suggest(consoleSender, new String[]{"re"}));
+            assertEquals(List.of("full"), dispatcher.suggest(player, new String[]{"reload", ""}));
+        }
+
+        @Test
+        @DisplayName("dispatch processes reload for player with permission")
         void testOnCommandWithPlayerWithPermission() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(true);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", emptyArgs);
+            boolean result = dispatcher.dispatch(player, emptyArgs);
 
             // Assert
             assertTrue(result, "Command should return true for player with permission");
@@ -86,13 +99,13 @@ class ReloadCommandTest {
         }
 
         @Test
-        @DisplayName("onCommand processes reload for console sender")
+        @DisplayName("dispatch processes reload for console sender")
         void testOnCommandWithConsoleSender() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(true);
 
             // Act
-            boolean result = reloadCommand.onCommand(consoleSender, command, "reload", emptyArgs);
+            boolean result = dispatcher.dispatch(consoleSender, emptyArgs);
 
             // Assert
             assertTrue(result, "Command should return true for console sender");
@@ -106,13 +119,13 @@ class ReloadCommandTest {
     @DisplayName("Regular Reload Tests")
     class RegularReloadTests {
         @Test
-        @DisplayName("onCommand processes regular reload")
+        @DisplayName("dispatch processes regular reload")
         void testOnCommandWithRegularReload() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(true);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", emptyArgs);
+            boolean result = dispatcher.dispatch(player, emptyArgs);
 
             // Assert
             assertTrue(result, "Command should return true for regular reload");
@@ -123,13 +136,13 @@ class ReloadCommandTest {
         }
 
         @Test
-        @DisplayName("onCommand returns false when service container is not healthy")
+        @DisplayName("dispatch returns false when service container is not healthy")
         void testOnCommandWithUnhealthyServiceContainer() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(false);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", emptyArgs);
+            boolean result = dispatcher.dispatch(player, emptyArgs);
 
             // Assert
             assertFalse(result, "Command should return false when service container is not healthy");
@@ -143,13 +156,13 @@ class ReloadCommandTest {
     @DisplayName("Full Reload Tests")
     class FullReloadTests {
         @Test
-        @DisplayName("onCommand processes full reload")
+        @DisplayName("dispatch processes full reload")
         void testOnCommandWithFullReload() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(true);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", fullReloadArgs);
+            boolean result = dispatcher.dispatch(player, fullReloadArgs);
 
             // Assert
             assertTrue(result, "Command should return true for full reload");
@@ -161,13 +174,13 @@ class ReloadCommandTest {
         }
 
         @Test
-        @DisplayName("onCommand returns false when service container is not healthy after full reload")
+        @DisplayName("dispatch returns false when service container is not healthy after full reload")
         void testOnCommandWithUnhealthyServiceContainerAfterFullReload() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(false);
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", fullReloadArgs);
+            boolean result = dispatcher.dispatch(player, fullReloadArgs);
 
             // Assert
             assertFalse(result, "Command should return false when service container is not healthy after full reload");
@@ -179,14 +192,14 @@ class ReloadCommandTest {
         }
 
         @Test
-        @DisplayName("onCommand processes full reload with mixed case argument")
+        @DisplayName("dispatch processes full reload with mixed case argument")
         void testOnCommandWithMixedCaseFullReloadArg() {
             // Arrange
             when(serviceContainer.isHealthy()).thenReturn(true);
-            String[] mixedCaseArgs = new String[]{"FuLl"};
+            String[] mixedCaseArgs = new String[]{"reload", "FuLl"};
 
             // Act
-            boolean result = reloadCommand.onCommand(player, command, "reload", mixedCaseArgs);
+            boolean result = dispatcher.dispatch(player, mixedCaseArgs);
 
             // Assert
             assertTrue(result, "Command should return true for full reload with mixed case argument");
@@ -14,9 +14,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -163,12 +161,8 @@ class RequirementsCommandTest {
         @DisplayName("onTabComplete returns next ranks for player")
         void testOnTabCompleteWithPlayer() {
             // Arrange
-            Map<String, String> nextRanks = new HashMap<>();
-            nextRanks.put("rank1", "Rank 1");
-            nextRanks.put("rank2", "Rank 2");
-
-            when(ranksService.getCurrentRank(player)).thenReturn("current-rank");
-            when(ranksService.getNextRanks("current-rank")).thenReturn(nextRanks);
+            when(ranksService.getCachedRank(player)).thenReturn("current-rank");
+            when(ranksService.completeNextRanks("current-rank", "")).thenReturn(List.of("rank1", "rank2"));
 
             // Act
             // The RequirementsCommand.onTabComplete method only returns the next ranks if args.length == 1
@@ -179,8 +173,22 @@ class RequirementsCommandTest {
             assertEquals(2, result.size(), "Tab completion should return 2 next ranks");
             assertTrue(result.contains("rank1"), "Tab completion should include rank1");
             assertTrue(result.contains("rank2"), "Tab completion should include rank2");
-            verify(ranksService).getCurrentRank(player);
-            verify(ranksService).getNextRanks("current-rank");
+            verify(ranksService).getCachedRank(player);
+            verify(ranksService, never()).getCurrentRank(player);
+        }
+
+        @Test
+        @DisplayName("onTabComplete passes the typed prefix")
+        void testOnTabCompleteWithPrefix() {
+            // Arrange
+            when(ranksService.getCachedRank(player)).thenReturn("current-rank");
+            when(ranksService.completeNextRanks("current-rank", "Ra")).thenReturn(List.of("rank1"));
+
+            // Act
+            List<String> result = requirementsCommand.onTabComplete(player, command, "requirements", new String[]{"Ra"});
+
+            // Assert
+            assertEquals(List.of("rank1"), result);
         }
 
         @Test
@@ -188,49 +196,41 @@ class RequirementsCommandTest {
         void testOnTabCompleteWithInvalidArgsLength() {
             // Arrange
             String[] args = new String[]{"arg1", "arg2"};
-            Map<String, String> nextRanks = new HashMap<>();
-            nextRanks.put("rank1", "Rank 1");
-
-            when(ranksService.getCurrentRank(player)).thenReturn("current-rank");
-            when(ranksService.getNextRanks("current-rank")).thenReturn(nextRanks);
 
             // Act
             List<String> result = requirementsCommand.onTabComplete(player, command, "requirements", args);
 
             // Assert
             assertTrue(result.isEmpty(), "Tab completion should return empty list when args length is not 1");
-            verify(ranksService).getCurrentRank(player);
-            verify(ranksService).getNextRanks("current-rank");
+            verifyNoInteractions(ranksService);
         }
 
         @Test
         @DisplayName("onTabComplete handles empty next ranks")
         void testOnTabCompleteWithEmptyNextRanks() {
             // Arrange
-            when(ranksService.getCurrentRank(player)).thenReturn("current-rank");
-            when(ranksService.getNextRanks("current-rank")).thenReturn(Collections.emptyMap());
+            when(ranksService.getCachedRank(player)).thenReturn("current-rank");
+            when(ranksService.completeNextRanks("current-rank", "")).thenReturn(List.of());
 
             // Act
-            List<String> result = requirementsCommand.onTabComplete(player, command, "requirements", emptyArgs);
+            List<String> result = requirementsCommand.onTabComplete(player, command, "requirements", new String[]{""});
 
             // Assert
             assertTrue(result.isEmpty(), "Tab completion should return empty list when no next ranks are available");
-            verify(ranksService).getCurrentRank(player);
-            verify(ranksService).getNextRanks("current-rank");
         }
 
         @Test
         @DisplayName("onTabComplete handles exception")
         void testOnTabCompleteHandlesException() {
             // Arrange
-            when(ranksService.getCurrentRank(player)).thenThrow(new RuntimeException("Test exception"));
+            when(ranksService.getCachedRank(player)).thenThrow(new RuntimeException("Test exception"));
 
             // Act & Assert
             // Since the RequirementsCommand doesn't catch exceptions in onTabComplete, we expect the exception to be thrown
             assertThrows(RuntimeException.class, () -> {
-                requirementsCommand.onTabComplete(player, command, "requirements", emptyArgs);
+                requirementsCommand.onTabComplete(player, command, "requirements", new String[]{""});
             });
-            verify(ranksService).getCurrentRank(player);
+            verify(ranksService).getCachedRank(player);
         }
     }
 }
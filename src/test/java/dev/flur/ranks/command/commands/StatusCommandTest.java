@@ -0,0 +1,60 @@
+package dev.flur.ranks.command.commands;
+
+import dev.flur.ranks.command.tree.CommandDispatcher;
+import dev.flur.ranks.command.tree.CommandNode;
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.PlayerLockService;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatusCommandTest {
+
+    private PlayerLockService playerLockService;
+    private MessageService messageService;
+    private Player player;
+    private CommandDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        playerLockService = mock(PlayerLockService.class);
+        messageService = mock(MessageService.class);
+        player = mock(Player.class);
+        StatusCommand statusCommand = new StatusCommand(playerLockService, messageService);
+        dispatcher = new CommandDispatcher(CommandNode.literal("ranks").then(statusCommand.createNode()), messageService);
+    }
+
+    @Test
+    void testShowsLockContention() {
+        // Arrange
+        when(player.hasPermission("ranks.admin.status")).thenReturn(true);
+        when(playerLockService.getContendedCount()).thenReturn(7L);
+        when(playerLockService.getTimedOutCount()).thenReturn(2L);
+
+        // Act
+        boolean result = dispatcher.dispatch(player, new String[]{"status"});
+
+        // Assert
+        assertTrue(result);
+        verify(messageService).sendMessage(player, Messages.RANKS_STATUS_LOCKS, Map.of("contended", 7L, "timedOut", 2L));
+    }
+
+    @Test
+    void testRequiresPermission() {
+        // Arrange
+        when(player.hasPermission("ranks.admin.status")).thenReturn(false);
+
+        // Act
+        dispatcher.dispatch(player, new String[]{"status"});
+
+        // Assert
+        verify(messageService).sendMessage(player, Messages.NO_PERMISSION);
+        verifyNoInteractions(playerLockService);
+    }
+}
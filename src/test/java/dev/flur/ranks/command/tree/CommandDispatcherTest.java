@@ -0,0 +1,182 @@
+package dev.flur.ranks.command.tree;
+
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.service.MessageService;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommandDispatcherTest {
+
+    private MessageService messageService;
+    private CommandSender sender;
+    private List<CommandContext> executed;
+    private CommandDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        messageService = mock(MessageService.class);
+        sender = mock(CommandSender.class);
+        executed = new ArrayList<>();
+        CommandHandler recorder = (commandSender, context) -> executed.add(context);
+
+        CommandNode root = CommandNode.literal("test")
+                .executes(recorder)
+                .then(CommandNode.literal("give")
+                        .requires("test.give")
+                        .then(CommandNode.argument("amount", new IntegerParser())
+                                .executes(recorder)
+                                .then(CommandNode.greedyArgument("flags", ArgumentParsers.choice("--silent", "--force"))
+                                        .executes(recorder))))
+                .then(CommandNode.literal("info")
+                        .then(CommandNode.literal("brief").executes(recorder)));
+        dispatcher = new CommandDispatcher(root, messageService);
+    }
+
+    @Test
+    @DisplayName("dispatch runs the handler of the node the arguments lead to")
+    void testDispatchRunsHandler() {
+        // Arrange
+        when(sender.hasPermission("test.give")).thenReturn(true);
+
+        // Act
+        boolean result = dispatcher.dispatch(sender, new String[]{"GIVE", "5", "--force", "--SILENT"});
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1, executed.size());
+        assertEquals(5, (int) executed.get(0).get("amount"));
+        assertEquals(List.of("--force", "--silent"), executed.get(0).get("flags"));
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    @DisplayName("dispatch leaves arguments that were not given out of the context")
+    void testDispatchWithoutOptionalArguments() {
+        // Arrange
+        when(sender.hasPermission("test.give")).thenReturn(true);
+
+        // Act
+        dispatcher.dispatch(sender, new String[]{"give", "5"});
+
+        // Assert
+        CommandContext context = executed.get(0);
+        assertEquals(List.of(), context.getOrDefault("flags", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> context.get("flags"));
+    }
+
+    @Test
+    @DisplayName("dispatch refuses nodes the sender lacks the permission for")
+    void testDispatchChecksPermission() {
+        // Act
+        boolean result = dispatcher.dispatch(sender, new String[]{"give", "5"});
+
+        // Assert
+        assertTrue(result);
+        assertTrue(executed.isEmpty());
+        verify(messageService).sendMessage(sender, Messages.NO_PERMISSION);
+    }
+
+    @Test
+    @DisplayName("dispatch shows the usage of the last matched node when an argument does not parse")
+    void testDispatchShowsUsageOnParseFailure() {
+        // Arrange
+        when(sender.hasPermission("test.give")).thenReturn(true);
+
+        // Act
+        dispatcher.dispatch(sender, new String[]{"give", "five"});
+
+        // Assert
+        assertTrue(executed.isEmpty());
+        verify(messageService).sendMessage(sender, Messages.RANKS_USAGE,
+                Map.of("usage", "/test give <amount> [flags...]"));
+    }
+
+    @Test
+    @DisplayName("dispatch shows the usage when the command stops at a node without a handler")
+    void testDispatchShowsUsageWithoutHandler() {
+        // Act
+        dispatcher.dispatch(sender, new String[]{"info"});
+
+        // Assert
+        assertTrue(executed.isEmpty());
+        verify(messageService).sendMessage(sender, Messages.RANKS_USAGE, Map.of("usage", "/test info brief"));
+    }
+
+    @Test
+    @DisplayName("suggest only offers literals the sender may use")
+    void testSuggestFiltersByPermission() {
+        // Arrange
+        CommandSender admin = mock(CommandSender.class);
+        when(admin.hasPermission("test.give")).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(List.of("info"), dispatcher.suggest(sender, new String[]{""}));
+        assertEquals(List.of("give", "info"), dispatcher.suggest(admin, new String[]{""}));
+        assertEquals(List.of("give"), dispatcher.suggest(admin, new String[]{"G"}));
+    }
+
+    @Test
+    @DisplayName("suggest completes arguments and greedy arguments")
+    void testSuggestArguments() {
+        // Arrange
+        when(sender.hasPermission("test.give")).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(List.of("1", "10"), dispatcher.suggest(sender, new String[]{"give", "1"}));
+        assertEquals(List.of("--silent"), dispatcher.suggest(sender, new String[]{"give", "5", "--force", "--s"}));
+        assertEquals(List.of(), dispatcher.suggest(sender, new String[]{"give", "five", ""}));
+    }
+
+    @Test
+    @DisplayName("nodes cannot be changed once compiled")
+    void testCompiledNodesAreFrozen() {
+        // Arrange
+        CommandNode root = CommandNode.literal("frozen");
+        new CommandDispatcher(root, messageService);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> root.then(CommandNode.literal("late")));
+    }
+
+    @Test
+    @DisplayName("conflicting children are rejected")
+    void testConflictingChildrenAreRejected() {
+        // Arrange
+        CommandNode node = CommandNode.literal("node")
+                .then(CommandNode.literal("same"))
+                .then(CommandNode.argument("value", new IntegerParser()));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> node.then(CommandNode.literal("SAME")));
+        assertThrows(IllegalArgumentException.class, () -> node.then(CommandNode.argument("other", new IntegerParser())));
+        assertThrows(IllegalArgumentException.class, () -> CommandNode.greedyArgument("rest", new IntegerParser())
+                .then(CommandNode.literal("after")));
+    }
+
+    private static final class IntegerParser implements ArgumentParser<Integer> {
+
+        @Override
+        public Integer parse(CommandSender sender, String input) {
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public List<String> suggest(CommandSender sender, String prefix) {
+            return List.of("1", "10", "5").stream().filter(value -> value.startsWith(prefix)).toList();
+        }
+    }
+}
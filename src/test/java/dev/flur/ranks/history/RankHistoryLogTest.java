@@ -0,0 +1,116 @@
+package dev.flur.ranks.history;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RankHistoryLogTest {
+
+    @TempDir
+    File directory;
+
+    private Logger logger;
+    private UUID playerId;
+    private UUID otherPlayerId;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        playerId = UUID.randomUUID();
+        otherPlayerId = UUID.randomUUID();
+    }
+
+    @Test
+    void testAppendAndRead() throws IOException {
+        // Arrange
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 1024 * 1024, logger)) {
+            log.append(entry(playerId, "member", "vip", 1L));
+            log.append(entry(otherPlayerId, "member", "vip", 2L));
+            log.append(entry(playerId, "vip", "mvp", 3L));
+
+            // Act
+            List<RankHistoryEntry> history = log.read(playerId);
+
+            // Assert
+            assertEquals(List.of(entry(playerId, "member", "vip", 1L), entry(playerId, "vip", "mvp", 3L)), history);
+            assertTrue(log.read(UUID.randomUUID()).isEmpty());
+        }
+    }
+
+    @Test
+    void testReopenRebuildsIndex() throws IOException {
+        // Arrange
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 1024 * 1024, logger)) {
+            log.append(entry(playerId, "member", "vip", 1L));
+            log.sync();
+        }
+
+        // Act
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 1024 * 1024, logger)) {
+            log.append(entry(playerId, "vip", "mvp", 2L));
+
+            // Assert
+            assertEquals(2, log.read(playerId).size());
+            assertEquals("mvp", log.read(playerId).get(1).toRank());
+        }
+    }
+
+    @Test
+    void testRotatesSegments() throws IOException {
+        // Arrange
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 64, logger)) {
+            // Act
+            for (int i = 0; i < 10; i++) {
+                log.append(entry(i % 2 == 0 ? playerId : otherPlayerId, "rank" + i, "rank" + (i + 1), i));
+            }
+
+            // Assert
+            assertTrue(log.getSegmentCount() > 1);
+            assertEquals(5, log.read(playerId).size());
+            assertEquals(5, log.read(otherPlayerId).size());
+        }
+
+        try (RankHistoryLog reopened = RankHistoryLog.open(directory, 64, logger)) {
+            assertEquals(5, reopened.read(playerId).size());
+        }
+    }
+
+    @Test
+    void testTruncatesTornRecord() throws IOException {
+        // Arrange
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 1024 * 1024, logger)) {
+            log.append(entry(playerId, "member", "vip", 1L));
+            log.append(entry(playerId, "vip", "mvp", 2L));
+        }
+        File segment = directory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        // Act
+        try (RankHistoryLog log = RankHistoryLog.open(directory, 1024 * 1024, logger)) {
+            log.append(entry(playerId, "vip", "legend", 3L));
+
+            // Assert
+            List<RankHistoryEntry> history = log.read(playerId);
+            assertEquals(2, history.size());
+            assertEquals("vip", history.get(0).toRank());
+            assertEquals("legend", history.get(1).toRank());
+        }
+        verify(logger).warning(contains("Truncating torn rank history record"));
+    }
+
+    private static RankHistoryEntry entry(UUID playerId, String from, String to, long timestamp) {
+        return new RankHistoryEntry(playerId, "TestPlayer", from, to, timestamp);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.flur.ranks.rankup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RankNameIndexTest {
+
+    @Test
+    void testResolveIgnoresCase() {
+        // Arrange
+        RankNameIndex index = RankNameIndex.of(List.of("Knight", "squire"), Map.of(), mock(Logger.class));
+
+        // Act & Assert
+        assertEquals("Knight", index.resolve("knight"));
+        assertEquals("Knight", index.resolve("KNIGHT"));
+        assertEquals("squire", index.resolve("Squire"));
+        assertNull(index.resolve("baron"));
+    }
+
+    @Test
+    void testResolveAliases() {
+        // Arrange
+        RankNameIndex index = RankNameIndex.of(List.of("third"), Map.of("third", List.of("3rd", "Bronze")),
+                mock(Logger.class));
+
+        // Act & Assert
+        assertEquals("third", index.resolve("3RD"));
+        assertEquals("third", index.resolve("bronze"));
+    }
+
+    @Test
+    void testNamesTakePrecedenceOverAliases() {
+        // Arrange
+        Logger logger = mock(Logger.class);
+
+        // Act
+        RankNameIndex index = RankNameIndex.of(List.of("knight", "squire"), Map.of("squire", List.of("Knight")), logger);
+
+        // Assert
+        assertEquals("knight", index.resolve("knight"));
+        verify(logger).warning(contains("Alias 'Knight' of rank 'squire'"));
+    }
+
+    @Test
+    void testManyRanksResolve() {
+        // Arrange
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            names.add("Rank" + i);
+        }
+
+        // Act
+        RankNameIndex index = RankNameIndex.of(names, Map.of(), mock(Logger.class));
+
+        // Assert
+        for (int i = 0; i < 500; i++) {
+            assertEquals("Rank" + i, index.resolve("rank" + i));
+        }
+        assertNull(index.resolve("rank500"));
+    }
+
+    @Test
+    void testEmptyResolvesNothing() {
+        // Act & Assert
+        assertNull(RankNameIndex.EMPTY.resolve("knight"));
+        assertNull(RankNameIndex.of(List.of(), Map.of(), mock(Logger.class)).resolve(""));
+    }
+}
@@ -0,0 +1,65 @@
+package dev.flur.ranks.rankup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankNameTrieTest {
+
+    @Test
+    void testCompleteIgnoresCase() {
+        // Arrange
+        RankNameTrie trie = RankNameTrie.of(List.of("Knight", "king", "Squire"));
+
+        // Act
+        List<String> completions = trie.complete("KI");
+
+        // Assert
+        assertEquals(List.of("king", "Knight"), completions);
+    }
+
+    @Test
+    void testEmptyPrefixCompletesEverythingSorted() {
+        // Arrange
+        RankNameTrie trie = RankNameTrie.of(List.of("squire", "Knight", "baron"));
+
+        // Act & Assert
+        assertEquals(List.of("baron", "Knight", "squire"), trie.complete(""));
+    }
+
+    @Test
+    void testUnknownPrefixCompletesNothing() {
+        // Arrange
+        RankNameTrie trie = RankNameTrie.of(List.of("knight"));
+
+        // Act & Assert
+        assertTrue(trie.complete("knights").isEmpty());
+        assertTrue(trie.complete("x").isEmpty());
+        assertTrue(RankNameTrie.EMPTY.complete("").isEmpty());
+    }
+
+    @Test
+    void testNamesEqualIgnoringCaseAreKeptOnce() {
+        // Arrange
+        RankNameTrie trie = RankNameTrie.of(List.of("Knight", "knight"));
+
+        // Act & Assert
+        assertEquals(List.of("Knight"), trie.complete("k"));
+    }
+
+    @Test
+    void testCompletionsAreShared() {
+        // Arrange
+        RankNameTrie trie = RankNameTrie.of(List.of("knight", "king"));
+
+        // Act
+        List<String> first = trie.complete("kn");
+        List<String> second = trie.complete("KN");
+
+        // Assert
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add("baron"));
+    }
+}
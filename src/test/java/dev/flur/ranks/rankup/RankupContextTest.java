@@ -0,0 +1,112 @@
+package dev.flur.ranks.rankup;
+
+import dev.flur.ranks.requirement.Requirement;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RankupContextTest {
+
+    private Player player;
+    private Requirement requirement1;
+    private Requirement requirement2;
+
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        requirement1 = mock(Requirement.class);
+        requirement2 = mock(Requirement.class);
+    }
+
+    @Test
+    void testConstructor() {
+        // Arrange
+        List<Requirement> requirements = new ArrayList<>(List.of(requirement1, requirement2));
+
+        // Act
+        RankupContext context = new RankupContext(player, "member", "vip", requirements);
+        requirements.clear();
+
+        // Assert
+        assertSame(player, context.getPlayer());
+        assertEquals("member", context.getCurrentRank());
+        assertEquals("vip", context.getTargetRank());
+        assertEquals(List.of(requirement1, requirement2), context.getRequirements());
+        assertThrows(UnsupportedOperationException.class, () -> context.getRequirements().add(requirement1));
+    }
+
+    @Test
+    void testRecordResult() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement2));
+
+        // Act
+        context.recordResult(requirement1, true);
+
+        // Assert
+        assertEquals(Boolean.TRUE, context.getResult(requirement1));
+        assertNull(context.getResult(requirement2));
+        assertFalse(context.isFullyEvaluated());
+        assertFalse(context.isAllMet());
+    }
+
+    @Test
+    void testIsAllMet() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement2));
+
+        // Act
+        context.recordResult(requirement1, true);
+        context.recordResult(requirement2, true);
+
+        // Assert
+        assertTrue(context.isFullyEvaluated());
+        assertTrue(context.isAllMet());
+    }
+
+    @Test
+    void testIsAllMet_NoRequirements() {
+        // Act
+        RankupContext context = new RankupContext(player, "member", "vip", List.of());
+
+        // Assert
+        assertTrue(context.isFullyEvaluated());
+        assertTrue(context.isAllMet());
+    }
+
+    @Test
+    void testGetRecordedUnmetRequirements_KeepsConfiguredOrder() {
+        // Arrange
+        Requirement requirement3 = mock(Requirement.class);
+        RankupContext context = new RankupContext(player, "member", "vip",
+                List.of(requirement1, requirement2, requirement3));
+
+        // Act
+        context.recordResult(requirement3, false);
+        context.recordResult(requirement1, false);
+        context.recordResult(requirement2, true);
+
+        // Assert
+        assertEquals(List.of(requirement1, requirement3), context.getRecordedUnmetRequirements());
+        assertFalse(context.isAllMet());
+    }
+
+    @Test
+    void testDuplicateRequirementCountedOnce() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement1));
+
+        // Act
+        context.recordResult(requirement1, true);
+
+        // Assert
+        assertTrue(context.isFullyEvaluated());
+        assertTrue(context.isAllMet());
+    }
+}
@@ -0,0 +1,423 @@
+package dev.flur.ranks.rankup;
+
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.composite.ThresholdRequirement;
+import dev.flur.ranks.result.RankupOutcome;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.PlayerLockService;
+import dev.flur.ranks.service.services.DefaultPlayerLockService;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RankupTransactionTest {
+
+    private PermissionService permissionService;
+    private Logger logger;
+    private Player player;
+    private Requirement requirement1;
+    private Requirement requirement2;
+    private RankupTransaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        permissionService = mock(PermissionService.class);
+        logger = mock(Logger.class);
+        player = mock(Player.class);
+        requirement1 = mockRequirement();
+        requirement2 = mockRequirement();
+
+        when(player.getName()).thenReturn("TestPlayer");
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(permissionService.getPrimaryGroup(player)).thenReturn("member");
+
+        transaction = new RankupTransaction(permissionService, new DefaultPlayerLockService(), Runnable::run, logger);
+    }
+
+    /**
+     * Mocks a requirement whose take goes through its tryConsume, as a plain requirement's does.
+     */
+    @NotNull
+    private static Requirement mockRequirement() {
+        Requirement requirement = mock(Requirement.class);
+        when(requirement.take(any(), any())).thenCallRealMethod();
+        when(requirement.takeAsync(any(), any(), any())).thenCallRealMethod();
+        return requirement;
+    }
+
+    @Test
+    void testExecuteAsync_LockNotAcquired() {
+        // Arrange
+        PlayerLockService lockService = mock(PlayerLockService.class);
+        when(lockService.tryLock(any(UUID.class), anyLong(), any(TimeUnit.class))).thenReturn(false);
+        RankupTransaction lockedTransaction = new RankupTransaction(permissionService, lockService, Runnable::run, logger);
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+
+        // Act
+        Result<RankupOutcome> result = lockedTransaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(result.getErrorMessage().contains("in progress"));
+        verify(lockService, never()).unlock(any());
+        verify(requirement1, never()).tryConsumeAsync(any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_ReleasesLockAfterFailure() {
+        // Arrange
+        PlayerLockService lockService = mock(PlayerLockService.class);
+        when(lockService.tryLock(any(UUID.class), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(requirement1.tryConsumeAsync(eq(player), any(UUID.class))).thenThrow(new RuntimeException("Test exception"));
+        RankupTransaction lockedTransaction = new RankupTransaction(permissionService, lockService, Runnable::run, logger);
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+
+        // Act
+        Result<RankupOutcome> result = lockedTransaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        verify(lockService).unlock(player.getUniqueId());
+    }
+
+    @Test
+    void testExecuteAsync_RankChanged() {
+        // Arrange
+        when(permissionService.getPrimaryGroup(player)).thenReturn("vip");
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(result.getErrorMessage().contains("changed from member to vip"));
+        verify(requirement1, never()).tryConsumeAsync(any(), any());
+        verify(permissionService, never()).setGroupAsync(any(), any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_ConsumeFails_RefundsInReverseOrder() {
+        // Arrange
+        Requirement requirement3 = mockRequirement();
+        RankupContext context = new RankupContext(player, "member", "vip",
+                List.of(requirement1, requirement2, requirement3));
+        for (Requirement requirement : List.of(requirement1, requirement2)) {
+            when(requirement.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+            when(requirement.refundAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+        }
+        when(requirement3.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        InOrder inOrder = inOrder(requirement1, requirement2);
+        inOrder.verify(requirement2).refundAsync(player, context.getIdempotencyKey(1));
+        inOrder.verify(requirement1).refundAsync(player, context.getIdempotencyKey(0));
+        verify(requirement3, never()).refundAsync(any(), any());
+        verify(permissionService, never()).setGroupAsync(any(), any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_ExceptionHandling() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+        when(requirement1.tryConsumeAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirement1.refundAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(permissionService.setGroupAsync(player, "member", "vip")).thenThrow(new RuntimeException("Test exception"));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(result.getErrorMessage().contains("Test exception"));
+        verify(requirement1).refundAsync(player, context.getIdempotencyKey(0));
+        verify(logger).severe(contains("Error in rankup of player TestPlayer to rank vip"));
+    }
+
+    @Test
+    void testExecuteAsync_CommitsRankAfterSettlement() {
+        // Arrange
+        CompletableFuture<Boolean> settlement = new CompletableFuture<>();
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+        when(requirement1.tryConsumeAsync(player, context.getIdempotencyKey(0))).thenReturn(settlement);
+        when(permissionService.setGroupAsync(player, "member", "vip")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        CompletableFuture<Result<RankupOutcome>> result = transaction.executeAsync(context);
+
+        // Assert
+        assertFalse(result.isDone());
+        verify(permissionService, never()).setGroupAsync(any(), any(), any());
+
+        settlement.complete(true);
+        assertTrue(result.join().isSuccess());
+        verify(permissionService).setGroupAsync(player, "member", "vip");
+    }
+
+    @Test
+    void testExecuteAsync_GroupChangeFails_RestoresRankAndRefunds() {
+        // Arrange
+        CompletableFuture<Boolean> moved = new CompletableFuture<>();
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+        when(requirement1.tryConsumeAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirement1.refundAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(permissionService.setGroupAsync(player, "member", "vip")).thenReturn(moved);
+
+        // Act
+        CompletableFuture<Result<RankupOutcome>> result = transaction.executeAsync(context);
+
+        // Assert
+        assertFalse(result.isDone());
+        verify(requirement1, never()).refundAsync(any(), any());
+
+        moved.complete(false);
+        assertTrue(result.join().isFailure());
+        verify(permissionService).addToGroup(player, "member");
+        verify(requirement1).refundAsync(player, context.getIdempotencyKey(0));
+    }
+
+    @Test
+    void testExecuteAsync_SettlementRefused_RefundsEarlierRequirements() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement2));
+        when(requirement1.tryConsumeAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirement2.tryConsumeAsync(player, context.getIdempotencyKey(1)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(requirement1.refundAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        verify(requirement1).refundAsync(player, context.getIdempotencyKey(0));
+        verify(requirement2, never()).refundAsync(any(), any());
+        verify(permissionService, never()).setGroupAsync(any(), any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_GroupSettlesItsChildrenAndRefundsThem() {
+        // Arrange
+        Requirement requirement3 = mockRequirement();
+        when(requirement1.meetsRequirement(player)).thenReturn(true);
+        when(requirement1.tryConsumeAsync(eq(player), any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirement1.refundAsync(eq(player), any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirement3.tryConsumeAsync(eq(player), any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        ThresholdRequirement group = new ThresholdRequirement(1, List.of(requirement1, requirement2));
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(group, requirement3));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        verify(requirement1, never()).tryConsume(player);
+        verify(requirement1).refundAsync(eq(player), argThat(key -> !key.equals(context.getIdempotencyKey(0))));
+        verify(requirement2, never()).tryConsumeAsync(any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_SettlementFailsExceptionally() {
+        // Arrange
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+        when(requirement1.tryConsumeAsync(player, context.getIdempotencyKey(0)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Economy offline")));
+
+        // Act
+        Result<RankupOutcome> result = transaction.executeAsync(context).join();
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(result.getErrorMessage().contains("Economy offline"));
+        verify(permissionService, never()).setGroupAsync(any(), any(), any());
+    }
+
+    @Test
+    void testExecuteAsync_HoldsLockUntilSettled() {
+        // Arrange
+        CompletableFuture<Boolean> settlement = new CompletableFuture<>();
+        RankupContext first = new RankupContext(player, "member", "vip", List.of(requirement1));
+        when(requirement1.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(settlement);
+        when(permissionService.setGroupAsync(player, "member", "vip")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        CompletableFuture<Result<RankupOutcome>> firstResult = transaction.executeAsync(first);
+        Result<RankupOutcome> secondResult = transaction.executeAsync(
+                new RankupContext(player, "member", "vip", List.of(requirement1))).join();
+        settlement.complete(true);
+
+        // Assert
+        assertTrue(secondResult.isFailure());
+        assertTrue(secondResult.getErrorMessage().contains("in progress"));
+        assertTrue(firstResult.join().isSuccess());
+        verify(requirement1, times(1)).tryConsumeAsync(eq(player), any(UUID.class));
+    }
+
+    @Test
+    void testExecuteAsync_ConcurrentRankupsDoNotDoubleSpend() throws Exception {
+        // Arrange
+        int threads = 16;
+        int attemptsPerThread = 50;
+        InMemoryPermissionService permissions = new InMemoryPermissionService("member");
+        RacyBalanceRequirement balance = new RacyBalanceRequirement(100, 100);
+        RankupTransaction concurrentTransaction = new RankupTransaction(permissions,
+                new DefaultPlayerLockService(), Runnable::run, logger);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    // Every attempt was validated against the same starting rank
+                    RankupContext context = new RankupContext(player, "member", "vip", List.of(balance));
+                    if (concurrentTransaction.executeAsync(context).join().isSuccess()) {
+                        successes.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, successes.get());
+        assertEquals(0, balance.balance);
+        assertEquals("vip", permissions.group);
+    }
+
+    /**
+     * Keeps a single player's group and deliberately does no synchronization of its own.
+     */
+    private static class InMemoryPermissionService implements PermissionService {
+        String group;
+
+        InMemoryPermissionService(String group) {
+            this.group = group;
+        }
+
+        @Override
+        public boolean hasPermission(@NotNull Player player, @NotNull String permission) {
+            return false;
+        }
+
+        @Override
+        public String getPrimaryGroup(@NotNull Player player) {
+            return group;
+        }
+
+        @Override
+        public boolean addToGroup(@NotNull Player player, @NotNull String groupName) {
+            group = groupName;
+            return true;
+        }
+
+        @Override
+        public boolean removeFromGroup(@NotNull Player player, @NotNull String groupName) {
+            Thread.yield();
+            group = "";
+            return true;
+        }
+
+        @Override
+        public boolean groupExists(@NotNull String groupName) {
+            return true;
+        }
+
+        @Override
+        @NotNull
+        public Set<String> getGroups() {
+            return Set.of();
+        }
+
+        @Override
+        public void refreshGroups() {
+        }
+
+        @Override
+        @NotNull
+        public CompletableFuture<Boolean> setGroupOffline(@NotNull OfflinePlayer player, @NotNull String fromGroup, @NotNull String toGroup) {
+            group = toGroup;
+            return CompletableFuture.completedFuture(true);
+        }
+    }
+
+    /**
+     * Checks then takes in two steps, the way a plain economy call would without the lock.
+     */
+    private static class RacyBalanceRequirement implements Requirement {
+        private final int cost;
+        int balance;
+
+        RacyBalanceRequirement(int balance, int cost) {
+            this.balance = balance;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean meetsRequirement(@NotNull Player player) {
+            return balance >= cost;
+        }
+
+        @Override
+        public void consume(@NotNull Player player) {
+            balance -= cost;
+        }
+
+        @Override
+        public boolean tryConsume(@NotNull Player player) {
+            if (balance < cost) {
+                return false;
+            }
+            Thread.yield();
+            balance -= cost;
+            return true;
+        }
+
+        @Override
+        public void refund(@NotNull Player player) {
+            balance += cost;
+        }
+    }
+}
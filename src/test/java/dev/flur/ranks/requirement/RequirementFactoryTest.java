@@ -1,12 +1,17 @@
 package dev.flur.ranks.requirement;
 
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.composite.NotRequirement;
+import dev.flur.ranks.requirement.composite.ThresholdRequirement;
 import dev.flur.ranks.requirement.records.RequirementRecord;
 import dev.flur.ranks.service.services.DefaultRequirementRegistry;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.logging.Logger;
 
@@ -41,6 +46,21 @@ class RequirementFactoryTest {
         }
     }
 
+    @RequirementAnnotation(
+            name = "slow-requirement",
+            cost = RequirementCost.EXTERNAL_IO
+    )
+    public static class SlowRequirement extends AnnotatedRequirement {
+        public SlowRequirement(String[] params) {
+            super(params);
+        }
+
+        @Override
+        public boolean meetsRequirement(Player player) {
+            return false;
+        }
+    }
+
     @BeforeEach
     void setUp() {
         // Create mocks
@@ -49,6 +69,7 @@ class RequirementFactoryTest {
 
         // Register the test requirement
         registry.registerRequirement(TestRequirement.class);
+        registry.registerRequirement(SlowRequirement.class);
 
         // Create the factory
         factory = new RequirementFactory(registry);
@@ -135,4 +156,125 @@ class RequirementFactoryTest {
         // Assert
         assertNull(name);
     }
+
+    @Test
+    void testCompile_IdenticalRequirementsAreShared() {
+        // Act
+        Requirement first = factory.compile("test-requirement 100");
+        Requirement second = factory.compile("  TEST-REQUIREMENT   100 ");
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, factory.compile("test-requirement 200"));
+    }
+
+    @Test
+    void testCompile_ParametersKeepTheirCase() {
+        // Act
+        Requirement upper = factory.compile("test-requirement M 1");
+        Requirement lower = factory.compile("test-requirement m 1");
+
+        // Assert
+        assertNotSame(upper, lower);
+    }
+
+    @Test
+    void testCompile_OrdersChildrenByCost() {
+        // Act
+        Requirement requirement = factory.compile(Map.of("any-of", List.of("slow-requirement 1", "test-requirement 1")));
+
+        // Assert
+        ThresholdRequirement group = assertInstanceOf(ThresholdRequirement.class, requirement);
+        assertTrue(group.isAnyOf());
+        assertInstanceOf(TestRequirement.class, group.getChildren().get(0));
+        assertInstanceOf(SlowRequirement.class, group.getChildren().get(1));
+        assertEquals("any-of", factory.getRequirementName(group));
+    }
+
+    @Test
+    void testCompile_FlattensAndMergesGroups() {
+        // Arrange
+        Object nested = Map.of("all-of", List.of(
+                "test-requirement 1",
+                Map.of("all-of", List.of("test-requirement 2", "test-requirement 1"))));
+
+        // Act
+        Requirement requirement = factory.compile(nested);
+
+        // Assert
+        ThresholdRequirement group = assertInstanceOf(ThresholdRequirement.class, requirement);
+        assertTrue(group.isAllOf());
+        assertEquals(2, group.getChildren().size());
+    }
+
+    @Test
+    void testCompile_GroupsInAnyOrderAreShared() {
+        // Act
+        Requirement first = factory.compile(Map.of("any-of", List.of("test-requirement 1", "test-requirement 2")));
+        Requirement second = factory.compile(Map.of("any-of", List.of("test-requirement 2", "test-requirement 1")));
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void testCompile_SingleChildGroupIsTheChild() {
+        // Act
+        Requirement requirement = factory.compile(Map.of("any-of", List.of("test-requirement 1", "test-requirement 1")));
+
+        // Assert
+        assertSame(factory.compile("test-requirement 1"), requirement);
+    }
+
+    @Test
+    void testCompile_DoubleNegationCancelsOut() {
+        // Act
+        Requirement not = factory.compile(Map.of("not", "test-requirement 1"));
+        Requirement notNot = factory.compile(Map.of("not", Map.of("not", "test-requirement 1")));
+
+        // Assert
+        assertInstanceOf(NotRequirement.class, not);
+        assertSame(factory.compile("test-requirement 1"), notNot);
+    }
+
+    @Test
+    void testCompile_AtLeast() {
+        // Act
+        Requirement requirement = factory.compile(Map.of(
+                "at-least", 2,
+                "of", List.of("test-requirement 1", "test-requirement 2", "test-requirement 3")));
+
+        // Assert
+        ThresholdRequirement group = assertInstanceOf(ThresholdRequirement.class, requirement);
+        assertEquals(2, group.getMinimum());
+        assertEquals("at-least", group.getName());
+    }
+
+    @Test
+    void testCompile_InvalidExpressions() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> factory.compile(Map.of("at-least", 3, "of", List.of("test-requirement 1", "test-requirement 2"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> factory.compile(Map.of("at-least", 2, "of", List.of("test-requirement 1"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> factory.compile(Map.of("at-least", 0, "of", List.of("test-requirement 1", "test-requirement 2"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> factory.compile(Map.of("at-least", "-1", "of", List.of("test-requirement 1", "test-requirement 2"))));
+        assertThrows(IllegalArgumentException.class, () -> factory.compile(Map.of("some-of", List.of("test-requirement 1"))));
+        assertThrows(IllegalArgumentException.class, () -> factory.compile(Map.of("all-of", List.of())));
+        assertThrows(IllegalArgumentException.class, () -> factory.compile(42));
+    }
+
+    @Test
+    void testClearCompiled() {
+        // Arrange
+        Requirement before = factory.compile("test-requirement 1");
+
+        // Act
+        factory.clearCompiled();
+
+        // Assert
+        assertNotSame(before, factory.compile("test-requirement 1"));
+    }
 }
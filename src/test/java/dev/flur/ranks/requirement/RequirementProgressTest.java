@@ -0,0 +1,56 @@
+package dev.flur.ranks.requirement;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequirementProgressTest {
+
+    @Test
+    void testPartialProgress() {
+        // Arrange
+        RequirementProgress progress = new RequirementProgress(1_500, 2_000);
+
+        // Act & Assert
+        assertFalse(progress.isMet());
+        assertEquals(0.75, progress.fraction());
+        assertEquals(75, progress.percent());
+    }
+
+    @Test
+    void testPercentOnlyReachesHundredWhenMet() {
+        // Arrange
+        RequirementProgress almost = new RequirementProgress(1_999.9, 2_000);
+        RequirementProgress beyond = new RequirementProgress(5_000, 2_000);
+
+        // Act & Assert
+        assertEquals(99, almost.percent());
+        assertTrue(beyond.isMet());
+        assertEquals(1.0, beyond.fraction());
+        assertEquals(100, beyond.percent());
+    }
+
+    @Test
+    void testZeroRequiredIsAlwaysMet() {
+        // Arrange
+        RequirementProgress progress = new RequirementProgress(0, 0);
+
+        // Act & Assert
+        assertTrue(progress.isMet());
+        assertEquals(100, progress.percent());
+    }
+
+    @Test
+    void testOf() {
+        // Act & Assert
+        assertEquals(100, RequirementProgress.of(true).percent());
+        assertEquals(0, RequirementProgress.of(false).percent());
+    }
+
+    @Test
+    void testRejectsNegativeRequired() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RequirementProgress(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> new RequirementProgress(0, Double.NaN));
+    }
+}
@@ -11,7 +11,9 @@ class RequirementAnnotationTest {
             name = "test-requirement",
             minimum = 2,
             maximum = 5,
-            usage = "Format: param1 param2 [param3] amount"
+            usage = "Format: param1 param2 [param3] amount",
+            cost = RequirementCost.EXTERNAL_IO,
+            threadAffinity = ThreadAffinity.ANY_THREAD
     )
     private static class TestRequirement extends AnnotatedRequirement {
         public TestRequirement(String[] params) {
@@ -49,6 +51,8 @@ class RequirementAnnotationTest {
         assertEquals(2, annotation.minimum());
         assertEquals(5, annotation.maximum());
         assertEquals("Format: param1 param2 [param3] amount", annotation.usage());
+        assertEquals(RequirementCost.EXTERNAL_IO, annotation.cost());
+        assertEquals(ThreadAffinity.ANY_THREAD, annotation.threadAffinity());
     }
 
     @Test
@@ -62,6 +66,8 @@ class RequirementAnnotationTest {
         assertEquals(1, annotation.minimum()); // Default value
         assertEquals(Integer.MAX_VALUE, annotation.maximum()); // Default value
         assertEquals("", annotation.usage()); // Default value
+        assertEquals(RequirementCost.STATISTIC, annotation.cost()); // Default value
+        assertEquals(ThreadAffinity.MAIN_THREAD, annotation.threadAffinity()); // Default value
     }
 
     @Test
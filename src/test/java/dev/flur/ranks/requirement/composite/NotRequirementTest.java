@@ -0,0 +1,55 @@
+package dev.flur.ranks.requirement.composite;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotRequirementTest {
+
+    @Test
+    void testMetWhileChildIsNot() {
+        // Arrange
+        Player player = mock(Player.class);
+        Requirement child = mock(Requirement.class);
+        when(child.meetsRequirement(player)).thenReturn(false);
+        NotRequirement requirement = new NotRequirement(child);
+
+        // Act & Assert
+        assertTrue(requirement.meetsRequirement(player));
+    }
+
+    @Test
+    void testProgressIsMetOrNot() {
+        // Arrange
+        PlayerStatistics statistics = mock(PlayerStatistics.class);
+        Requirement child = mock(Requirement.class);
+        when(child.getProgress(statistics)).thenReturn(new RequirementProgress(3, 4));
+        NotRequirement requirement = new NotRequirement(child);
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(statistics);
+
+        // Assert
+        assertEquals(100, progress.percent());
+    }
+
+    @Test
+    void testConsumesNothing() {
+        // Arrange
+        Player player = mock(Player.class);
+        Requirement child = mock(Requirement.class);
+        NotRequirement requirement = new NotRequirement(child);
+
+        // Act
+        requirement.tryConsume(player);
+
+        // Assert
+        verify(child, never()).consume(player);
+        verify(child, never()).tryConsume(player);
+    }
+}
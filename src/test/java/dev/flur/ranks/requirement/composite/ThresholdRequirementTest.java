@@ -0,0 +1,214 @@
+package dev.flur.ranks.requirement.composite;
+
+import dev.flur.ranks.requirement.Consumption;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ThresholdRequirementTest {
+
+    private Player player;
+    private Requirement first;
+    private Requirement second;
+    private Requirement third;
+
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        first = mockRequirement();
+        second = mockRequirement();
+        third = mockRequirement();
+    }
+
+    /**
+     * Mocks a requirement whose take goes through its tryConsume, as a plain requirement's does.
+     */
+    @NotNull
+    private static Requirement mockRequirement() {
+        Requirement requirement = mock(Requirement.class);
+        when(requirement.take(any(), any())).thenCallRealMethod();
+        when(requirement.takeAsync(any(), any(), any())).thenCallRealMethod();
+        return requirement;
+    }
+
+    @Test
+    void testAnyOfStopsAtFirstMetChild() {
+        // Arrange
+        when(first.meetsRequirement(player)).thenReturn(true);
+        ThresholdRequirement requirement = new ThresholdRequirement(1, List.of(first, second));
+
+        // Act
+        boolean met = requirement.meetsRequirement(player);
+
+        // Assert
+        assertTrue(met);
+        verify(second, never()).meetsRequirement(any(Player.class));
+    }
+
+    @Test
+    void testAllOfStopsAtFirstUnmetChild() {
+        // Arrange
+        when(first.meetsRequirement(player)).thenReturn(false);
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second));
+
+        // Act
+        boolean met = requirement.meetsRequirement(player);
+
+        // Assert
+        assertFalse(met);
+        verify(second, never()).meetsRequirement(any(Player.class));
+    }
+
+    @Test
+    void testAtLeastStopsOnceItCanNoLongerBeMet() {
+        // Arrange
+        when(first.meetsRequirement(player)).thenReturn(false);
+        when(second.meetsRequirement(player)).thenReturn(false);
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second, third));
+
+        // Act
+        boolean met = requirement.meetsRequirement(player);
+
+        // Assert
+        assertFalse(met);
+        verify(third, never()).meetsRequirement(any(Player.class));
+    }
+
+    @Test
+    void testProgressCountsClosestChildren() {
+        // Arrange
+        PlayerStatistics statistics = mock(PlayerStatistics.class);
+        when(first.getProgress(statistics)).thenReturn(new RequirementProgress(1, 4));
+        when(second.getProgress(statistics)).thenReturn(new RequirementProgress(1, 2));
+        when(third.getProgress(statistics)).thenReturn(RequirementProgress.of(true));
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second, third));
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(statistics);
+
+        // Assert
+        assertEquals(1.5, progress.current());
+        assertEquals(2, progress.required());
+        assertEquals(75, progress.percent());
+    }
+
+    @Test
+    void testTakeTakesFromMetChildrenOnly() {
+        // Arrange
+        when(first.meetsRequirement(player)).thenReturn(false);
+        when(second.meetsRequirement(player)).thenReturn(true);
+        when(second.tryConsume(player)).thenReturn(true);
+        ThresholdRequirement requirement = new ThresholdRequirement(1, List.of(first, second, third));
+
+        // Act
+        List<Consumption> taken = requirement.take(player, UUID.randomUUID());
+
+        // Assert
+        assertNotNull(taken);
+        assertEquals(List.of(second), taken.stream().map(Consumption::requirement).toList());
+        verify(first, never()).tryConsume(player);
+        verify(third, never()).tryConsume(player);
+    }
+
+    @Test
+    void testTakeRefundsWhenAChildFails() {
+        // Arrange
+        when(first.tryConsume(player)).thenReturn(true);
+        when(second.tryConsume(player)).thenReturn(false);
+        ThresholdRequirement requirement = new ThresholdRequirement(3, List.of(first, second, third));
+
+        // Act
+        List<Consumption> taken = requirement.take(player, UUID.randomUUID());
+
+        // Assert
+        assertNull(taken);
+        verify(first).refund(player);
+        verify(third, never()).tryConsume(player);
+    }
+
+    @Test
+    void testTakeLeavesNoStateOnTheGroup() {
+        // Arrange
+        Player other = mock(Player.class);
+        when(first.tryConsume(any(Player.class))).thenReturn(true);
+        when(second.tryConsume(any(Player.class))).thenReturn(true);
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second));
+
+        // Act
+        List<Consumption> taken = requirement.take(player, UUID.randomUUID());
+        requirement.take(other, UUID.randomUUID());
+        Consumption.refundAll(player, taken);
+
+        // Assert
+        verify(first).refund(player);
+        verify(second).refund(player);
+        verify(first, never()).refund(other);
+    }
+
+    @Test
+    void testTakeAsyncSettlesEachChildWithItsOwnKey() {
+        // Arrange
+        UUID key = UUID.randomUUID();
+        when(first.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+        when(second.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second));
+
+        // Act
+        List<Consumption> taken = requirement.takeAsync(player, key, Runnable::run).join();
+
+        // Assert
+        assertNotNull(taken);
+        assertEquals(List.of(first, second), taken.stream().map(Consumption::requirement).toList());
+        assertNotEquals(key, taken.get(0).idempotencyKey());
+        assertNotEquals(taken.get(0).idempotencyKey(), taken.get(1).idempotencyKey());
+        verify(first, never()).tryConsume(player);
+        assertEquals(taken, requirement.takeAsync(player, key, Runnable::run).join());
+    }
+
+    @Test
+    void testTakeAsyncRefundsWhenAChildIsRefused() {
+        // Arrange
+        when(first.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+        when(first.refundAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(true));
+        when(second.tryConsumeAsync(eq(player), any(UUID.class))).thenReturn(CompletableFuture.completedFuture(false));
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second));
+
+        // Act
+        List<Consumption> taken = requirement.takeAsync(player, UUID.randomUUID(), Runnable::run).join();
+
+        // Assert
+        assertNull(taken);
+        verify(first).refundAsync(eq(player), any(UUID.class));
+        verify(first, never()).refund(player);
+    }
+
+    @Test
+    void testConsumeFailsWhenTheGroupIsNoLongerMet() {
+        // Arrange
+        when(first.tryConsume(player)).thenReturn(true);
+        when(second.tryConsume(player)).thenReturn(false);
+        ThresholdRequirement requirement = new ThresholdRequirement(2, List.of(first, second));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> requirement.consume(player));
+        verify(first).refund(player);
+    }
+
+    @Test
+    void testRejectsUnreachableMinimum() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ThresholdRequirement(0, List.of(first)));
+        assertThrows(IllegalArgumentException.class, () -> new ThresholdRequirement(2, List.of(first)));
+    }
+}
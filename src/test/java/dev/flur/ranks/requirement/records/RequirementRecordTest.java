@@ -1,8 +1,13 @@
 package dev.flur.ranks.requirement.records;
 
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +42,35 @@ class RequirementRecordTest {
         assertEquals(name, record.name());
         assertSame(constructor, record.constructor());
         assertSame(requirementClass, record.requirementClass());
+        assertEquals(RequirementCost.STATISTIC, record.cost());
+        assertEquals(ThreadAffinity.MAIN_THREAD, record.threadAffinity());
+        assertEquals(Set.of(), record.inputs());
+    }
+
+    @Test
+    void testConstructorWithInputs() {
+        // Arrange
+        Set<RequirementInput> inputs = new HashSet<>(Set.of(RequirementInput.STATISTIC));
+
+        // Act
+        RequirementRecord record = new RequirementRecord("test-requirement", constructor, requirementClass,
+                RequirementCost.STATISTIC, ThreadAffinity.MAIN_THREAD, inputs);
+        inputs.add(RequirementInput.LEVEL);
+
+        // Assert
+        assertEquals(Set.of(RequirementInput.STATISTIC), record.inputs());
+    }
+
+    @Test
+    void testConstructorWithCostModel() {
+        // Act
+        RequirementRecord record = new RequirementRecord("test-requirement", constructor, requirementClass,
+                RequirementCost.EXTERNAL_IO, ThreadAffinity.ANY_THREAD);
+
+        // Assert
+        assertEquals(RequirementCost.EXTERNAL_IO, record.cost());
+        assertEquals(ThreadAffinity.ANY_THREAD, record.threadAffinity());
+        assertEquals(new RequirementRecord("test-requirement", constructor, requirementClass), record);
     }
 
     @Test
@@ -74,5 +108,9 @@ class RequirementRecordTest {
         assertThrows(IllegalArgumentException.class, () -> new RequirementRecord(null, constructor, requirementClass));
         assertThrows(IllegalArgumentException.class, () -> new RequirementRecord("test", null, requirementClass));
         assertThrows(IllegalArgumentException.class, () -> new RequirementRecord("test", constructor, null));
+        assertThrows(IllegalArgumentException.class, () -> new RequirementRecord("test", constructor, requirementClass,
+                null, ThreadAffinity.MAIN_THREAD));
+        assertThrows(IllegalArgumentException.class, () -> new RequirementRecord("test", constructor, requirementClass,
+                RequirementCost.STATISTIC, null));
     }
 }
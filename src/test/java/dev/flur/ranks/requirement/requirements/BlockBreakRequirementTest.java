@@ -1,5 +1,7 @@
 package dev.flur.ranks.requirement.requirements;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
 import org.bukkit.Material;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
@@ -151,4 +153,22 @@ class BlockBreakRequirementTest {
         assertTrue(result.contains("DIRT"));
         assertTrue(result.contains("block-break"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetProgress_CountsEachBlockUpToAmount() {
+        // Arrange
+        String[] params = {"STONE", "DIRT", "100"};
+        BlockBreakRequirement requirement = new BlockBreakRequirement(params);
+        when(mockPlayer.getStatistic(Statistic.MINE_BLOCK, Material.STONE)).thenReturn(150);
+        when(mockPlayer.getStatistic(Statistic.MINE_BLOCK, Material.DIRT)).thenReturn(50);
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(PlayerStatistics.live(mockPlayer));
+
+        // Assert
+        assertEquals(150.0, progress.current());
+        assertEquals(200.0, progress.required());
+        assertFalse(progress.isMet());
+        assertEquals(75, progress.percent());
+    }
+}
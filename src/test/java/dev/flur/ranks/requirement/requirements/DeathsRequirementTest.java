@@ -1,5 +1,7 @@
 package dev.flur.ranks.requirement.requirements;
 
+import dev.flur.ranks.requirement.StatisticsSnapshot;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -127,4 +132,30 @@ class DeathsRequirementTest {
         assertTrue(result.contains("100"));
         assertTrue(result.contains("deaths"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMeetsRequirement_FromSnapshot() {
+        // Arrange
+        DeathsRequirement requirement = new DeathsRequirement(new String[]{"10"});
+        OfflinePlayer offlinePlayer = mock(OfflinePlayer.class);
+
+        // Act & Assert
+        assertTrue(requirement.meetsRequirement(new StatisticsSnapshot(offlinePlayer,
+                Map.of(StatisticsSnapshot.key(Statistic.DEATHS), 12.0))));
+        assertFalse(requirement.meetsRequirement(new StatisticsSnapshot(offlinePlayer, Map.of())));
+    }
+
+    @Test
+    void testCaptureStatistics() {
+        // Arrange
+        DeathsRequirement requirement = new DeathsRequirement(new String[]{"10"});
+        when(mockPlayer.getStatistic(Statistic.DEATHS)).thenReturn(7);
+        Map<String, Double> snapshot = new HashMap<>();
+
+        // Act
+        requirement.captureStatistics(mockPlayer, snapshot);
+
+        // Assert
+        assertEquals(Map.of(StatisticsSnapshot.key(Statistic.DEATHS), 7.0), snapshot);
+    }
+}
@@ -1,61 +1,56 @@
 package dev.flur.ranks.requirement.requirements;
 
-import dev.flur.ranks.vault.VaultProvider;
-import net.milkbowl.vault.economy.Economy;
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.requirement.RequirementServices;
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.SettlementService;
 import org.bukkit.entity.Player;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class MoneyRequirementTest {
 
     private Player mockPlayer;
-    private Economy mockEconomy;
-    private VaultProvider mockVaultProvider;
+    private EconomyService economyService;
+    private SettlementService settlementService;
+    private RequirementServices services;
 
     @BeforeEach
     void setUp() {
         // Create mocks
         mockPlayer = mock(Player.class);
-        mockEconomy = mock(Economy.class);
-        mockVaultProvider = mock(VaultProvider.class);
-
-        // Set up mock behavior
-        when(mockVaultProvider.getEconomy()).thenReturn(mockEconomy);
-
-        // Use the static setter method instead of mocking Ranks.getPlugin
-        MoneyRequirement.setTestVaultProvider(mockVaultProvider);
-    }
-
-    @AfterEach
-    void tearDown() {
-        // Clean up by resetting the test provider
-        MoneyRequirement.setTestVaultProvider(null);
+        economyService = mock(EconomyService.class);
+        settlementService = mock(SettlementService.class);
+        services = new RequirementServices(economyService, settlementService);
     }
 
     @Test
     void testConstructor_ValidAmount() {
         // Arrange
         String[] params = {"100.5"};
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(100.5); // Exact amount
+        when(economyService.getBalance(mockPlayer)).thenReturn(100.5); // Exact amount
 
         // Act
-        MoneyRequirement requirement = new MoneyRequirement(params);
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
 
         // Assert - Verify indirectly through meetsRequirement
         assertTrue(requirement.meetsRequirement(mockPlayer));
 
         // Also verify with slightly more money
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(101.0);
+        when(economyService.getBalance(mockPlayer)).thenReturn(101.0);
         assertTrue(requirement.meetsRequirement(mockPlayer));
 
         // And verify with slightly less money
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(100.4);
+        when(economyService.getBalance(mockPlayer)).thenReturn(100.4);
         assertFalse(requirement.meetsRequirement(mockPlayer));
     }
 
@@ -66,7 +61,7 @@ class MoneyRequirementTest {
         String[] params = {invalidAmount};
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params));
+        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params, services));
     }
 
     @Test
@@ -75,7 +70,7 @@ class MoneyRequirementTest {
         String[] params = {"param1", "100"};
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params));
+        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params, services));
     }
 
     @Test
@@ -84,59 +79,120 @@ class MoneyRequirementTest {
         String[] params = {};
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params));
+        assertThrows(IllegalArgumentException.class, () -> new MoneyRequirement(params, services));
     }
 
     @Test
     void testMeetsRequirement_EnoughMoney() {
         // Arrange
         String[] params = {"100"};
-        MoneyRequirement requirement = new MoneyRequirement(params);
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(150.0);
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
+        when(economyService.getBalance(mockPlayer)).thenReturn(150.0);
 
         // Act
         boolean result = requirement.meetsRequirement(mockPlayer);
 
         // Assert
         assertTrue(result);
-        verify(mockEconomy).getBalance(mockPlayer);
+        verify(economyService).getBalance(mockPlayer);
     }
 
     @Test
     void testMeetsRequirement_NotEnoughMoney() {
         // Arrange
         String[] params = {"100"};
-        MoneyRequirement requirement = new MoneyRequirement(params);
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(50.0);
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
+        when(economyService.getBalance(mockPlayer)).thenReturn(50.0);
 
         // Act
         boolean result = requirement.meetsRequirement(mockPlayer);
 
         // Assert
         assertFalse(result);
-        verify(mockEconomy).getBalance(mockPlayer);
+        verify(economyService).getBalance(mockPlayer);
     }
 
     @Test
     void testMeetsRequirement_ExactAmount() {
         // Arrange
         String[] params = {"100"};
-        MoneyRequirement requirement = new MoneyRequirement(params);
-        when(mockEconomy.getBalance(mockPlayer)).thenReturn(100.0);
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
+        when(economyService.getBalance(mockPlayer)).thenReturn(100.0);
 
         // Act
         boolean result = requirement.meetsRequirement(mockPlayer);
 
         // Assert
         assertTrue(result);
-        verify(mockEconomy).getBalance(mockPlayer);
+        verify(economyService).getBalance(mockPlayer);
+    }
+
+    @Test
+    void testTryConsume_WithdrawSucceeds() {
+        // Arrange
+        MoneyRequirement requirement = new MoneyRequirement(new String[]{"100"}, services);
+        when(economyService.withdraw(mockPlayer, 100.0)).thenReturn(true);
+
+        // Act
+        boolean result = requirement.tryConsume(mockPlayer);
+
+        // Assert
+        assertTrue(result);
+        verify(economyService).withdraw(mockPlayer, 100.0);
+        verify(economyService, never()).getBalance(mockPlayer);
+    }
+
+    @Test
+    void testTryConsume_WithdrawFails() {
+        // Arrange
+        MoneyRequirement requirement = new MoneyRequirement(new String[]{"100"}, services);
+        when(economyService.withdraw(mockPlayer, 100.0)).thenReturn(false);
+
+        // Act
+        boolean result = requirement.tryConsume(mockPlayer);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void testRefund() {
+        // Arrange
+        MoneyRequirement requirement = new MoneyRequirement(new String[]{"100"}, services);
+
+        // Act
+        requirement.refund(mockPlayer);
+
+        // Assert
+        verify(economyService).deposit(mockPlayer, 100.0);
+    }
+
+    @Test
+    void testTryConsumeAsync_UsesSettlementService() {
+        // Arrange
+        MoneyRequirement requirement = new MoneyRequirement(new String[]{"100"}, services);
+        UUID key = UUID.randomUUID();
+        CompletableFuture<Boolean> settlement = new CompletableFuture<>();
+        when(settlementService.withdraw(key, mockPlayer, 100.0)).thenReturn(settlement);
+        when(settlementService.deposit(any(UUID.class), eq(mockPlayer), eq(100.0)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        CompletableFuture<Boolean> consumed = requirement.tryConsumeAsync(mockPlayer, key);
+        CompletableFuture<Boolean> refunded = requirement.refundAsync(mockPlayer, key);
+
+        // Assert
+        assertSame(settlement, consumed);
+        assertTrue(refunded.join());
+        verify(settlementService).deposit(argThat(refundKey -> !refundKey.equals(key)), eq(mockPlayer), eq(100.0));
+        verifyNoInteractions(economyService);
     }
 
     @Test
     void testToString() {
         // Arrange
         String[] params = {"100"};
-        MoneyRequirement requirement = new MoneyRequirement(params);
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
 
         // Act
         String result = requirement.toString();
@@ -145,4 +201,21 @@ class MoneyRequirementTest {
         assertTrue(result.contains("100"));
         assertTrue(result.contains("money"));
     }
+
+    @Test
+    void testGetProgress_ReadsBalanceOnce() {
+        // Arrange
+        String[] params = {"200"};
+        MoneyRequirement requirement = new MoneyRequirement(params, services);
+        when(economyService.getBalance(mockPlayer)).thenReturn(50.0);
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(PlayerStatistics.live(mockPlayer));
+
+        // Assert
+        assertEquals(50.0, progress.current());
+        assertEquals(200.0, progress.required());
+        assertEquals(25, progress.percent());
+        verify(economyService, times(1)).getBalance(mockPlayer);
+    }
 }
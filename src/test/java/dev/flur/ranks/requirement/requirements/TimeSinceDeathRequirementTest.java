@@ -1,5 +1,7 @@
 package dev.flur.ranks.requirement.requirements;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
 import org.bukkit.Statistic;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
@@ -168,4 +170,20 @@ class TimeSinceDeathRequirementTest {
         // Assert
         assertTrue(result.contains("time-since-death"));
     }
+
+    @Test
+    void testGetProgress() {
+        // Arrange
+        String[] params = {"m10"};
+        TimeSinceDeathRequirement requirement = new TimeSinceDeathRequirement(params);
+        when(mockPlayer.getStatistic(Statistic.TIME_SINCE_DEATH)).thenReturn(3_000);
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(PlayerStatistics.live(mockPlayer));
+
+        // Assert
+        assertEquals(3_000.0, progress.current());
+        assertEquals(12_000.0, progress.required());
+        assertFalse(progress.isMet());
+    }
 }
@@ -1,5 +1,7 @@
 package dev.flur.ranks.requirement.requirements;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.RequirementProgress;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -139,4 +141,21 @@ class XpLevelRequirementTest {
         assertTrue(result.contains("30"));
         assertTrue(result.contains("xp-level"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetProgress() {
+        // Arrange
+        String[] params = {"30"};
+        XpLevelRequirement requirement = new XpLevelRequirement(params);
+        when(mockPlayer.getLevel()).thenReturn(12);
+
+        // Act
+        RequirementProgress progress = requirement.getProgress(PlayerStatistics.live(mockPlayer));
+
+        // Assert
+        assertEquals(12.0, progress.current());
+        assertEquals(30.0, progress.required());
+        assertEquals(40, progress.percent());
+        verify(mockPlayer, times(1)).getLevel();
+    }
+}
@@ -7,14 +7,18 @@ import net.milkbowl.vault.permission.Permission;
 import org.bukkit.Server;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.PluginManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.File;
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,6 +59,9 @@ class ServiceContainerTest {
     @Mock
     private PluginDescriptionFile pluginDescriptionFile;
 
+    @TempDir
+    File dataFolder;
+
     private ServiceContainer serviceContainer;
 
     @Mock
@@ -87,6 +94,7 @@ class ServiceContainerTest {
         when(plugin.getVaultProvider()).thenReturn(vaultProvider);
         when(plugin.getLogger()).thenReturn(logger);
         when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
 
         // Setup vault provider mock
         when(vaultProvider.getPermissions()).thenReturn(permission);
@@ -144,6 +152,27 @@ class ServiceContainerTest {
         verify(logger).info("Service container stopped");
     }
 
+    @Test
+    void testStopSavesSnapshotsOfOnlinePlayers() {
+        // Replace the statistics service with a mock using reflection
+        PlayerStatisticsService statisticsService = mock(PlayerStatisticsService.class);
+        try {
+            Field statisticsField = ServiceContainer.class.getDeclaredField("playerStatisticsService");
+            statisticsField.setAccessible(true);
+            statisticsField.set(serviceContainer, statisticsService);
+        } catch (Exception e) {
+            fail("Failed to set statistics service mock: " + e.getMessage());
+        }
+        Player player = mock(Player.class);
+        doReturn(List.of(player)).when(server).getOnlinePlayers();
+
+        // Call stop method
+        serviceContainer.stop();
+
+        // Verify that the online player's statistics were saved
+        verify(statisticsService).saveSnapshot(player);
+    }
+
 
     @Test
     void testIsHealthy() {
@@ -202,6 +231,16 @@ class ServiceContainerTest {
         assertNotNull(serviceContainer.getConfigurationService());
         assertNotNull(serviceContainer.getMessageService());
         assertNotNull(serviceContainer.getPermissionService());
+        assertNotNull(serviceContainer.getEconomyService());
+        assertNotNull(serviceContainer.getSettlementService());
+        assertNotNull(serviceContainer.getRankHistoryService());
+        assertNotNull(serviceContainer.getRankStorage());
+        assertNotNull(serviceContainer.getLeaderboardService());
+        assertNotNull(serviceContainer.getPlayerStatisticsService());
+        assertNotNull(serviceContainer.getBulkRankService());
+        assertNotNull(serviceContainer.getPlayerLockService());
+        assertNotNull(serviceContainer.getRateLimitService());
+        assertNotNull(serviceContainer.getProgressDisplayService());
         assertNotNull(serviceContainer.getRequirementRegistry());
         assertNotNull(serviceContainer.getRanksService());
         assertNotNull(serviceContainer.getRequirementValidator());
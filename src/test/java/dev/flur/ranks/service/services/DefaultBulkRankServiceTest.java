@@ -0,0 +1,379 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.result.BulkProgress;
+import dev.flur.ranks.result.Result;
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.LeaderboardService;
+import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.PlayerStatisticsService;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.service.RequirementValidator;
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DefaultBulkRankServiceTest {
+
+    private LeaderboardService leaderboardService;
+    private PermissionService permissionService;
+    private RankStorage rankStorage;
+    private RanksService ranksService;
+    private PlayerStatisticsService statisticsService;
+    private RequirementValidator requirementValidator;
+    private EconomyService economyService;
+    private DefaultPlayerLockService lockService;
+    private Map<UUID, OfflinePlayer> players;
+    private List<Runnable> scheduledTicks;
+    private DefaultBulkRankService bulkRankService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = mock(LeaderboardService.class);
+        permissionService = mock(PermissionService.class);
+        rankStorage = mock(RankStorage.class);
+        ranksService = mock(RanksService.class);
+        statisticsService = mock(PlayerStatisticsService.class);
+        requirementValidator = mock(RequirementValidator.class);
+        economyService = mock(EconomyService.class);
+        lockService = new DefaultPlayerLockService();
+        players = new HashMap<>();
+        scheduledTicks = new ArrayList<>();
+        when(permissionService.groupExists("vip")).thenReturn(true);
+        when(permissionService.getGroupMembers("member")).thenReturn(CompletableFuture.completedFuture(Set.of()));
+        when(permissionService.setGroupOffline(any(), eq("member"), eq("vip")))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        Executor nextTick = scheduledTicks::add;
+        bulkRankService = new DefaultBulkRankService(leaderboardService, permissionService, rankStorage, ranksService,
+                statisticsService, requirementValidator, economyService, lockService, 0L, players::get, nextTick, Runnable::run, 2,
+                mock(Logger.class));
+    }
+
+    @Test
+    void testChangeRankMovesPlayersOneChunkPerTick() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(5);
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        int ticks = runTicks();
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(3, ticks);
+        BulkProgress progress = result.getValue().join();
+        assertEquals(5, progress.total());
+        assertEquals(5, progress.processed());
+        assertEquals(5, progress.changed());
+        assertTrue(progress.finished());
+        for (PlayerRankRecord member : members) {
+            verify(permissionService).setGroupOffline(players.get(member.playerId()), "member", "vip");
+        }
+        verify(rankStorage, times(5)).saveRank(argThat(record -> record.rank().equals("vip")));
+        verify(leaderboardService, times(5)).update(argThat(record -> record.rank().equals("vip")));
+        verify(ranksService, times(5)).invalidateCachedRank(any());
+        assertEquals(0, lockService.getLockCount());
+        assertFalse(bulkRankService.isRunning());
+    }
+
+    @Test
+    void testMembersListedByThePermissionPluginAreMoved() {
+        // Arrange
+        List<PlayerRankRecord> recorded = addMembers(1);
+        UUID listedId = UUID.randomUUID();
+        OfflinePlayer listed = mock(OfflinePlayer.class);
+        when(listed.getUniqueId()).thenReturn(listedId);
+        when(listed.getName()).thenReturn("Listed");
+        players.put(listedId, listed);
+        when(permissionService.getGroupMembers("member"))
+                .thenReturn(CompletableFuture.completedFuture(Set.of(recorded.get(0).playerId(), listedId)));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        BulkProgress progress = result.getValue().join();
+        assertEquals(2, progress.total());
+        assertEquals(2, progress.changed());
+        verify(permissionService).setGroupOffline(listed, "member", "vip");
+        verify(rankStorage).saveRank(argThat(record -> record.playerId().equals(listedId)
+                && record.playerName().equals("Listed")));
+    }
+
+    @Test
+    void testRecordedPlayersAreMovedWhenMembersCannotBeListed() {
+        // Arrange
+        addMembers(2);
+        when(permissionService.getGroupMembers("member"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Storage offline")));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        assertEquals(2, result.getValue().join().changed());
+    }
+
+    @Test
+    void testDryRunChangesNothing() {
+        // Arrange
+        addMembers(3);
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, true, progress -> { });
+        runTicks();
+
+        // Assert
+        assertEquals(3, result.getValue().join().changed());
+        verify(permissionService, never()).setGroupOffline(any(), anyString(), anyString());
+        verify(rankStorage, never()).saveRank(any());
+    }
+
+    @Test
+    void testCheckRequirementsSkipsPlayersNotMeetingThem() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(2);
+        PlayerStatistics eligible = mock(PlayerStatistics.class);
+        PlayerStatistics ineligible = mock(PlayerStatistics.class);
+        when(statisticsService.getStatistics(players.get(members.get(0).playerId())))
+                .thenReturn(CompletableFuture.completedFuture(eligible));
+        when(statisticsService.getStatistics(players.get(members.get(1).playerId())))
+                .thenReturn(CompletableFuture.completedFuture(ineligible));
+        List<Requirement> requirements = List.of(mock(Requirement.class));
+        when(ranksService.getNextRanks("member")).thenReturn(Map.of("vip", "vip"));
+        when(ranksService.getRequirements("member", "vip")).thenReturn(requirements);
+        when(requirementValidator.meetsAllRequirements(eq(eligible), eq(requirements), any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(requirementValidator.meetsAllRequirements(eq(ineligible), eq(requirements), any()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", true, false, progress -> { });
+        runTicks();
+
+        // Assert
+        BulkProgress progress = result.getValue().join();
+        assertEquals(1, progress.changed());
+        assertEquals(1, progress.skipped());
+        verify(permissionService).setGroupOffline(players.get(members.get(0).playerId()), "member", "vip");
+        verify(permissionService, never()).setGroupOffline(eq(players.get(members.get(1).playerId())), anyString(), anyString());
+        verify(economyService, never()).prefetchBalances(any());
+    }
+
+    @Test
+    void testCheckRequirementsPrefetchesBalancesPerChunk() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(3);
+        List<Requirement> requirements = List.of(mock(Requirement.class));
+        when(ranksService.getNextRanks("member")).thenReturn(Map.of("vip", "vip"));
+        when(ranksService.getRequirements("member", "vip")).thenReturn(requirements);
+        when(requirementValidator.readsInput(requirements, RequirementInput.BALANCE)).thenReturn(true);
+        when(economyService.prefetchBalances(any())).thenReturn(CompletableFuture.completedFuture(null));
+        PlayerStatistics statistics = mock(PlayerStatistics.class);
+        when(statisticsService.getStatistics(any())).thenReturn(CompletableFuture.completedFuture(statistics));
+        when(requirementValidator.meetsAllRequirements(eq(statistics), eq(requirements), any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", true, false, progress -> { });
+        runTicks();
+
+        // Assert
+        assertEquals(3, result.getValue().join().changed());
+        InOrder inOrder = inOrder(economyService, requirementValidator);
+        inOrder.verify(economyService).prefetchBalances(List.of(
+                players.get(members.get(0).playerId()), players.get(members.get(1).playerId())));
+        inOrder.verify(requirementValidator, times(2)).meetsAllRequirements(eq(statistics), eq(requirements), any());
+        inOrder.verify(economyService).prefetchBalances(List.of(players.get(members.get(2).playerId())));
+    }
+
+    @Test
+    void testCheckRequirementsRefusesRankThatIsNotNext() {
+        // Arrange
+        addMembers(1);
+        when(ranksService.getNextRanks("member")).thenReturn(Map.of("elite", "elite"));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", true, false, progress -> { });
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(scheduledTicks.isEmpty());
+    }
+
+    @Test
+    void testFailedWritesAreCountedAndNotSaved() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(2);
+        when(permissionService.setGroupOffline(players.get(members.get(1).playerId()), "member", "vip"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Backend down")));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        BulkProgress progress = result.getValue().join();
+        assertEquals(1, progress.changed());
+        assertEquals(1, progress.failed());
+        assertEquals(2, progress.processed());
+        verify(rankStorage, times(1)).saveRank(any());
+    }
+
+    @Test
+    void testPlayersThatLeftTheRankAreSkipped() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(1);
+        PlayerRankRecord rankedUp = new PlayerRankRecord(members.get(0).playerId(), "Player0", "elite", 5L);
+        when(leaderboardService.getPlayer(rankedUp.playerId())).thenReturn(Optional.of(rankedUp));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        assertEquals(1, result.getValue().join().skipped());
+        verify(permissionService, never()).setGroupOffline(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testOnlinePlayersAreCheckedAgainstTheirGroup() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(1);
+        Player online = mock(Player.class);
+        when(players.get(members.get(0).playerId()).getPlayer()).thenReturn(online);
+        when(permissionService.getPrimaryGroup(online)).thenReturn("elite");
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        assertEquals(1, result.getValue().join().skipped());
+        verify(permissionService, never()).setGroupOffline(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testPlayersRankingUpAreNotMoved() {
+        // Arrange
+        List<PlayerRankRecord> members = addMembers(2);
+        UUID rankingUp = members.get(0).playerId();
+        assertTrue(lockService.tryLock(rankingUp, 0L, TimeUnit.MILLISECONDS));
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        BulkProgress progress = result.getValue().join();
+        assertEquals(1, progress.changed());
+        assertEquals(1, progress.failed());
+        verify(permissionService, never()).setGroupOffline(eq(players.get(rankingUp)), anyString(), anyString());
+        lockService.unlock(rankingUp);
+        assertEquals(0, lockService.getLockCount());
+    }
+
+    @Test
+    void testOnlyOneChangeRunsAtATime() {
+        // Arrange
+        addMembers(1);
+
+        // Act
+        Result<CompletableFuture<BulkProgress>> first =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        Result<CompletableFuture<BulkProgress>> second =
+                bulkRankService.changeRank("member", "vip", false, false, progress -> { });
+        runTicks();
+
+        // Assert
+        assertTrue(first.isSuccess());
+        assertTrue(second.isFailure());
+        assertFalse(bulkRankService.isRunning());
+    }
+
+    @Test
+    void testChangeRankRefusesUnknownTargetRank() {
+        // Act
+        Result<CompletableFuture<BulkProgress>> result =
+                bulkRankService.changeRank("member", "legend", false, false, progress -> { });
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertTrue(scheduledTicks.isEmpty());
+    }
+
+    @Test
+    void testFinalProgressIsReported() {
+        // Arrange
+        addMembers(1);
+        List<BulkProgress> reported = new ArrayList<>();
+
+        // Act
+        bulkRankService.changeRank("member", "vip", false, false, reported::add);
+        runTicks();
+
+        // Assert
+        assertEquals(1, reported.size());
+        assertTrue(reported.get(0).finished());
+    }
+
+    private List<PlayerRankRecord> addMembers(int count) {
+        List<PlayerRankRecord> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID playerId = UUID.randomUUID();
+            PlayerRankRecord record = new PlayerRankRecord(playerId, "Player" + i, "member", i);
+            OfflinePlayer player = mock(OfflinePlayer.class);
+            when(player.getUniqueId()).thenReturn(playerId);
+            players.put(playerId, player);
+            when(leaderboardService.getPlayer(playerId)).thenReturn(Optional.of(record));
+            members.add(record);
+        }
+        when(leaderboardService.getTopPlayers("member", Integer.MAX_VALUE)).thenReturn(members);
+        return members;
+    }
+
+    private int runTicks() {
+        int ticks = 0;
+        while (!scheduledTicks.isEmpty()) {
+            scheduledTicks.remove(0).run();
+            ticks++;
+        }
+        return ticks;
+    }
+}
@@ -0,0 +1,199 @@
+package dev.flur.ranks.service.services;
+
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultEconomyServiceTest {
+
+    private Economy economy;
+    private Logger logger;
+    private OfflinePlayer player;
+    private AtomicLong clock;
+    private DefaultEconomyService economyService;
+
+    @BeforeEach
+    void setUp() {
+        // Create mocks
+        economy = mock(Economy.class);
+        logger = mock(Logger.class);
+        player = mock(OfflinePlayer.class);
+        clock = new AtomicLong();
+
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("TestPlayer");
+
+        economyService = new DefaultEconomyService(economy, Runnable::run, 1_000L, clock::get, logger);
+    }
+
+    @Test
+    void testGetBalance_CachedWithinTtl() {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(100.0, 50.0);
+
+        // Test
+        double first = economyService.getBalance(player);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        double second = economyService.getBalance(player);
+
+        // Verify
+        assertEquals(100.0, first);
+        assertEquals(100.0, second);
+        verify(economy, times(1)).getBalance(player);
+    }
+
+    @Test
+    void testGetBalance_ReloadedAfterTtl() {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(100.0, 50.0);
+
+        // Test
+        economyService.getBalance(player);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        double second = economyService.getBalance(player);
+
+        // Verify
+        assertEquals(50.0, second);
+        verify(economy, times(2)).getBalance(player);
+    }
+
+    @Test
+    void testWithdraw_InvalidatesCache() {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(100.0, 40.0);
+        when(economy.has(player, 60.0)).thenReturn(true);
+        when(economy.withdrawPlayer(player, 60.0))
+                .thenReturn(new EconomyResponse(60.0, 40.0, EconomyResponse.ResponseType.SUCCESS, null));
+        economyService.getBalance(player);
+
+        // Test
+        boolean withdrawn = economyService.withdraw(player, 60.0);
+        double balance = economyService.getBalance(player);
+
+        // Verify
+        assertTrue(withdrawn);
+        assertEquals(40.0, balance);
+        verify(economy, times(2)).getBalance(player);
+    }
+
+    @Test
+    void testWithdraw_Refused() {
+        // Setup
+        when(economy.has(player, 60.0)).thenReturn(true);
+        when(economy.withdrawPlayer(player, 60.0))
+                .thenReturn(new EconomyResponse(0.0, 10.0, EconomyResponse.ResponseType.FAILURE, "Insufficient funds"));
+
+        // Test
+        boolean withdrawn = economyService.withdraw(player, 60.0);
+
+        // Verify
+        assertFalse(withdrawn);
+    }
+
+    @Test
+    void testWithdraw_RefusedWhenBalanceDoesNotCoverIt() {
+        // Setup
+        when(economy.has(player, 60.0)).thenReturn(false);
+
+        // Test
+        boolean withdrawn = economyService.withdraw(player, 60.0);
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(economy, never()).withdrawPlayer(any(OfflinePlayer.class), anyDouble());
+    }
+
+    @Test
+    void testWithdraw_ExceptionHandling() {
+        // Setup
+        when(economy.has(player, 60.0)).thenReturn(true);
+        when(economy.withdrawPlayer(player, 60.0)).thenThrow(new RuntimeException("Test exception"));
+
+        // Test
+        boolean withdrawn = economyService.withdraw(player, 60.0);
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(logger).severe(contains("Error withdrawing"));
+    }
+
+    @Test
+    void testDeposit_InvalidatesCache() {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(100.0, 160.0);
+        when(economy.depositPlayer(player, 60.0))
+                .thenReturn(new EconomyResponse(60.0, 160.0, EconomyResponse.ResponseType.SUCCESS, null));
+        economyService.getBalance(player);
+
+        // Test
+        boolean deposited = economyService.deposit(player, 60.0);
+
+        // Verify
+        assertTrue(deposited);
+        assertEquals(160.0, economyService.getBalance(player));
+    }
+
+    @Test
+    void testPrefetchBalances() {
+        // Setup
+        OfflinePlayer other = mock(OfflinePlayer.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(economy.getBalance(player)).thenReturn(100.0);
+        when(economy.getBalance(other)).thenReturn(200.0);
+
+        // Test
+        economyService.prefetchBalances(List.of(player, other)).join();
+
+        // Verify
+        assertEquals(100.0, economyService.getBalance(player));
+        assertEquals(200.0, economyService.getBalance(other));
+        verify(economy, times(1)).getBalance(player);
+        verify(economy, times(1)).getBalance(other);
+    }
+
+    @Test
+    void testPrefetchBalances_ErrorDoesNotStopBatch() {
+        // Setup
+        OfflinePlayer other = mock(OfflinePlayer.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(economy.getBalance(player)).thenThrow(new RuntimeException("Test exception"));
+        when(economy.getBalance(other)).thenReturn(200.0);
+
+        // Test
+        economyService.prefetchBalances(List.of(player, other)).join();
+
+        // Verify
+        assertEquals(200.0, economyService.getBalance(other));
+        verify(logger).warning(contains("Error prefetching balance for player TestPlayer"));
+    }
+
+    @Test
+    void testPrefetchBalances_StaleReadNotCachedAfterInvalidate() {
+        // Setup
+        when(economy.getBalance(player))
+                .thenAnswer(invocation -> {
+                    // A withdrawal lands while the prefetch is still reading
+                    economyService.invalidate(player.getUniqueId());
+                    return 100.0;
+                })
+                .thenReturn(40.0);
+
+        // Test
+        economyService.prefetchBalances(List.of(player)).join();
+
+        // Verify
+        assertEquals(40.0, economyService.getBalance(player));
+        verify(economy, times(2)).getBalance(player);
+    }
+}
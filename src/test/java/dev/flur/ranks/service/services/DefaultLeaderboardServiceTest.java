@@ -0,0 +1,124 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.storage.PlayerRankRecord;
+import dev.flur.ranks.storage.RankStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultLeaderboardServiceTest {
+
+    private RankStorage rankStorage;
+    private Logger logger;
+    private DefaultLeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        rankStorage = mock(RankStorage.class);
+        logger = mock(Logger.class);
+        leaderboardService = new DefaultLeaderboardService(rankStorage, logger);
+    }
+
+    @Test
+    void testUpdateCountsPlayers() {
+        // Arrange
+        leaderboardService.update(new PlayerRankRecord(UUID.randomUUID(), "Steve", "member", 1000L));
+        leaderboardService.update(new PlayerRankRecord(UUID.randomUUID(), "Alex", "member", 2000L));
+        leaderboardService.update(new PlayerRankRecord(UUID.randomUUID(), "Herobrine", "vip", 3000L));
+
+        // Act & Assert
+        assertEquals(2, leaderboardService.getPlayerCount("member"));
+        assertEquals(1, leaderboardService.getPlayerCount("vip"));
+        assertEquals(0, leaderboardService.getPlayerCount("admin"));
+        assertEquals(Map.of("member", 2, "vip", 1), leaderboardService.getDistribution());
+    }
+
+    @Test
+    void testUpdateMovesPlayerBetweenRanks() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        leaderboardService.update(new PlayerRankRecord(playerId, "Steve", "member", 1000L));
+
+        // Act
+        leaderboardService.update(new PlayerRankRecord(playerId, "Steve", "vip", 2000L));
+
+        // Assert
+        assertEquals(0, leaderboardService.getPlayerCount("member"));
+        assertEquals(1, leaderboardService.getPlayerCount("vip"));
+        assertEquals(Map.of("vip", 1), leaderboardService.getDistribution());
+        assertEquals("vip", leaderboardService.getPlayer(playerId).orElseThrow().rank());
+    }
+
+    @Test
+    void testTopPlayersOrderedByPromotionTime() {
+        // Arrange
+        PlayerRankRecord late = new PlayerRankRecord(UUID.randomUUID(), "Alex", "vip", 3000L);
+        PlayerRankRecord early = new PlayerRankRecord(UUID.randomUUID(), "Steve", "vip", 1000L);
+        PlayerRankRecord middle = new PlayerRankRecord(UUID.randomUUID(), "Herobrine", "vip", 2000L);
+        leaderboardService.update(late);
+        leaderboardService.update(early);
+        leaderboardService.update(middle);
+
+        // Act & Assert
+        assertEquals(List.of(early, middle, late), leaderboardService.getTopPlayers("vip", 10));
+        assertEquals(List.of(early, middle), leaderboardService.getTopPlayers("vip", 2));
+        assertTrue(leaderboardService.getTopPlayers("admin", 10).isEmpty());
+        assertTrue(leaderboardService.getTopPlayers("vip", 0).isEmpty());
+    }
+
+    @Test
+    void testStartLoadsFromStorage() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        when(rankStorage.loadAllPlayers()).thenReturn(CompletableFuture.completedFuture(List.of(
+                new PlayerRankRecord(playerId, "Steve", "member", 1000L),
+                new PlayerRankRecord(UUID.randomUUID(), "Alex", "vip", 2000L))));
+
+        // Act
+        leaderboardService.start();
+
+        // Assert
+        assertTrue(leaderboardService.isHealthy());
+        assertEquals(Map.of("member", 1, "vip", 1), leaderboardService.getDistribution());
+        assertEquals(Optional.of("member"), leaderboardService.getPlayer(playerId).map(PlayerRankRecord::rank));
+    }
+
+    @Test
+    void testStartKeepsRankupsAppliedWhileLoading() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        CompletableFuture<List<PlayerRankRecord>> loading = new CompletableFuture<>();
+        when(rankStorage.loadAllPlayers()).thenReturn(loading);
+        leaderboardService.start();
+
+        // Act
+        leaderboardService.update(new PlayerRankRecord(playerId, "Steve", "vip", 2000L));
+        loading.complete(List.of(new PlayerRankRecord(playerId, "Steve", "member", 1000L)));
+
+        // Assert
+        assertEquals("vip", leaderboardService.getPlayer(playerId).orElseThrow().rank());
+        assertEquals(Map.of("vip", 1), leaderboardService.getDistribution());
+    }
+
+    @Test
+    void testStartLogsLoadFailure() {
+        // Arrange
+        when(rankStorage.loadAllPlayers()).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("closed")));
+
+        // Act
+        leaderboardService.start();
+
+        // Assert
+        assertFalse(leaderboardService.isHealthy());
+        verify(logger).severe(contains("Failed to load leaderboard"));
+    }
+}
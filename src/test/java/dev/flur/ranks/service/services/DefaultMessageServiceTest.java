@@ -6,6 +6,7 @@ import dev.flur.ranks.message.Messages;
 import dev.flur.ranks.message.TemplateProcessor;
 import dev.flur.ranks.service.ConfigurationService;
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
@@ -303,6 +304,24 @@ class DefaultMessageServiceTest {
             assertNotNull(capturedContext);
             assertTrue(capturedContext.isEmpty());
         }
+
+        @Test
+        @DisplayName("Should show and hide boss bars through the player's audience")
+        void shouldShowAndHideBossBars() {
+            // Arrange
+            Player player = mock(Player.class);
+            BossBar bar = BossBar.bossBar(Component.text("Progress"), 0.5f, BossBar.Color.YELLOW, BossBar.Overlay.PROGRESS);
+            Audience playerAudience = mock(Audience.class);
+            when(audiences.player(player)).thenReturn(playerAudience);
+
+            // Act
+            messageService.showBossBar(player, bar);
+            messageService.hideBossBar(player, bar);
+
+            // Assert
+            verify(playerAudience).showBossBar(bar);
+            verify(playerAudience).hideBossBar(bar);
+        }
     }
 
     @Nested
@@ -196,36 +196,64 @@ class DefaultPermissionServiceTest {
     class GroupExistenceTests {
 
         @Test
-        @DisplayName("Should check if group exists")
+        @DisplayName("Should check if group exists from the loaded groups")
         void shouldCheckIfGroupExists() {
             // Arrange
-            String groupName = "vip";
-            // Explicitly cast null to String to avoid ambiguity
-            when(permission.groupHas((String)null, groupName, "")).thenReturn(true);
+            when(permission.getGroups()).thenReturn(new String[]{"member", "VIP"});
+            permissionService.refreshGroups();
+
+            // Act & Assert
+            assertTrue(permissionService.groupExists("vip"));
+            assertTrue(permissionService.groupExists("Member"));
+            assertFalse(permissionService.groupExists("admin"));
+            verify(permission, never()).groupHas(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should not call Vault when checking if group exists")
+        void shouldNotCallVaultWhenCheckingIfGroupExists() {
+            // Arrange
+            when(permission.getGroups()).thenReturn(new String[]{"vip"});
+            permissionService.refreshGroups();
+            clearInvocations(permission);
 
             // Act
-            boolean result = permissionService.groupExists(groupName);
+            for (int i = 0; i < 10; i++) {
+                permissionService.groupExists("vip");
+            }
 
             // Assert
-            assertTrue(result);
-            verify(permission).groupHas((String)null, groupName, "");
+            verifyNoInteractions(permission);
         }
 
         @Test
-        @DisplayName("Should handle exception when checking if group exists")
-        void shouldHandleExceptionWhenCheckingIfGroupExists() {
+        @DisplayName("Should keep the previous groups when loading them fails")
+        void shouldKeepGroupsWhenRefreshFails() {
             // Arrange
-            String groupName = "nonexistent";
-            // Explicitly cast null to String to avoid ambiguity
-            when(permission.groupHas((String)null, groupName, "")).thenThrow(new RuntimeException("Group doesn't exist"));
+            when(permission.getGroups()).thenReturn(new String[]{"vip"});
+            permissionService.refreshGroups();
+            when(permission.getGroups()).thenThrow(new RuntimeException("Backend offline"));
 
             // Act
-            boolean result = permissionService.groupExists(groupName);
+            permissionService.refreshGroups();
 
             // Assert
-            assertFalse(result);
-            verify(permission).groupHas((String)null, groupName, "");
-            // No logging for this method
+            assertTrue(permissionService.groupExists("vip"));
+            verify(logger).warning(contains("Backend offline"));
+        }
+
+        @Test
+        @DisplayName("Should treat missing group support as no groups")
+        void shouldHandleNullGroups() {
+            // Arrange
+            when(permission.getGroups()).thenReturn(null);
+
+            // Act
+            permissionService.refreshGroups();
+
+            // Assert
+            assertTrue(permissionService.getGroups().isEmpty());
+            assertFalse(permissionService.groupExists("vip"));
             verifyNoInteractions(logger);
         }
     }
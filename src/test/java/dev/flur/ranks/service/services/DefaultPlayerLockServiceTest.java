@@ -0,0 +1,111 @@
+package dev.flur.ranks.service.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultPlayerLockServiceTest {
+
+    @Test
+    void testTryLock_Uncontended() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        UUID playerId = UUID.randomUUID();
+
+        // Test
+        boolean locked = lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS);
+
+        // Verify
+        assertTrue(locked);
+        assertEquals(0, lockService.getContendedCount());
+        assertEquals(0, lockService.getTimedOutCount());
+    }
+
+    @Test
+    void testTryLock_SamePlayerTimesOut() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        UUID playerId = UUID.randomUUID();
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+
+        // Test
+        boolean lockedAgain = lockService.tryLock(UUID.fromString(playerId.toString()), 10, TimeUnit.MILLISECONDS);
+
+        // Verify
+        assertFalse(lockedAgain);
+        assertEquals(1, lockService.getContendedCount());
+        assertEquals(1, lockService.getTimedOutCount());
+    }
+
+    @Test
+    void testUnlock_AllowsNextLock() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        UUID playerId = UUID.randomUUID();
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+
+        // Test
+        lockService.unlock(playerId);
+
+        // Verify
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testUnlock_FromAnotherThread() throws Exception {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        UUID playerId = UUID.randomUUID();
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+
+        // Test
+        CompletableFuture.runAsync(() -> lockService.unlock(playerId)).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testTryLock_OtherPlayersDoNotContend() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(lockService.tryLock(UUID.randomUUID(), 0, TimeUnit.MILLISECONDS));
+        }
+
+        // Test
+        boolean locked = lockService.tryLock(UUID.randomUUID(), 0, TimeUnit.MILLISECONDS);
+
+        // Verify
+        assertTrue(locked);
+        assertEquals(0, lockService.getContendedCount());
+    }
+
+    @Test
+    void testUnlock_DropsUnusedLocks() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+        UUID playerId = UUID.randomUUID();
+        assertTrue(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+        assertFalse(lockService.tryLock(playerId, 0, TimeUnit.MILLISECONDS));
+
+        // Test
+        lockService.unlock(playerId);
+
+        // Verify
+        assertEquals(0, lockService.getLockCount());
+    }
+
+    @Test
+    void testUnlock_NotLocked() {
+        // Setup
+        DefaultPlayerLockService lockService = new DefaultPlayerLockService();
+
+        // Verify
+        assertThrows(IllegalStateException.class, () -> lockService.unlock(UUID.randomUUID()));
+    }
+}
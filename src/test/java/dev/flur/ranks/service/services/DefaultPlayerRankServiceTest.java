@@ -1,15 +1,15 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
 import dev.flur.ranks.service.PermissionService;
+import dev.flur.ranks.service.RanksService;
 import dev.flur.ranks.service.RequirementValidator;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -21,7 +21,7 @@ class DefaultPlayerRankServiceTest {
 
     private PermissionService permissionService;
     private RequirementValidator requirementValidator;
-    private FileConfiguration ranksConfig;
+    private RanksService ranksService;
     private Logger logger;
     private Player player;
     private Requirement requirement1;
@@ -33,7 +33,7 @@ class DefaultPlayerRankServiceTest {
         // Create mocks
         permissionService = mock(PermissionService.class);
         requirementValidator = mock(RequirementValidator.class);
-        ranksConfig = mock(FileConfiguration.class);
+        ranksService = mock(RanksService.class);
         logger = mock(Logger.class);
         player = mock(Player.class);
         requirement1 = mock(Requirement.class);
@@ -45,7 +45,7 @@ class DefaultPlayerRankServiceTest {
         playerRankService = new DefaultPlayerRankService(
                 permissionService,
                 requirementValidator,
-                ranksConfig,
+                ranksService,
                 logger
         );
     }
@@ -99,10 +99,16 @@ class DefaultPlayerRankServiceTest {
 
     @Test
     void testGetRequirementsForRank() {
-        // The implementation returns an empty list, so we'll just verify it's empty
+        // Setup
+        List<Requirement> requirements = List.of(requirement1, requirement2);
+        when(ranksService.getRequirements("vip", player)).thenReturn(requirements);
+
+        // Test
         List<Requirement> result = playerRankService.getRequirementsForRank(player, "vip");
-        
-        assertTrue(result.isEmpty());
+
+        // Verify
+        assertEquals(requirements, result);
+        verify(ranksService).getRequirements("vip", player);
     }
 
     @Test
@@ -134,8 +140,8 @@ class DefaultPlayerRankServiceTest {
         DefaultPlayerRankService spy = spy(playerRankService);
         doReturn(requirements).when(spy).getRequirementsForRank(player, "vip");
         
-        when(requirement1.meetsRequirement(player)).thenReturn(true);
-        when(requirement2.meetsRequirement(player)).thenReturn(true);
+        when(requirement1.getProgress(any(PlayerStatistics.class))).thenReturn(new RequirementProgress(3_000, 3_000));
+        when(requirement2.getProgress(any(PlayerStatistics.class))).thenReturn(new RequirementProgress(7, 5));
         when(requirementValidator.getRequirementDescription(requirement1)).thenReturn("Requirement 1");
         when(requirementValidator.getRequirementDescription(requirement2)).thenReturn("Requirement 2");
         
@@ -146,8 +152,8 @@ class DefaultPlayerRankServiceTest {
         assertEquals(2, result.size());
         assertEquals(100, result.get("Requirement 1"));
         assertEquals(100, result.get("Requirement 2"));
-        verify(requirement1).meetsRequirement(player);
-        verify(requirement2).meetsRequirement(player);
+        verify(requirement1).getProgress(any(PlayerStatistics.class));
+        verify(requirement2).getProgress(any(PlayerStatistics.class));
         verify(requirementValidator).getRequirementDescription(requirement1);
         verify(requirementValidator).getRequirementDescription(requirement2);
     }
@@ -161,8 +167,8 @@ class DefaultPlayerRankServiceTest {
         DefaultPlayerRankService spy = spy(playerRankService);
         doReturn(requirements).when(spy).getRequirementsForRank(player, "vip");
         
-        when(requirement1.meetsRequirement(player)).thenReturn(true);
-        when(requirement2.meetsRequirement(player)).thenReturn(false);
+        when(requirement1.getProgress(any(PlayerStatistics.class))).thenReturn(new RequirementProgress(3_000, 3_000));
+        when(requirement2.getProgress(any(PlayerStatistics.class))).thenReturn(new RequirementProgress(2, 5));
         when(requirementValidator.getRequirementDescription(requirement1)).thenReturn("Requirement 1");
         when(requirementValidator.getRequirementDescription(requirement2)).thenReturn("Requirement 2");
         
@@ -172,9 +178,9 @@ class DefaultPlayerRankServiceTest {
         // Verify
         assertEquals(2, result.size());
         assertEquals(100, result.get("Requirement 1"));
-        assertEquals(0, result.get("Requirement 2"));
-        verify(requirement1).meetsRequirement(player);
-        verify(requirement2).meetsRequirement(player);
+        assertEquals(40, result.get("Requirement 2"));
+        verify(requirement1).getProgress(any(PlayerStatistics.class));
+        verify(requirement2).getProgress(any(PlayerStatistics.class));
         verify(requirementValidator).getRequirementDescription(requirement1);
         verify(requirementValidator).getRequirementDescription(requirement2);
     }
@@ -188,18 +194,61 @@ class DefaultPlayerRankServiceTest {
         DefaultPlayerRankService spy = spy(playerRankService);
         doReturn(requirements).when(spy).getRequirementsForRank(player, "vip");
         
-        when(requirement1.meetsRequirement(player)).thenThrow(new RuntimeException("Test exception"));
+        when(requirement1.getProgress(any(PlayerStatistics.class))).thenThrow(new RuntimeException("Test exception"));
+        when(requirementValidator.getRequirementDescription(requirement1)).thenReturn("Requirement 1");
         
         // Test
         Map<String, Integer> result = spy.getRequirementProgress(player, "vip");
         
         // Verify
         assertEquals(1, result.size());
-        assertEquals(0, result.get("Unknown requirement"));
-        verify(requirement1).meetsRequirement(player);
+        assertEquals(0, result.get("Requirement 1"));
+        verify(requirement1).getProgress(any(PlayerStatistics.class));
         verify(logger).warning(contains("Error getting progress for requirement"));
     }
 
+    @Test
+    void testGetProgress_ReadsEachRequirementOnce() {
+        // Setup
+        List<Requirement> requirements = List.of(requirement1, requirement2);
+        when(ranksService.getRequirements("vip", player)).thenReturn(requirements);
+        RequirementProgress money = new RequirementProgress(1_250, 5_000);
+        RequirementProgress level = new RequirementProgress(30, 30);
+        when(requirement1.getProgress(any(PlayerStatistics.class))).thenReturn(money);
+        when(requirement2.getProgress(any(PlayerStatistics.class))).thenReturn(level);
+
+        // Test
+        Map<Requirement, RequirementProgress> result = playerRankService.getProgress(player, "vip");
+
+        // Verify
+        assertEquals(List.of(requirement1, requirement2), List.copyOf(result.keySet()));
+        assertEquals(money, result.get(requirement1));
+        assertEquals(level, result.get(requirement2));
+        verify(requirement1, times(1)).getProgress(any(PlayerStatistics.class));
+        verify(requirement1, never()).meetsRequirement(player);
+    }
+
+    @Test
+    void testGetProgress_SharedRequirementsAreReadOncePerPass() {
+        // Setup
+        when(ranksService.getRequirements("second", "third")).thenReturn(List.of(requirement1, requirement2));
+        when(ranksService.getRequirements("second", "fourth")).thenReturn(List.of(requirement1));
+        RequirementProgress money = new RequirementProgress(1_250, 5_000);
+        when(requirement1.getProgress(any(PlayerStatistics.class))).thenReturn(money);
+        when(requirement2.getProgress(any(PlayerStatistics.class))).thenReturn(RequirementProgress.of(true));
+
+        // Test
+        Map<String, Map<Requirement, RequirementProgress>> result =
+                playerRankService.getProgress(player, "second", List.of("third", "fourth"));
+
+        // Verify
+        assertEquals(List.of("third", "fourth"), List.copyOf(result.keySet()));
+        assertEquals(2, result.get("third").size());
+        assertEquals(Map.of(requirement1, money), result.get("fourth"));
+        verify(requirement1, times(1)).getProgress(any(PlayerStatistics.class));
+        verify(ranksService, never()).getRequirements(anyString(), eq(player));
+    }
+
     @Test
     void testHasRankCommandPermission_True() {
         // Setup
@@ -0,0 +1,118 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.requirement.PlayerStatistics;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.StatisticsSnapshot;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.storage.RankStorage;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DefaultPlayerStatisticsServiceTest {
+
+    private RankStorage rankStorage;
+    private RanksService ranksService;
+    private Logger logger;
+    private DefaultPlayerStatisticsService statisticsService;
+    private UUID playerId;
+
+    @BeforeEach
+    void setUp() {
+        rankStorage = mock(RankStorage.class);
+        ranksService = mock(RanksService.class);
+        logger = mock(Logger.class);
+        statisticsService = new DefaultPlayerStatisticsService(rankStorage, ranksService, logger);
+        playerId = UUID.randomUUID();
+    }
+
+    @Test
+    void testSaveSnapshotStoresCapturedStatistics() {
+        // Arrange
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(playerId);
+        Requirement deaths = mock(Requirement.class);
+        doAnswer(invocation -> {
+            Map<String, Double> snapshot = invocation.getArgument(1);
+            snapshot.put(StatisticsSnapshot.key(Statistic.DEATHS), 4.0);
+            return null;
+        }).when(deaths).captureStatistics(eq(player), anyMap());
+        when(ranksService.getAllRequirements()).thenReturn(List.of(deaths));
+
+        // Act
+        statisticsService.saveSnapshot(player);
+
+        // Assert
+        verify(rankStorage).saveRequirementProgress(playerId, StatisticsSnapshot.key(Statistic.DEATHS), 4.0);
+    }
+
+    @Test
+    void testSaveSnapshotSkipsFailingRequirement() {
+        // Arrange
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(playerId);
+        Requirement failing = mock(Requirement.class);
+        doThrow(new IllegalStateException("Broken")).when(failing).captureStatistics(eq(player), anyMap());
+        Requirement level = mock(Requirement.class);
+        doAnswer(invocation -> {
+            Map<String, Double> snapshot = invocation.getArgument(1);
+            snapshot.put(StatisticsSnapshot.LEVEL_KEY, 30.0);
+            return null;
+        }).when(level).captureStatistics(eq(player), anyMap());
+        when(ranksService.getAllRequirements()).thenReturn(List.of(failing, level));
+
+        // Act
+        statisticsService.saveSnapshot(player);
+
+        // Assert
+        verify(logger).warning(contains("Broken"));
+        verify(rankStorage).saveRequirementProgress(playerId, StatisticsSnapshot.LEVEL_KEY, 30.0);
+    }
+
+    @Test
+    void testGetStatisticsOfOnlinePlayerIsLive() throws Exception {
+        // Arrange
+        Player player = mock(Player.class);
+        when(player.getPlayer()).thenReturn(player);
+
+        // Act
+        PlayerStatistics statistics = statisticsService.getStatistics(player).get();
+
+        // Assert
+        assertSame(player, statistics.getOnlinePlayer());
+        verifyNoInteractions(rankStorage);
+    }
+
+    @Test
+    void testGetStatisticsOfOfflinePlayerReadsSnapshot() throws Exception {
+        // Arrange
+        OfflinePlayer player = mock(OfflinePlayer.class);
+        when(player.getUniqueId()).thenReturn(playerId);
+        when(rankStorage.loadRequirementProgress(playerId)).thenReturn(CompletableFuture.completedFuture(Map.of(
+                StatisticsSnapshot.key(Statistic.DEATHS), 4.0,
+                StatisticsSnapshot.LEVEL_KEY, 30.0,
+                "other-progress", 99.0)));
+
+        // Act
+        PlayerStatistics statistics = statisticsService.getStatistics(player).get();
+
+        // Assert
+        assertNull(statistics.getOnlinePlayer());
+        assertEquals(4, statistics.getStatistic(Statistic.DEATHS));
+        assertEquals(30, statistics.getLevel());
+        assertEquals(0, statistics.getStatistic(Statistic.JUMP));
+        assertFalse(((StatisticsSnapshot) statistics).getValues().containsKey("other-progress"));
+    }
+}
@@ -0,0 +1,240 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementProgress;
+import dev.flur.ranks.service.MessageService;
+import dev.flur.ranks.service.PlayerRankService;
+import dev.flur.ranks.service.RanksService;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultProgressDisplayServiceTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private PlayerRankService playerRankService;
+    private RanksService ranksService;
+    private MessageService messageService;
+    private AtomicLong clock;
+    private Player player;
+    private Requirement money;
+    private Requirement level;
+    private Map<Player, Map<String, Map<Requirement, RequirementProgress>>> progress;
+    private DefaultProgressDisplayService progressDisplayService;
+
+    @BeforeEach
+    void setUp() {
+        playerRankService = mock(PlayerRankService.class);
+        ranksService = mock(RanksService.class);
+        messageService = mock(MessageService.class);
+        clock = new AtomicLong();
+        player = mockPlayer();
+        money = mock(Requirement.class);
+        level = mock(Requirement.class);
+        progress = new HashMap<>();
+
+        when(ranksService.getCachedRank(any(Player.class))).thenReturn("first");
+        when(ranksService.getNextRanks("first")).thenReturn(Map.of("second", "second"));
+        when(messageService.getLocale(any(Player.class))).thenReturn("en");
+        when(messageService.getMessage(eq(Messages.PROGRESS_BAR), anyString(), anyMap()))
+                .thenAnswer(invocation -> Component.text(invocation.<Map<String, Object>>getArgument(2).get("percent").toString()));
+        progressOf(player, 1_500, 3_000, 5, 5);
+
+        progressDisplayService = new DefaultProgressDisplayService(
+                playerRankService, ranksService, messageService, 1_000L, clock::get, mock(Logger.class));
+    }
+
+    @Test
+    void testShowsProgressTowardsNextRank() {
+        // Act
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+
+        // Assert
+        BossBar bar = shownBar(player);
+        assertEquals(0.75f, bar.progress());
+        assertEquals(Component.text("75"), bar.name());
+        verify(messageService).getMessage(eq(Messages.PROGRESS_BAR), eq("en"),
+                eq(Map.of("rank", "second", "met", 1, "total", 2, "percent", 75)));
+    }
+
+    @Test
+    void testIdlePlayersAreNotEvaluated() {
+        // Arrange
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+        clock.addAndGet(5_000L * MILLIS);
+
+        // Act
+        progressDisplayService.flush();
+        progressDisplayService.flush();
+
+        // Assert
+        verify(playerRankService, times(1)).getProgress(eq(player), eq("first"), anyCollection());
+    }
+
+    @Test
+    void testUpdatesAreThrottledPerPlayer() {
+        // Arrange
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+        BossBar bar = shownBar(player);
+        progressOf(player, 2_400, 3_000, 5, 5);
+
+        // Act
+        clock.addAndGet(400L * MILLIS);
+        for (int i = 0; i < 50; i++) {
+            progressDisplayService.requestUpdate(player.getUniqueId());
+            progressDisplayService.flush();
+        }
+        float throttled = bar.progress();
+        clock.addAndGet(600L * MILLIS);
+        progressDisplayService.flush();
+
+        // Assert
+        assertEquals(0.75f, throttled);
+        assertEquals(0.9f, bar.progress());
+        verify(playerRankService, times(2)).getProgress(eq(player), eq("first"), anyCollection());
+    }
+
+    @Test
+    void testUnchangedProgressIsNotRenderedAgain() {
+        // Arrange
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+        BossBar bar = shownBar(player);
+        Component name = bar.name();
+
+        // Act
+        clock.addAndGet(1_000L * MILLIS);
+        progressDisplayService.requestUpdate(player.getUniqueId());
+        progressDisplayService.flush();
+
+        // Assert
+        assertSame(name, bar.name());
+        verify(playerRankService, times(2)).getProgress(eq(player), eq("first"), anyCollection());
+        verify(messageService, times(1)).getMessage(eq(Messages.PROGRESS_BAR), anyString(), anyMap());
+        verify(messageService, times(1)).showBossBar(eq(player), any(BossBar.class));
+    }
+
+    @Test
+    void testPlayersWithTheSameProgressShareTheirTitle() {
+        // Arrange
+        Player other = mockPlayer();
+        progressOf(other, 1_500, 3_000, 5, 5);
+
+        // Act
+        progressDisplayService.show(player);
+        progressDisplayService.show(other);
+        progressDisplayService.flush();
+
+        // Assert
+        assertSame(shownBar(player).name(), shownBar(other).name());
+        verify(messageService, times(1)).getMessage(eq(Messages.PROGRESS_BAR), anyString(), anyMap());
+    }
+
+    @Test
+    void testShowsClosestOfSeveralNextRanks() {
+        // Arrange
+        when(ranksService.getNextRanks("first")).thenReturn(Map.of("second", "second", "third", "third"));
+        Requirement far = mock(Requirement.class);
+        progressOf(player, "third", Map.of(far, new RequirementProgress(9, 10)));
+
+        // Act
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+
+        // Assert
+        assertEquals(0.9f, shownBar(player).progress());
+        verify(playerRankService).getProgress(eq(player), eq("first"), eq(Set.of("second", "third")));
+    }
+
+    @Test
+    void testBarIsHiddenWithoutNextRank() {
+        // Arrange
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+        BossBar bar = shownBar(player);
+        when(ranksService.getNextRanks("first")).thenReturn(Map.of());
+
+        // Act
+        clock.addAndGet(1_000L * MILLIS);
+        progressDisplayService.requestUpdate(player.getUniqueId());
+        progressDisplayService.flush();
+
+        // Assert
+        verify(messageService).hideBossBar(player, bar);
+    }
+
+    @Test
+    void testUpdatesForPlayersNotShownAreIgnored() {
+        // Act
+        progressDisplayService.requestUpdate(player.getUniqueId());
+        progressDisplayService.flush();
+
+        // Assert
+        verifyNoInteractions(playerRankService);
+    }
+
+    @Test
+    void testHideRemovesDisplay() {
+        // Arrange
+        progressDisplayService.show(player);
+        progressDisplayService.flush();
+        BossBar bar = shownBar(player);
+
+        // Act
+        progressDisplayService.hide(player);
+
+        // Assert
+        verify(messageService).hideBossBar(player, bar);
+        assertEquals(0, progressDisplayService.getShownCount());
+    }
+
+    private void progressOf(Player target, double money, double moneyRequired, double level, double levelRequired) {
+        progressOf(target, "second", Map.of(
+                this.money, new RequirementProgress(money, moneyRequired),
+                this.level, new RequirementProgress(level, levelRequired)));
+    }
+
+    private void progressOf(Player target, String rank, Map<Requirement, RequirementProgress> rankProgress) {
+        progress.computeIfAbsent(target, key -> new HashMap<>()).put(rank, rankProgress);
+        when(playerRankService.getProgress(eq(target), eq("first"), anyCollection())).thenAnswer(invocation -> {
+            Map<String, Map<Requirement, RequirementProgress>> result = new LinkedHashMap<>();
+            for (String nextRank : invocation.<Collection<String>>getArgument(2)) {
+                result.put(nextRank, progress.get(target).getOrDefault(nextRank, Map.of()));
+            }
+            return result;
+        });
+    }
+
+    private BossBar shownBar(Player target) {
+        ArgumentCaptor<BossBar> captor = ArgumentCaptor.forClass(BossBar.class);
+        verify(messageService).showBossBar(eq(target), captor.capture());
+        return captor.getValue();
+    }
+
+    private static Player mockPlayer() {
+        Player mock = mock(Player.class);
+        when(mock.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(mock.getName()).thenReturn("Player");
+        return mock;
+    }
+}
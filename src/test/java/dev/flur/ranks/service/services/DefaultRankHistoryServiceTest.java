@@ -0,0 +1,128 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.history.RankHistoryEntry;
+import dev.flur.ranks.result.RankupOutcome;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultRankHistoryServiceTest {
+
+    @TempDir
+    File dataFolder;
+
+    private Logger logger;
+    private Player player;
+    private DefaultRankHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        // Create mocks
+        logger = mock(Logger.class);
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("TestPlayer");
+
+        historyService = new DefaultRankHistoryService(new File(dataFolder, "history"), 1024 * 1024, Runnable::run, logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyService.stop();
+    }
+
+    @Test
+    void testGetHistory_NotStarted() {
+        // Test
+        List<RankHistoryEntry> history = historyService.getHistory(player.getUniqueId()).join();
+
+        // Verify
+        assertTrue(history.isEmpty());
+        assertFalse(historyService.isHealthy());
+    }
+
+    @Test
+    void testRecordRankup_WrittenInBackground() throws Exception {
+        // Setup
+        historyService.start();
+
+        // Test
+        historyService.recordRankup(new RankupOutcome(player, "member", "vip", true));
+        historyService.recordRankup(new RankupOutcome(player, "vip", "mvp", true));
+
+        // Verify
+        List<RankHistoryEntry> history = awaitHistory(2);
+        assertEquals("member", history.get(0).fromRank());
+        assertEquals("mvp", history.get(1).toRank());
+        assertEquals("TestPlayer", history.get(0).playerName());
+        assertTrue(historyService.isHealthy());
+    }
+
+    @Test
+    void testStop_DrainsQueueAndPersists() {
+        // Setup
+        historyService.start();
+        historyService.recordRankup(new RankupOutcome(player, "member", "vip", true));
+
+        // Test
+        historyService.stop();
+        historyService.start();
+
+        // Verify
+        List<RankHistoryEntry> history = historyService.getHistory(player.getUniqueId()).join();
+        assertEquals(1, history.size());
+        assertEquals("vip", history.get(0).toRank());
+    }
+
+    @Test
+    void testRecordRankup_RefusedWhenNotStarted() {
+        // Test
+        historyService.recordRankup(new RankupOutcome(player, "member", "vip", true));
+        historyService.start();
+
+        // Verify
+        assertTrue(historyService.getHistory(player.getUniqueId()).join().isEmpty());
+        verify(logger).warning(contains("Rank history is not open"));
+    }
+
+    @Test
+    void testRecordRankup_RefusedWhenOpenFailed() throws Exception {
+        // Setup
+        File notADirectory = new File(dataFolder, "file");
+        assertTrue(notADirectory.createNewFile());
+        DefaultRankHistoryService broken = new DefaultRankHistoryService(notADirectory, 1024, Runnable::run, logger);
+        broken.start();
+
+        // Test
+        broken.recordRankup(new RankupOutcome(player, "member", "vip", true));
+
+        // Verify
+        assertFalse(broken.isHealthy());
+        verify(logger).severe(contains("Failed to open rank history"));
+        verify(logger).warning(contains("Rank history is not open"));
+    }
+
+    private List<RankHistoryEntry> awaitHistory(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<RankHistoryEntry> history = List.of();
+        while (System.nanoTime() < deadline) {
+            history = historyService.getHistory(player.getUniqueId()).join();
+            if (history.size() >= expected) {
+                return history;
+            }
+            Thread.sleep(10);
+        }
+        return history;
+    }
+}
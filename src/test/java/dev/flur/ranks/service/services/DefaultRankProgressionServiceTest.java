@@ -1,6 +1,7 @@
 package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.message.Messages;
+import dev.flur.ranks.rankup.RankupContext;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.service.MessageService;
 import dev.flur.ranks.service.PermissionService;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -63,102 +65,6 @@ class DefaultRankProgressionServiceTest {
         assertNotNull(rankProgressionService);
     }
 
-    @Test
-    void testUpgradeRank_Success() {
-        // Setup
-        String currentRank = "member";
-        String targetRank = "vip";
-
-        // Mock canUpgradeToRank to return true
-        DefaultRankProgressionService spy = spy(rankProgressionService);
-        doReturn(true).when(spy).canUpgradeToRank(player, targetRank);
-
-        // Mock permissionService methods
-        when(permissionService.getPrimaryGroup(player)).thenReturn(currentRank);
-        when(permissionService.removeFromGroup(player, currentRank)).thenReturn(true);
-        when(permissionService.addToGroup(player, targetRank)).thenReturn(true);
-
-        // Test
-        boolean result = spy.upgradeRank(player, targetRank);
-
-        // Verify
-        assertTrue(result);
-        verify(permissionService).getPrimaryGroup(player);
-        verify(permissionService).removeFromGroup(player, currentRank);
-        verify(permissionService).addToGroup(player, targetRank);
-        verify(logger).info(contains("Player TestPlayer upgraded from member to vip"));
-    }
-
-    @Test
-    void testUpgradeRank_CannotUpgrade() {
-        // Setup
-        String targetRank = "vip";
-
-        // Mock canUpgradeToRank to return false
-        DefaultRankProgressionService spy = spy(rankProgressionService);
-        doReturn(false).when(spy).canUpgradeToRank(player, targetRank);
-
-        // Test
-        boolean result = spy.upgradeRank(player, targetRank);
-
-        // Verify
-        assertFalse(result);
-        verify(spy).canUpgradeToRank(player, targetRank);
-        verify(permissionService, never()).removeFromGroup(any(), any());
-        verify(permissionService, never()).addToGroup(any(), any());
-    }
-
-    @Test
-    void testUpgradeRank_AddToGroupFails() {
-        // Setup
-        String currentRank = "member";
-        String targetRank = "vip";
-
-        // Mock canUpgradeToRank to return true
-        DefaultRankProgressionService spy = spy(rankProgressionService);
-        doReturn(true).when(spy).canUpgradeToRank(player, targetRank);
-
-        // Mock permissionService methods
-        when(permissionService.getPrimaryGroup(player)).thenReturn(currentRank);
-        when(permissionService.removeFromGroup(player, currentRank)).thenReturn(true);
-        when(permissionService.addToGroup(player, targetRank)).thenReturn(false);
-
-        // Test
-        boolean result = spy.upgradeRank(player, targetRank);
-
-        // Verify
-        assertFalse(result);
-        verify(permissionService).getPrimaryGroup(player);
-        verify(permissionService).removeFromGroup(player, currentRank);
-        verify(permissionService).addToGroup(player, targetRank);
-        verify(permissionService).addToGroup(player, currentRank); // Should revert
-        verify(logger).warning(contains("Failed to upgrade player TestPlayer to rank vip"));
-    }
-
-    @Test
-    void testUpgradeRank_ExceptionHandling() {
-        // Setup
-        String currentRank = "member";
-        String targetRank = "vip";
-
-        // Mock canUpgradeToRank to return true
-        DefaultRankProgressionService spy = spy(rankProgressionService);
-        doReturn(true).when(spy).canUpgradeToRank(player, targetRank);
-
-        // Mock permissionService methods to throw exception
-        when(permissionService.getPrimaryGroup(player)).thenReturn(currentRank);
-        when(permissionService.removeFromGroup(player, currentRank)).thenThrow(new RuntimeException("Test exception"));
-
-        // Test
-        boolean result = spy.upgradeRank(player, targetRank);
-
-        // Verify
-        assertFalse(result);
-        verify(permissionService).getPrimaryGroup(player);
-        verify(permissionService).removeFromGroup(player, currentRank);
-        verify(logger).severe(contains("Error upgrading player TestPlayer to rank vip"));
-    }
-
     @Test
     void testGetAvailableRanks_Success() {
         // Setup
@@ -349,6 +255,27 @@ class DefaultRankProgressionServiceTest {
         verify(requirementValidator).meetsAllRequirements(eq(player), anyList());
     }
 
+    @Test
+    void testCanUpgradeToRank_Context_ReusesRecordedResults() {
+        // Setup
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+        Map<String, String> availableRanks = Map.of("vip", "VIP");
+
+        DefaultRankProgressionService spy = spy(rankProgressionService);
+        doReturn(availableRanks).when(spy).getAvailableRanks(player);
+
+        when(permissionService.groupExists("vip")).thenReturn(true);
+        when(requirementValidator.meetsAllRequirements(context)).thenReturn(true);
+
+        // Test
+        boolean result = spy.canUpgradeToRank(context);
+
+        // Verify
+        assertTrue(result);
+        verify(requirementValidator).meetsAllRequirements(context);
+        verify(requirementValidator, never()).meetsAllRequirements(any(Player.class), anyList());
+    }
+
     @Test
     void testGetUpgradeCost_Success() {
         // Setup
@@ -0,0 +1,78 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.PlayerRankService;
+import dev.flur.ranks.service.RanksService;
+import dev.flur.ranks.service.RequirementValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultRankupValidatorTest {
+
+    private RanksService ranksService;
+    private DefaultRankupValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        ranksService = mock(RanksService.class);
+        validator = new DefaultRankupValidator(mock(PlayerRankService.class), mock(RequirementValidator.class),
+                ranksService, mock(Logger.class));
+    }
+
+    @Test
+    void testDetermineTargetRankWithSingleOption() {
+        // Act
+        String target = validator.determineTargetRank(Map.of("second", "Second"), new String[0]);
+
+        // Assert
+        assertEquals("second", target);
+        verifyNoInteractions(ranksService);
+    }
+
+    @Test
+    void testDetermineTargetRankResolvesAlias() {
+        // Arrange
+        when(ranksService.resolveRank("3RD")).thenReturn("third");
+
+        // Act
+        String target = validator.determineTargetRank(Map.of("third", "Third", "fourth", "Fourth"), new String[]{"3RD"});
+
+        // Assert
+        assertEquals("third", target);
+    }
+
+    @Test
+    void testDetermineTargetRankRejectsUnavailableRank() {
+        // Arrange
+        when(ranksService.resolveRank("first")).thenReturn("first");
+
+        // Act
+        String target = validator.determineTargetRank(Map.of("third", "Third", "fourth", "Fourth"), new String[]{"first"});
+
+        // Assert
+        assertNull(target);
+    }
+
+    @Test
+    void testDetermineTargetRankFallsBackToExactName() {
+        // Arrange
+        when(ranksService.resolveRank("fourth")).thenReturn(null);
+
+        // Act
+        String target = validator.determineTargetRank(Map.of("third", "Third", "fourth", "Fourth"), new String[]{"fourth"});
+
+        // Assert
+        assertEquals("fourth", target);
+    }
+
+    @Test
+    void testDetermineTargetRankWithoutArgument() {
+        // Act & Assert
+        assertNull(validator.determineTargetRank(Map.of("third", "Third", "fourth", "Fourth"), new String[0]));
+    }
+}
@@ -0,0 +1,124 @@
+package dev.flur.ranks.service.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultRateLimitServiceTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private AtomicLong clock;
+    private DefaultRateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        // Start far from zero, like System.nanoTime may
+        clock = new AtomicLong(-5_000L * MILLIS);
+        rateLimitService = new DefaultRateLimitService(
+                Map.of("rankup", new DefaultRateLimitService.Limit(3, 1_000L)), clock::get);
+    }
+
+    @Test
+    void testBurstIsAllowedThenRefused() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(0L, rateLimitService.tryAcquire("rankup", playerId));
+        assertEquals(0L, rateLimitService.tryAcquire("rankup", playerId));
+        assertEquals(0L, rateLimitService.tryAcquire("rankup", playerId));
+        assertEquals(1_000L, rateLimitService.tryAcquire("rankup", playerId));
+        assertEquals(1L, rateLimitService.getRejectedCount());
+    }
+
+    @Test
+    void testUsesRefillOverTime() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryAcquire("rankup", playerId);
+        }
+
+        // Act
+        clock.addAndGet(400L * MILLIS);
+        long early = rateLimitService.tryAcquire("rankup", playerId);
+        clock.addAndGet(600L * MILLIS);
+        long refilled = rateLimitService.tryAcquire("rankup", playerId);
+        long again = rateLimitService.tryAcquire("rankup", playerId);
+
+        // Assert
+        assertEquals(600L, early);
+        assertEquals(0L, refilled);
+        assertEquals(1_000L, again);
+    }
+
+    @Test
+    void testPlayersHaveTheirOwnBuckets() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryAcquire("rankup", first);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimitService.tryAcquire("rankup", first) > 0);
+        assertEquals(0L, rateLimitService.tryAcquire("rankup", second));
+    }
+
+    @Test
+    void testCommandsWithoutLimitAreNeverRefused() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0L, rateLimitService.tryAcquire("requirements", playerId));
+        }
+        assertEquals(0L, rateLimitService.getRejectedCount());
+    }
+
+    @Test
+    void testCommandNamesIgnoreCase() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryAcquire("RankUp", playerId);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimitService.tryAcquire("rankup", playerId) > 0);
+    }
+
+    @Test
+    void testFullBucketsAreDropped() {
+        // Arrange
+        for (int i = 0; i < 1_000; i++) {
+            rateLimitService.tryAcquire("rankup", UUID.randomUUID());
+        }
+        int stored = rateLimitService.getStoredBuckets("rankup");
+
+        // Act
+        clock.addAndGet(3_000L * MILLIS);
+        for (int i = 0; i < 100; i++) {
+            rateLimitService.tryAcquire("rankup", UUID.randomUUID());
+        }
+
+        // Assert
+        assertEquals(1_000, stored);
+        assertTrue(rateLimitService.getStoredBuckets("rankup") <= 100);
+    }
+
+    @Test
+    void testLimitRejectsInvalidValues() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new DefaultRateLimitService.Limit(0, 1_000L));
+        assertThrows(IllegalArgumentException.class, () -> new DefaultRateLimitService.Limit(1, 0L));
+    }
+}
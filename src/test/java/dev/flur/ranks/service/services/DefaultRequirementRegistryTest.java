@@ -2,8 +2,13 @@ package dev.flur.ranks.service.services;
 
 import dev.flur.ranks.requirement.AnnotatedRequirement;
 import dev.flur.ranks.requirement.Requirement;
+import dev.flur.ranks.requirement.RequirementServices;
 import dev.flur.ranks.requirement.annotations.RequirementAnnotation;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
 import dev.flur.ranks.requirement.records.RequirementRecord;
+import dev.flur.ranks.service.EconomyService;
+import dev.flur.ranks.service.SettlementService;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,7 +52,9 @@ class DefaultRequirementRegistryTest {
     @RequirementAnnotation(
             name = "another-requirement",
             minimum = 2,
-            usage = "Format: param1 amount"
+            usage = "Format: param1 amount",
+            cost = RequirementCost.EXTERNAL_IO,
+            threadAffinity = ThreadAffinity.ANY_THREAD
     )
     public static class AnotherRequirement extends AnnotatedRequirement {
         public AnotherRequirement(String[] params) {
@@ -60,6 +67,24 @@ class DefaultRequirementRegistryTest {
         }
     }
 
+    @RequirementAnnotation(
+            name = "serviced-requirement",
+            usage = "Format: amount"
+    )
+    public static class ServicedRequirement extends AnnotatedRequirement {
+        private final RequirementServices services;
+
+        public ServicedRequirement(String[] params, RequirementServices services) {
+            super(params);
+            this.services = services;
+        }
+
+        @Override
+        public boolean meetsRequirement(Player player) {
+            return false;
+        }
+    }
+
     // This class doesn't extend AnnotatedRequirement
     private static class NonAnnotatedRequirement implements Requirement {
         @Override
@@ -105,6 +130,24 @@ class DefaultRequirementRegistryTest {
         assertEquals(2, registry.getRegisteredRequirementClasses().size());
     }
 
+    @Test
+    void testRegisterRequirementRecordsCostModel() {
+        // Act
+        registry.registerRequirement(TestRequirement.class);
+        registry.registerRequirement(AnotherRequirement.class);
+
+        // Assert
+        RequirementRecord defaults = registry.fromName("test-requirement");
+        assertNotNull(defaults);
+        assertEquals(RequirementCost.STATISTIC, defaults.cost());
+        assertEquals(ThreadAffinity.MAIN_THREAD, defaults.threadAffinity());
+
+        RequirementRecord declared = registry.fromClass(AnotherRequirement.class);
+        assertNotNull(declared);
+        assertEquals(RequirementCost.EXTERNAL_IO, declared.cost());
+        assertEquals(ThreadAffinity.ANY_THREAD, declared.threadAffinity());
+    }
+
     @Test
     void testRegisterNonAnnotatedRequirement() {
         // Act
@@ -181,6 +224,34 @@ class DefaultRequirementRegistryTest {
         assertEquals(100.5, ((TestRequirement) requirement).getAmount());
     }
 
+    @Test
+    void testCreateRequirementWithServices() {
+        // Arrange
+        RequirementServices services = new RequirementServices(mock(EconomyService.class), mock(SettlementService.class));
+        registry = new DefaultRequirementRegistry(mockLogger, services);
+        registry.registerRequirement(ServicedRequirement.class);
+
+        // Act
+        Requirement requirement = registry.createRequirement("serviced-requirement", "100");
+
+        // Assert
+        assertInstanceOf(ServicedRequirement.class, requirement);
+        assertSame(services, ((ServicedRequirement) requirement).services);
+    }
+
+    @Test
+    void testCreateRequirementWithoutServices() {
+        // Arrange
+        registry.registerRequirement(ServicedRequirement.class);
+
+        // Act
+        Requirement requirement = registry.createRequirement("serviced-requirement", "100");
+
+        // Assert
+        assertNull(requirement);
+        verify(mockLogger).severe(contains("needs the plugin's services"));
+    }
+
     @Test
     void testCreateRequirementInvalidType() {
         // Act
@@ -1,14 +1,28 @@
 package dev.flur.ranks.service.services;
 
+import dev.flur.ranks.rankup.RankupContext;
+import dev.flur.ranks.requirement.PlayerStatistics;
 import dev.flur.ranks.requirement.Requirement;
 import dev.flur.ranks.requirement.RequirementFactory;
+import dev.flur.ranks.requirement.annotations.RequirementCost;
+import dev.flur.ranks.requirement.annotations.RequirementInput;
+import dev.flur.ranks.requirement.annotations.ThreadAffinity;
+import dev.flur.ranks.requirement.composite.NotRequirement;
+import dev.flur.ranks.requirement.composite.ThresholdRequirement;
+import dev.flur.ranks.requirement.records.RequirementRecord;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -282,4 +296,343 @@ class DefaultRequirementValidatorTest {
         assertEquals("Unknown requirement", result);
         verify(requirementFactory).getRequirementName(requirement1);
     }
+
+    @Test
+    void testMeetsAllRequirements_StopsAtFirstFailure() {
+        // Setup first requirement to fail
+        when(requirement1.meetsRequirement(player)).thenReturn(false);
+        when(requirement2.meetsRequirement(player)).thenReturn(true);
+
+        List<Requirement> requirements = Arrays.asList(requirement1, requirement2);
+
+        // Test
+        boolean result = validator.meetsAllRequirements(player, requirements);
+
+        // Verify
+        assertFalse(result);
+        verify(requirement1).meetsRequirement(player);
+        verify(requirement2, never()).meetsRequirement(player);
+    }
+
+    @Test
+    void testMeetsAllRequirements_LearnsEvaluationOrder() {
+        // Setup a slow requirement that always passes and a cheap one that always fails
+        SlowPassingRequirement slow = new SlowPassingRequirement();
+        CheapFailingRequirement cheap = new CheapFailingRequirement();
+        List<Requirement> requirements = Arrays.asList(slow, cheap);
+
+        // Learn statistics for both requirement types
+        for (int i = 0; i < 10; i++) {
+            validator.getUnmetRequirements(player, requirements);
+        }
+        slow.evaluations = 0;
+
+        // Test
+        boolean result = validator.meetsAllRequirements(player, requirements);
+
+        // Verify the cheap, failing requirement was checked first and the slow one skipped
+        assertFalse(result);
+        assertEquals(0, slow.evaluations);
+        assertEquals(List.of(cheap, slow), validator.orderForEvaluation(requirements));
+    }
+
+    @Test
+    void testGetUnmetRequirements_KeepsConfiguredOrder() {
+        // Setup requirements that both fail, after teaching the validator a different order
+        SlowPassingRequirement slow = new SlowPassingRequirement();
+        CheapFailingRequirement cheap = new CheapFailingRequirement();
+        validator.getUnmetRequirements(player, List.of(slow, cheap));
+        when(requirement1.meetsRequirement(player)).thenReturn(false);
+
+        // Test
+        List<Requirement> result = validator.getUnmetRequirements(player, Arrays.asList(requirement1, cheap));
+
+        // Verify
+        assertEquals(List.of(requirement1, cheap), result);
+    }
+
+    @Test
+    void testOrderForEvaluation_UsesDeclaredCostBeforeMeasurements() {
+        // Setup an expensive and a cheap requirement type that have never been evaluated
+        SlowPassingRequirement expensive = new SlowPassingRequirement();
+        CheapFailingRequirement cheap = new CheapFailingRequirement();
+        when(registry.fromClass(SlowPassingRequirement.class)).thenReturn(new RequirementRecord("expensive",
+                params -> expensive, SlowPassingRequirement.class, RequirementCost.EXTERNAL_IO, ThreadAffinity.ANY_THREAD));
+        when(registry.fromClass(CheapFailingRequirement.class)).thenReturn(new RequirementRecord("cheap",
+                params -> cheap, CheapFailingRequirement.class, RequirementCost.LOCAL_FIELD, ThreadAffinity.MAIN_THREAD));
+
+        // Test
+        List<Requirement> result = validator.orderForEvaluation(Arrays.asList(expensive, cheap));
+
+        // Verify
+        assertEquals(List.of(cheap, expensive), result);
+        assertEquals(0, expensive.evaluations);
+    }
+
+    @Test
+    void testGroupByThreadAffinity() {
+        // Setup
+        SlowPassingRequirement threadSafe = new SlowPassingRequirement();
+        when(registry.fromClass(SlowPassingRequirement.class)).thenReturn(new RequirementRecord("thread-safe",
+                params -> threadSafe, SlowPassingRequirement.class, RequirementCost.EXTERNAL_IO, ThreadAffinity.ANY_THREAD));
+
+        // Test
+        Map<ThreadAffinity, List<Requirement>> result =
+                validator.groupByThreadAffinity(Arrays.asList(requirement1, threadSafe));
+
+        // Verify unregistered requirements default to the main thread
+        assertEquals(List.of(requirement1), result.get(ThreadAffinity.MAIN_THREAD));
+        assertEquals(List.of(threadSafe), result.get(ThreadAffinity.ANY_THREAD));
+    }
+
+    @Test
+    void testMeetsAllRequirements_OnlyMainThreadRequirementsAreSentToTheMainThread() {
+        // Setup
+        SlowPassingRequirement threadSafe = new SlowPassingRequirement();
+        when(registry.fromClass(SlowPassingRequirement.class)).thenReturn(new RequirementRecord("thread-safe",
+                params -> threadSafe, SlowPassingRequirement.class, RequirementCost.EXTERNAL_IO, ThreadAffinity.ANY_THREAD));
+        PlayerStatistics statistics = mock(PlayerStatistics.class);
+        when(statistics.getOnlinePlayer()).thenReturn(player);
+        when(requirement1.meetsRequirement(statistics)).thenReturn(true);
+        when(requirement2.meetsRequirement(statistics)).thenReturn(true);
+        List<Runnable> mainThread = new ArrayList<>();
+
+        // Test
+        CompletableFuture<Boolean> result = validator.meetsAllRequirements(
+                statistics, Arrays.asList(requirement1, threadSafe, requirement2), mainThread::add);
+
+        // Verify the thread-safe requirement ran here, and the others in one main thread task
+        assertEquals(1, threadSafe.evaluations);
+        verify(requirement1, never()).meetsRequirement(statistics);
+        assertEquals(1, mainThread.size());
+        mainThread.get(0).run();
+        assertTrue(result.join());
+        verify(requirement1).meetsRequirement(statistics);
+        verify(requirement2).meetsRequirement(statistics);
+    }
+
+    @Test
+    void testMeetsAllRequirements_SnapshotsStayOffTheMainThread() {
+        // Setup
+        PlayerStatistics statistics = mock(PlayerStatistics.class);
+        when(requirement1.meetsRequirement(statistics)).thenReturn(false);
+        Executor mainThread = mock(Executor.class);
+
+        // Test
+        CompletableFuture<Boolean> result = validator.meetsAllRequirements(
+                statistics, Arrays.asList(requirement1, requirement2), mainThread);
+
+        // Verify
+        assertFalse(result.join());
+        verifyNoInteractions(mainThread);
+    }
+
+    @Test
+    void testContext_EvaluatesEachRequirementOnce() {
+        // Setup
+        when(requirement1.meetsRequirement(player)).thenReturn(true);
+        when(requirement2.meetsRequirement(player)).thenReturn(false);
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement2));
+
+        // Test
+        boolean met = validator.meetsAllRequirements(context);
+        List<Requirement> unmet = validator.getUnmetRequirements(context);
+        boolean metAgain = validator.meetsAllRequirements(context);
+
+        // Verify
+        assertFalse(met);
+        assertFalse(metAgain);
+        assertEquals(List.of(requirement2), unmet);
+        verify(requirement1, times(1)).meetsRequirement(player);
+        verify(requirement2, times(1)).meetsRequirement(player);
+        assertTrue(context.isFullyEvaluated());
+    }
+
+    @Test
+    void testContext_DuplicateRequirementEvaluatedOnce() {
+        // Setup
+        when(requirement1.meetsRequirement(player)).thenReturn(true);
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1, requirement1));
+
+        // Test
+        boolean met = validator.meetsAllRequirements(context);
+
+        // Verify
+        assertTrue(met);
+        verify(requirement1, times(1)).meetsRequirement(player);
+        assertTrue(context.isAllMet());
+    }
+
+    @Test
+    void testContext_ExceptionRecordedAsUnmet() {
+        // Setup
+        when(requirement1.meetsRequirement(player)).thenThrow(new RuntimeException("Test exception"));
+        RankupContext context = new RankupContext(player, "member", "vip", List.of(requirement1));
+
+        // Test
+        List<Requirement> unmet = validator.getUnmetRequirements(context);
+
+        // Verify
+        assertEquals(List.of(requirement1), unmet);
+        assertEquals(Boolean.FALSE, context.getResult(requirement1));
+        verify(logger).severe(contains("Error checking requirement"));
+    }
+
+    @Test
+    void testCache_ReusesResultUntilInputChanges() {
+        // Setup
+        CountingRequirement requirement = registerCounting(RequirementInput.STATISTIC);
+        when(player.isOnline()).thenReturn(true);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        // Test
+        validator.meetsAllRequirements(player, List.of(requirement));
+        validator.getUnmetRequirements(player, List.of(requirement));
+        validator.invalidate(player.getUniqueId(), RequirementInput.LEVEL);
+        validator.getRequirementStatus(player, List.of(requirement));
+        int beforeChange = requirement.evaluations;
+        validator.invalidate(player.getUniqueId(), RequirementInput.STATISTIC);
+        validator.meetsAllRequirements(player, List.of(requirement));
+
+        // Verify
+        assertEquals(1, beforeChange);
+        assertEquals(2, requirement.evaluations);
+    }
+
+    @Test
+    void testCache_InvalidatePlayerDropsAllResults() {
+        // Setup
+        CountingRequirement requirement = registerCounting(RequirementInput.LEVEL);
+        when(player.isOnline()).thenReturn(true);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        validator.meetsAllRequirements(player, List.of(requirement));
+
+        // Test
+        validator.invalidate(player.getUniqueId());
+        validator.meetsAllRequirements(player, List.of(requirement));
+
+        // Verify
+        assertEquals(2, requirement.evaluations);
+    }
+
+    @Test
+    void testCache_SkipsRequirementsWithoutInputs() {
+        // Setup
+        CountingRequirement withoutInputs = registerCounting();
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.isOnline()).thenReturn(true);
+
+        // Test
+        validator.meetsAllRequirements(player, List.of(withoutInputs));
+        validator.meetsAllRequirements(player, List.of(withoutInputs));
+
+        // Verify
+        assertEquals(2, withoutInputs.evaluations);
+        verify(player, never()).isOnline();
+    }
+
+    @Test
+    void testCache_BalanceResultsExpire() {
+        // Setup
+        AtomicLong clock = new AtomicLong();
+        validator = new DefaultRequirementValidator(logger, registry, 1_000L, clock::get);
+        CountingRequirement requirement = registerCounting(RequirementInput.BALANCE);
+        when(player.isOnline()).thenReturn(true);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        // Test
+        validator.meetsAllRequirements(player, List.of(requirement));
+        clock.addAndGet(999_000_000L);
+        validator.meetsAllRequirements(player, List.of(requirement));
+        int beforeExpiry = requirement.evaluations;
+        clock.addAndGet(1_000_000L);
+        validator.meetsAllRequirements(player, List.of(requirement));
+
+        // Verify
+        assertEquals(1, beforeExpiry);
+        assertEquals(2, requirement.evaluations);
+    }
+
+    @Test
+    void testCache_ErrorsAreNotRemembered() {
+        // Setup
+        when(registry.fromClass(requirement1.getClass())).thenReturn(new RequirementRecord("failing",
+                params -> requirement1, requirement1.getClass(), RequirementCost.STATISTIC,
+                ThreadAffinity.MAIN_THREAD, Set.of(RequirementInput.STATISTIC)));
+        when(requirement1.meetsRequirement(player)).thenThrow(new RuntimeException("Test exception")).thenReturn(true);
+        when(player.isOnline()).thenReturn(true);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        // Test
+        boolean first = validator.meetsAllRequirements(player, List.of(requirement1));
+        boolean second = validator.meetsAllRequirements(player, List.of(requirement1));
+
+        // Verify
+        assertFalse(first);
+        assertTrue(second);
+    }
+
+    @Test
+    void testReadsInput_LooksInsideComposites() {
+        // Setup
+        CountingRequirement balance = registerCounting(RequirementInput.BALANCE);
+        Requirement group = new ThresholdRequirement(1, List.of(requirement1, new NotRequirement(balance)));
+
+        // Test & Verify
+        assertTrue(validator.readsInput(List.of(group), RequirementInput.BALANCE));
+        assertFalse(validator.readsInput(List.of(group), RequirementInput.LEVEL));
+        assertFalse(validator.readsInput(List.of(requirement1), RequirementInput.BALANCE));
+    }
+
+    private CountingRequirement registerCounting(RequirementInput... inputs) {
+        CountingRequirement requirement = new CountingRequirement();
+        when(registry.fromClass(CountingRequirement.class)).thenReturn(new RequirementRecord("counting",
+                params -> requirement, CountingRequirement.class, RequirementCost.STATISTIC,
+                ThreadAffinity.MAIN_THREAD, Set.of(inputs)));
+        return requirement;
+    }
+
+    private static class CountingRequirement implements Requirement {
+        int evaluations;
+
+        @Override
+        public boolean meetsRequirement(Player player) {
+            evaluations++;
+            return true;
+        }
+
+        @Override
+        public void consume(Player player) {
+        }
+    }
+
+    private static class SlowPassingRequirement implements Requirement {
+        int evaluations;
+
+        @Override
+        public boolean meetsRequirement(Player player) {
+            evaluations++;
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+
+        @Override
+        public void consume(Player player) {
+        }
+    }
+
+    private static class CheapFailingRequirement implements Requirement {
+        @Override
+        public boolean meetsRequirement(Player player) {
+            return false;
+        }
+
+        @Override
+        public void consume(Player player) {
+        }
+    }
 }
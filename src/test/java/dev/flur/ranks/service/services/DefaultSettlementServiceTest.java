@@ -0,0 +1,247 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.EconomyService;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DefaultSettlementServiceTest {
+
+    private Economy economy;
+    private EconomyService economyService;
+    private Logger logger;
+    private OfflinePlayer player;
+    private DefaultSettlementService settlementService;
+
+    @BeforeEach
+    void setUp() {
+        // Create mocks
+        economy = mock(Economy.class);
+        economyService = mock(EconomyService.class);
+        logger = mock(Logger.class);
+        player = mock(OfflinePlayer.class);
+
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("TestPlayer");
+        when(economy.getBalance(player)).thenReturn(1_000.0);
+
+        settlementService = new DefaultSettlementService(economy, economyService, Runnable::run, 3, 1L, logger);
+        settlementService.start();
+    }
+
+    @Test
+    void testWithdraw_Success() {
+        // Setup
+        when(economy.withdrawPlayer(player, 100.0)).thenReturn(success());
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertTrue(withdrawn);
+        verify(economyService).invalidate(player.getUniqueId());
+        assertEquals(0, settlementService.getPendingCount());
+    }
+
+    @Test
+    void testWithdraw_RefusedIsNotRetried() {
+        // Setup
+        when(economy.withdrawPlayer(player, 100.0))
+                .thenReturn(new EconomyResponse(0.0, 10.0, EconomyResponse.ResponseType.FAILURE, "Insufficient funds"));
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(economy, times(1)).withdrawPlayer(player, 100.0);
+        verify(logger).warning(contains("Insufficient funds"));
+    }
+
+    @Test
+    void testWithdraw_RefusedWhenBalanceDoesNotCoverIt() {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(50.0);
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(economy, never()).withdrawPlayer(any(OfflinePlayer.class), anyDouble());
+    }
+
+    @Test
+    void testWithdraw_RetriedAfterException() throws Exception {
+        // Setup
+        when(economy.withdrawPlayer(player, 100.0))
+                .thenThrow(new RuntimeException("Connection reset"))
+                .thenReturn(success());
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        assertTrue(withdrawn);
+        verify(economy, times(2)).withdrawPlayer(player, 100.0);
+        verify(logger).warning(contains("retrying"));
+    }
+
+    @Test
+    void testWithdraw_GivesUpAfterMaxAttempts() throws Exception {
+        // Setup
+        when(economy.withdrawPlayer(player, 100.0)).thenThrow(new RuntimeException("Connection reset"));
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(economy, times(3)).withdrawPlayer(player, 100.0);
+        verify(logger).severe(contains("after 3 attempts"));
+    }
+
+    @Test
+    void testWithdraw_NotRetriedWhenAppliedBeforeException() throws Exception {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(500.0, 400.0);
+        when(economy.withdrawPlayer(player, 100.0)).thenThrow(new RuntimeException("Read timed out"));
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        assertTrue(withdrawn);
+        verify(economy, times(1)).withdrawPlayer(player, 100.0);
+        verify(logger, never()).warning(contains("retrying"));
+    }
+
+    @Test
+    void testWithdraw_NotRetriedWhenBalanceIsUnclear() throws Exception {
+        // Setup
+        when(economy.getBalance(player)).thenReturn(500.0, 450.0);
+        when(economy.withdrawPlayer(player, 100.0)).thenThrow(new RuntimeException("Read timed out"));
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).get(5, TimeUnit.SECONDS);
+
+        // Verify
+        assertFalse(withdrawn);
+        verify(economy, times(1)).withdrawPlayer(player, 100.0);
+        verify(logger).severe(contains("could not tell whether it was applied"));
+    }
+
+    @Test
+    void testWithdraw_SameKeySettledOnce() {
+        // Setup
+        UUID key = UUID.randomUUID();
+        when(economy.withdrawPlayer(player, 100.0)).thenReturn(success());
+
+        // Test
+        CompletableFuture<Boolean> first = settlementService.withdraw(key, player, 100.0);
+        CompletableFuture<Boolean> second = settlementService.withdraw(key, player, 100.0);
+
+        // Verify
+        assertSame(first, second);
+        assertTrue(second.join());
+        verify(economy, times(1)).withdrawPlayer(player, 100.0);
+    }
+
+    @Test
+    void testWithdraw_PendingUntilSettled() {
+        // Setup
+        DefaultSettlementService queued = new DefaultSettlementService(economy, economyService, task -> {
+        }, 3, 1L, logger);
+        queued.start();
+
+        // Test
+        CompletableFuture<Boolean> withdrawal = queued.withdraw(UUID.randomUUID(), player, 100.0);
+
+        // Verify
+        assertFalse(withdrawal.isDone());
+        assertEquals(1, queued.getPendingCount());
+        verifyNoInteractions(economy);
+    }
+
+    @Test
+    void testWithdraw_RefusedOnceStopped() {
+        // Setup
+        settlementService.stop();
+
+        // Test
+        boolean withdrawn = settlementService.withdraw(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertFalse(withdrawn);
+        assertFalse(settlementService.isHealthy());
+        verify(economy, never()).withdrawPlayer(any(OfflinePlayer.class), anyDouble());
+    }
+
+    @Test
+    void testDeposit_AcceptedOnceStopped() {
+        // Setup
+        when(economy.depositPlayer(player, 100.0)).thenReturn(success());
+        settlementService.stop();
+
+        // Test
+        boolean deposited = settlementService.deposit(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertTrue(deposited);
+    }
+
+    @Test
+    void testStop_RefundsWithdrawalSettledWhileStopping() {
+        // Setup
+        when(economy.withdrawPlayer(player, 100.0)).thenReturn(success());
+        when(economy.depositPlayer(player, 100.0)).thenReturn(success());
+        CountDownLatch stopping = new CountDownLatch(1);
+        DefaultSettlementService delayed = new DefaultSettlementService(economy, economyService, task -> new Thread(() -> {
+            try {
+                stopping.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        }).start(), 3, 1L, logger);
+        delayed.start();
+        CompletableFuture<Boolean> withdrawal = delayed.withdraw(UUID.randomUUID(), player, 100.0);
+
+        // Test
+        stopping.countDown();
+        delayed.stop();
+
+        // Verify
+        assertTrue(withdrawal.join());
+        assertEquals(0, delayed.getPendingCount());
+        verify(economy).depositPlayer(player, 100.0);
+    }
+
+    @Test
+    void testDeposit_Success() {
+        // Setup
+        when(economy.depositPlayer(player, 100.0)).thenReturn(success());
+
+        // Test
+        boolean deposited = settlementService.deposit(UUID.randomUUID(), player, 100.0).join();
+
+        // Verify
+        assertTrue(deposited);
+        verify(economy).depositPlayer(player, 100.0);
+    }
+
+    private static EconomyResponse success() {
+        return new EconomyResponse(100.0, 0.0, EconomyResponse.ResponseType.SUCCESS, null);
+    }
+}
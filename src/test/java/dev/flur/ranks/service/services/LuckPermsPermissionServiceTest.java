@@ -0,0 +1,169 @@
+package dev.flur.ranks.service.services;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.data.DataMutateResult;
+import net.luckperms.api.model.group.Group;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.node.matcher.NodeMatcher;
+import net.luckperms.api.node.types.InheritanceNode;
+import net.luckperms.api.util.Tristate;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LuckPermsPermissionServiceTest {
+
+    private LuckPerms luckPerms;
+    private Logger logger;
+    private Player player;
+    private User user;
+    private LuckPermsPermissionService permissionService;
+
+    @BeforeEach
+    void setUp() {
+        luckPerms = mock(LuckPerms.class, RETURNS_DEEP_STUBS);
+        logger = mock(Logger.class);
+        player = mock(Player.class);
+        user = mock(User.class, RETURNS_DEEP_STUBS);
+
+        UUID playerId = UUID.randomUUID();
+        when(player.getUniqueId()).thenReturn(playerId);
+        when(player.getName()).thenReturn("Steve");
+        when(luckPerms.getUserManager().getUser(playerId)).thenReturn(user);
+        when(luckPerms.getUserManager().saveUser(user)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Group member = mock(Group.class);
+        when(member.getName()).thenReturn("member");
+        Group vip = mock(Group.class);
+        when(vip.getName()).thenReturn("vip");
+        when(luckPerms.getGroupManager().getLoadedGroups()).thenReturn(Set.of(member, vip));
+
+        permissionService = new LuckPermsPermissionService(luckPerms, logger);
+    }
+
+    private InheritanceNode nodeFor(String group) {
+        InheritanceNode node = mock(InheritanceNode.class);
+        when(luckPerms.getNodeBuilderRegistry().forInheritance().group(group).build()).thenReturn(node);
+        return node;
+    }
+
+    @Test
+    void testGroupExistsUsesLoadedGroups() {
+        assertTrue(permissionService.groupExists("member"));
+        assertTrue(permissionService.groupExists("VIP"));
+        assertFalse(permissionService.groupExists("admin"));
+    }
+
+    @Test
+    void testGetPrimaryGroup() {
+        // Arrange
+        when(user.getPrimaryGroup()).thenReturn("member");
+
+        // Act & Assert
+        assertEquals("member", permissionService.getPrimaryGroup(player));
+    }
+
+    @Test
+    void testGetPrimaryGroupWithoutLoadedUser() {
+        // Arrange
+        when(luckPerms.getUserManager().getUser(player.getUniqueId())).thenReturn(null);
+
+        // Act & Assert
+        assertEquals("", permissionService.getPrimaryGroup(player));
+        verify(logger).warning(contains("Steve"));
+    }
+
+    @Test
+    void testHasPermissionUsesCachedData() {
+        // Arrange
+        when(user.getCachedData().getPermissionData().checkPermission("ranks.rankup")).thenReturn(Tristate.TRUE);
+        when(user.getCachedData().getPermissionData().checkPermission("ranks.admin")).thenReturn(Tristate.UNDEFINED);
+
+        // Act & Assert
+        assertTrue(permissionService.hasPermission(player, "ranks.rankup"));
+        assertFalse(permissionService.hasPermission(player, "ranks.admin"));
+    }
+
+    @Test
+    void testAddToGroupMutatesAndSavesInBackground() {
+        // Arrange
+        InheritanceNode node = nodeFor("vip");
+        when(user.data().add(node)).thenReturn(DataMutateResult.SUCCESS);
+
+        // Act
+        boolean result = permissionService.addToGroup(player, "vip");
+
+        // Assert
+        assertTrue(result);
+        verify(luckPerms.getUserManager()).saveUser(user);
+    }
+
+    @Test
+    void testAddToUnknownGroupFails() {
+        // Act
+        boolean result = permissionService.addToGroup(player, "admin");
+
+        // Assert
+        assertFalse(result);
+        verify(luckPerms.getUserManager(), never()).saveUser(user);
+    }
+
+    @Test
+    void testRemoveFromGroup() {
+        // Arrange
+        InheritanceNode node = nodeFor("member");
+        when(user.data().remove(node)).thenReturn(DataMutateResult.SUCCESS);
+
+        // Act
+        boolean result = permissionService.removeFromGroup(player, "member");
+
+        // Assert
+        assertTrue(result);
+        verify(luckPerms.getUserManager()).saveUser(user);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetGroupMembersSearchesStorage() {
+        // Arrange
+        InheritanceNode node = nodeFor("member");
+        NodeMatcher<InheritanceNode> matcher = mock(NodeMatcher.class);
+        when(luckPerms.getNodeMatcherFactory().key(node)).thenReturn(matcher);
+        UUID offlineId = UUID.randomUUID();
+        Map<UUID, Collection<InheritanceNode>> found = Map.of(offlineId, List.of(node));
+        when(luckPerms.getUserManager().searchAll(matcher)).thenReturn(CompletableFuture.completedFuture(found));
+
+        // Act
+        Set<UUID> members = permissionService.getGroupMembers("member").join();
+
+        // Assert
+        assertEquals(Set.of(offlineId), members);
+    }
+
+    @Test
+    void testSaveFailureIsLogged() {
+        // Arrange
+        InheritanceNode node = nodeFor("vip");
+        when(user.data().add(node)).thenReturn(DataMutateResult.SUCCESS);
+        when(user.getUsername()).thenReturn("Steve");
+        when(luckPerms.getUserManager().saveUser(user))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Storage offline")));
+
+        // Act
+        permissionService.addToGroup(player, "vip");
+
+        // Assert
+        verify(logger).severe(contains("Storage offline"));
+    }
+}
@@ -0,0 +1,173 @@
+package dev.flur.ranks.service.services;
+
+import dev.flur.ranks.service.PermissionService;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WriteBehindPermissionServiceTest {
+
+    private PermissionService delegate;
+    private Logger logger;
+    private Player player;
+    private WriteBehindPermissionService permissionService;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PermissionService.class);
+        logger = mock(Logger.class);
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getName()).thenReturn("Steve");
+        when(delegate.groupExists(anyString())).thenReturn(true);
+        when(delegate.getPrimaryGroup(player)).thenReturn("member");
+        when(delegate.setGroup(eq(player), anyString(), anyString())).thenReturn(true);
+        when(delegate.addToGroup(eq(player), anyString())).thenReturn(true);
+        permissionService = new WriteBehindPermissionService(delegate, 60_000L, logger);
+    }
+
+    @Test
+    void testChangesAreQueuedUntilFlush() {
+        // Act
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+
+        // Assert
+        assertFalse(moved.isDone());
+        verify(delegate, never()).removeFromGroup(any(), anyString());
+        verify(delegate, never()).addToGroup(any(), anyString());
+        verify(delegate, never()).setGroup(any(), anyString(), anyString());
+        assertEquals(1, permissionService.getPendingCount());
+    }
+
+    @Test
+    void testPrimaryGroupReadsQueuedChanges() {
+        // Act
+        permissionService.setGroupAsync(player, "member", "vip");
+
+        // Assert
+        assertEquals("vip", permissionService.getPrimaryGroup(player));
+    }
+
+    @Test
+    void testPrimaryGroupReadsThroughWithoutQueuedChanges() {
+        assertEquals("member", permissionService.getPrimaryGroup(player));
+    }
+
+    @Test
+    void testRemoveAndAddBecomeOneSetGroup() {
+        // Arrange
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+
+        // Act
+        permissionService.flush();
+
+        // Assert
+        assertTrue(moved.join());
+        verify(delegate).setGroup(player, "member", "vip");
+        verify(delegate, never()).removeFromGroup(any(), anyString());
+        verify(delegate, never()).addToGroup(any(), anyString());
+        assertEquals(0, permissionService.getPendingCount());
+    }
+
+    @Test
+    void testConsecutiveMovesAreCoalesced() {
+        // Arrange
+        CompletableFuture<Boolean> first = permissionService.setGroupAsync(player, "member", "vip");
+        CompletableFuture<Boolean> second = permissionService.setGroupAsync(player, "vip", "elite");
+
+        // Act
+        permissionService.flush();
+
+        // Assert
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).removeFromGroup(player, "member");
+        inOrder.verify(delegate).removeFromGroup(player, "vip");
+        inOrder.verify(delegate).addToGroup(player, "elite");
+        verify(delegate, never()).addToGroup(player, "vip");
+        assertTrue(first.join());
+        assertTrue(second.join());
+    }
+
+    @Test
+    void testMoveToUnknownGroupIsRefused() {
+        // Arrange
+        when(delegate.groupExists("admin")).thenReturn(false);
+
+        // Act & Assert
+        assertFalse(permissionService.setGroupAsync(player, "member", "admin").join());
+        assertEquals(0, permissionService.getPendingCount());
+    }
+
+    @Test
+    void testFailedChangeIsReportedAndDropped() {
+        // Arrange
+        when(delegate.setGroup(player, "member", "vip")).thenReturn(false);
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+
+        // Act
+        permissionService.flush();
+
+        // Assert
+        assertFalse(moved.join());
+        assertEquals(0, permissionService.getPendingCount());
+        assertEquals("member", permissionService.getPrimaryGroup(player));
+        verify(logger).severe(contains("Failed to move player Steve"));
+    }
+
+    @Test
+    void testSynchronousChangesWriteThroughAfterQueuedOnes() {
+        // Arrange
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+        when(delegate.removeFromGroup(player, "vip")).thenReturn(false);
+
+        // Act
+        boolean removed = permissionService.removeFromGroup(player, "vip");
+
+        // Assert
+        assertFalse(removed);
+        assertTrue(moved.join());
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).setGroup(player, "member", "vip");
+        inOrder.verify(delegate).removeFromGroup(player, "vip");
+        assertEquals(0, permissionService.getPendingCount());
+    }
+
+    @Test
+    void testStopAppliesPendingChanges() {
+        // Arrange
+        permissionService.start();
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+
+        // Act
+        permissionService.stop();
+
+        // Assert
+        assertTrue(moved.join());
+        verify(delegate).setGroup(player, "member", "vip");
+        assertFalse(permissionService.isHealthy());
+    }
+
+    @Test
+    void testChangesAfterStopAreAppliedRightAway() {
+        // Arrange
+        permissionService.start();
+        permissionService.stop();
+
+        // Act
+        CompletableFuture<Boolean> moved = permissionService.setGroupAsync(player, "member", "vip");
+
+        // Assert
+        assertTrue(moved.isDone());
+        assertTrue(moved.join());
+        verify(delegate).setGroup(player, "member", "vip");
+        assertEquals(0, permissionService.getPendingCount());
+    }
+}
@@ -0,0 +1,155 @@
+package dev.flur.ranks.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class H2RankStorageTest {
+
+    @TempDir
+    File dataFolder;
+
+    private Logger logger;
+    private H2RankStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        storage = createStorage();
+        storage.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.stop();
+    }
+
+    private H2RankStorage createStorage() {
+        // Long flush interval, so only explicit flushes write to the database
+        return new H2RankStorage(new File(dataFolder, "ranks"), 60_000L, 2, Runnable::run, logger);
+    }
+
+    @Test
+    void testStartIsHealthy() {
+        assertTrue(storage.isHealthy());
+    }
+
+    @Test
+    void testLoadPlayerReadsPendingWrites() throws Exception {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        PlayerRankRecord record = new PlayerRankRecord(playerId, "Steve", "member", 1000L);
+
+        // Act
+        storage.saveRank(record);
+
+        // Assert
+        assertEquals(Optional.of(record), storage.loadPlayer(playerId).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testLoadPlayerAfterFlush() throws Exception {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        PlayerRankRecord record = new PlayerRankRecord(playerId, "Steve", "member", 1000L);
+        storage.saveRank(record);
+
+        // Act
+        storage.flush().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Optional.of(record), storage.loadPlayer(playerId).get(5, TimeUnit.SECONDS));
+        verify(logger, never()).severe(anyString());
+    }
+
+    @Test
+    void testLoadUnknownPlayer() throws Exception {
+        assertEquals(Optional.empty(), storage.loadPlayer(UUID.randomUUID()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testLatestRankWins() throws Exception {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        storage.saveRank(new PlayerRankRecord(playerId, "Steve", "member", 1000L));
+        storage.flush().get(5, TimeUnit.SECONDS);
+
+        // Act
+        storage.saveRank(new PlayerRankRecord(playerId, "Steve", "vip", 2000L));
+        storage.flush().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("vip", storage.loadPlayer(playerId).get(5, TimeUnit.SECONDS).orElseThrow().rank());
+        assertEquals(1, storage.loadAllPlayers().get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void testCountPlayersByRank() throws Exception {
+        // Arrange
+        storage.saveRank(new PlayerRankRecord(UUID.randomUUID(), "Steve", "member", 1000L));
+        storage.saveRank(new PlayerRankRecord(UUID.randomUUID(), "Alex", "member", 1000L));
+        storage.flush().get(5, TimeUnit.SECONDS);
+        storage.saveRank(new PlayerRankRecord(UUID.randomUUID(), "Herobrine", "vip", 1000L));
+
+        // Act
+        Map<String, Integer> counts = storage.countPlayersByRank().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Map.of("member", 2, "vip", 1), counts);
+    }
+
+    @Test
+    void testRequirementProgress() throws Exception {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        storage.saveRequirementProgress(playerId, "playtime", 10.0);
+        storage.flush().get(5, TimeUnit.SECONDS);
+        storage.saveRequirementProgress(playerId, "playtime", 25.0);
+        storage.saveRequirementProgress(playerId, "blocks-mined", 3.0);
+
+        // Act
+        Map<String, Double> progress = storage.loadRequirementProgress(playerId).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Map.of("playtime", 25.0, "blocks-mined", 3.0), progress);
+        assertTrue(storage.loadRequirementProgress(UUID.randomUUID()).get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    void testStopPersistsPendingWrites() throws Exception {
+        // Setup
+        UUID playerId = UUID.randomUUID();
+        storage.saveRank(new PlayerRankRecord(playerId, "Steve", "vip", 1000L));
+        storage.saveRequirementProgress(playerId, "playtime", 42.0);
+
+        // Test
+        storage.stop();
+        storage = createStorage();
+        storage.start();
+
+        // Verify
+        assertEquals("vip", storage.loadPlayer(playerId).get(5, TimeUnit.SECONDS).orElseThrow().rank());
+        assertEquals(42.0, storage.loadRequirementProgress(playerId).get(5, TimeUnit.SECONDS).get("playtime"));
+    }
+
+    @Test
+    void testLoadBeforeStartFails() {
+        // Arrange
+        H2RankStorage stopped = createStorage();
+
+        // Act & Assert
+        assertTrue(stopped.loadPlayer(UUID.randomUUID()).isCompletedExceptionally());
+        assertFalse(stopped.isHealthy());
+    }
+}